@@ -0,0 +1,91 @@
+package org.jhipster.ecommerce.store.aop.timing;
+
+import org.jhipster.ecommerce.store.config.ApplicationProperties;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.aop.framework.ProxyFactory;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the overhead of {@link MethodTimingInterceptor} per call, against the same proxy with an interceptor
+ * doing nothing, which is what a method costs when the timing is disabled and the other advisors remain.
+ * <p>
+ * Run with {@code -PjmhProfiler=gc} to check that a timed call allocates no more than an untimed one.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MethodTimingInterceptorBenchmark {
+
+    private SampleService direct;
+
+    private SampleService untimed;
+
+    private SampleService timed;
+
+    private SampleService sampled;
+
+    private SampleService excluded;
+
+    private long value;
+
+    @Setup
+    public void setup() {
+        direct = new SampleService();
+        untimed = proxy(MethodInvocation::proceed);
+        timed = proxy(new MethodTimingInterceptor(new SimpleMeterRegistry(), new ApplicationProperties.MethodTiming()));
+        ApplicationProperties.MethodTiming sampledProperties = new ApplicationProperties.MethodTiming();
+        sampledProperties.setSampleRate(0.01);
+        sampled = proxy(new MethodTimingInterceptor(new SimpleMeterRegistry(), sampledProperties));
+        ApplicationProperties.MethodTiming excludedProperties = new ApplicationProperties.MethodTiming();
+        excludedProperties.setExclude(Collections.singletonList("SampleService.*"));
+        excluded = proxy(new MethodTimingInterceptor(new SimpleMeterRegistry(), excludedProperties));
+    }
+
+    @Benchmark
+    public long directCall() {
+        return direct.next(value++);
+    }
+
+    @Benchmark
+    public long untimedCall() {
+        return untimed.next(value++);
+    }
+
+    @Benchmark
+    public long timedCall() {
+        return timed.next(value++);
+    }
+
+    @Benchmark
+    public long sampledCall() {
+        return sampled.next(value++);
+    }
+
+    @Benchmark
+    public long excludedCall() {
+        return excluded.next(value++);
+    }
+
+    private static SampleService proxy(MethodInterceptor interceptor) {
+        ProxyFactory proxyFactory = new ProxyFactory(new SampleService());
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAdvice(interceptor);
+        return (SampleService) proxyFactory.getProxy();
+    }
+
+    public static class SampleService {
+
+        public long next(long value) {
+            return value * 31 + 7;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package org.jhipster.ecommerce.store.config;
+
+import org.jhipster.ecommerce.store.config.hazelcast.HazelcastSerializers;
+import org.jhipster.ecommerce.store.domain.Authority;
+import org.jhipster.ecommerce.store.domain.User;
+import org.jhipster.ecommerce.store.domain.enumeration.OrderStatus;
+import org.jhipster.ecommerce.store.security.AuthoritiesConstants;
+
+import com.hazelcast.config.SerializationConfig;
+import com.hazelcast.hibernate.serialization.CacheEntryImpl;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.nio.serialization.Data;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the Hazelcast serialization of the second-level cache entries and of the cached users, with Java
+ * serialization as a baseline and with the serializers registered by {@link CacheConfiguration}.
+ * <p>
+ * The serialized sizes are compared to Java serialization by {@code HazelcastSerializersTest}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HazelcastSerializationBenchmark {
+
+    @Param({"false", "true"})
+    private boolean compactSerializers;
+
+    private InternalSerializationService serializationService;
+
+    private User user;
+
+    private Data userData;
+
+    private CacheEntryImpl productOrderEntry;
+
+    private Data productOrderEntryData;
+
+    @Setup
+    public void setup() {
+        SerializationConfig serializationConfig = new SerializationConfig();
+        if (compactSerializers) {
+            HazelcastSerializers.configure(serializationConfig);
+        }
+        serializationService = new DefaultSerializationServiceBuilder().setConfig(serializationConfig).build();
+
+        user = new User();
+        user.setId(1L);
+        user.setLogin("user");
+        user.setPassword("$2a$10$VEjxo0jq2YG9Rbk2HmX9S.k1uZBGYUHdUcid3g/vfiEl7lwWgOH/K");
+        user.setFirstName("John");
+        user.setLastName("Doe");
+        user.setEmail("user@localhost");
+        user.setActivated(true);
+        user.setLangKey("en");
+        user.setCreatedBy("system");
+        user.setCreatedDate(Instant.parse("2020-09-15T11:13:02Z"));
+        user.setLastModifiedBy("system");
+        user.setLastModifiedDate(Instant.parse("2020-09-15T11:13:02Z"));
+        Set<Authority> authorities = new HashSet<>();
+        for (String name : new String[]{AuthoritiesConstants.USER, AuthoritiesConstants.ADMIN}) {
+            Authority authority = new Authority();
+            authority.setName(name);
+            authorities.add(authority);
+        }
+        user.setAuthorities(authorities);
+
+        // Disassembled state of a ProductOrder: code, placed date, status and customer id
+        productOrderEntry = new CacheEntryImpl(
+            new Serializable[]{"ORDER-1", 1L, Instant.parse("2020-09-15T11:13:02Z"), OrderStatus.COMPLETED.name()},
+            "org.jhipster.ecommerce.store.domain.ProductOrder", null);
+
+        userData = serializationService.toData(user);
+        productOrderEntryData = serializationService.toData(productOrderEntry);
+    }
+
+    @Benchmark
+    public Data serializeUser() {
+        return serializationService.toData(user);
+    }
+
+    @Benchmark
+    public Object deserializeUser() {
+        return serializationService.toObject(userData);
+    }
+
+    @Benchmark
+    public Data serializeProductOrderEntry() {
+        return serializationService.toData(productOrderEntry);
+    }
+
+    @Benchmark
+    public Object deserializeProductOrderEntry() {
+        return serializationService.toObject(productOrderEntryData);
+    }
+}
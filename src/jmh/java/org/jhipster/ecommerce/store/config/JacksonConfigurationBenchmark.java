@@ -0,0 +1,111 @@
+package org.jhipster.ecommerce.store.config;
+
+import org.jhipster.ecommerce.store.domain.Customer;
+import org.jhipster.ecommerce.store.domain.OrderItem;
+import org.jhipster.ecommerce.store.domain.Product;
+import org.jhipster.ecommerce.store.domain.ProductCategory;
+import org.jhipster.ecommerce.store.domain.ProductOrder;
+import org.jhipster.ecommerce.store.domain.User;
+import org.jhipster.ecommerce.store.domain.enumeration.Gender;
+import org.jhipster.ecommerce.store.domain.enumeration.OrderItemStatus;
+import org.jhipster.ecommerce.store.domain.enumeration.OrderStatus;
+import org.jhipster.ecommerce.store.domain.enumeration.Size;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the JSON serialization of {@link ProductOrder} graphs, as done by the REST resources, with the
+ * modules registered by {@link JacksonConfiguration}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JacksonConfigurationBenchmark {
+
+    @Param({"1", "20"})
+    private int orderCount;
+
+    @Param({"5"})
+    private int orderItemCount;
+
+    private ObjectMapper objectMapper;
+
+    private List<ProductOrder> productOrders;
+
+    @Setup
+    public void setup() {
+        JacksonConfiguration jacksonConfiguration = new JacksonConfiguration();
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+            .modules(jacksonConfiguration.javaTimeModule(), jacksonConfiguration.jdk8TimeModule(),
+                jacksonConfiguration.hibernate5Module(), jacksonConfiguration.problemModule(),
+                jacksonConfiguration.constraintViolationProblemModule())
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+        User user = new User();
+        user.setId(1L);
+        user.setLogin("user");
+        user.setEmail("user@localhost");
+        user.setActivated(true);
+        Customer customer = new Customer()
+            .firstName("John")
+            .lastName("Doe")
+            .gender(Gender.OTHER)
+            .email("john.doe@localhost")
+            .phone("0123456789")
+            .addressLine1("1 Main Street")
+            .city("Springfield")
+            .country("USA")
+            .user(user);
+        customer.setId(1L);
+        ProductCategory productCategory = new ProductCategory().name("Shirts").description("All the shirts");
+        productCategory.setId(1L);
+
+        productOrders = new ArrayList<>();
+        long id = 1;
+        for (int i = 0; i < orderCount; i++) {
+            ProductOrder productOrder = new ProductOrder()
+                .placedDate(Instant.parse("2020-09-15T11:13:02Z"))
+                .status(OrderStatus.COMPLETED)
+                .code("ORDER-" + i)
+                .customer(customer);
+            productOrder.setId(id++);
+            for (int j = 0; j < orderItemCount; j++) {
+                Product product = new Product()
+                    .name("Product " + j)
+                    .description("A product")
+                    .price(BigDecimal.valueOf(1999, 2))
+                    .size(Size.M)
+                    .imageContentType("image/png")
+                    .productCategory(productCategory);
+                product.setId(id++);
+                OrderItem orderItem = new OrderItem()
+                    .quantity(2)
+                    .totalPrice(BigDecimal.valueOf(3998, 2))
+                    .status(OrderItemStatus.AVAILABLE)
+                    .product(product);
+                orderItem.setId(id++);
+                productOrder.addOrderItem(orderItem);
+            }
+            productOrders.add(productOrder);
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeProductOrders() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(productOrders);
+    }
+}
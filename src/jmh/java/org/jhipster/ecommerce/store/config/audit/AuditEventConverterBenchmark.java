@@ -0,0 +1,55 @@
+package org.jhipster.ecommerce.store.config.audit;
+
+import org.jhipster.ecommerce.store.domain.PersistentAuditEvent;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.actuate.audit.AuditEvent;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the conversion of stored audit events, run when audits are listed by the management API.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AuditEventConverterBenchmark {
+
+    @Param({"20", "100"})
+    private int eventCount;
+
+    private AuditEventConverter auditEventConverter;
+
+    private List<PersistentAuditEvent> persistentAuditEvents;
+
+    @Setup
+    public void setup() {
+        auditEventConverter = new AuditEventConverter();
+        persistentAuditEvents = new ArrayList<>();
+        for (int i = 0; i < eventCount; i++) {
+            PersistentAuditEvent persistentAuditEvent = new PersistentAuditEvent();
+            persistentAuditEvent.setId((long) i);
+            persistentAuditEvent.setPrincipal("user" + i);
+            persistentAuditEvent.setAuditEventDate(Instant.parse("2020-09-15T11:13:02Z").plusSeconds(i));
+            persistentAuditEvent.setAuditEventType("AUTHENTICATION_SUCCESS");
+            Map<String, String> data = new HashMap<>();
+            data.put("remoteAddress", "127.0.0.1");
+            data.put("sessionId", "session" + i);
+            persistentAuditEvent.setData(data);
+            persistentAuditEvents.add(persistentAuditEvent);
+        }
+    }
+
+    @Benchmark
+    public List<AuditEvent> convertToAuditEvent() {
+        return auditEventConverter.convertToAuditEvent(persistentAuditEvents);
+    }
+}
@@ -0,0 +1,73 @@
+package org.jhipster.ecommerce.store.repository;
+
+import org.jhipster.ecommerce.store.config.ApplicationProperties;
+import org.jhipster.ecommerce.store.config.audit.AuditEventConverter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.actuate.audit.AuditEvent;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the preparation of audit events before they are stored, including the truncation of their data.
+ * <p>
+ * The repository is stubbed and events are written synchronously, so that only the conversion and the truncation are
+ * measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CustomAuditEventRepositoryBenchmark {
+
+    private CustomAuditEventRepository customAuditEventRepository;
+
+    private AuditEvent shortEvent;
+
+    private AuditEvent longEvent;
+
+    @Setup
+    public void setup() {
+        PersistenceAuditEventRepository persistenceAuditEventRepository = (PersistenceAuditEventRepository) Proxy.newProxyInstance(
+            getClass().getClassLoader(), new Class<?>[] { PersistenceAuditEventRepository.class },
+            (proxy, method, args) -> "save".equals(method.getName()) ? args[0] : null);
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getAuditEvents().setAsync(false);
+        AuditEventWriter auditEventWriter = new AuditEventWriter(persistenceAuditEventRepository,
+            (PlatformTransactionManager) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[] { PlatformTransactionManager.class }, (proxy, method, args) -> null),
+            applicationProperties, new SimpleMeterRegistry());
+        customAuditEventRepository = new CustomAuditEventRepository(persistenceAuditEventRepository, new AuditEventConverter(),
+            auditEventWriter);
+
+        Map<String, Object> shortData = new HashMap<>();
+        shortData.put("remoteAddress", "127.0.0.1");
+        shortData.put("sessionId", "session");
+        shortEvent = new AuditEvent("user", "AUTHENTICATION_SUCCESS", shortData);
+
+        Map<String, Object> longData = new HashMap<>(shortData);
+        char[] message = new char[2 * CustomAuditEventRepository.EVENT_DATA_COLUMN_MAX_LENGTH];
+        Arrays.fill(message, 'x');
+        longData.put("message", new String(message));
+        longEvent = new AuditEvent("user", "AUTHENTICATION_FAILURE", longData);
+    }
+
+    @Benchmark
+    public void addWithoutTruncation() {
+        customAuditEventRepository.add(shortEvent);
+    }
+
+    @Benchmark
+    public void addWithTruncation() {
+        customAuditEventRepository.add(longEvent);
+    }
+}
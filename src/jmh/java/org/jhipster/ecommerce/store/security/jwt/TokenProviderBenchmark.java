@@ -0,0 +1,77 @@
+package org.jhipster.ecommerce.store.security.jwt;
+
+import org.jhipster.ecommerce.store.config.ApplicationProperties;
+import org.jhipster.ecommerce.store.security.AuthoritiesConstants;
+
+import io.github.jhipster.config.JHipsterProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the JWT checks run by {@link JWTFilter} on every authenticated request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TokenProviderBenchmark {
+
+    private static final String BASE64_SECRET = "MTc1M2ZjZTE1NWJiYjdmMmEzODUxZmM0Yzc0ZWY4MjMzMTJmZjE3YTIzZjQ0NDUzMDllZDAwNDk0ZWRj" +
+        "YTQzZDljMGU0MjMwMTZhZWIxYjQ3ZTExZThlYjYyMmZiZDRhZDU0MDAyZjcxNmNlNzA1YTNkZGI0YzA2MTBhMjk2ZDg=";
+
+    private TokenProvider tokenProvider;
+
+    private TokenProvider uncachedTokenProvider;
+
+    private String token;
+
+    @Setup
+    public void setup() {
+        JHipsterProperties jHipsterProperties = new JHipsterProperties();
+        jHipsterProperties.getSecurity().getAuthentication().getJwt().setBase64Secret(BASE64_SECRET);
+        tokenProvider = new TokenProvider(jHipsterProperties, new ApplicationProperties(), new SimpleMeterRegistry());
+        tokenProvider.init();
+        ApplicationProperties uncachedProperties = new ApplicationProperties();
+        uncachedProperties.getJwt().setVerifiedTokenCacheSize(0);
+        uncachedTokenProvider = new TokenProvider(jHipsterProperties, uncachedProperties, new SimpleMeterRegistry());
+        uncachedTokenProvider.init();
+
+        Authentication authentication = new UsernamePasswordAuthenticationToken("admin", "admin",
+            Arrays.asList(new SimpleGrantedAuthority(AuthoritiesConstants.ADMIN), new SimpleGrantedAuthority(AuthoritiesConstants.USER)));
+        token = tokenProvider.createToken(authentication, false);
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return uncachedTokenProvider.validateToken(token);
+    }
+
+    @Benchmark
+    public Authentication getAuthentication() {
+        return uncachedTokenProvider.getAuthentication(token);
+    }
+
+    @Benchmark
+    public Authentication validateTokenThenGetAuthentication() {
+        return uncachedTokenProvider.validateToken(token) ? uncachedTokenProvider.getAuthentication(token) : null;
+    }
+
+    @Benchmark
+    public Optional<Authentication> resolveAuthenticationWithoutCache() {
+        return uncachedTokenProvider.resolveAuthentication(token);
+    }
+
+    @Benchmark
+    public Optional<Authentication> resolveAuthenticationFromCache() {
+        return tokenProvider.resolveAuthentication(token);
+    }
+}
@@ -0,0 +1,143 @@
+package org.jhipster.ecommerce.store.service;
+
+import org.jhipster.ecommerce.store.StoreApp;
+import org.jhipster.ecommerce.store.domain.Customer;
+import org.jhipster.ecommerce.store.domain.OrderItem;
+import org.jhipster.ecommerce.store.domain.Product;
+import org.jhipster.ecommerce.store.domain.ProductOrder;
+import org.jhipster.ecommerce.store.domain.User;
+import org.jhipster.ecommerce.store.domain.enumeration.Gender;
+import org.jhipster.ecommerce.store.domain.enumeration.OrderItemStatus;
+import org.jhipster.ecommerce.store.domain.enumeration.OrderStatus;
+import org.jhipster.ecommerce.store.domain.enumeration.Size;
+
+import io.github.jhipster.config.JHipsterConstants;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the ingestion of orders with their items, one order per transaction as done through
+ * {@code POST /api/product-orders} and {@code POST /api/order-items}, against {@link ProductOrderService#saveAll(List)}
+ * as done through {@code POST /api/product-orders/batch}.
+ * <p>
+ * The application is started with the {@code dev} profile on an in-memory H2 database. Scores are in orders per second,
+ * each order being inserted with {@value #ORDER_ITEM_COUNT} order items.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ProductOrderBatchBenchmark {
+
+    private static final int ORDER_COUNT = 100;
+
+    private static final int ORDER_ITEM_COUNT = 2;
+
+    private ConfigurableApplicationContext context;
+
+    private ProductOrderService productOrderService;
+
+    private OrderItemService orderItemService;
+
+    private Customer customer;
+
+    private Product product;
+
+    @Setup
+    public void setup() {
+        context = new SpringApplicationBuilder(StoreApp.class)
+            .profiles(JHipsterConstants.SPRING_PROFILE_DEVELOPMENT)
+            .properties(
+                "spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                "spring.liquibase.contexts=dev",
+                "server.port=0")
+            .run();
+        productOrderService = context.getBean(ProductOrderService.class);
+        orderItemService = context.getBean(OrderItemService.class);
+
+        EntityManager em = SharedEntityManagerCreator.createSharedEntityManager(context.getBean(EntityManagerFactory.class));
+        new TransactionTemplate(context.getBean(PlatformTransactionManager.class)).executeWithoutResult(status -> {
+            User user = new User();
+            user.setLogin("benchmark");
+            user.setPassword("$2a$10$gSAhZrxMllrbgj/kkK9UceBPpChGWJA7SYIb1Mqo.n5aNLq1/oRrC");
+            user.setEmail("benchmark@localhost");
+            user.setActivated(true);
+            em.persist(user);
+            customer = new Customer()
+                .firstName("John")
+                .lastName("Doe")
+                .gender(Gender.OTHER)
+                .email("benchmark@localhost")
+                .phone("0123456789")
+                .addressLine1("1 Main Street")
+                .city("Springfield")
+                .country("USA")
+                .user(user);
+            em.persist(customer);
+            product = new Product()
+                .name("Benchmark")
+                .price(BigDecimal.TEN)
+                .size(Size.M);
+            em.persist(product);
+        });
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ORDER_COUNT)
+    public void saveOneOrderPerTransaction() {
+        for (ProductOrder productOrder : newProductOrders()) {
+            Set<OrderItem> orderItems = new HashSet<>(productOrder.getOrderItems());
+            productOrderService.save(productOrder);
+            for (OrderItem orderItem : orderItems) {
+                orderItemService.save(orderItem.order(productOrder));
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ORDER_COUNT)
+    public List<ProductOrder> saveAllInOneTransaction() {
+        return productOrderService.saveAll(newProductOrders());
+    }
+
+    private List<ProductOrder> newProductOrders() {
+        List<ProductOrder> productOrders = new ArrayList<>(ORDER_COUNT);
+        for (int i = 0; i < ORDER_COUNT; i++) {
+            ProductOrder productOrder = new ProductOrder()
+                .placedDate(Instant.now())
+                .status(OrderStatus.PENDING)
+                .code("BENCHMARK-" + i)
+                .customer(customer);
+            for (int j = 0; j < ORDER_ITEM_COUNT; j++) {
+                productOrder.getOrderItems().add(new OrderItem()
+                    .quantity(1)
+                    .totalPrice(BigDecimal.TEN)
+                    .status(OrderItemStatus.AVAILABLE)
+                    .product(product));
+            }
+            productOrders.add(productOrder);
+        }
+        return productOrders;
+    }
+}
@@ -0,0 +1,72 @@
+package org.jhipster.ecommerce.store.service;
+
+import org.jhipster.ecommerce.store.domain.ProductOrder;
+import org.jhipster.ecommerce.store.domain.enumeration.OrderStatus;
+import org.jhipster.ecommerce.store.service.dto.ProductOrderCriteria;
+
+import io.github.jhipster.service.filter.InstantFilter;
+import io.github.jhipster.service.filter.LongFilter;
+import io.github.jhipster.service.filter.StringFilter;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the conversion of {@link ProductOrderCriteria} to a {@link Specification}, run on every filtered query.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductOrderQueryServiceBenchmark {
+
+    private ProductOrderQueryService productOrderQueryService;
+
+    private ProductOrderCriteria emptyCriteria;
+
+    private ProductOrderCriteria fullCriteria;
+
+    @Setup
+    public void setup() {
+        // Building a specification does not touch the database, nor the current user
+        productOrderQueryService = new ProductOrderQueryService(null, null, new TotalCountService(null, null, null));
+
+        emptyCriteria = new ProductOrderCriteria();
+
+        fullCriteria = new ProductOrderCriteria();
+        LongFilter id = new LongFilter();
+        id.setGreaterThan(0L);
+        fullCriteria.setId(id);
+        InstantFilter placedDate = new InstantFilter();
+        placedDate.setGreaterThanOrEqual(Instant.parse("2020-01-01T00:00:00Z"));
+        placedDate.setLessThan(Instant.parse("2021-01-01T00:00:00Z"));
+        fullCriteria.setPlacedDate(placedDate);
+        ProductOrderCriteria.OrderStatusFilter status = new ProductOrderCriteria.OrderStatusFilter();
+        status.setIn(Arrays.asList(OrderStatus.COMPLETED, OrderStatus.PENDING));
+        fullCriteria.setStatus(status);
+        StringFilter code = new StringFilter();
+        code.setContains("A");
+        fullCriteria.setCode(code);
+        LongFilter orderItemId = new LongFilter();
+        orderItemId.setEquals(1L);
+        fullCriteria.setOrderItemId(orderItemId);
+        LongFilter customerId = new LongFilter();
+        customerId.setEquals(1L);
+        fullCriteria.setCustomerId(customerId);
+    }
+
+    @Benchmark
+    public Specification<ProductOrder> createSpecificationWithoutFilter() {
+        return productOrderQueryService.createSpecification(emptyCriteria);
+    }
+
+    @Benchmark
+    public Specification<ProductOrder> createSpecificationWithAllFilters() {
+        return productOrderQueryService.createSpecification(fullCriteria);
+    }
+}
@@ -0,0 +1,162 @@
+package org.jhipster.ecommerce.store.service;
+
+import org.jhipster.ecommerce.store.StoreApp;
+import org.jhipster.ecommerce.store.domain.Customer;
+import org.jhipster.ecommerce.store.domain.OrderItem;
+import org.jhipster.ecommerce.store.domain.OrderItem_;
+import org.jhipster.ecommerce.store.domain.Product;
+import org.jhipster.ecommerce.store.domain.ProductOrder;
+import org.jhipster.ecommerce.store.domain.ProductOrder_;
+import org.jhipster.ecommerce.store.domain.User;
+import org.jhipster.ecommerce.store.domain.enumeration.Gender;
+import org.jhipster.ecommerce.store.domain.enumeration.OrderItemStatus;
+import org.jhipster.ecommerce.store.domain.enumeration.OrderStatus;
+import org.jhipster.ecommerce.store.domain.enumeration.Size;
+import org.jhipster.ecommerce.store.repository.ProductOrderRepository;
+import org.jhipster.ecommerce.store.service.dto.ProductOrderCriteria;
+
+import io.github.jhipster.config.JHipsterConstants;
+import io.github.jhipster.service.filter.LongFilter;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.criteria.JoinType;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the latency of a page of orders filtered on their order items, with the former {@code LEFT JOIN}
+ * specification against the {@code EXISTS} one built by {@link ProductOrderQueryService}.
+ * <p>
+ * The application is started with the {@code dev} profile on an in-memory H2 database, seeded with
+ * {@value #ORDER_COUNT} orders of {@value #ORDER_ITEM_COUNT} order items each. Both benchmarks fetch a page and its
+ * count, as done for an administrator through {@code GET /api/product-orders?orderItemId.specified=true}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ProductOrderSemiJoinBenchmark {
+
+    private static final int ORDER_COUNT = 200;
+
+    private static final int ORDER_ITEM_COUNT = 300;
+
+    private static final int SEED_BATCH_SIZE = 10;
+
+    private static final Pageable PAGE = PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "id"));
+
+    private ConfigurableApplicationContext context;
+
+    private ProductOrderRepository productOrderRepository;
+
+    private TransactionTemplate readOnlyTransaction;
+
+    private Specification<ProductOrder> leftJoinSpecification;
+
+    private Specification<ProductOrder> existsSpecification;
+
+    @Setup
+    public void setup() {
+        context = new SpringApplicationBuilder(StoreApp.class)
+            .profiles(JHipsterConstants.SPRING_PROFILE_DEVELOPMENT)
+            .properties(
+                "spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                "spring.liquibase.contexts=dev",
+                "server.port=0")
+            .run();
+        productOrderRepository = context.getBean(ProductOrderRepository.class);
+        ProductOrderQueryService productOrderQueryService = context.getBean(ProductOrderQueryService.class);
+        ProductOrderService productOrderService = context.getBean(ProductOrderService.class);
+        PlatformTransactionManager transactionManager = context.getBean(PlatformTransactionManager.class);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+
+        EntityManager em = SharedEntityManagerCreator.createSharedEntityManager(context.getBean(EntityManagerFactory.class));
+        Customer customer = new Customer()
+            .firstName("John")
+            .lastName("Doe")
+            .gender(Gender.OTHER)
+            .email("benchmark@localhost")
+            .phone("0123456789")
+            .addressLine1("1 Main Street")
+            .city("Springfield")
+            .country("USA");
+        Product product = new Product()
+            .name("Benchmark")
+            .price(BigDecimal.TEN)
+            .size(Size.M);
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            User user = new User();
+            user.setLogin("benchmark");
+            user.setPassword("$2a$10$gSAhZrxMllrbgj/kkK9UceBPpChGWJA7SYIb1Mqo.n5aNLq1/oRrC");
+            user.setEmail("benchmark@localhost");
+            user.setActivated(true);
+            em.persist(user);
+            em.persist(customer.user(user));
+            em.persist(product);
+        });
+        for (int i = 0; i < ORDER_COUNT; i += SEED_BATCH_SIZE) {
+            productOrderService.saveAll(newProductOrders(i, customer, product));
+        }
+
+        LongFilter orderItemId = new LongFilter();
+        orderItemId.setSpecified(true);
+        ProductOrderCriteria criteria = new ProductOrderCriteria();
+        criteria.setOrderItemId(orderItemId);
+        existsSpecification = productOrderQueryService.createSpecification(criteria);
+        leftJoinSpecification = (root, query, builder) ->
+            builder.isNotNull(root.join(ProductOrder_.orderItems, JoinType.LEFT).get(OrderItem_.id));
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Page<ProductOrder> leftJoin() {
+        return readOnlyTransaction.execute(status -> productOrderRepository.findAll(leftJoinSpecification, PAGE));
+    }
+
+    @Benchmark
+    public Page<ProductOrder> exists() {
+        return readOnlyTransaction.execute(status -> productOrderRepository.findAll(existsSpecification, PAGE));
+    }
+
+    private List<ProductOrder> newProductOrders(int offset, Customer customer, Product product) {
+        List<ProductOrder> productOrders = new ArrayList<>(SEED_BATCH_SIZE);
+        for (int i = offset; i < offset + SEED_BATCH_SIZE; i++) {
+            ProductOrder productOrder = new ProductOrder()
+                .placedDate(Instant.now())
+                .status(OrderStatus.PENDING)
+                .code("BENCHMARK-" + i)
+                .customer(customer);
+            for (int j = 0; j < ORDER_ITEM_COUNT; j++) {
+                productOrder.getOrderItems().add(new OrderItem()
+                    .quantity(1)
+                    .totalPrice(BigDecimal.TEN)
+                    .status(OrderItemStatus.AVAILABLE)
+                    .product(product));
+            }
+            productOrders.add(productOrder);
+        }
+        return productOrders;
+    }
+}
@@ -0,0 +1,119 @@
+package org.jhipster.ecommerce.store.aop.timing;
+
+import org.jhipster.ecommerce.store.config.ApplicationProperties;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Interceptor timing the calls of the repository, service and REST methods in {@code method.timed} timers, tagged by
+ * class and method.
+ * <p>
+ * The timer of a method is looked up once, then kept by class and method, so a timed call allocates nothing more than
+ * the call itself. Only {@code application.method-timing.sample-rate} of the calls are timed, the others being passed
+ * through after a random draw; the count of a timer is thus the count of the sampled calls. The methods can be
+ * restricted with {@code include} and {@code exclude} lists, checked once per method.
+ * <p>
+ * Unlike {@link io.micrometer.core.aop.TimedAspect}, the exception thrown is not a tag, which would take a lookup per
+ * failed call.
+ */
+public class MethodTimingInterceptor implements MethodInterceptor {
+
+    /**
+     * Name of the timers.
+     */
+    public static final String TIMER_NAME = "method.timed";
+
+    private final MeterRegistry meterRegistry;
+
+    private final double sampleRate;
+
+    private final List<Pattern> include;
+
+    private final List<Pattern> exclude;
+
+    private final Map<Class<?>, Map<Method, MethodTimer>> timers = new ConcurrentHashMap<>();
+
+    public MethodTimingInterceptor(MeterRegistry meterRegistry, ApplicationProperties.MethodTiming properties) {
+        this.meterRegistry = meterRegistry;
+        this.sampleRate = properties.getSampleRate();
+        this.include = toPatterns(properties.getInclude());
+        this.exclude = toPatterns(properties.getExclude());
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        if (sampleRate < 1 && (sampleRate <= 0 || ThreadLocalRandom.current().nextDouble() >= sampleRate)) {
+            return invocation.proceed();
+        }
+        Timer timer = getTimer(invocation);
+        if (timer == null) {
+            return invocation.proceed();
+        }
+        long start = System.nanoTime();
+        try {
+            return invocation.proceed();
+        } finally {
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Timer getTimer(MethodInvocation invocation) {
+        Object target = invocation.getThis();
+        Class<?> targetClass = target != null ? target.getClass() : invocation.getMethod().getDeclaringClass();
+        Map<Method, MethodTimer> classTimers = timers.get(targetClass);
+        if (classTimers == null) {
+            classTimers = timers.computeIfAbsent(targetClass, key -> new ConcurrentHashMap<>());
+        }
+        MethodTimer methodTimer = classTimers.get(invocation.getMethod());
+        if (methodTimer == null) {
+            methodTimer = classTimers.computeIfAbsent(invocation.getMethod(), method -> createTimer(target, method));
+        }
+        return methodTimer.timer;
+    }
+
+    private MethodTimer createTimer(Object target, Method method) {
+        String className = target != null ? ClassUtils.getUserClass(target).getSimpleName() : method.getDeclaringClass().getSimpleName();
+        String name = className + "." + method.getName();
+        boolean timed = (include.isEmpty() || include.stream().anyMatch(pattern -> pattern.matcher(name).matches()))
+            && exclude.stream().noneMatch(pattern -> pattern.matcher(name).matches());
+        if (!timed) {
+            return new MethodTimer(null);
+        }
+        return new MethodTimer(Timer.builder(TIMER_NAME)
+            .tag("class", className)
+            .tag("method", method.getName())
+            .description("The duration of the sampled calls of the repository, service and REST methods")
+            .register(meterRegistry));
+    }
+
+    private static List<Pattern> toPatterns(List<String> methods) {
+        return methods.stream()
+            .map(method -> Pattern.compile(Pattern.quote(method).replace("*", "\\E.*\\Q")))
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * The timer of a method, {@code null} when it is not timed, so that the excluded methods are also looked up once.
+     */
+    private static final class MethodTimer {
+
+        private final Timer timer;
+
+        private MethodTimer(Timer timer) {
+            this.timer = timer;
+        }
+    }
+}
@@ -1,7 +1,16 @@
 package org.jhipster.ecommerce.store.config;
 
+import com.hazelcast.config.EvictionPolicy;
+import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.config.MaxSizeConfig.MaxSizePolicy;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 /**
  * Properties specific to Store.
  * <p>
@@ -10,4 +19,930 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
  */
 @ConfigurationProperties(prefix = "application", ignoreUnknownFields = false)
 public class ApplicationProperties {
+
+    private final Jwt jwt = new Jwt();
+
+    private final AuditEvents auditEvents = new AuditEvents();
+
+    private final Purge purge = new Purge();
+
+    private final Pagination pagination = new Pagination();
+
+    private final Cache cache = new Cache();
+
+    private final Datasource datasource = new Datasource();
+
+    private final RequestStatistics requestStatistics = new RequestStatistics();
+
+    private final SalesRollups salesRollups = new SalesRollups();
+
+    private final CatalogCache catalogCache = new CatalogCache();
+
+    private final Tracker tracker = new Tracker();
+
+    private final Scheduling scheduling = new Scheduling();
+
+    private final MethodTiming methodTiming = new MethodTiming();
+
+    private final PasswordHashing passwordHashing = new PasswordHashing();
+
+    private final Export export = new Export();
+
+    public Jwt getJwt() {
+        return jwt;
+    }
+
+    public AuditEvents getAuditEvents() {
+        return auditEvents;
+    }
+
+    public Purge getPurge() {
+        return purge;
+    }
+
+    public Pagination getPagination() {
+        return pagination;
+    }
+
+    public Cache getCache() {
+        return cache;
+    }
+
+    public Datasource getDatasource() {
+        return datasource;
+    }
+
+    public RequestStatistics getRequestStatistics() {
+        return requestStatistics;
+    }
+
+    public SalesRollups getSalesRollups() {
+        return salesRollups;
+    }
+
+    public CatalogCache getCatalogCache() {
+        return catalogCache;
+    }
+
+    public Tracker getTracker() {
+        return tracker;
+    }
+
+    public Scheduling getScheduling() {
+        return scheduling;
+    }
+
+    public MethodTiming getMethodTiming() {
+        return methodTiming;
+    }
+
+    public PasswordHashing getPasswordHashing() {
+        return passwordHashing;
+    }
+
+    public Export getExport() {
+        return export;
+    }
+
+    public static class Jwt {
+
+        /**
+         * Maximum number of verified tokens kept in memory, {@code 0} to verify every token on each request.
+         */
+        private int verifiedTokenCacheSize = 10_000;
+
+        public int getVerifiedTokenCacheSize() {
+            return verifiedTokenCacheSize;
+        }
+
+        public void setVerifiedTokenCacheSize(int verifiedTokenCacheSize) {
+            this.verifiedTokenCacheSize = verifiedTokenCacheSize;
+        }
+    }
+
+    public static class AuditEvents {
+
+        /**
+         * Whether audit events are queued and written in background, instead of in the caller's transaction.
+         */
+        private boolean async = true;
+
+        /**
+         * Maximum number of audit events waiting to be written.
+         */
+        private int queueCapacity = 10_000;
+
+        /**
+         * Maximum number of audit events written in one transaction.
+         */
+        private int flushSize = 100;
+
+        /**
+         * Maximum time an audit event waits in the queue for a batch to fill up.
+         */
+        private Duration flushInterval = Duration.ofSeconds(1);
+
+        /**
+         * What to do with an audit event when the queue is full.
+         */
+        private OverflowPolicy overflowPolicy = OverflowPolicy.DROP;
+
+        /**
+         * How long the caller waits for room in the queue with the {@link OverflowPolicy#BLOCK} policy.
+         */
+        private Duration offerTimeout = Duration.ofMillis(50);
+
+        public boolean isAsync() {
+            return async;
+        }
+
+        public void setAsync(boolean async) {
+            this.async = async;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+
+        public int getFlushSize() {
+            return flushSize;
+        }
+
+        public void setFlushSize(int flushSize) {
+            this.flushSize = flushSize;
+        }
+
+        public Duration getFlushInterval() {
+            return flushInterval;
+        }
+
+        public void setFlushInterval(Duration flushInterval) {
+            this.flushInterval = flushInterval;
+        }
+
+        public OverflowPolicy getOverflowPolicy() {
+            return overflowPolicy;
+        }
+
+        public void setOverflowPolicy(OverflowPolicy overflowPolicy) {
+            this.overflowPolicy = overflowPolicy;
+        }
+
+        public Duration getOfferTimeout() {
+            return offerTimeout;
+        }
+
+        public void setOfferTimeout(Duration offerTimeout) {
+            this.offerTimeout = offerTimeout;
+        }
+
+        public enum OverflowPolicy {
+            /**
+             * Drop the new audit event right away.
+             */
+            DROP,
+            /**
+             * Wait up to the offer timeout for room in the queue, then drop the audit event.
+             */
+            BLOCK
+        }
+    }
+
+    public static class Purge {
+
+        /**
+         * Maximum number of rows deleted in one transaction by the scheduled purges.
+         */
+        private int batchSize = 500;
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+    }
+
+    public static class Pagination {
+
+        /**
+         * How the total number of entities is computed for the paged lists, unless set for the entity or the request.
+         */
+        private CountStrategy countStrategy = CountStrategy.EXACT;
+
+        /**
+         * How the total number of entities is computed for the paged lists, by entity name.
+         */
+        private Map<String, CountStrategy> entityCountStrategies = new HashMap<>();
+
+        /**
+         * How long a cached count is kept when no entity it depends on is written.
+         */
+        private Duration countCacheTimeToLive = Duration.ofMinutes(5);
+
+        public CountStrategy getCountStrategy() {
+            return countStrategy;
+        }
+
+        public void setCountStrategy(CountStrategy countStrategy) {
+            this.countStrategy = countStrategy;
+        }
+
+        public Map<String, CountStrategy> getEntityCountStrategies() {
+            return entityCountStrategies;
+        }
+
+        public void setEntityCountStrategies(Map<String, CountStrategy> entityCountStrategies) {
+            this.entityCountStrategies = entityCountStrategies;
+        }
+
+        public Duration getCountCacheTimeToLive() {
+            return countCacheTimeToLive;
+        }
+
+        public void setCountCacheTimeToLive(Duration countCacheTimeToLive) {
+            this.countCacheTimeToLive = countCacheTimeToLive;
+        }
+
+        /**
+         * Return the count strategy of an entity.
+         *
+         * @param entityName the name of the entity, such as {@code productOrder}.
+         * @return the strategy set for the entity, or the default one.
+         */
+        public CountStrategy getCountStrategy(String entityName) {
+            return entityCountStrategies.getOrDefault(entityName, countStrategy);
+        }
+
+        public enum CountStrategy {
+            /**
+             * Run a count query for every page.
+             */
+            EXACT,
+            /**
+             * Run a count query once per criteria, and keep its result in Hazelcast until an entity it depends on is written.
+             */
+            CACHED,
+            /**
+             * Read the number of rows from the database statistics when there is no filter, else same as {@link #CACHED}.
+             */
+            ESTIMATED,
+            /**
+             * Do not count, only tell whether there is a next page.
+             */
+            NONE
+        }
+    }
+
+    public static class Cache {
+
+        /**
+         * Hazelcast configuration of the second-level cache regions which are not configured by name.
+         */
+        private final Region defaultRegion = new Region();
+
+        /**
+         * Hazelcast configuration of the second-level cache regions, by name relative to the domain package, such as
+         * {@code Product} or {@code ProductOrder.orderItems}.
+         */
+        private Map<String, Region> regions = new HashMap<>();
+
+        public Region getDefaultRegion() {
+            return defaultRegion;
+        }
+
+        public Map<String, Region> getRegions() {
+            return regions;
+        }
+
+        public void setRegions(Map<String, Region> regions) {
+            this.regions = regions;
+        }
+    }
+
+    public static class Region {
+
+        /**
+         * How long an entry is kept after it is written, {@code jhipster.cache.hazelcast.time-to-live-seconds} if not set.
+         */
+        private Duration timeToLive;
+
+        /**
+         * How long an entry is kept after it is last read or written, {@code 0} to keep it until it expires.
+         */
+        private Duration maxIdle = Duration.ZERO;
+
+        /**
+         * Maximum size of the region, as a number of entries or a percentage of the heap depending on the policy,
+         * {@code 0} for no limit.
+         */
+        private int maxSize = 10_000;
+
+        /**
+         * How the maximum size of the region is measured.
+         */
+        private MaxSizePolicy maxSizePolicy = MaxSizePolicy.PER_NODE;
+
+        /**
+         * Which entries are evicted when the maximum size is reached.
+         */
+        private EvictionPolicy evictionPolicy = EvictionPolicy.LRU;
+
+        /**
+         * How the entries are stored by the members owning them.
+         */
+        private InMemoryFormat inMemoryFormat = InMemoryFormat.BINARY;
+
+        private final NearCache nearCache = new NearCache();
+
+        public Duration getTimeToLive() {
+            return timeToLive;
+        }
+
+        public void setTimeToLive(Duration timeToLive) {
+            this.timeToLive = timeToLive;
+        }
+
+        public Duration getMaxIdle() {
+            return maxIdle;
+        }
+
+        public void setMaxIdle(Duration maxIdle) {
+            this.maxIdle = maxIdle;
+        }
+
+        public int getMaxSize() {
+            return maxSize;
+        }
+
+        public void setMaxSize(int maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        public MaxSizePolicy getMaxSizePolicy() {
+            return maxSizePolicy;
+        }
+
+        public void setMaxSizePolicy(MaxSizePolicy maxSizePolicy) {
+            this.maxSizePolicy = maxSizePolicy;
+        }
+
+        public EvictionPolicy getEvictionPolicy() {
+            return evictionPolicy;
+        }
+
+        public void setEvictionPolicy(EvictionPolicy evictionPolicy) {
+            this.evictionPolicy = evictionPolicy;
+        }
+
+        public InMemoryFormat getInMemoryFormat() {
+            return inMemoryFormat;
+        }
+
+        public void setInMemoryFormat(InMemoryFormat inMemoryFormat) {
+            this.inMemoryFormat = inMemoryFormat;
+        }
+
+        public NearCache getNearCache() {
+            return nearCache;
+        }
+
+        public static class NearCache {
+
+            /**
+             * Whether the entries owned by other members are also kept locally, to read them without a network hop.
+             */
+            private boolean enabled = false;
+
+            /**
+             * Whether the local entries are evicted when the region entries are written or evicted.
+             */
+            private boolean invalidateOnChange = true;
+
+            /**
+             * How long a local entry is kept, {@code 0} to keep it until it is invalidated or evicted.
+             */
+            private Duration timeToLive = Duration.ZERO;
+
+            /**
+             * How long a local entry is kept after it is last read, {@code 0} to keep it until it expires.
+             */
+            private Duration maxIdle = Duration.ZERO;
+
+            /**
+             * Maximum number of local entries, evicted by least recent use.
+             */
+            private int maxSize = 10_000;
+
+            /**
+             * How the local entries are stored, {@code OBJECT} to skip their deserialization on each read.
+             */
+            private InMemoryFormat inMemoryFormat = InMemoryFormat.OBJECT;
+
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public boolean isInvalidateOnChange() {
+                return invalidateOnChange;
+            }
+
+            public void setInvalidateOnChange(boolean invalidateOnChange) {
+                this.invalidateOnChange = invalidateOnChange;
+            }
+
+            public Duration getTimeToLive() {
+                return timeToLive;
+            }
+
+            public void setTimeToLive(Duration timeToLive) {
+                this.timeToLive = timeToLive;
+            }
+
+            public Duration getMaxIdle() {
+                return maxIdle;
+            }
+
+            public void setMaxIdle(Duration maxIdle) {
+                this.maxIdle = maxIdle;
+            }
+
+            public int getMaxSize() {
+                return maxSize;
+            }
+
+            public void setMaxSize(int maxSize) {
+                this.maxSize = maxSize;
+            }
+
+            public InMemoryFormat getInMemoryFormat() {
+                return inMemoryFormat;
+            }
+
+            public void setInMemoryFormat(InMemoryFormat inMemoryFormat) {
+                this.inMemoryFormat = inMemoryFormat;
+            }
+        }
+    }
+
+    public static class Datasource {
+
+        /**
+         * Read replicas of the {@code spring.datasource} database, which serve the read-only transactions.
+         */
+        private List<Replica> replicas = new ArrayList<>();
+
+        /**
+         * Whether an HTTP request reads from the primary database once it has begun a read-write transaction.
+         */
+        private boolean readYourWrites = true;
+
+        /**
+         * How long a replica which failed to give a connection is skipped.
+         */
+        private Duration replicaRetryInterval = Duration.ofSeconds(30);
+
+        /**
+         * How long a read-only transaction waits for a replica connection before reading from another database.
+         */
+        private Duration replicaConnectionTimeout = Duration.ofSeconds(1);
+
+        public List<Replica> getReplicas() {
+            return replicas;
+        }
+
+        public void setReplicas(List<Replica> replicas) {
+            this.replicas = replicas;
+        }
+
+        public boolean isReadYourWrites() {
+            return readYourWrites;
+        }
+
+        public void setReadYourWrites(boolean readYourWrites) {
+            this.readYourWrites = readYourWrites;
+        }
+
+        public Duration getReplicaRetryInterval() {
+            return replicaRetryInterval;
+        }
+
+        public void setReplicaRetryInterval(Duration replicaRetryInterval) {
+            this.replicaRetryInterval = replicaRetryInterval;
+        }
+
+        public Duration getReplicaConnectionTimeout() {
+            return replicaConnectionTimeout;
+        }
+
+        public void setReplicaConnectionTimeout(Duration replicaConnectionTimeout) {
+            this.replicaConnectionTimeout = replicaConnectionTimeout;
+        }
+
+        public static class Replica {
+
+            /**
+             * JDBC URL of the replica.
+             */
+            private String url;
+
+            /**
+             * Login username of the replica, the one of the primary database if not set.
+             */
+            private String username;
+
+            /**
+             * Login password of the replica, the one of the primary database if not set.
+             */
+            private String password;
+
+            public String getUrl() {
+                return url;
+            }
+
+            public void setUrl(String url) {
+                this.url = url;
+            }
+
+            public String getUsername() {
+                return username;
+            }
+
+            public void setUsername(String username) {
+                this.username = username;
+            }
+
+            public String getPassword() {
+                return password;
+            }
+
+            public void setPassword(String password) {
+                this.password = password;
+            }
+        }
+    }
+
+    public static class RequestStatistics {
+
+        /**
+         * Whether the SQL statements, second-level cache gets and entity loads of each REST request are counted.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Number of SQL statements over which a REST request is logged as a warning, {@code 0} for no limit.
+         */
+        private int statementBudget = 50;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getStatementBudget() {
+            return statementBudget;
+        }
+
+        public void setStatementBudget(int statementBudget) {
+            this.statementBudget = statementBudget;
+        }
+    }
+
+    public static class SalesRollups {
+
+        /**
+         * Cron expression of the rebuild of the sales rollups from the orders and invoices, {@code -} to disable it.
+         */
+        private String rebuildCron = "0 30 3 * * SUN";
+
+        /**
+         * Number of days recomputed in one transaction by the rebuild, the chunks being recomputed in parallel.
+         */
+        private int rebuildChunkDays = 31;
+
+        public String getRebuildCron() {
+            return rebuildCron;
+        }
+
+        public void setRebuildCron(String rebuildCron) {
+            this.rebuildCron = rebuildCron;
+        }
+
+        public int getRebuildChunkDays() {
+            return rebuildChunkDays;
+        }
+
+        public void setRebuildChunkDays(int rebuildChunkDays) {
+            this.rebuildChunkDays = rebuildChunkDays;
+        }
+    }
+
+    public static class CatalogCache {
+
+        /**
+         * Whether the serialized responses of the product and product category lists are cached.
+         */
+        private boolean enabled = false;
+
+        /**
+         * How long a cached response is kept when no product nor product category is written.
+         */
+        private Duration timeToLive = Duration.ofMinutes(10);
+
+        /**
+         * Maximum number of cached responses per member, by list.
+         */
+        private int maxSize = 1000;
+
+        /**
+         * Size in bytes from which a gzipped copy of a response is cached too, for the clients accepting it.
+         */
+        private int gzipMinSize = 1024;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Duration getTimeToLive() {
+            return timeToLive;
+        }
+
+        public void setTimeToLive(Duration timeToLive) {
+            this.timeToLive = timeToLive;
+        }
+
+        public int getMaxSize() {
+            return maxSize;
+        }
+
+        public void setMaxSize(int maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        public int getGzipMinSize() {
+            return gzipMinSize;
+        }
+
+        public void setGzipMinSize(int gzipMinSize) {
+            this.gzipMinSize = gzipMinSize;
+        }
+    }
+
+    public static class Tracker {
+
+        /**
+         * How long the activities are collected before being sent to the trackers, the last activity of each session
+         * replacing the previous ones.
+         */
+        private Duration window = Duration.ofSeconds(1);
+
+        /**
+         * Maximum number of activities in one message to the trackers.
+         */
+        private int maxBatchSize = 500;
+
+        /**
+         * How long a session stays in the cluster-wide list of the active sessions after its last activity, when its
+         * member goes away without telling its end.
+         */
+        private Duration presenceTimeToLive = Duration.ofMinutes(30);
+
+        /**
+         * Maximum time a message to a WebSocket session may take to send before the session is closed.
+         */
+        private Duration sendTimeLimit = Duration.ofSeconds(10);
+
+        /**
+         * Maximum number of bytes buffered for a WebSocket session while a send is in progress, before the session is
+         * closed.
+         */
+        private int sendBufferSizeLimit = 512 * 1024;
+
+        public Duration getWindow() {
+            return window;
+        }
+
+        public void setWindow(Duration window) {
+            this.window = window;
+        }
+
+        public int getMaxBatchSize() {
+            return maxBatchSize;
+        }
+
+        public void setMaxBatchSize(int maxBatchSize) {
+            this.maxBatchSize = maxBatchSize;
+        }
+
+        public Duration getPresenceTimeToLive() {
+            return presenceTimeToLive;
+        }
+
+        public void setPresenceTimeToLive(Duration presenceTimeToLive) {
+            this.presenceTimeToLive = presenceTimeToLive;
+        }
+
+        public Duration getSendTimeLimit() {
+            return sendTimeLimit;
+        }
+
+        public void setSendTimeLimit(Duration sendTimeLimit) {
+            this.sendTimeLimit = sendTimeLimit;
+        }
+
+        public int getSendBufferSizeLimit() {
+            return sendBufferSizeLimit;
+        }
+
+        public void setSendBufferSizeLimit(int sendBufferSizeLimit) {
+            this.sendBufferSizeLimit = sendBufferSizeLimit;
+        }
+    }
+
+    public static class Scheduling {
+
+        /**
+         * How long the lock of a scheduled job is held at most, should its member stop responding while running it.
+         */
+        private Duration lockAtMostFor = Duration.ofHours(1);
+
+        /**
+         * How long after the start of a run the other members skip the same job, longer than the clock differences
+         * between members.
+         */
+        private Duration lockAtLeastFor = Duration.ofMinutes(1);
+
+        public Duration getLockAtMostFor() {
+            return lockAtMostFor;
+        }
+
+        public void setLockAtMostFor(Duration lockAtMostFor) {
+            this.lockAtMostFor = lockAtMostFor;
+        }
+
+        public Duration getLockAtLeastFor() {
+            return lockAtLeastFor;
+        }
+
+        public void setLockAtLeastFor(Duration lockAtLeastFor) {
+            this.lockAtLeastFor = lockAtLeastFor;
+        }
+    }
+
+    public static class MethodTiming {
+
+        /**
+         * Whether the repository, service and REST methods are timed, in {@code method.timed} timers.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Share of the calls timed, from {@code 0} to {@code 1}.
+         */
+        private double sampleRate = 1;
+
+        /**
+         * Methods to time, as {@code SimpleClassName.method} patterns where {@code *} matches any characters, all of
+         * them when empty.
+         */
+        private List<String> include = new ArrayList<>();
+
+        /**
+         * Methods not to time, as {@code SimpleClassName.method} patterns where {@code *} matches any characters.
+         */
+        private List<String> exclude = new ArrayList<>();
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public double getSampleRate() {
+            return sampleRate;
+        }
+
+        public void setSampleRate(double sampleRate) {
+            this.sampleRate = sampleRate;
+        }
+
+        public List<String> getInclude() {
+            return include;
+        }
+
+        public void setInclude(List<String> include) {
+            this.include = include;
+        }
+
+        public List<String> getExclude() {
+            return exclude;
+        }
+
+        public void setExclude(List<String> exclude) {
+            this.exclude = exclude;
+        }
+    }
+
+    public static class PasswordHashing {
+
+        /**
+         * Whether the passwords are hashed and checked on a bounded pool of threads, instead of the caller's thread.
+         */
+        private boolean async = true;
+
+        /**
+         * Number of threads hashing and checking the passwords, {@code 0} for the number of processors.
+         */
+        private int poolSize = 0;
+
+        /**
+         * Maximum number of hashes waiting for a thread, over which they are rejected, {@code 0} to reject them as soon
+         * as all the threads are busy.
+         */
+        private int queueCapacity = 100;
+
+        public boolean isAsync() {
+            return async;
+        }
+
+        public void setAsync(boolean async) {
+            this.async = async;
+        }
+
+        public int getPoolSize() {
+            return poolSize;
+        }
+
+        public void setPoolSize(int poolSize) {
+            this.poolSize = poolSize;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+    }
+
+    public static class Export {
+
+        /**
+         * How long an export may stream its rows before the request is timed out.
+         */
+        private Duration timeout = Duration.ofMinutes(30);
+
+        /**
+         * Number of threads streaming the exports.
+         */
+        private int poolSize = 2;
+
+        /**
+         * Maximum number of exports waiting for a thread, over which they are rejected.
+         */
+        private int queueCapacity = 10;
+
+        public Duration getTimeout() {
+            return timeout;
+        }
+
+        public void setTimeout(Duration timeout) {
+            this.timeout = timeout;
+        }
+
+        public int getPoolSize() {
+            return poolSize;
+        }
+
+        public void setPoolSize(int poolSize) {
+            this.poolSize = poolSize;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+    }
 }
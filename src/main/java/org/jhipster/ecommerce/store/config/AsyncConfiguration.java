@@ -8,6 +8,7 @@ import org.springframework.aop.interceptor.SimpleAsyncUncaughtExceptionHandler;
 import org.springframework.boot.autoconfigure.task.TaskExecutionProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
 import org.springframework.scheduling.annotation.AsyncConfigurer;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.annotation.EnableScheduling;
@@ -40,6 +41,22 @@ public class AsyncConfiguration implements AsyncConfigurer {
         return new ExceptionHandlingAsyncTaskExecutor(executor);
     }
 
+    /**
+     * Executor streaming the exports, apart from the shared task executor as an export holds its thread for as long as
+     * it writes rows.
+     */
+    @Bean(name = "exportTaskExecutor")
+    public AsyncTaskExecutor exportTaskExecutor(ApplicationProperties applicationProperties) {
+        log.debug("Creating Export Task Executor");
+        ApplicationProperties.Export export = applicationProperties.getExport();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(export.getPoolSize());
+        executor.setMaxPoolSize(export.getPoolSize());
+        executor.setQueueCapacity(export.getQueueCapacity());
+        executor.setThreadNamePrefix("store-export-");
+        return executor;
+    }
+
     @Override
     public AsyncUncaughtExceptionHandler getAsyncUncaughtExceptionHandler() {
         return new SimpleAsyncUncaughtExceptionHandler();
@@ -1,5 +1,9 @@
 package org.jhipster.ecommerce.store.config;
 
+import org.jhipster.ecommerce.store.config.hazelcast.HazelcastSerializers;
+import org.jhipster.ecommerce.store.service.CatalogResponseCache;
+import org.jhipster.ecommerce.store.web.websocket.ActivityBroadcaster;
+
 import io.github.jhipster.config.JHipsterConstants;
 import io.github.jhipster.config.JHipsterProperties;
 
@@ -28,6 +32,12 @@ import javax.annotation.PreDestroy;
 @Configuration
 @EnableCaching
 public class CacheConfiguration {
+
+    /**
+     * Prefix of the names of the second-level cache regions, which are also the names of their Hazelcast maps.
+     */
+    public static final String DOMAIN_REGION_PREFIX = "org.jhipster.ecommerce.store.domain.";
+
     private GitProperties gitProperties;
     private BuildProperties buildProperties;
 
@@ -52,13 +62,21 @@ public class CacheConfiguration {
     }
 
     @Bean
-    public HazelcastInstance hazelcastInstance(JHipsterProperties jHipsterProperties) {
+    public HazelcastInstance hazelcastInstance(JHipsterProperties jHipsterProperties, ApplicationProperties applicationProperties) {
         log.debug("Configuring Hazelcast");
         HazelcastInstance hazelCastInstance = Hazelcast.getHazelcastInstanceByName("store");
         if (hazelCastInstance != null) {
             log.debug("Hazelcast already initialized");
             return hazelCastInstance;
         }
+        return Hazelcast.newHazelcastInstance(hazelcastConfig(jHipsterProperties, applicationProperties));
+    }
+
+    /**
+     * Build the configuration of the Hazelcast instance, with a map configuration per second-level cache region set in
+     * {@code application.cache.regions}, the other regions falling back to {@code application.cache.default-region}.
+     */
+    Config hazelcastConfig(JHipsterProperties jHipsterProperties, ApplicationProperties applicationProperties) {
         Config config = new Config();
         config.setInstanceName("store");
         config.getNetworkConfig().setPort(5701);
@@ -74,10 +92,19 @@ public class CacheConfiguration {
         }
         config.getMapConfigs().put("default", initializeDefaultMapConfig(jHipsterProperties));
 
+        // Cached entity state and users are written field by field instead of through Java serialization
+        HazelcastSerializers.configure(config.getSerializationConfig());
+
         // Full reference is available at: https://docs.hazelcast.org/docs/management-center/3.9/manual/html/Deploying_and_Starting.html
         config.setManagementCenterConfig(initializeDefaultManagementCenterConfig(jHipsterProperties));
-        config.getMapConfigs().put("org.jhipster.ecommerce.store.domain.*", initializeDomainMapConfig(jHipsterProperties));
-        return Hazelcast.newHazelcastInstance(config);
+        ApplicationProperties.Cache cache = applicationProperties.getCache();
+        config.getMapConfigs().put(DOMAIN_REGION_PREFIX + "*", initializeDomainMapConfig(jHipsterProperties, cache.getDefaultRegion()));
+        cache.getRegions().forEach((name, region) ->
+            config.getMapConfigs().put(DOMAIN_REGION_PREFIX + name, initializeDomainMapConfig(jHipsterProperties, region)));
+        config.getMapConfigs().put("totalCount.*", initializeTotalCountMapConfig(applicationProperties));
+        config.getMapConfigs().put(CatalogResponseCache.MAP_NAME_PREFIX + "*", initializeCatalogResponseMapConfig(applicationProperties));
+        config.getMapConfigs().put(ActivityBroadcaster.PRESENCE_MAP_NAME, initializePresenceMapConfig(applicationProperties));
+        return config;
     }
 
     private ManagementCenterConfig initializeDefaultManagementCenterConfig(JHipsterProperties jHipsterProperties) {
@@ -118,9 +145,62 @@ public class CacheConfiguration {
         return mapConfig;
     }
 
-    private MapConfig initializeDomainMapConfig(JHipsterProperties jHipsterProperties) {
+    private MapConfig initializeDomainMapConfig(JHipsterProperties jHipsterProperties, ApplicationProperties.Region region) {
+        MapConfig mapConfig = new MapConfig();
+        mapConfig.setTimeToLiveSeconds(region.getTimeToLive() != null ? (int) region.getTimeToLive().getSeconds()
+            : jHipsterProperties.getCache().getHazelcast().getTimeToLiveSeconds());
+        mapConfig.setMaxIdleSeconds((int) region.getMaxIdle().getSeconds());
+        mapConfig.setMaxSizeConfig(new MaxSizeConfig(region.getMaxSize(), region.getMaxSizePolicy()));
+        mapConfig.setEvictionPolicy(region.getEvictionPolicy());
+        mapConfig.setInMemoryFormat(region.getInMemoryFormat());
+
+        ApplicationProperties.Region.NearCache nearCache = region.getNearCache();
+        if (nearCache.isEnabled()) {
+            // Invalidations are sent by the members owning the entries, so the local copies never outlive an update
+            NearCacheConfig nearCacheConfig = new NearCacheConfig();
+            nearCacheConfig.setInvalidateOnChange(nearCache.isInvalidateOnChange());
+            nearCacheConfig.setTimeToLiveSeconds((int) nearCache.getTimeToLive().getSeconds());
+            nearCacheConfig.setMaxIdleSeconds((int) nearCache.getMaxIdle().getSeconds());
+            nearCacheConfig.setInMemoryFormat(nearCache.getInMemoryFormat());
+            nearCacheConfig.setEvictionConfig(new EvictionConfig(nearCache.getMaxSize(),
+                EvictionConfig.MaxSizePolicy.ENTRY_COUNT, EvictionPolicy.LRU));
+            mapConfig.setNearCacheConfig(nearCacheConfig);
+        }
+        return mapConfig;
+    }
+
+    private MapConfig initializeTotalCountMapConfig(ApplicationProperties applicationProperties) {
+        MapConfig mapConfig = new MapConfig();
+        mapConfig.setTimeToLiveSeconds((int) applicationProperties.getPagination().getCountCacheTimeToLive().getSeconds());
+        mapConfig.setEvictionPolicy(EvictionPolicy.LRU);
+        mapConfig.setMaxSizeConfig(new MaxSizeConfig(10_000, MaxSizeConfig.MaxSizePolicy.PER_NODE));
+        return mapConfig;
+    }
+
+    private MapConfig initializeCatalogResponseMapConfig(ApplicationProperties applicationProperties) {
+        ApplicationProperties.CatalogCache catalogCache = applicationProperties.getCatalogCache();
+        MapConfig mapConfig = new MapConfig();
+        mapConfig.setTimeToLiveSeconds((int) catalogCache.getTimeToLive().getSeconds());
+        mapConfig.setEvictionPolicy(EvictionPolicy.LRU);
+        mapConfig.setMaxSizeConfig(new MaxSizeConfig(catalogCache.getMaxSize(), MaxSizeConfig.MaxSizePolicy.PER_NODE));
+
+        // Hits are served from the local copy as is, including for the entries the member owns, and the clear of a
+        // list invalidates the copies of every member
+        NearCacheConfig nearCacheConfig = new NearCacheConfig();
+        nearCacheConfig.setInMemoryFormat(InMemoryFormat.OBJECT);
+        nearCacheConfig.setCacheLocalEntries(true);
+        nearCacheConfig.setInvalidateOnChange(true);
+        nearCacheConfig.setTimeToLiveSeconds((int) catalogCache.getTimeToLive().getSeconds());
+        nearCacheConfig.setEvictionConfig(new EvictionConfig(catalogCache.getMaxSize(),
+            EvictionConfig.MaxSizePolicy.ENTRY_COUNT, EvictionPolicy.LRU));
+        mapConfig.setNearCacheConfig(nearCacheConfig);
+        return mapConfig;
+    }
+
+    private MapConfig initializePresenceMapConfig(ApplicationProperties applicationProperties) {
         MapConfig mapConfig = new MapConfig();
-        mapConfig.setTimeToLiveSeconds(jHipsterProperties.getCache().getHazelcast().getTimeToLiveSeconds());
+        // Each activity of a session puts it again, so only the sessions of a dead member expire
+        mapConfig.setTimeToLiveSeconds((int) applicationProperties.getTracker().getPresenceTimeToLive().getSeconds());
         return mapConfig;
     }
 
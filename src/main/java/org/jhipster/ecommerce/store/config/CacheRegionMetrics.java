@@ -0,0 +1,68 @@
+package org.jhipster.ecommerce.store.config;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.map.listener.EntryEvictedListener;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.cache.HazelcastCacheMetrics;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.EntityManagerFactory;
+
+/**
+ * Bind the hit, size and near cache metrics of the second-level cache regions to Micrometer, with the same tags as
+ * the Spring caches, and count the entries evicted from them. Hazelcast only counts the misses of the near caches, in
+ * {@code cache.near.requests}.
+ * <p>
+ * Hibernate only creates the regions with the session factory, so they are bound once the application is ready.
+ */
+@Component
+public class CacheRegionMetrics implements ApplicationListener<ApplicationReadyEvent> {
+
+    private static final String CACHE_MANAGER_NAME = "hibernate";
+
+    private final Logger log = LoggerFactory.getLogger(CacheRegionMetrics.class);
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    private final HazelcastInstance hazelcastInstance;
+
+    private final MeterRegistry meterRegistry;
+
+    public CacheRegionMetrics(EntityManagerFactory entityManagerFactory, HazelcastInstance hazelcastInstance,
+                              MeterRegistry meterRegistry) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.hazelcastInstance = hazelcastInstance;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        for (String regionName : sessionFactory.getCache().getSecondLevelCacheRegionNames()) {
+            if (regionName.startsWith(CacheConfiguration.DOMAIN_REGION_PREFIX)) {
+                bindRegion(regionName);
+            }
+        }
+    }
+
+    private void bindRegion(String regionName) {
+        log.debug("Binding metrics of cache region {}", regionName);
+        IMap<Object, Object> map = hazelcastInstance.getMap(regionName);
+        Tags tags = Tags.of("cacheManager", CACHE_MANAGER_NAME, "name", regionName);
+        HazelcastCacheMetrics.monitor(meterRegistry, map, tags);
+
+        // Hazelcast has no eviction statistics, each member counts the evictions of the entries it owns
+        Counter evictions = Counter.builder("cache.evictions").tags(tags).tag("cache", regionName)
+            .description("The number of entries evicted from the region")
+            .register(meterRegistry);
+        map.addLocalEntryListener((EntryEvictedListener<Object, Object>) entryEvent -> evictions.increment());
+    }
+}
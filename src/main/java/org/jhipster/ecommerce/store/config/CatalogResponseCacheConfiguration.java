@@ -0,0 +1,42 @@
+package org.jhipster.ecommerce.store.config;
+
+import org.jhipster.ecommerce.store.service.CatalogResponseCache;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Opt-in cache of the serialized product and product category lists, see {@link CatalogResponseCache}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "application.catalog-cache", name = "enabled", havingValue = "true")
+public class CatalogResponseCacheConfiguration {
+
+    private final ApplicationProperties applicationProperties;
+
+    public CatalogResponseCacheConfiguration(ApplicationProperties applicationProperties) {
+        this.applicationProperties = applicationProperties;
+    }
+
+    /**
+     * Filter of the list requests, registered with the default order so that it runs after Spring Security.
+     *
+     * @param catalogResponseCache the cache of the responses.
+     * @return the filter registration.
+     */
+    @Bean
+    public FilterRegistrationBean<CatalogResponseCacheFilter> catalogResponseCacheFilter(CatalogResponseCache catalogResponseCache) {
+        Map<String, String> listsByPath = new LinkedHashMap<>();
+        listsByPath.put("/api/products", CatalogResponseCache.PRODUCTS);
+        listsByPath.put("/api/product-categories", CatalogResponseCache.PRODUCT_CATEGORIES);
+        FilterRegistrationBean<CatalogResponseCacheFilter> registration = new FilterRegistrationBean<>(new CatalogResponseCacheFilter(
+            catalogResponseCache, listsByPath, applicationProperties.getCatalogCache().getGzipMinSize()));
+        registration.addUrlPatterns(listsByPath.keySet().toArray(new String[0]));
+        return registration;
+    }
+}
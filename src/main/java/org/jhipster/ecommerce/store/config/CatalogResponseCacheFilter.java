@@ -0,0 +1,144 @@
+package org.jhipster.ecommerce.store.config;
+
+import org.jhipster.ecommerce.store.service.CatalogResponseCache;
+import org.jhipster.ecommerce.store.service.CatalogResponseCache.CachedResponse;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.UrlPathHelper;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Filter serving the catalog lists from {@link CatalogResponseCache}.
+ * <p>
+ * On a miss, the response of the REST controller is buffered, cached and sent back. On a hit, the cached bytes are
+ * written as they are, gzipped if the client accepts it, and no controller nor Jackson is involved. Either way, the
+ * response has an {@code ETag}, and a request whose {@code If-None-Match} matches it gets a {@code 304 (Not Modified)}.
+ * <p>
+ * Only the requests with no other parameter than the pagination ones are cached, keyed by their URL, which the
+ * {@code Link} header of the response is made of, in the current generation of the list. The filter runs after Spring Security, so the access rules still
+ * apply to the cached lists.
+ */
+public class CatalogResponseCacheFilter extends OncePerRequestFilter {
+
+    private static final Set<String> PAGINATION_PARAMETERS = new HashSet<>(Arrays.asList("page", "size", "sort"));
+
+    private static final List<String> CACHED_HEADERS = Arrays.asList(HttpHeaders.CONTENT_TYPE, HttpHeaders.LINK, "X-Total-Count");
+
+    private static final String CACHE_CONTROL = "private, no-cache";
+
+    private static final String GZIP = "gzip";
+
+    private final CatalogResponseCache catalogResponseCache;
+
+    private final Map<String, String> listsByPath;
+
+    private final int gzipMinSize;
+
+    private final UrlPathHelper urlPathHelper = new UrlPathHelper();
+
+    /**
+     * @param catalogResponseCache the cache of the responses.
+     * @param listsByPath the names of the cached lists, by the path of their endpoint.
+     * @param gzipMinSize the size in bytes from which a gzipped copy of a response is cached too.
+     */
+    public CatalogResponseCacheFilter(CatalogResponseCache catalogResponseCache, Map<String, String> listsByPath, int gzipMinSize) {
+        this.catalogResponseCache = catalogResponseCache;
+        this.listsByPath = Collections.unmodifiableMap(new LinkedHashMap<>(listsByPath));
+        this.gzipMinSize = gzipMinSize;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !HttpMethod.GET.matches(request.getMethod())
+            || !listsByPath.containsKey(urlPathHelper.getPathWithinApplication(request))
+            || !PAGINATION_PARAMETERS.containsAll(request.getParameterMap().keySet());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+        throws ServletException, IOException {
+        String list = listsByPath.get(urlPathHelper.getPathWithinApplication(request));
+        // Taken before the controller reads the list, so that an eviction meanwhile is not undone by the put below
+        String key = catalogResponseCache.currentKey(list, key(request));
+        CachedResponse cachedResponse = catalogResponseCache.get(list, key);
+        if (cachedResponse != null) {
+            write(cachedResponse, request, response);
+            return;
+        }
+
+        ContentCachingResponseWrapper responseWrapper = new ContentCachingResponseWrapper(response);
+        filterChain.doFilter(request, responseWrapper);
+        String contentType = responseWrapper.getContentType();
+        if (responseWrapper.getStatus() != HttpStatus.OK.value() || contentType == null || !contentType.contains("json")) {
+            responseWrapper.copyBodyToResponse();
+            return;
+        }
+        Map<String, String> headers = new LinkedHashMap<>();
+        for (String header : CACHED_HEADERS) {
+            String value = responseWrapper.getHeader(header);
+            if (value != null) {
+                headers.put(header, value);
+            }
+        }
+        cachedResponse = CachedResponse.of(headers, responseWrapper.getContentAsByteArray(), gzipMinSize);
+        catalogResponseCache.put(list, key, cachedResponse);
+        write(cachedResponse, request, response);
+    }
+
+    /**
+     * Build the key of a request from its URL and its pagination parameters, in a canonical order.
+     */
+    private static String key(HttpServletRequest request) {
+        StringBuilder key = new StringBuilder(request.getRequestURL()).append('?');
+        new TreeMap<>(request.getParameterMap()).forEach((name, values) -> {
+            for (String value : values) {
+                key.append(name).append('=').append(value).append('&');
+            }
+        });
+        return key.toString();
+    }
+
+    private static void write(CachedResponse cachedResponse, HttpServletRequest request, HttpServletResponse response)
+        throws IOException {
+        byte[] gzippedBody = cachedResponse.getGzippedBody();
+        boolean gzip = gzippedBody != null && acceptsGzip(request);
+        // Each encoding is a representation of its own, with its own entity tag
+        String eTag = "\"" + cachedResponse.getDigest() + (gzip ? "-" + GZIP : "") + "\"";
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+        if (new ServletWebRequest(request, response).checkNotModified(eTag)) {
+            return;
+        }
+        response.setHeader(HttpHeaders.ETAG, eTag);
+        cachedResponse.getHeaders().forEach(response::setHeader);
+        byte[] body = gzip ? gzippedBody : cachedResponse.getBody();
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, GZIP);
+        }
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    private static boolean acceptsGzip(HttpServletRequest request) {
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        return acceptEncoding != null && acceptEncoding.toLowerCase().contains(GZIP);
+    }
+}
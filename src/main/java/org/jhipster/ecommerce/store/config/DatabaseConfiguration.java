@@ -1,34 +1,64 @@
 package org.jhipster.ecommerce.store.config;
 
+import org.jhipster.ecommerce.store.config.datasource.ReadWriteRoutingDataSource;
+import org.jhipster.ecommerce.store.repository.SliceJpaRepository;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
 import io.github.jhipster.config.JHipsterConstants;
 import io.github.jhipster.config.h2.H2ConfigurationHelper;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.liquibase.LiquibaseDataSource;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 import org.springframework.context.annotation.Profile;
 
 import org.springframework.core.env.Environment;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
+import org.springframework.util.StringUtils;
 
+import javax.annotation.PreDestroy;
+import javax.sql.DataSource;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 @Configuration
-@EnableJpaRepositories("org.jhipster.ecommerce.store.repository")
+@EnableJpaRepositories(value = "org.jhipster.ecommerce.store.repository", repositoryBaseClass = SliceJpaRepository.class)
 @EnableJpaAuditing(auditorAwareRef = "springSecurityAuditorAware")
 @EnableTransactionManagement
 public class DatabaseConfiguration {
 
+    private static final String REPLICAS_PROPERTY = "application.datasource.replicas[0].url";
+
     private final Logger log = LoggerFactory.getLogger(DatabaseConfiguration.class);
 
     private final Environment env;
 
+    private final List<HikariDataSource> replicaDataSources = new ArrayList<>();
+
     public DatabaseConfiguration(Environment env) {
         this.env = env;
     }
 
+    @PreDestroy
+    public void destroy() {
+        replicaDataSources.forEach(HikariDataSource::close);
+    }
+
     /**
      * Open the TCP port for the H2 database, so it is available remotely.
      *
@@ -43,6 +73,69 @@ public class DatabaseConfiguration {
         return H2ConfigurationHelper.createServer(port);
     }
 
+    /**
+     * Pool of the primary database, configured like the default one, when there are read replicas.
+     * <p>
+     * The pool is named after {@code spring.datasource.name}, or {@code primary}, once the
+     * {@code spring.datasource.hikari} properties are bound, so that a {@code poolName} set there does not rename it.
+     *
+     * @param dataSourceProperties the {@code spring.datasource} properties.
+     * @return the primary pool.
+     */
+    @Bean
+    @LiquibaseDataSource
+    @ConditionalOnProperty(REPLICAS_PROPERTY)
+    public HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+        HikariDataSource dataSource = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder.get(env).bind("spring.datasource.hikari", Bindable.ofInstance(dataSource));
+        dataSource.setPoolName(StringUtils.hasText(dataSourceProperties.getName()) ? dataSourceProperties.getName() : "primary");
+        return dataSource;
+    }
+
+    /**
+     * DataSource of the application when there are read replicas, sending the read-only transactions to them.
+     * <p>
+     * Each replica has its own pool, configured like the primary one, and all the pools have their own metrics,
+     * tagged with their pool name.
+     *
+     * @param primaryDataSource     the primary pool.
+     * @param applicationProperties the properties of the replicas.
+     * @param meterRegistry         the registry of the pool metrics.
+     * @return the routing DataSource.
+     */
+    @Bean
+    @Primary
+    @ConditionalOnProperty(REPLICAS_PROPERTY)
+    public DataSource dataSource(HikariDataSource primaryDataSource, ApplicationProperties applicationProperties,
+                                 ObjectProvider<MeterRegistry> meterRegistry) {
+        ApplicationProperties.Datasource properties = applicationProperties.getDatasource();
+        List<ApplicationProperties.Datasource.Replica> replicaProperties = properties.getReplicas();
+        Map<String, HikariDataSource> replicas = new LinkedHashMap<>();
+        for (int i = 0; i < replicaProperties.size(); i++) {
+            ApplicationProperties.Datasource.Replica replica = replicaProperties.get(i);
+            HikariDataSource replicaDataSource = new HikariDataSource();
+            primaryDataSource.copyStateTo(replicaDataSource);
+            replicaDataSource.setPoolName(primaryDataSource.getPoolName() + "-replica-" + (i + 1));
+            replicaDataSource.setJdbcUrl(replica.getUrl());
+            if (replica.getUsername() != null) {
+                replicaDataSource.setUsername(replica.getUsername());
+                replicaDataSource.setPassword(replica.getPassword());
+            }
+            replicaDataSource.setConnectionTimeout(properties.getReplicaConnectionTimeout().toMillis());
+            // Start the pool even when the replica is down, its reads then go to the primary
+            replicaDataSource.setInitializationFailTimeout(-1);
+            replicas.put(replicaDataSource.getPoolName(), replicaDataSource);
+            replicaDataSources.add(replicaDataSource);
+        }
+        meterRegistry.ifAvailable(registry -> {
+            primaryDataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+            replicas.values().forEach(replica -> replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry)));
+        });
+        log.debug("Routing read-only transactions to {} replica(s)", replicas.size());
+        return new LazyConnectionDataSourceProxy(new ReadWriteRoutingDataSource(primaryDataSource, replicas,
+            properties.isReadYourWrites(), properties.getReplicaRetryInterval()));
+    }
+
     private String getValidPortForH2() {
         int port = Integer.parseInt(env.getProperty("server.port"));
         if (port < 10000) {
@@ -0,0 +1,51 @@
+package org.jhipster.ecommerce.store.config;
+
+import org.jhipster.ecommerce.store.aop.logging.LoggingAspect;
+import org.jhipster.ecommerce.store.aop.timing.MethodTimingInterceptor;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.aspectj.AspectJExpressionPointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Opt-in timing of the repository, service and REST methods, the ones {@link LoggingAspect} logs in development.
+ * <p>
+ * The timing advisor runs just outside of the {@code @Transactional} one, so that the duration of a transactional
+ * method covers its whole transaction: getting a connection, the method itself, and the flush and commit.
+ * <p>
+ * When disabled, no advisor is registered and the methods are called without any interception.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "application.method-timing", name = "enabled", havingValue = "true")
+public class MethodTimingConfiguration {
+
+    /**
+     * Order of the timing advisor, just before the transaction advisor, which has the lowest precedence as
+     * {@code @EnableTransactionManagement} sets no order.
+     */
+    private static final int METHOD_TIMING_ORDER = Ordered.LOWEST_PRECEDENCE - 1;
+
+    /**
+     * Advisor of the {@link MethodTimingInterceptor}, a plain interceptor rather than an aspect, so that no join point
+     * is created for each call.
+     *
+     * @param meterRegistry the registry of the timers.
+     * @param applicationProperties the properties of the timing.
+     * @return the advisor.
+     */
+    @Bean
+    public Advisor methodTimingAdvisor(MeterRegistry meterRegistry, ApplicationProperties applicationProperties) {
+        AspectJExpressionPointcut pointcut = new AspectJExpressionPointcut();
+        pointcut.setExpression(LoggingAspect.class.getName() + ".applicationPackagePointcut() && " +
+            LoggingAspect.class.getName() + ".springBeanPointcut()");
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(pointcut,
+            new MethodTimingInterceptor(meterRegistry, applicationProperties.getMethodTiming()));
+        advisor.setOrder(METHOD_TIMING_ORDER);
+        return advisor;
+    }
+}
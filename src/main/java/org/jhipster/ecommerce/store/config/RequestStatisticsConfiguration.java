@@ -0,0 +1,93 @@
+package org.jhipster.ecommerce.store.config;
+
+import org.jhipster.ecommerce.store.config.statistics.RequestStatisticsFilter;
+import org.jhipster.ecommerce.store.config.statistics.RequestStatisticsSessionListener;
+
+import io.github.jhipster.config.JHipsterConstants;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.boot.Metadata;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.jpa.boot.internal.EntityManagerFactoryBuilderImpl;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+
+import javax.servlet.DispatcherType;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Opt-in collection of the Hibernate statistics of each REST request: SQL statements, second-level cache gets and
+ * entity loads, recorded in Micrometer by endpoint.
+ * <p>
+ * Unlike {@code hibernate.generate_statistics}, which is global, the statistics are counted by the thread handling the
+ * request, with no synchronization.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "application.request-statistics", name = "enabled", havingValue = "true")
+public class RequestStatisticsConfiguration {
+
+    private final ApplicationProperties applicationProperties;
+
+    public RequestStatisticsConfiguration(ApplicationProperties applicationProperties) {
+        this.applicationProperties = applicationProperties;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer requestStatisticsHibernatePropertiesCustomizer() {
+        RequestStatisticsSessionListener loadListener = new RequestStatisticsSessionListener();
+        Integrator integrator = new Integrator() {
+
+            @Override
+            public void integrate(Metadata metadata, SessionFactoryImplementor sessionFactory,
+                                  SessionFactoryServiceRegistry serviceRegistry) {
+                serviceRegistry.getService(EventListenerRegistry.class).appendListeners(EventType.POST_LOAD, loadListener);
+            }
+
+            @Override
+            public void disintegrate(SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+                // Nothing to release
+            }
+        };
+        return hibernateProperties -> {
+            hibernateProperties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, RequestStatisticsSessionListener.class.getName());
+            // Keep the integrators registered by the other customizers
+            IntegratorProvider integratorProvider = (IntegratorProvider) hibernateProperties.get(EntityManagerFactoryBuilderImpl.INTEGRATOR_PROVIDER);
+            hibernateProperties.put(EntityManagerFactoryBuilderImpl.INTEGRATOR_PROVIDER, (IntegratorProvider) () -> {
+                List<Integrator> integrators = new ArrayList<>();
+                if (integratorProvider != null) {
+                    integrators.addAll(integratorProvider.getIntegrators());
+                }
+                integrators.add(integrator);
+                return integrators;
+            });
+        };
+    }
+
+    /**
+     * Filter of the REST requests, sending their statistics in a {@code Server-Timing} header unless in production.
+     *
+     * @param meterRegistry the registry of the statistics.
+     * @param env           the environment, to know the active profiles.
+     * @return the filter registration.
+     */
+    @Bean
+    public FilterRegistrationBean<RequestStatisticsFilter> requestStatisticsFilter(MeterRegistry meterRegistry, Environment env) {
+        boolean serverTiming = !env.acceptsProfiles(Profiles.of(JHipsterConstants.SPRING_PROFILE_PRODUCTION));
+        FilterRegistrationBean<RequestStatisticsFilter> registration = new FilterRegistrationBean<>(new RequestStatisticsFilter(
+            meterRegistry, applicationProperties.getRequestStatistics().getStatementBudget(), serverTiming));
+        registration.addUrlPatterns("/api/*");
+        registration.setDispatcherTypes(DispatcherType.REQUEST, DispatcherType.ASYNC);
+        return registration;
+    }
+}
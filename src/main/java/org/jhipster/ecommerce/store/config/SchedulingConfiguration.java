@@ -0,0 +1,55 @@
+package org.jhipster.ecommerce.store.config;
+
+import org.jhipster.ecommerce.store.config.scheduling.ClusterSingletonTaskScheduler;
+import org.jhipster.ecommerce.store.config.scheduling.ScheduledJobGuard;
+
+import com.hazelcast.core.HazelcastInstance;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.task.TaskSchedulerBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+
+/**
+ * Runs the {@code @Scheduled} methods on their own thread pool, each of them on one member of the cluster at a time.
+ * <p>
+ * The pool is configured by the {@code spring.task.scheduling} properties, as the one Spring Boot would create.
+ *
+ * @see ScheduledJobGuard
+ */
+@Configuration
+public class SchedulingConfiguration implements SchedulingConfigurer {
+
+    private final ApplicationProperties applicationProperties;
+
+    private final HazelcastInstance hazelcastInstance;
+
+    private final MeterRegistry meterRegistry;
+
+    private final TaskSchedulerBuilder taskSchedulerBuilder;
+
+    public SchedulingConfiguration(ApplicationProperties applicationProperties, HazelcastInstance hazelcastInstance,
+                                   MeterRegistry meterRegistry, TaskSchedulerBuilder taskSchedulerBuilder) {
+        this.applicationProperties = applicationProperties;
+        this.hazelcastInstance = hazelcastInstance;
+        this.meterRegistry = meterRegistry;
+        this.taskSchedulerBuilder = taskSchedulerBuilder;
+    }
+
+    @Bean
+    public ScheduledJobGuard scheduledJobGuard() {
+        return new ScheduledJobGuard(hazelcastInstance, applicationProperties, meterRegistry);
+    }
+
+    @Bean
+    public ThreadPoolTaskScheduler taskScheduler() {
+        return taskSchedulerBuilder.build();
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar taskRegistrar) {
+        taskRegistrar.setTaskScheduler(new ClusterSingletonTaskScheduler(taskScheduler(), scheduledJobGuard()));
+    }
+}
@@ -11,12 +11,17 @@ import org.springframework.http.server.*;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
 import org.springframework.security.authentication.AnonymousAuthenticationToken;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.web.socket.CloseStatus;
 import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketSession;
 import org.springframework.web.socket.config.annotation.*;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
 import org.springframework.web.socket.server.HandshakeInterceptor;
 import org.springframework.web.socket.server.support.DefaultHandshakeHandler;
 
 import io.github.jhipster.config.JHipsterProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 
 @Configuration
 @EnableWebSocketMessageBroker
@@ -26,8 +31,15 @@ public class WebsocketConfiguration implements WebSocketMessageBrokerConfigurer
 
     private final JHipsterProperties jHipsterProperties;
 
-    public WebsocketConfiguration(JHipsterProperties jHipsterProperties) {
+    private final ApplicationProperties applicationProperties;
+
+    private final MeterRegistry meterRegistry;
+
+    public WebsocketConfiguration(JHipsterProperties jHipsterProperties, ApplicationProperties applicationProperties,
+                                  MeterRegistry meterRegistry) {
         this.jHipsterProperties = jHipsterProperties;
+        this.applicationProperties = applicationProperties;
+        this.meterRegistry = meterRegistry;
     }
 
     @Override
@@ -45,6 +57,30 @@ public class WebsocketConfiguration implements WebSocketMessageBrokerConfigurer
             .setInterceptors(httpSessionHandshakeInterceptor());
     }
 
+    /**
+     * Limit the time and buffer a slow client may hold a send for: over either limit, its session is closed instead of
+     * holding a thread of the outbound channel, and counted in {@code websocket.sessions.evicted}.
+     */
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        ApplicationProperties.Tracker tracker = applicationProperties.getTracker();
+        Counter evicted = Counter.builder("websocket.sessions.evicted")
+            .description("The number of WebSocket sessions closed for being too slow to send to").register(meterRegistry);
+        registration
+            .setSendTimeLimit((int) tracker.getSendTimeLimit().toMillis())
+            .setSendBufferSizeLimit(tracker.getSendBufferSizeLimit())
+            .addDecoratorFactory(handler -> new WebSocketHandlerDecorator(handler) {
+
+                @Override
+                public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus) throws Exception {
+                    if (CloseStatus.SESSION_NOT_RELIABLE.equals(closeStatus)) {
+                        evicted.increment();
+                    }
+                    super.afterConnectionClosed(session, closeStatus);
+                }
+            });
+    }
+
     @Bean
     public HandshakeInterceptor httpSessionHandshakeInterceptor() {
         return new HandshakeInterceptor() {
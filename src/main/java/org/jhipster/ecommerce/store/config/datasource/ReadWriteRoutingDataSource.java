@@ -0,0 +1,133 @@
+package org.jhipster.ecommerce.store.config.datasource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * DataSource sending the read-only transactions to the replicas, in turn, and everything else to the primary.
+ * <p>
+ * The transaction is only known once it has begun, so this DataSource must be wrapped in a
+ * {@link LazyConnectionDataSourceProxy}, which gets the actual connection on the first statement.
+ * <p>
+ * A replica which fails to give a connection is skipped for the retry interval, its reads going to the next replica
+ * or to the primary. When read-your-writes is enabled, the rest of an HTTP request reads from the primary once it has
+ * begun a read-write transaction, so that it never misses its own writes because of the replication lag.
+ */
+public class ReadWriteRoutingDataSource extends AbstractDataSource {
+
+    static final String PINNED_TO_PRIMARY_ATTRIBUTE = ReadWriteRoutingDataSource.class.getName() + ".PINNED_TO_PRIMARY";
+
+    private final Logger log = LoggerFactory.getLogger(ReadWriteRoutingDataSource.class);
+
+    private final DataSource primary;
+
+    private final List<Replica> replicas = new ArrayList<>();
+
+    private final boolean readYourWrites;
+
+    private final long retryIntervalNanos;
+
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    /**
+     * Create a routing DataSource.
+     *
+     * @param primary        the DataSource of the primary database.
+     * @param replicas       the DataSources of the replicas, by name.
+     * @param readYourWrites whether an HTTP request reads from the primary after a read-write transaction.
+     * @param retryInterval  how long a failed replica is skipped.
+     */
+    public ReadWriteRoutingDataSource(DataSource primary, Map<String, ? extends DataSource> replicas, boolean readYourWrites,
+                                      Duration retryInterval) {
+        this.primary = primary;
+        replicas.forEach((name, dataSource) -> this.replicas.add(new Replica(name, dataSource)));
+        this.readYourWrites = readYourWrites;
+        this.retryIntervalNanos = retryInterval.toNanos();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (!isPinnedToPrimary()) {
+                Connection connection = getReplicaConnection();
+                if (connection != null) {
+                    return connection;
+                }
+            }
+        } else if (readYourWrites && TransactionSynchronizationManager.isActualTransactionActive()) {
+            pinToPrimary();
+        }
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return primary.getConnection(username, password);
+    }
+
+    private Connection getReplicaConnection() {
+        if (replicas.isEmpty()) {
+            return null;
+        }
+        int first = Math.floorMod(nextReplica.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((first + i) % replicas.size());
+            long now = System.nanoTime();
+            if (replica.isAvailable(now)) {
+                try {
+                    return replica.dataSource.getConnection();
+                } catch (SQLException e) {
+                    log.warn("Replica {} is unavailable, skipping it for {} ms: {}", replica.name,
+                        Duration.ofNanos(retryIntervalNanos).toMillis(), e.getMessage());
+                    replica.retryAt = now + retryIntervalNanos;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static boolean isPinnedToPrimary() {
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        return requestAttributes != null
+            && requestAttributes.getAttribute(PINNED_TO_PRIMARY_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) != null;
+    }
+
+    private static void pinToPrimary() {
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (requestAttributes != null) {
+            requestAttributes.setAttribute(PINNED_TO_PRIMARY_ATTRIBUTE, Boolean.TRUE, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    private static final class Replica {
+
+        private final String name;
+
+        private final DataSource dataSource;
+
+        private volatile long retryAt = System.nanoTime();
+
+        private Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+
+        private boolean isAvailable(long now) {
+            return now - retryAt >= 0;
+        }
+    }
+}
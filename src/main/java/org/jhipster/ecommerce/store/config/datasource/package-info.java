@@ -0,0 +1,4 @@
+/**
+ * Routing of the read-only transactions to the database replicas.
+ */
+package org.jhipster.ecommerce.store.config.datasource;
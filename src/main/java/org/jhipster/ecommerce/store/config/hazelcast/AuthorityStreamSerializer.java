@@ -0,0 +1,37 @@
+package org.jhipster.ecommerce.store.config.hazelcast;
+
+import org.jhipster.ecommerce.store.domain.Authority;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.StreamSerializer;
+
+import java.io.IOException;
+
+/**
+ * Hazelcast serializer of {@link Authority}, as its name.
+ */
+class AuthorityStreamSerializer implements StreamSerializer<Authority> {
+
+    @Override
+    public int getTypeId() {
+        return HazelcastSerializers.AUTHORITY_TYPE_ID;
+    }
+
+    @Override
+    public void write(ObjectDataOutput out, Authority authority) throws IOException {
+        out.writeUTF(authority.getName());
+    }
+
+    @Override
+    public Authority read(ObjectDataInput in) throws IOException {
+        Authority authority = new Authority();
+        authority.setName(in.readUTF());
+        return authority;
+    }
+
+    @Override
+    public void destroy() {
+        // Nothing to release
+    }
+}
@@ -0,0 +1,53 @@
+package org.jhipster.ecommerce.store.config.hazelcast;
+
+import org.jhipster.ecommerce.store.service.CatalogResponseCache.CachedResponse;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.StreamSerializer;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Hazelcast serializer of {@link CachedResponse}, as its headers, digest and bodies.
+ */
+class CachedResponseStreamSerializer implements StreamSerializer<CachedResponse> {
+
+    @Override
+    public int getTypeId() {
+        return HazelcastSerializers.CACHED_RESPONSE_TYPE_ID;
+    }
+
+    @Override
+    public void write(ObjectDataOutput out, CachedResponse response) throws IOException {
+        Map<String, String> headers = response.getHeaders();
+        out.writeInt(headers.size());
+        for (Map.Entry<String, String> header : headers.entrySet()) {
+            out.writeUTF(header.getKey());
+            out.writeUTF(header.getValue());
+        }
+        out.writeUTF(response.getDigest());
+        out.writeByteArray(response.getBody());
+        out.writeByteArray(response.getGzippedBody());
+    }
+
+    @Override
+    public CachedResponse read(ObjectDataInput in) throws IOException {
+        int headerCount = in.readInt();
+        Map<String, String> headers = new LinkedHashMap<>(headerCount * 2);
+        for (int i = 0; i < headerCount; i++) {
+            headers.put(in.readUTF(), in.readUTF());
+        }
+        String digest = in.readUTF();
+        byte[] body = in.readByteArray();
+        byte[] gzippedBody = in.readByteArray();
+        return new CachedResponse(headers, body, gzippedBody, digest);
+    }
+
+    @Override
+    public void destroy() {
+        // Nothing to release
+    }
+}
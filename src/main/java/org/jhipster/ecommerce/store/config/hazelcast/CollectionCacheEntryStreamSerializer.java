@@ -0,0 +1,63 @@
+package org.jhipster.ecommerce.store.config.hazelcast;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.HazelcastSerializationException;
+import com.hazelcast.nio.serialization.StreamSerializer;
+import org.hibernate.cache.spi.entry.CollectionCacheEntry;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+
+/**
+ * Hazelcast serializer of the second-level cache entries of the entity collections, which hold the ids of the elements.
+ * <p>
+ * Hibernate only exposes the constructor from the disassembled state to its own package, so it is called reflectively.
+ */
+class CollectionCacheEntryStreamSerializer implements StreamSerializer<CollectionCacheEntry> {
+
+    private final Constructor<CollectionCacheEntry> constructor;
+
+    CollectionCacheEntryStreamSerializer() {
+        try {
+            constructor = CollectionCacheEntry.class.getDeclaredConstructor(Serializable.class);
+            constructor.setAccessible(true);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException("Unsupported Hibernate version", e);
+        }
+    }
+
+    @Override
+    public int getTypeId() {
+        return HazelcastSerializers.COLLECTION_CACHE_ENTRY_TYPE_ID;
+    }
+
+    @Override
+    public void write(ObjectDataOutput out, CollectionCacheEntry entry) throws IOException {
+        Serializable[] state = entry.getState();
+        out.writeInt(state.length);
+        for (Serializable element : state) {
+            out.writeObject(element);
+        }
+    }
+
+    @Override
+    public CollectionCacheEntry read(ObjectDataInput in) throws IOException {
+        Serializable[] state = new Serializable[in.readInt()];
+        for (int i = 0; i < state.length; i++) {
+            state[i] = in.readObject();
+        }
+        try {
+            return constructor.newInstance((Serializable) state);
+        } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
+            throw new HazelcastSerializationException(e);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        // Nothing to release
+    }
+}
@@ -0,0 +1,54 @@
+package org.jhipster.ecommerce.store.config.hazelcast;
+
+import org.jhipster.ecommerce.store.domain.Authority;
+import org.jhipster.ecommerce.store.domain.User;
+import org.jhipster.ecommerce.store.service.CatalogResponseCache.CachedResponse;
+
+import com.hazelcast.config.SerializationConfig;
+import com.hazelcast.config.SerializerConfig;
+import com.hazelcast.nio.serialization.StreamSerializer;
+import org.hibernate.cache.spi.entry.CollectionCacheEntry;
+
+import java.time.Instant;
+
+/**
+ * Registration of the Hazelcast serializers of the values put in the second-level cache, in the Spring caches and in
+ * the catalog response cache, which would otherwise go through Java serialization.
+ * <p>
+ * The Hibernate entity cache entries themselves are written by the serializer of {@code hazelcast-hibernate53}, field
+ * by field: {@link Instant} is the only type of entity field which needs a serializer of its own.
+ */
+public final class HazelcastSerializers {
+
+    static final int INSTANT_TYPE_ID = 1001;
+
+    static final int COLLECTION_CACHE_ENTRY_TYPE_ID = 1002;
+
+    static final int USER_TYPE_ID = 1003;
+
+    static final int AUTHORITY_TYPE_ID = 1004;
+
+    static final int CACHED_RESPONSE_TYPE_ID = 1005;
+
+    private HazelcastSerializers() {
+    }
+
+    /**
+     * Register the serializers in a Hazelcast serialization configuration.
+     *
+     * @param serializationConfig the serialization configuration.
+     * @return the same serialization configuration.
+     */
+    public static SerializationConfig configure(SerializationConfig serializationConfig) {
+        return serializationConfig
+            .addSerializerConfig(serializerConfig(Instant.class, new InstantStreamSerializer()))
+            .addSerializerConfig(serializerConfig(CollectionCacheEntry.class, new CollectionCacheEntryStreamSerializer()))
+            .addSerializerConfig(serializerConfig(User.class, new UserStreamSerializer()))
+            .addSerializerConfig(serializerConfig(Authority.class, new AuthorityStreamSerializer()))
+            .addSerializerConfig(serializerConfig(CachedResponse.class, new CachedResponseStreamSerializer()));
+    }
+
+    private static SerializerConfig serializerConfig(Class<?> typeClass, StreamSerializer<?> serializer) {
+        return new SerializerConfig().setTypeClass(typeClass).setImplementation(serializer);
+    }
+}
@@ -0,0 +1,35 @@
+package org.jhipster.ecommerce.store.config.hazelcast;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.StreamSerializer;
+
+import java.io.IOException;
+import java.time.Instant;
+
+/**
+ * Hazelcast serializer of {@link Instant}, as its epoch second and nanosecond adjustment.
+ */
+class InstantStreamSerializer implements StreamSerializer<Instant> {
+
+    @Override
+    public int getTypeId() {
+        return HazelcastSerializers.INSTANT_TYPE_ID;
+    }
+
+    @Override
+    public void write(ObjectDataOutput out, Instant instant) throws IOException {
+        out.writeLong(instant.getEpochSecond());
+        out.writeInt(instant.getNano());
+    }
+
+    @Override
+    public Instant read(ObjectDataInput in) throws IOException {
+        return Instant.ofEpochSecond(in.readLong(), in.readInt());
+    }
+
+    @Override
+    public void destroy() {
+        // Nothing to release
+    }
+}
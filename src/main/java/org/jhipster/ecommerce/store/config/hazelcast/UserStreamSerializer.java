@@ -0,0 +1,98 @@
+package org.jhipster.ecommerce.store.config.hazelcast;
+
+import org.jhipster.ecommerce.store.domain.Authority;
+import org.jhipster.ecommerce.store.domain.User;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.StreamSerializer;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Hazelcast serializer of {@link User}, as cached by login and by email with its authorities.
+ * <p>
+ * The authorities are written by name, and read back into a plain {@link HashSet}.
+ */
+class UserStreamSerializer implements StreamSerializer<User> {
+
+    @Override
+    public int getTypeId() {
+        return HazelcastSerializers.USER_TYPE_ID;
+    }
+
+    @Override
+    public void write(ObjectDataOutput out, User user) throws IOException {
+        out.writeObject(user.getId());
+        out.writeUTF(user.getLogin());
+        out.writeUTF(user.getPassword());
+        out.writeUTF(user.getFirstName());
+        out.writeUTF(user.getLastName());
+        out.writeUTF(user.getEmail());
+        out.writeBoolean(user.getActivated());
+        out.writeUTF(user.getLangKey());
+        out.writeUTF(user.getImageUrl());
+        out.writeUTF(user.getActivationKey());
+        out.writeUTF(user.getResetKey());
+        writeInstant(out, user.getResetDate());
+        out.writeUTF(user.getCreatedBy());
+        writeInstant(out, user.getCreatedDate());
+        out.writeUTF(user.getLastModifiedBy());
+        writeInstant(out, user.getLastModifiedDate());
+        Set<Authority> authorities = user.getAuthorities();
+        out.writeInt(authorities.size());
+        for (Authority authority : authorities) {
+            out.writeUTF(authority.getName());
+        }
+    }
+
+    @Override
+    public User read(ObjectDataInput in) throws IOException {
+        User user = new User();
+        user.setId(in.readObject());
+        user.setLogin(in.readUTF());
+        user.setPassword(in.readUTF());
+        user.setFirstName(in.readUTF());
+        user.setLastName(in.readUTF());
+        user.setEmail(in.readUTF());
+        user.setActivated(in.readBoolean());
+        user.setLangKey(in.readUTF());
+        user.setImageUrl(in.readUTF());
+        user.setActivationKey(in.readUTF());
+        user.setResetKey(in.readUTF());
+        user.setResetDate(readInstant(in));
+        user.setCreatedBy(in.readUTF());
+        user.setCreatedDate(readInstant(in));
+        user.setLastModifiedBy(in.readUTF());
+        user.setLastModifiedDate(readInstant(in));
+        int authorityCount = in.readInt();
+        Set<Authority> authorities = new HashSet<>(authorityCount * 2);
+        for (int i = 0; i < authorityCount; i++) {
+            Authority authority = new Authority();
+            authority.setName(in.readUTF());
+            authorities.add(authority);
+        }
+        user.setAuthorities(authorities);
+        return user;
+    }
+
+    @Override
+    public void destroy() {
+        // Nothing to release
+    }
+
+    private static void writeInstant(ObjectDataOutput out, Instant instant) throws IOException {
+        out.writeBoolean(instant != null);
+        if (instant != null) {
+            out.writeLong(instant.getEpochSecond());
+            out.writeInt(instant.getNano());
+        }
+    }
+
+    private static Instant readInstant(ObjectDataInput in) throws IOException {
+        return in.readBoolean() ? Instant.ofEpochSecond(in.readLong(), in.readInt()) : null;
+    }
+}
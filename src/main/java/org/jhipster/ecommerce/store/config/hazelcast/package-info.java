@@ -0,0 +1,4 @@
+/**
+ * Hazelcast serializers for the cached entities.
+ */
+package org.jhipster.ecommerce.store.config.hazelcast;
@@ -0,0 +1,65 @@
+package org.jhipster.ecommerce.store.config.scheduling;
+
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.Trigger;
+import org.springframework.scheduling.support.ScheduledMethodRunnable;
+
+import java.util.Date;
+import java.util.concurrent.ScheduledFuture;
+
+/**
+ * Task scheduler running the {@code @Scheduled} methods through a {@link ScheduledJobGuard}, so that each of them runs
+ * on one member at a time. The other tasks, and the scheduled methods called directly, are not guarded.
+ * <p>
+ * A job is named after the simple name of its class and its method, such as {@code UserService.removeNotActivatedUsers}.
+ */
+public class ClusterSingletonTaskScheduler implements TaskScheduler {
+
+    private final TaskScheduler delegate;
+
+    private final ScheduledJobGuard scheduledJobGuard;
+
+    public ClusterSingletonTaskScheduler(TaskScheduler delegate, ScheduledJobGuard scheduledJobGuard) {
+        this.delegate = delegate;
+        this.scheduledJobGuard = scheduledJobGuard;
+    }
+
+    @Override
+    public ScheduledFuture<?> schedule(Runnable task, Trigger trigger) {
+        return delegate.schedule(guard(task), trigger);
+    }
+
+    @Override
+    public ScheduledFuture<?> schedule(Runnable task, Date startTime) {
+        return delegate.schedule(guard(task), startTime);
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleAtFixedRate(Runnable task, Date startTime, long period) {
+        return delegate.scheduleAtFixedRate(guard(task), startTime, period);
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleAtFixedRate(Runnable task, long period) {
+        return delegate.scheduleAtFixedRate(guard(task), period);
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleWithFixedDelay(Runnable task, Date startTime, long delay) {
+        return delegate.scheduleWithFixedDelay(guard(task), startTime, delay);
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleWithFixedDelay(Runnable task, long delay) {
+        return delegate.scheduleWithFixedDelay(guard(task), delay);
+    }
+
+    private Runnable guard(Runnable task) {
+        if (!(task instanceof ScheduledMethodRunnable)) {
+            return task;
+        }
+        ScheduledMethodRunnable scheduledMethod = (ScheduledMethodRunnable) task;
+        String job = scheduledMethod.getMethod().getDeclaringClass().getSimpleName() + "." + scheduledMethod.getMethod().getName();
+        return () -> scheduledJobGuard.run(job, task);
+    }
+}
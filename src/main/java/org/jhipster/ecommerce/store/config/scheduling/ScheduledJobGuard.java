@@ -0,0 +1,135 @@
+package org.jhipster.ecommerce.store.config.scheduling;
+
+import org.jhipster.ecommerce.store.config.ApplicationProperties;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs each scheduled job on one member of the cluster at a time.
+ * <p>
+ * A member runs a job only if it takes its lock, in a Hazelcast map, and if no member started it less than
+ * {@code application.scheduling.lock-at-least-for} ago: all the members fire the same cron at about the same time, and
+ * the first one to get the lock runs the job for all of them. The lock is released at the end of the run, or after
+ * {@code application.scheduling.lock-at-most-for} if its member hangs. A member leaving the cluster releases its locks.
+ * <p>
+ * Every run is recorded in the {@code scheduledJobs.runs} map, timed in {@code scheduled.jobs.duration}, and every
+ * skipped run counted in {@code scheduled.jobs.skipped}, by job.
+ */
+public class ScheduledJobGuard {
+
+    /**
+     * Name of the Hazelcast map holding the locks of the scheduled jobs.
+     */
+    public static final String LOCK_MAP_NAME = "scheduledJobs.locks";
+
+    /**
+     * Name of the Hazelcast map of the last run of each scheduled job.
+     */
+    public static final String RUN_MAP_NAME = "scheduledJobs.runs";
+
+    private final Logger log = LoggerFactory.getLogger(ScheduledJobGuard.class);
+
+    private final HazelcastInstance hazelcastInstance;
+
+    private final IMap<String, Boolean> locks;
+
+    private final IMap<String, ScheduledJobRun> runs;
+
+    private final ApplicationProperties.Scheduling properties;
+
+    private final MeterRegistry meterRegistry;
+
+    public ScheduledJobGuard(HazelcastInstance hazelcastInstance, ApplicationProperties applicationProperties,
+                             MeterRegistry meterRegistry) {
+        this.hazelcastInstance = hazelcastInstance;
+        this.locks = hazelcastInstance.getMap(LOCK_MAP_NAME);
+        this.runs = hazelcastInstance.getMap(RUN_MAP_NAME);
+        this.properties = applicationProperties.getScheduling();
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Run a job unless another member holds its lock or started it recently.
+     *
+     * @param job the name of the job.
+     * @param task the job.
+     * @return whether the job was run on this member.
+     */
+    public boolean run(String job, Runnable task) {
+        boolean locked;
+        try {
+            locked = locks.tryLock(job, 0, TimeUnit.MILLISECONDS, properties.getLockAtMostFor().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            locked = false;
+        }
+        if (!locked) {
+            skip(job, "locked");
+            return false;
+        }
+        try {
+            Instant start = Instant.now();
+            Optional<ScheduledJobRun> lastRun = getLastRun(job);
+            if (lastRun.isPresent() && lastRun.get().getStartedAt().isAfter(start.minus(properties.getLockAtLeastFor()))) {
+                skip(job, "recently_run");
+                return false;
+            }
+            boolean succeeded = false;
+            long startNanos = System.nanoTime();
+            try {
+                task.run();
+                succeeded = true;
+            } finally {
+                Timer.builder("scheduled.jobs.duration").tag("job", job).tag("outcome", succeeded ? "success" : "failure")
+                    .description("The duration of the scheduled jobs run on this member").register(meterRegistry)
+                    .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+                ScheduledJobRun run = new ScheduledJobRun(localMember(), start, Instant.now(), succeeded);
+                runs.set(job, run);
+                log.debug("Ran scheduled job {}: {}", job, run);
+            }
+            return true;
+        } finally {
+            unlock(job);
+        }
+    }
+
+    /**
+     * Get the last run of a job in the cluster.
+     *
+     * @param job the name of the job.
+     * @return the last run, if the job ever ran.
+     */
+    public Optional<ScheduledJobRun> getLastRun(String job) {
+        return Optional.ofNullable(runs.get(job));
+    }
+
+    private void skip(String job, String reason) {
+        log.debug("Skipped scheduled job {}: {}", job, reason);
+        Counter.builder("scheduled.jobs.skipped").tag("job", job).tag("reason", reason)
+            .description("The number of scheduled jobs skipped on this member as run by another one")
+            .register(meterRegistry).increment();
+    }
+
+    private void unlock(String job) {
+        try {
+            locks.unlock(job);
+        } catch (IllegalMonitorStateException e) {
+            // The run outlasted the lease, another member may already have taken the lock
+            log.warn("The lock of scheduled job {} expired before the end of the run", job);
+        }
+    }
+
+    private String localMember() {
+        return hazelcastInstance.getCluster().getLocalMember().getAddress().toString();
+    }
+}
@@ -0,0 +1,60 @@
+package org.jhipster.ecommerce.store.config.scheduling;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * The last run of a scheduled job in the cluster.
+ */
+public final class ScheduledJobRun implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String member;
+
+    private final Instant startedAt;
+
+    private final Instant finishedAt;
+
+    private final boolean succeeded;
+
+    public ScheduledJobRun(String member, Instant startedAt, Instant finishedAt, boolean succeeded) {
+        this.member = member;
+        this.startedAt = startedAt;
+        this.finishedAt = finishedAt;
+        this.succeeded = succeeded;
+    }
+
+    /**
+     * @return the address of the member which ran the job.
+     */
+    public String getMember() {
+        return member;
+    }
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    /**
+     * @return whether the job ended without throwing.
+     */
+    public boolean isSucceeded() {
+        return succeeded;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "ScheduledJobRun{" +
+            "member='" + member + '\'' +
+            ", startedAt=" + startedAt +
+            ", finishedAt=" + finishedAt +
+            ", succeeded=" + succeeded +
+            '}';
+    }
+}
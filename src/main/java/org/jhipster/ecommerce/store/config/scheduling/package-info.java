@@ -0,0 +1,4 @@
+/**
+ * Cluster-wide guard of the scheduled jobs.
+ */
+package org.jhipster.ecommerce.store.config.scheduling;
@@ -0,0 +1,121 @@
+package org.jhipster.ecommerce.store.config.statistics;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hibernate statistics of the HTTP request handled by the current thread: SQL statements, second-level cache gets and
+ * entity loads.
+ * <p>
+ * They are only updated by the thread handling the current dispatch of the request, one at a time, so they need no
+ * synchronization.
+ */
+public final class RequestStatistics {
+
+    private static final ThreadLocal<RequestStatistics> CURRENT = new ThreadLocal<>();
+
+    private final boolean serverTiming;
+
+    private int statements;
+
+    private long statementNanos;
+
+    private int cacheHits;
+
+    private int cacheMisses;
+
+    private int entityLoads;
+
+    private RequestStatistics(boolean serverTiming) {
+        this.serverTiming = serverTiming;
+    }
+
+    /**
+     * Start collecting the statistics of the current thread.
+     *
+     * @param serverTiming whether the statistics are sent in a {@code Server-Timing} header.
+     * @return the statistics of the current thread.
+     */
+    static RequestStatistics begin(boolean serverTiming) {
+        RequestStatistics statistics = new RequestStatistics(serverTiming);
+        CURRENT.set(statistics);
+        return statistics;
+    }
+
+    /**
+     * Resume collecting statistics on the current thread, for a later dispatch of the same request.
+     *
+     * @param statistics the statistics of the request.
+     */
+    static void resume(RequestStatistics statistics) {
+        CURRENT.set(statistics);
+    }
+
+    /**
+     * Stop collecting the statistics of the current thread.
+     */
+    static void end() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Return the statistics of the current thread.
+     *
+     * @return the statistics, or {@code null} if the current thread does not handle an instrumented request.
+     */
+    static RequestStatistics current() {
+        return CURRENT.get();
+    }
+
+    void statementExecuted(long nanos) {
+        statements++;
+        statementNanos += nanos;
+    }
+
+    void cacheGet(boolean hit) {
+        if (hit) {
+            cacheHits++;
+        } else {
+            cacheMisses++;
+        }
+    }
+
+    void entityLoaded() {
+        entityLoads++;
+    }
+
+    boolean isServerTiming() {
+        return serverTiming;
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getStatementNanos() {
+        return statementNanos;
+    }
+
+    public int getCacheHits() {
+        return cacheHits;
+    }
+
+    public int getCacheMisses() {
+        return cacheMisses;
+    }
+
+    public int getEntityLoads() {
+        return entityLoads;
+    }
+
+    /**
+     * Format the statistics as the value of a {@code Server-Timing} header.
+     *
+     * @return the header value.
+     */
+    String toServerTiming() {
+        return String.format(Locale.ROOT,
+            "db;desc=\"%d statements\";dur=%.3f, cache;desc=\"%d hits, %d misses\", load;desc=\"%d entities\"",
+            statements, statementNanos / (double) TimeUnit.MILLISECONDS.toNanos(1), cacheHits, cacheMisses, entityLoads);
+    }
+}
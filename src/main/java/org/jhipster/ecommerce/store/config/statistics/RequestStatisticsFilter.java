@@ -0,0 +1,112 @@
+package org.jhipster.ecommerce.store.config.statistics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.actuate.metrics.web.servlet.WebMvcTags;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Filter collecting the Hibernate statistics of each request, recording them in Micrometer by endpoint, and warning
+ * about the requests executing more SQL statements than the budget.
+ * <p>
+ * The statistics are also sent in a {@code Server-Timing} header when enabled, by {@link ServerTimingAdvice} for the
+ * responses with a body, and by this filter for the others.
+ * <p>
+ * The statistics of an asynchronous request are kept in a request attribute from its first dispatch to the async one
+ * writing the response, where they are recorded. The statements executed by the asynchronous task itself, on another
+ * thread, are not counted.
+ */
+public class RequestStatisticsFilter extends OncePerRequestFilter {
+
+    static final String SERVER_TIMING_HEADER = "Server-Timing";
+
+    private static final String STATISTICS_ATTRIBUTE = RequestStatisticsFilter.class.getName() + ".STATISTICS";
+
+    private final Logger log = LoggerFactory.getLogger(RequestStatisticsFilter.class);
+
+    private final MeterRegistry meterRegistry;
+
+    private final int statementBudget;
+
+    private final boolean serverTiming;
+
+    public RequestStatisticsFilter(MeterRegistry meterRegistry, int statementBudget, boolean serverTiming) {
+        this.meterRegistry = meterRegistry;
+        this.statementBudget = statementBudget;
+        this.serverTiming = serverTiming;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+        throws ServletException, IOException {
+        RequestStatistics statistics = (RequestStatistics) request.getAttribute(STATISTICS_ATTRIBUTE);
+        if (statistics == null) {
+            statistics = RequestStatistics.begin(serverTiming);
+        } else {
+            RequestStatistics.resume(statistics);
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestStatistics.end();
+        }
+        if (isAsyncStarted(request)) {
+            request.setAttribute(STATISTICS_ATTRIBUTE, statistics);
+            return;
+        }
+        request.removeAttribute(STATISTICS_ATTRIBUTE);
+        if (serverTiming && !response.isCommitted() && !response.containsHeader(SERVER_TIMING_HEADER)) {
+            response.setHeader(SERVER_TIMING_HEADER, statistics.toServerTiming());
+        }
+        record(request, response, statistics);
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    private void record(HttpServletRequest request, HttpServletResponse response, RequestStatistics statistics) {
+        Tags tags = Tags.of(WebMvcTags.method(request), WebMvcTags.uri(request, response));
+        DistributionSummary.builder("hibernate.request.statements").tags(tags)
+            .description("The number of SQL statements executed by a request")
+            .publishPercentileHistogram()
+            .register(meterRegistry)
+            .record(statistics.getStatements());
+        Timer.builder("hibernate.request.statement.time").tags(tags)
+            .description("The time spent executing SQL statements by a request")
+            .publishPercentileHistogram()
+            .register(meterRegistry)
+            .record(statistics.getStatementNanos(), TimeUnit.NANOSECONDS);
+        DistributionSummary.builder("hibernate.request.entity.loads").tags(tags)
+            .description("The number of entities loaded by a request")
+            .register(meterRegistry)
+            .record(statistics.getEntityLoads());
+        DistributionSummary.builder("hibernate.request.cache.gets").tags(tags).tag("result", "hit")
+            .description("The number of second-level cache gets of a request")
+            .register(meterRegistry)
+            .record(statistics.getCacheHits());
+        DistributionSummary.builder("hibernate.request.cache.gets").tags(tags).tag("result", "miss")
+            .description("The number of second-level cache gets of a request")
+            .register(meterRegistry)
+            .record(statistics.getCacheMisses());
+
+        if (statementBudget > 0 && statistics.getStatements() > statementBudget) {
+            log.warn("{} {} executed {} SQL statements, over the budget of {}: {} ms in the database, {} entities loaded, " +
+                    "{} cache hits, {} cache misses", request.getMethod(), request.getRequestURI(), statistics.getStatements(),
+                statementBudget, TimeUnit.NANOSECONDS.toMillis(statistics.getStatementNanos()), statistics.getEntityLoads(),
+                statistics.getCacheHits(), statistics.getCacheMisses());
+        }
+    }
+}
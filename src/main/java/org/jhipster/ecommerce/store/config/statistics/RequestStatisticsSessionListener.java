@@ -0,0 +1,61 @@
+package org.jhipster.ecommerce.store.config.statistics;
+
+import org.hibernate.BaseSessionEventListener;
+import org.hibernate.event.spi.PostLoadEvent;
+import org.hibernate.event.spi.PostLoadEventListener;
+
+/**
+ * Hibernate listener counting the SQL statements, second-level cache gets and entity loads of the current request.
+ * <p>
+ * Hibernate creates one session listener per session, from the {@code hibernate.session.events.auto} property, and the
+ * load listener is shared by the whole session factory.
+ */
+public class RequestStatisticsSessionListener extends BaseSessionEventListener implements PostLoadEventListener {
+
+    private static final long serialVersionUID = 1L;
+
+    private long statementStart;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        statementStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        statementExecuted();
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        statementStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        statementExecuted();
+    }
+
+    @Override
+    public void cacheGetEnd(boolean hit) {
+        RequestStatistics statistics = RequestStatistics.current();
+        if (statistics != null) {
+            statistics.cacheGet(hit);
+        }
+    }
+
+    @Override
+    public void onPostLoad(PostLoadEvent event) {
+        RequestStatistics statistics = RequestStatistics.current();
+        if (statistics != null) {
+            statistics.entityLoaded();
+        }
+    }
+
+    private void statementExecuted() {
+        RequestStatistics statistics = RequestStatistics.current();
+        if (statistics != null) {
+            statistics.statementExecuted(System.nanoTime() - statementStart);
+        }
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * Hibernate statistics of each HTTP request.
+ */
+package org.jhipster.ecommerce.store.config.statistics;
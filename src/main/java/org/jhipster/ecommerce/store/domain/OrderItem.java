@@ -3,6 +3,8 @@ package org.jhipster.ecommerce.store.domain;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import org.hibernate.annotations.Cache;
 import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
 
 import javax.persistence.*;
 import javax.validation.constraints.*;
@@ -22,8 +24,17 @@ public class OrderItem implements Serializable {
 
     private static final long serialVersionUID = 1L;
 
+    /**
+     * Allocated by blocks like the id of {@link ProductOrder}, from the {@code order_item} segment.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "orderItemIdGenerator")
+    @GenericGenerator(name = "orderItemIdGenerator", strategy = "org.hibernate.id.enhanced.TableGenerator", parameters = {
+        @Parameter(name = "table_name", value = "sequence_generator"),
+        @Parameter(name = "segment_value", value = "order_item"),
+        @Parameter(name = "increment_size", value = "50"),
+        @Parameter(name = "optimizer", value = "pooled-lo")
+    })
     private Long id;
 
     @NotNull
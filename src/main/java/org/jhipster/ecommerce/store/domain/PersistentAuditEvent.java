@@ -1,5 +1,8 @@
 package org.jhipster.ecommerce.store.domain;
 
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+
 import javax.persistence.*;
 import javax.validation.constraints.NotNull;
 import java.io.Serializable;
@@ -18,8 +21,17 @@ public class PersistentAuditEvent implements Serializable {
 
     private static final long serialVersionUID = 1L;
 
+    /**
+     * Ids are allocated by blocks, so that the inserts of the asynchronous audit writer can be batched.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "persistentAuditEventIdGenerator")
+    @GenericGenerator(name = "persistentAuditEventIdGenerator", strategy = "org.hibernate.id.enhanced.TableGenerator", parameters = {
+        @Parameter(name = "table_name", value = "sequence_generator"),
+        @Parameter(name = "segment_value", value = "jhi_persistent_audit_event"),
+        @Parameter(name = "increment_size", value = "50"),
+        @Parameter(name = "optimizer", value = "pooled-lo")
+    })
     @Column(name = "event_id")
     private Long id;
 
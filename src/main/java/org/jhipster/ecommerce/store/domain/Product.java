@@ -1,6 +1,7 @@
 package org.jhipster.ecommerce.store.domain;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import org.hibernate.annotations.Cache;
 import org.hibernate.annotations.CacheConcurrencyStrategy;
 
@@ -43,9 +44,10 @@ public class Product implements Serializable {
     @Column(name = "size", nullable = false)
     private Size size;
 
-    @Lob
-    @Column(name = "image")
-    private byte[] image;
+    /**
+     * Image uploaded with the product. It is stored as a {@link ProductImage} and never loaded with the product.
+     */
+    private transient byte[] image;
 
     @Column(name = "image_content_type")
     private String imageContentType;
@@ -115,6 +117,7 @@ public class Product implements Serializable {
         this.size = size;
     }
 
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     public byte[] getImage() {
         return image;
     }
@@ -180,7 +183,6 @@ public class Product implements Serializable {
             ", description='" + getDescription() + "'" +
             ", price=" + getPrice() +
             ", size='" + getSize() + "'" +
-            ", image='" + getImage() + "'" +
             ", imageContentType='" + getImageContentType() + "'" +
             "}";
     }
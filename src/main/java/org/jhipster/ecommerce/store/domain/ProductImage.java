@@ -0,0 +1,97 @@
+package org.jhipster.ecommerce.store.domain;
+
+import javax.persistence.*;
+import javax.validation.constraints.*;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * The image of a {@link Product}.
+ * <p>
+ * It is stored in its own table, keyed by the id of its product, and is not second-level cached, so that
+ * loading or caching products never drags the image bytes along.
+ */
+@Entity
+@Table(name = "product_image")
+public class ProductImage implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @Column(name = "product_id")
+    private Long id;
+
+    @NotNull
+    @Lob
+    @Column(name = "image", nullable = false)
+    private byte[] image;
+
+    @NotNull
+    @Column(name = "last_modified_date", nullable = false)
+    private Instant lastModifiedDate;
+
+    public Long getId() {
+        return id;
+    }
+
+    public ProductImage id(Long id) {
+        this.id = id;
+        return this;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public byte[] getImage() {
+        return image;
+    }
+
+    public ProductImage image(byte[] image) {
+        this.image = image;
+        return this;
+    }
+
+    public void setImage(byte[] image) {
+        this.image = image;
+    }
+
+    public Instant getLastModifiedDate() {
+        return lastModifiedDate;
+    }
+
+    public ProductImage lastModifiedDate(Instant lastModifiedDate) {
+        this.lastModifiedDate = lastModifiedDate;
+        return this;
+    }
+
+    public void setLastModifiedDate(Instant lastModifiedDate) {
+        this.lastModifiedDate = lastModifiedDate;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ProductImage)) {
+            return false;
+        }
+        return id != null && id.equals(((ProductImage) o).id);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "ProductImage{" +
+            "id=" + getId() +
+            ", lastModifiedDate='" + getLastModifiedDate() + "'" +
+            "}";
+    }
+}
@@ -3,8 +3,11 @@ package org.jhipster.ecommerce.store.domain;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import org.hibernate.annotations.Cache;
 import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
 
 import javax.persistence.*;
+import javax.validation.Valid;
 import javax.validation.constraints.*;
 
 import java.io.Serializable;
@@ -24,8 +27,18 @@ public class ProductOrder implements Serializable {
 
     private static final long serialVersionUID = 1L;
 
+    /**
+     * Ids are allocated by blocks from the {@code sequence_generator} table rather than by an identity column,
+     * so that inserts can be sent to the database in JDBC batches.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "productOrderIdGenerator")
+    @GenericGenerator(name = "productOrderIdGenerator", strategy = "org.hibernate.id.enhanced.TableGenerator", parameters = {
+        @Parameter(name = "table_name", value = "sequence_generator"),
+        @Parameter(name = "segment_value", value = "product_order"),
+        @Parameter(name = "increment_size", value = "50"),
+        @Parameter(name = "optimizer", value = "pooled-lo")
+    })
     private Long id;
 
     @NotNull
@@ -41,6 +54,7 @@ public class ProductOrder implements Serializable {
     @Column(name = "code", nullable = false)
     private String code;
 
+    @Valid
     @OneToMany(mappedBy = "order")
     @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     private Set<OrderItem> orderItems = new HashSet<>();
@@ -107,7 +121,7 @@ public class ProductOrder implements Serializable {
     }
 
     public ProductOrder orderItems(Set<OrderItem> orderItems) {
-        this.orderItems = orderItems;
+        setOrderItems(orderItems);
         return this;
     }
 
@@ -123,8 +137,14 @@ public class ProductOrder implements Serializable {
         return this;
     }
 
+    /**
+     * Set the order items, linking them to this order, so that the items of a new order sent with it are valid.
+     */
     public void setOrderItems(Set<OrderItem> orderItems) {
         this.orderItems = orderItems;
+        if (orderItems != null) {
+            orderItems.forEach(orderItem -> orderItem.setOrder(this));
+        }
     }
 
     public Set<Invoice> getInvoices() {
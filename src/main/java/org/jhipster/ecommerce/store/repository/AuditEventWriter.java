@@ -0,0 +1,195 @@
+package org.jhipster.ecommerce.store.repository;
+
+import org.jhipster.ecommerce.store.config.ApplicationProperties;
+import org.jhipster.ecommerce.store.domain.PersistentAuditEvent;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes {@link PersistentAuditEvent}s, by default in background so that audit does not hold a database connection
+ * on the request thread.
+ * <p>
+ * Events are put in a bounded queue, drained by a single writer thread which saves them in batches of up to
+ * {@code application.audit-events.flush-size} events, at least every {@code application.audit-events.flush-interval}.
+ * When the queue is full, events are dropped according to the configured
+ * {@link ApplicationProperties.AuditEvents.OverflowPolicy}. Pending events are written when the application shuts down.
+ * <p>
+ * When {@code application.audit-events.async} is disabled, events are saved right away, in the caller's transaction.
+ */
+@Component
+public class AuditEventWriter {
+
+    private final Logger log = LoggerFactory.getLogger(AuditEventWriter.class);
+
+    private final PersistenceAuditEventRepository persistenceAuditEventRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ApplicationProperties.AuditEvents properties;
+
+    private final BlockingQueue<PersistentAuditEvent> queue;
+
+    private final Counter written;
+
+    private final Counter droppedOnOverflow;
+
+    private final Counter droppedOnFailure;
+
+    private volatile boolean running;
+
+    private Thread writerThread;
+
+    public AuditEventWriter(PersistenceAuditEventRepository persistenceAuditEventRepository,
+                            PlatformTransactionManager transactionManager, ApplicationProperties applicationProperties,
+                            MeterRegistry meterRegistry) {
+        this.persistenceAuditEventRepository = persistenceAuditEventRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = applicationProperties.getAuditEvents();
+        this.queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+        this.written = Counter.builder("audit.events.written")
+            .description("The number of audit events written by the background writer").register(meterRegistry);
+        this.droppedOnOverflow = Counter.builder("audit.events.dropped").tag("reason", "queue_full")
+            .description("The number of audit events dropped").register(meterRegistry);
+        this.droppedOnFailure = Counter.builder("audit.events.dropped").tag("reason", "write_failed")
+            .description("The number of audit events dropped").register(meterRegistry);
+        Gauge.builder("audit.events.queue.size", queue, Collection::size)
+            .description("The number of audit events waiting to be written").register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!properties.isAsync()) {
+            return;
+        }
+        log.debug("Starting the audit event writer");
+        running = true;
+        writerThread = new Thread(this::run, "audit-event-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    /**
+     * Stop the writer thread, then write the events still in the queue.
+     */
+    @PreDestroy
+    public void stop() {
+        if (writerThread != null) {
+            log.debug("Stopping the audit event writer");
+            running = false;
+            try {
+                writerThread.join(2 * properties.getFlushInterval().toMillis() + 1000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            writerThread = null;
+        }
+        flush();
+    }
+
+    /**
+     * Write an audit event, or queue it when writing in background.
+     *
+     * @param persistentAuditEvent the audit event to write.
+     */
+    public void write(PersistentAuditEvent persistentAuditEvent) {
+        if (!properties.isAsync()) {
+            persistenceAuditEventRepository.save(persistentAuditEvent);
+            return;
+        }
+        if (!offer(persistentAuditEvent)) {
+            droppedOnOverflow.increment();
+            log.debug("Audit event queue is full, dropped event {} of {}", persistentAuditEvent.getAuditEventType(),
+                persistentAuditEvent.getPrincipal());
+        }
+    }
+
+    /**
+     * Write all the queued audit events, on the calling thread.
+     */
+    public void flush() {
+        List<PersistentAuditEvent> batch = new ArrayList<>(properties.getFlushSize());
+        while (queue.drainTo(batch, properties.getFlushSize()) > 0) {
+            save(batch);
+            batch.clear();
+        }
+    }
+
+    private boolean offer(PersistentAuditEvent persistentAuditEvent) {
+        if (properties.getOverflowPolicy() == ApplicationProperties.AuditEvents.OverflowPolicy.BLOCK) {
+            try {
+                return queue.offer(persistentAuditEvent, properties.getOfferTimeout().toNanos(), TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return queue.offer(persistentAuditEvent);
+    }
+
+    private void run() {
+        List<PersistentAuditEvent> batch = new ArrayList<>(properties.getFlushSize());
+        while (running) {
+            try {
+                collect(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            }
+            if (!batch.isEmpty()) {
+                save(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Wait for a first event, then collect events until the batch is full or the flush interval has elapsed.
+     */
+    private void collect(List<PersistentAuditEvent> batch) throws InterruptedException {
+        long flushInterval = properties.getFlushInterval().toNanos();
+        PersistentAuditEvent first = queue.poll(flushInterval, TimeUnit.NANOSECONDS);
+        if (first == null) {
+            return;
+        }
+        batch.add(first);
+        long deadline = System.nanoTime() + flushInterval;
+        while (running) {
+            queue.drainTo(batch, properties.getFlushSize() - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= properties.getFlushSize() || remaining <= 0) {
+                return;
+            }
+            PersistentAuditEvent next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    private void save(List<PersistentAuditEvent> batch) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> persistenceAuditEventRepository.saveAll(batch));
+            written.increment(batch.size());
+        } catch (RuntimeException e) {
+            droppedOnFailure.increment(batch.size());
+            log.error("Could not write {} audit events", batch.size(), e);
+        }
+    }
+}
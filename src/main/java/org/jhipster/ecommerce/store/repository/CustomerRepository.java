@@ -2,16 +2,27 @@ package org.jhipster.ecommerce.store.repository;
 
 import org.jhipster.ecommerce.store.domain.Customer;
 
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Optional;
+
 /**
  * Spring Data  repository for the Customer entity.
  */
 @SuppressWarnings("unused")
 @Repository
-public interface CustomerRepository extends JpaRepository<Customer, Long>, JpaSpecificationExecutor<Customer> {
+public interface CustomerRepository extends JpaRepository<Customer, Long>, SliceSpecificationExecutor<Customer> {
+
+    String CUSTOMER_ID_BY_LOGIN_CACHE = "customerIdByLogin";
+
     Page<Customer> findAllByUserLogin(String s, Pageable pageable);
+
+    @Query("select customer.id from Customer customer where customer.user.login = :login")
+    @Cacheable(cacheNames = CUSTOMER_ID_BY_LOGIN_CACHE, unless = "#result == null")
+    Optional<Long> findIdByUserLogin(@Param("login") String login);
 }
@@ -12,6 +12,6 @@ import java.util.Optional;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface InvoiceRepository extends JpaRepository<Invoice, Long>, JpaSpecificationExecutor<Invoice> {
+public interface InvoiceRepository extends JpaRepository<Invoice, Long>, SliceSpecificationExecutor<Invoice> {
     Optional<Invoice> findOneByIdAndOrderCustomerUserLogin(Long id, String s);
 }
@@ -12,6 +12,6 @@ import java.util.Optional;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface OrderItemRepository extends JpaRepository<OrderItem, Long>, JpaSpecificationExecutor<OrderItem> {
+public interface OrderItemRepository extends JpaRepository<OrderItem, Long>, SliceSpecificationExecutor<OrderItem> {
     Optional<OrderItem> findOneByIdAndOrderCustomerUserLogin(Long id, String s);
 }
@@ -4,6 +4,8 @@ import org.jhipster.ecommerce.store.domain.PersistentAuditEvent;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.time.Instant;
 import java.util.List;
@@ -11,7 +13,7 @@ import java.util.List;
 /**
  * Spring Data JPA repository for the {@link PersistentAuditEvent} entity.
  */
-public interface PersistenceAuditEventRepository extends JpaRepository<PersistentAuditEvent, Long> {
+public interface PersistenceAuditEventRepository extends JpaRepository<PersistentAuditEvent, Long>, PersistenceAuditEventRepositoryCustom {
 
     List<PersistentAuditEvent> findByPrincipal(String principal);
 
@@ -20,4 +22,7 @@ public interface PersistenceAuditEventRepository extends JpaRepository<Persisten
     Page<PersistentAuditEvent> findAllByAuditEventDateBetween(Instant fromDate, Instant toDate, Pageable pageable);
 
     List<PersistentAuditEvent> findByAuditEventDateBefore(Instant before);
+
+    @Query("select event.id from PersistentAuditEvent event where event.auditEventDate < :before order by event.id")
+    List<Long> findIdsByAuditEventDateBefore(@Param("before") Instant before, Pageable pageable);
 }
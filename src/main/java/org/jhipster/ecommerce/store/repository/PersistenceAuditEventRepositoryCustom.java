@@ -0,0 +1,19 @@
+package org.jhipster.ecommerce.store.repository;
+
+import org.jhipster.ecommerce.store.domain.PersistentAuditEvent;
+
+import java.util.Collection;
+
+/**
+ * Custom queries for the {@link PersistentAuditEvent} entity which can not be expressed with Spring Data derived queries.
+ */
+public interface PersistenceAuditEventRepositoryCustom {
+
+    /**
+     * Delete audit events and their data with bulk statements, without loading them.
+     *
+     * @param ids the ids of the audit events to delete.
+     * @return the number of deleted audit events.
+     */
+    int deleteAllByIdIn(Collection<Long> ids);
+}
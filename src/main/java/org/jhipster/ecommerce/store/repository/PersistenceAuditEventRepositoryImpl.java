@@ -0,0 +1,36 @@
+package org.jhipster.ecommerce.store.repository;
+
+import org.hibernate.query.NativeQuery;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.Collection;
+
+/**
+ * Implementation of {@link PersistenceAuditEventRepositoryCustom}, picked up by Spring Data as a fragment of
+ * {@link PersistenceAuditEventRepository}.
+ */
+public class PersistenceAuditEventRepositoryImpl implements PersistenceAuditEventRepositoryCustom {
+
+    private static final String DATA_TABLE = "jhi_persistent_audit_evt_data";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public int deleteAllByIdIn(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        // Bulk JPQL deletes leave element collections alone, so the data rows are deleted first with plain SQL.
+        // Declaring the table keeps Hibernate from invalidating every second-level cache region.
+        entityManager.createNativeQuery("delete from " + DATA_TABLE + " where event_id in (:ids)")
+            .unwrap(NativeQuery.class)
+            .addSynchronizedQuerySpace(DATA_TABLE)
+            .setParameter("ids", ids)
+            .executeUpdate();
+        return entityManager.createQuery("delete from PersistentAuditEvent event where event.id in (:ids)")
+            .setParameter("ids", ids)
+            .executeUpdate();
+    }
+}
@@ -0,0 +1,25 @@
+package org.jhipster.ecommerce.store.repository;
+
+import org.jhipster.ecommerce.store.domain.ProductImage;
+
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Spring Data  repository for the ProductImage entity.
+ */
+@SuppressWarnings("unused")
+@Repository
+public interface ProductImageRepository extends JpaRepository<ProductImage, Long> {
+
+    @Query("select productImage.lastModifiedDate from ProductImage productImage where productImage.id = :id")
+    Optional<Instant> findLastModifiedDateById(@Param("id") Long id);
+
+    @Modifying
+    @Query("delete from ProductImage productImage where productImage.id = :id")
+    void deleteImageById(@Param("id") Long id);
+}
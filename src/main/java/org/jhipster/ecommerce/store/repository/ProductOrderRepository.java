@@ -15,7 +15,8 @@ import java.util.Optional;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface ProductOrderRepository extends JpaRepository<ProductOrder, Long>, JpaSpecificationExecutor<ProductOrder> {
+public interface ProductOrderRepository extends JpaRepository<ProductOrder, Long>, SliceSpecificationExecutor<ProductOrder>,
+    ProductOrderRepositoryCustom {
     Page<ProductOrder> findAllByCustomerUserLogin(String s, Pageable page);
 
     Optional<ProductOrder> findOneByIdAndCustomerUserLogin(Long id, String s);
@@ -0,0 +1,59 @@
+package org.jhipster.ecommerce.store.repository;
+
+import org.jhipster.ecommerce.store.domain.ProductOrder;
+import org.jhipster.ecommerce.store.service.dto.ProductOrderDetailsDTO;
+import org.jhipster.ecommerce.store.service.dto.ProductOrderExportDTO;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Custom queries for the {@link ProductOrder} entity which can not be expressed with Spring Data derived queries.
+ */
+public interface ProductOrderRepositoryCustom {
+
+    /**
+     * Return at most {@code limit} entities matching the specification, without running a count query.
+     *
+     * @param specification the filters the entities should match.
+     * @param sort the order in which the entities are returned.
+     * @param limit the maximum number of entities to return.
+     * @return the matching entities.
+     */
+    List<ProductOrder> findAllWithLimit(Specification<ProductOrder> specification, Sort sort, int limit);
+
+    /**
+     * Stream the export rows of the entities matching the specification, through a forward-only cursor.
+     * <p>
+     * Rows are fetched from the database {@code fetchSize} at a time while the stream is consumed, and are not
+     * attached to the persistence context. The stream must be consumed inside a transaction and closed afterwards.
+     *
+     * @param specification the filters the entities should match.
+     * @param sort the order in which the rows are returned.
+     * @param fetchSize the number of rows fetched from the database per round trip.
+     * @return the matching rows.
+     */
+    Stream<ProductOrderExportDTO> streamAllForExport(Specification<ProductOrder> specification, Sort sort, int fetchSize);
+
+    /**
+     * Load an order with its items, their products (without image), its invoices and their shipments.
+     * A fixed number of SQL statements is executed, whatever the size of the order.
+     *
+     * @param id the id of the order.
+     * @return the order tree, or empty if the order does not exist.
+     */
+    Optional<ProductOrderDetailsDTO> findDetailsById(Long id);
+
+    /**
+     * Same as {@link #findDetailsById(Long)}, restricted to the orders of a customer.
+     *
+     * @param id the id of the order.
+     * @param customerId the id of the customer who must own the order.
+     * @return the order tree, or empty if the order does not exist or belongs to another customer.
+     */
+    Optional<ProductOrderDetailsDTO> findDetailsByIdAndCustomerId(Long id, Long customerId);
+}
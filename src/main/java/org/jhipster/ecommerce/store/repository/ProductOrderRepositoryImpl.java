@@ -0,0 +1,167 @@
+package org.jhipster.ecommerce.store.repository;
+
+import org.jhipster.ecommerce.store.domain.*; // for static metamodels
+import org.jhipster.ecommerce.store.service.dto.ProductOrderDetailsDTO;
+import org.jhipster.ecommerce.store.service.dto.ProductOrderExportDTO;
+import org.jhipster.ecommerce.store.service.dto.ProductOrderDetailsDTO.InvoiceDetails;
+import org.jhipster.ecommerce.store.service.dto.ProductOrderDetailsDTO.OrderItemDetails;
+import org.jhipster.ecommerce.store.service.dto.ProductOrderDetailsDTO.ShipmentDetails;
+
+import org.hibernate.annotations.QueryHints;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Join;
+import javax.persistence.criteria.JoinType;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Implementation of {@link ProductOrderRepositoryCustom}, picked up by Spring Data as a fragment of {@link ProductOrderRepository}.
+ */
+public class ProductOrderRepositoryImpl implements ProductOrderRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<ProductOrder> findAllWithLimit(Specification<ProductOrder> specification, Sort sort, int limit) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ProductOrder> query = builder.createQuery(ProductOrder.class);
+        Root<ProductOrder> root = query.from(ProductOrder.class);
+        Predicate predicate = specification.toPredicate(root, query, builder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.select(root).orderBy(QueryUtils.toOrders(sort, root, builder));
+        return entityManager.createQuery(query)
+            .setMaxResults(limit)
+            .getResultList();
+    }
+
+    @Override
+    public Stream<ProductOrderExportDTO> streamAllForExport(Specification<ProductOrder> specification, Sort sort, int fetchSize) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ProductOrderExportDTO> query = builder.createQuery(ProductOrderExportDTO.class);
+        Root<ProductOrder> root = query.from(ProductOrder.class);
+        Predicate predicate = specification.toPredicate(root, query, builder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.select(builder.construct(ProductOrderExportDTO.class,
+            root.get(ProductOrder_.id),
+            root.get(ProductOrder_.placedDate),
+            root.get(ProductOrder_.status),
+            root.get(ProductOrder_.code),
+            root.get(ProductOrder_.customer).get(Customer_.id)))
+            .orderBy(QueryUtils.toOrders(sort, root, builder));
+        return entityManager.createQuery(query)
+            .setHint(QueryHints.FETCH_SIZE, fetchSize)
+            .getResultStream();
+    }
+
+    @Override
+    public Optional<ProductOrderDetailsDTO> findDetailsById(Long id) {
+        return findDetails(id, null);
+    }
+
+    @Override
+    public Optional<ProductOrderDetailsDTO> findDetailsByIdAndCustomerId(Long id, Long customerId) {
+        return findDetails(id, customerId);
+    }
+
+    /**
+     * Load the order tree with one projection query per level, so that neither the lazy collections
+     * nor the entities themselves are ever initialized.
+     */
+    private Optional<ProductOrderDetailsDTO> findDetails(Long id, Long customerId) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+
+        CriteriaQuery<ProductOrderDetailsDTO> orderQuery = builder.createQuery(ProductOrderDetailsDTO.class);
+        Root<ProductOrder> order = orderQuery.from(ProductOrder.class);
+        Predicate orderPredicate = builder.equal(order.get(ProductOrder_.id), id);
+        if (customerId != null) {
+            orderPredicate = builder.and(orderPredicate,
+                builder.equal(order.get(ProductOrder_.customer).get(Customer_.id), customerId));
+        }
+        orderQuery.select(builder.construct(ProductOrderDetailsDTO.class,
+            order.get(ProductOrder_.id),
+            order.get(ProductOrder_.placedDate),
+            order.get(ProductOrder_.status),
+            order.get(ProductOrder_.code),
+            order.get(ProductOrder_.customer).get(Customer_.id)))
+            .where(orderPredicate);
+        List<ProductOrderDetailsDTO> orders = entityManager.createQuery(orderQuery).getResultList();
+        if (orders.isEmpty()) {
+            return Optional.empty();
+        }
+        ProductOrderDetailsDTO details = orders.get(0);
+
+        CriteriaQuery<OrderItemDetails> orderItemQuery = builder.createQuery(OrderItemDetails.class);
+        Root<OrderItem> orderItem = orderItemQuery.from(OrderItem.class);
+        Join<OrderItem, Product> product = orderItem.join(OrderItem_.product);
+        Join<Product, ProductCategory> productCategory = product.join(Product_.productCategory, JoinType.LEFT);
+        orderItemQuery.select(builder.construct(OrderItemDetails.class,
+            orderItem.get(OrderItem_.id),
+            orderItem.get(OrderItem_.quantity),
+            orderItem.get(OrderItem_.totalPrice),
+            orderItem.get(OrderItem_.status),
+            product.get(Product_.id),
+            product.get(Product_.name),
+            product.get(Product_.description),
+            product.get(Product_.price),
+            product.get(Product_.size),
+            product.get(Product_.imageContentType),
+            productCategory.get(ProductCategory_.id)))
+            .where(builder.equal(orderItem.get(OrderItem_.order).get(ProductOrder_.id), id))
+            .orderBy(builder.asc(orderItem.get(OrderItem_.id)));
+        details.setOrderItems(entityManager.createQuery(orderItemQuery).getResultList());
+
+        CriteriaQuery<InvoiceDetails> invoiceQuery = builder.createQuery(InvoiceDetails.class);
+        Root<Invoice> invoice = invoiceQuery.from(Invoice.class);
+        invoiceQuery.select(builder.construct(InvoiceDetails.class,
+            invoice.get(Invoice_.id),
+            invoice.get(Invoice_.code),
+            invoice.get(Invoice_.date),
+            invoice.get(Invoice_.details),
+            invoice.get(Invoice_.status),
+            invoice.get(Invoice_.paymentMethod),
+            invoice.get(Invoice_.paymentDate),
+            invoice.get(Invoice_.paymentAmount)))
+            .where(builder.equal(invoice.get(Invoice_.order).get(ProductOrder_.id), id))
+            .orderBy(builder.asc(invoice.get(Invoice_.id)));
+        List<InvoiceDetails> invoices = entityManager.createQuery(invoiceQuery).getResultList();
+        details.setInvoices(invoices);
+        if (invoices.isEmpty()) {
+            return Optional.of(details);
+        }
+
+        CriteriaQuery<ShipmentDetails> shipmentQuery = builder.createQuery(ShipmentDetails.class);
+        Root<Shipment> shipment = shipmentQuery.from(Shipment.class);
+        Join<Shipment, Invoice> shipmentInvoice = shipment.join(Shipment_.invoice);
+        shipmentQuery.select(builder.construct(ShipmentDetails.class,
+            shipment.get(Shipment_.id),
+            shipment.get(Shipment_.trackingCode),
+            shipment.get(Shipment_.date),
+            shipment.get(Shipment_.details),
+            shipmentInvoice.get(Invoice_.id)))
+            .where(builder.equal(shipmentInvoice.get(Invoice_.order).get(ProductOrder_.id), id))
+            .orderBy(builder.asc(shipment.get(Shipment_.id)));
+        Map<Long, InvoiceDetails> invoicesById = invoices.stream()
+            .collect(Collectors.toMap(InvoiceDetails::getId, Function.identity()));
+        entityManager.createQuery(shipmentQuery).getResultList()
+            .forEach(shipmentDetails -> invoicesById.get(shipmentDetails.getInvoiceId()).getShipments().add(shipmentDetails));
+        return Optional.of(details);
+    }
+}
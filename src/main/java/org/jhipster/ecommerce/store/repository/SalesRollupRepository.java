@@ -0,0 +1,444 @@
+package org.jhipster.ecommerce.store.repository;
+
+import org.jhipster.ecommerce.store.domain.enumeration.InvoiceStatus;
+import org.jhipster.ecommerce.store.domain.enumeration.OrderItemStatus;
+import org.jhipster.ecommerce.store.domain.enumeration.PaymentMethod;
+
+import org.hibernate.Session;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TimeZone;
+
+/**
+ * Read and write the sales rollups, the {@code sales_by_category} and {@code sales_by_payment_method} tables.
+ * <p>
+ * The rollups have no entity: they are written with plain JDBC statements on the connection of the session, so that
+ * they never go through the persistence context nor invalidate the second-level cache. Days are UTC days, like the
+ * timestamps Hibernate writes, and the products without category are summed up under the category {@code 0}.
+ * <p>
+ * The rollups are only ever added to, so that the writes of concurrent transactions add up: a recompute adds the
+ * difference with the sales, and the rollups without sales anymore are kept with zero totals.
+ */
+@Repository
+public class SalesRollupRepository {
+
+    private static final long NO_CATEGORY = 0L;
+
+    private static final String FIND_SALES_BY_CATEGORY_QUERY =
+        "select sales_date, product_category_id, status, quantity, revenue, item_count from sales_by_category " +
+            "where sales_date >= ? and sales_date <= ? and item_count > 0 " +
+            "order by sales_date, product_category_id, status";
+
+    private static final String FIND_SALES_BY_PAYMENT_METHOD_QUERY =
+        "select sales_date, payment_method, status, amount, invoice_count from sales_by_payment_method " +
+            "where sales_date >= ? and sales_date <= ? and invoice_count > 0 " +
+            "order by sales_date, payment_method, status";
+
+    private static final String ADD_TO_SALES_BY_CATEGORY_MYSQL_STATEMENT =
+        "insert into sales_by_category (sales_date, product_category_id, status, quantity, revenue, item_count) " +
+            "values (?, ?, ?, ?, ?, ?) " +
+            "on duplicate key update quantity = quantity + ?, revenue = revenue + ?, item_count = item_count + ?";
+
+    private static final String ADD_TO_SALES_BY_CATEGORY_H2_STATEMENT =
+        "merge into sales_by_category r using (select cast(? as date) sales_date, cast(? as bigint) product_category_id, " +
+            "cast(? as varchar(255)) status, cast(? as bigint) quantity, cast(? as decimal(21, 2)) revenue, " +
+            "cast(? as bigint) item_count) s " +
+            "on r.sales_date = s.sales_date and r.product_category_id = s.product_category_id and r.status = s.status " +
+            "when matched then update set quantity = r.quantity + s.quantity, revenue = r.revenue + s.revenue, " +
+            "item_count = r.item_count + s.item_count " +
+            "when not matched then insert (sales_date, product_category_id, status, quantity, revenue, item_count) " +
+            "values (s.sales_date, s.product_category_id, s.status, s.quantity, s.revenue, s.item_count)";
+
+    private static final String ADD_TO_SALES_BY_PAYMENT_METHOD_MYSQL_STATEMENT =
+        "insert into sales_by_payment_method (sales_date, payment_method, status, amount, invoice_count) " +
+            "values (?, ?, ?, ?, ?) " +
+            "on duplicate key update amount = amount + ?, invoice_count = invoice_count + ?";
+
+    private static final String ADD_TO_SALES_BY_PAYMENT_METHOD_H2_STATEMENT =
+        "merge into sales_by_payment_method r using (select cast(? as date) sales_date, " +
+            "cast(? as varchar(255)) payment_method, cast(? as varchar(255)) status, cast(? as decimal(21, 2)) amount, " +
+            "cast(? as bigint) invoice_count) s " +
+            "on r.sales_date = s.sales_date and r.payment_method = s.payment_method and r.status = s.status " +
+            "when matched then update set amount = r.amount + s.amount, invoice_count = r.invoice_count + s.invoice_count " +
+            "when not matched then insert (sales_date, payment_method, status, amount, invoice_count) " +
+            "values (s.sales_date, s.payment_method, s.status, s.amount, s.invoice_count)";
+
+    private static final String FIND_SALES_BY_CATEGORY_DRIFT_QUERY =
+        "select sales_date, product_category_id, status, sum(quantity), sum(revenue), sum(item_count) from (" +
+            "select cast(o.placed_date as date) sales_date, coalesce(p.product_category_id, 0) product_category_id, " +
+            "i.status status, i.quantity quantity, i.total_price revenue, 1 item_count " +
+            "from order_item i join product_order o on o.id = i.order_id join product p on p.id = i.product_id " +
+            "where o.placed_date >= ? and o.placed_date < ? " +
+            "union all select sales_date, product_category_id, status, -quantity, -revenue, -item_count " +
+            "from sales_by_category where sales_date >= ? and sales_date < ?) sales " +
+            "group by sales_date, product_category_id, status " +
+            "having sum(quantity) <> 0 or sum(revenue) <> 0 or sum(item_count) <> 0";
+
+    private static final String FIND_SALES_BY_PAYMENT_METHOD_DRIFT_QUERY =
+        "select sales_date, payment_method, status, sum(amount), sum(invoice_count) from (" +
+            "select cast(payment_date as date) sales_date, payment_method, status, payment_amount amount, " +
+            "1 invoice_count from invoice where payment_date >= ? and payment_date < ? " +
+            "union all select sales_date, payment_method, status, -amount, -invoice_count " +
+            "from sales_by_payment_method where sales_date >= ? and sales_date < ?) sales " +
+            "group by sales_date, payment_method, status " +
+            "having sum(amount) <> 0 or sum(invoice_count) <> 0";
+
+    private static final String FIND_SALES_DATE_RANGE_QUERY =
+        "select cast(min(placed_date) as date), cast(max(placed_date) as date) from product_order " +
+            "union all select cast(min(payment_date) as date), cast(max(payment_date) as date) from invoice " +
+            "union all select min(sales_date), max(sales_date) from sales_by_category " +
+            "union all select min(sales_date), max(sales_date) from sales_by_payment_method";
+
+    private static final String FIND_PLACED_DATES_QUERY = "select id, placed_date from product_order where id in (%s)";
+
+    private static final String FIND_PRODUCT_CATEGORY_IDS_QUERY =
+        "select id, product_category_id from product where id in (%s)";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Get the sales of the order items of the orders placed between two days.
+     *
+     * @param fromDate the first day, included.
+     * @param toDate the last day, included.
+     * @return the sales, by day, product category and status, as rows of the day, the id of the category or
+     * {@code null} for the products without one, the {@link OrderItemStatus}, the quantity, the revenue and the number
+     * of items.
+     */
+    public List<Object[]> findSalesByCategory(LocalDate fromDate, LocalDate toDate) {
+        return currentSession().doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(FIND_SALES_BY_CATEGORY_QUERY)) {
+                statement.setObject(1, fromDate);
+                statement.setObject(2, toDate);
+                List<Object[]> sales = new ArrayList<>();
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        long productCategoryId = resultSet.getLong(2);
+                        sales.add(new Object[]{
+                            resultSet.getObject(1, LocalDate.class),
+                            productCategoryId == NO_CATEGORY ? null : productCategoryId,
+                            OrderItemStatus.valueOf(resultSet.getString(3)),
+                            resultSet.getLong(4),
+                            resultSet.getBigDecimal(5),
+                            resultSet.getLong(6)});
+                    }
+                }
+                return sales;
+            }
+        });
+    }
+
+    /**
+     * Get the sales of the invoices paid between two days.
+     *
+     * @param fromDate the first day, included.
+     * @param toDate the last day, included.
+     * @return the sales, by day, payment method and status, as rows of the day, the {@link PaymentMethod}, the
+     * {@link InvoiceStatus}, the amount and the number of invoices.
+     */
+    public List<Object[]> findSalesByPaymentMethod(LocalDate fromDate, LocalDate toDate) {
+        return currentSession().doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(FIND_SALES_BY_PAYMENT_METHOD_QUERY)) {
+                statement.setObject(1, fromDate);
+                statement.setObject(2, toDate);
+                List<Object[]> sales = new ArrayList<>();
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        sales.add(new Object[]{
+                            resultSet.getObject(1, LocalDate.class),
+                            PaymentMethod.valueOf(resultSet.getString(2)),
+                            InvoiceStatus.valueOf(resultSet.getString(3)),
+                            resultSet.getBigDecimal(4),
+                            resultSet.getLong(5)});
+                    }
+                }
+                return sales;
+            }
+        });
+    }
+
+    /**
+     * Add the sales of some order items to the rollup of their day, category and status, creating it if needed.
+     * Negative values remove the sales of order items that were deleted or changed.
+     *
+     * @param session the session whose transaction the rollup is written in.
+     * @param date the day the order of the items was placed.
+     * @param productCategoryId the id of the category of the product of the items, or {@code null} if it has none.
+     * @param status the status of the items.
+     * @param quantity the quantity to add.
+     * @param revenue the revenue to add.
+     * @param itemCount the number of items to add.
+     */
+    public void addSalesByCategory(Session session, LocalDate date, Long productCategoryId, OrderItemStatus status,
+                                   long quantity, BigDecimal revenue, long itemCount) {
+        Object[] key = {date, productCategoryId == null ? NO_CATEGORY : productCategoryId, status.name()};
+        session.doWork(connection -> upsert(connection, ADD_TO_SALES_BY_CATEGORY_MYSQL_STATEMENT,
+            ADD_TO_SALES_BY_CATEGORY_H2_STATEMENT, key, quantity, revenue, itemCount));
+    }
+
+    /**
+     * Add the sales of some invoices to the rollup of their day, payment method and status, creating it if needed.
+     * Negative values remove the sales of invoices that were deleted or changed.
+     *
+     * @param session the session whose transaction the rollup is written in.
+     * @param date the day the invoices were paid.
+     * @param paymentMethod the payment method of the invoices.
+     * @param status the status of the invoices.
+     * @param amount the amount to add.
+     * @param invoiceCount the number of invoices to add.
+     */
+    public void addSalesByPaymentMethod(Session session, LocalDate date, PaymentMethod paymentMethod, InvoiceStatus status,
+                                        BigDecimal amount, long invoiceCount) {
+        Object[] key = {date, paymentMethod.name(), status.name()};
+        session.doWork(connection -> upsert(connection, ADD_TO_SALES_BY_PAYMENT_METHOD_MYSQL_STATEMENT,
+            ADD_TO_SALES_BY_PAYMENT_METHOD_H2_STATEMENT, key, amount, invoiceCount));
+    }
+
+    /**
+     * Recompute the sales by category of a range of days from the order items, in the current transaction.
+     *
+     * @param fromDate the first day, included.
+     * @param toDate the last day, excluded.
+     * @see #recomputeSalesByCategory(Session, LocalDate, LocalDate)
+     */
+    public void recomputeSalesByCategory(LocalDate fromDate, LocalDate toDate) {
+        recomputeSalesByCategory(currentSession(), fromDate, toDate);
+    }
+
+    /**
+     * Recompute the sales by category of a range of days from the order items.
+     * <p>
+     * The order items and the rollups are read in one statement, so from the same snapshot, and the difference is
+     * added to the rollups: the sales other transactions add meanwhile are kept, and none is counted twice.
+     *
+     * @param session the session whose transaction the rollups are written in.
+     * @param fromDate the first day, included.
+     * @param toDate the last day, excluded.
+     */
+    public void recomputeSalesByCategory(Session session, LocalDate fromDate, LocalDate toDate) {
+        session.doWork(connection -> {
+            List<Object[]> drifts = findDrifts(connection, FIND_SALES_BY_CATEGORY_DRIFT_QUERY, fromDate, toDate, 6);
+            for (Object[] drift : drifts) {
+                upsert(connection, ADD_TO_SALES_BY_CATEGORY_MYSQL_STATEMENT, ADD_TO_SALES_BY_CATEGORY_H2_STATEMENT,
+                    new Object[]{drift[0], drift[1], drift[2]}, drift[3], drift[4], drift[5]);
+            }
+        });
+    }
+
+    /**
+     * Recompute the sales by payment method of a range of days from the invoices, in the current transaction.
+     *
+     * @param fromDate the first day, included.
+     * @param toDate the last day, excluded.
+     * @see #recomputeSalesByPaymentMethod(Session, LocalDate, LocalDate)
+     */
+    public void recomputeSalesByPaymentMethod(LocalDate fromDate, LocalDate toDate) {
+        recomputeSalesByPaymentMethod(currentSession(), fromDate, toDate);
+    }
+
+    /**
+     * Recompute the sales by payment method of a range of days from the invoices, adding the difference between the
+     * invoices and the rollups read from the same snapshot, like {@link #recomputeSalesByCategory(Session, LocalDate, LocalDate)}.
+     *
+     * @param session the session whose transaction the rollups are written in.
+     * @param fromDate the first day, included.
+     * @param toDate the last day, excluded.
+     */
+    public void recomputeSalesByPaymentMethod(Session session, LocalDate fromDate, LocalDate toDate) {
+        session.doWork(connection -> {
+            List<Object[]> drifts = findDrifts(connection, FIND_SALES_BY_PAYMENT_METHOD_DRIFT_QUERY, fromDate, toDate, 5);
+            for (Object[] drift : drifts) {
+                upsert(connection, ADD_TO_SALES_BY_PAYMENT_METHOD_MYSQL_STATEMENT, ADD_TO_SALES_BY_PAYMENT_METHOD_H2_STATEMENT,
+                    new Object[]{drift[0], drift[1], drift[2]}, drift[3], drift[4]);
+            }
+        });
+    }
+
+    /**
+     * Get the first and last days with orders placed, invoices paid or sales rollups.
+     *
+     * @return the first and last days, or empty if there are neither orders, invoices nor rollups.
+     */
+    public Optional<LocalDate[]> findSalesDateRange() {
+        return currentSession().doReturningWork(connection -> {
+            LocalDate first = null;
+            LocalDate last = null;
+            try (PreparedStatement statement = connection.prepareStatement(FIND_SALES_DATE_RANGE_QUERY);
+                 ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    LocalDate min = resultSet.getObject(1, LocalDate.class);
+                    LocalDate max = resultSet.getObject(2, LocalDate.class);
+                    if (min != null && (first == null || min.isBefore(first))) {
+                        first = min;
+                    }
+                    if (max != null && (last == null || max.isAfter(last))) {
+                        last = max;
+                    }
+                }
+            }
+            if (first == null) {
+                return Optional.empty();
+            }
+            return Optional.of(new LocalDate[]{first, last});
+        });
+    }
+
+    /**
+     * Get the placed dates of some orders, as written in the database.
+     *
+     * @param session the session to read them in.
+     * @param orderIds the ids of the orders.
+     * @return the placed dates of the orders found, by id.
+     */
+    public Map<Long, Instant> findPlacedDates(Session session, Collection<Long> orderIds) {
+        return session.doReturningWork(connection -> {
+            Map<Long, Instant> placedDates = new HashMap<>();
+            try (PreparedStatement statement = prepareInQuery(connection, FIND_PLACED_DATES_QUERY, orderIds);
+                 ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    placedDates.put(resultSet.getLong(1), resultSet.getTimestamp(2, utcCalendar()).toInstant());
+                }
+            }
+            return placedDates;
+        });
+    }
+
+    /**
+     * Get the categories of some products, as written in the database.
+     *
+     * @param session the session to read them in.
+     * @param productIds the ids of the products.
+     * @return the ids of the categories of the products found, by id, with {@code null} for the products without one.
+     */
+    public Map<Long, Long> findProductCategoryIds(Session session, Collection<Long> productIds) {
+        return session.doReturningWork(connection -> {
+            Map<Long, Long> productCategoryIds = new HashMap<>();
+            try (PreparedStatement statement = prepareInQuery(connection, FIND_PRODUCT_CATEGORY_IDS_QUERY, productIds);
+                 ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    long productCategoryId = resultSet.getLong(2);
+                    productCategoryIds.put(resultSet.getLong(1), resultSet.wasNull() ? null : productCategoryId);
+                }
+            }
+            return productCategoryIds;
+        });
+    }
+
+    /**
+     * Return the UTC day of an instant, which is the day the database gives for the timestamps Hibernate writes.
+     *
+     * @param instant the instant.
+     * @return its day.
+     */
+    public static LocalDate toDate(Instant instant) {
+        return instant.atOffset(ZoneOffset.UTC).toLocalDate();
+    }
+
+    private Session currentSession() {
+        return entityManager.unwrap(Session.class);
+    }
+
+    /**
+     * Add the values to the row of the key, or insert it, in a single statement.
+     * <p>
+     * On MySQL, {@code insert ... on duplicate key update} waits for the row another transaction is inserting, then
+     * adds to it, while an update followed by an insert would take a gap lock, and deadlock with a transaction
+     * inserting the same key. H2 has no gap locks, but its {@code merge} checks for the row before inserting it: when
+     * another transaction inserts it first, the merge fails on the primary key once that transaction commits, and is
+     * run again to add to its row.
+     */
+    private static void upsert(Connection connection, String mySqlStatement, String h2Statement, Object[] key,
+                               Object... values) throws SQLException {
+        if (isMySql(connection)) {
+            Object[] parameters = new Object[key.length + 2 * values.length];
+            System.arraycopy(key, 0, parameters, 0, key.length);
+            System.arraycopy(values, 0, parameters, key.length, values.length);
+            System.arraycopy(values, 0, parameters, key.length + values.length, values.length);
+            executeUpdate(connection, mySqlStatement, parameters);
+            return;
+        }
+        Object[] parameters = new Object[key.length + values.length];
+        System.arraycopy(key, 0, parameters, 0, key.length);
+        System.arraycopy(values, 0, parameters, key.length, values.length);
+        try {
+            executeUpdate(connection, h2Statement, parameters);
+        } catch (SQLException e) {
+            if (e.getSQLState() == null || !e.getSQLState().startsWith("23")) {
+                throw e;
+            }
+            executeUpdate(connection, h2Statement, parameters);
+        }
+    }
+
+    private static boolean isMySql(Connection connection) throws SQLException {
+        return "MySQL".equals(connection.getMetaData().getDatabaseProductName());
+    }
+
+    /**
+     * Read the differences between the sales of a range of days and their rollups, the key of the rollup first.
+     */
+    private static List<Object[]> findDrifts(Connection connection, String query, LocalDate fromDate, LocalDate toDate,
+                                             int columnCount) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(query)) {
+            statement.setTimestamp(1, Timestamp.from(fromDate.atStartOfDay(ZoneOffset.UTC).toInstant()), utcCalendar());
+            statement.setTimestamp(2, Timestamp.from(toDate.atStartOfDay(ZoneOffset.UTC).toInstant()), utcCalendar());
+            statement.setObject(3, fromDate);
+            statement.setObject(4, toDate);
+            List<Object[]> drifts = new ArrayList<>();
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    Object[] drift = new Object[columnCount];
+                    drift[0] = resultSet.getObject(1, LocalDate.class);
+                    for (int i = 1; i < columnCount; i++) {
+                        drift[i] = resultSet.getObject(i + 1);
+                    }
+                    drifts.add(drift);
+                }
+            }
+            return drifts;
+        }
+    }
+
+    private static int executeUpdate(Connection connection, String sql, Object... parameters) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (int i = 0; i < parameters.length; i++) {
+                statement.setObject(i + 1, parameters[i]);
+            }
+            return statement.executeUpdate();
+        }
+    }
+
+    private static PreparedStatement prepareInQuery(Connection connection, String query, Collection<Long> ids) throws SQLException {
+        String placeholders = String.join(", ", Collections.nCopies(ids.size(), "?"));
+        PreparedStatement statement = connection.prepareStatement(String.format(query, placeholders));
+        int index = 1;
+        for (Long id : ids) {
+            statement.setLong(index++, id);
+        }
+        return statement;
+    }
+
+    private static Calendar utcCalendar() {
+        return Calendar.getInstance(TimeZone.getTimeZone(ZoneOffset.UTC));
+    }
+}
@@ -12,6 +12,6 @@ import java.util.Optional;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface ShipmentRepository extends JpaRepository<Shipment, Long>, JpaSpecificationExecutor<Shipment> {
+public interface ShipmentRepository extends JpaRepository<Shipment, Long>, SliceSpecificationExecutor<Shipment> {
     Optional<Shipment> findOneByIdAndInvoiceOrderCustomerUserLogin(Long id, String s);
 }
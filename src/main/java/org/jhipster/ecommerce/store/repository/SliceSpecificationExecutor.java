@@ -0,0 +1,27 @@
+package org.jhipster.ecommerce.store.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.lang.Nullable;
+
+/**
+ * Extension of {@link JpaSpecificationExecutor} which can read a page of entities without counting them.
+ * <p>
+ * It is implemented by {@link SliceJpaRepository}, the base class of all the Spring Data repositories.
+ *
+ * @param <T> the type of the entity.
+ */
+public interface SliceSpecificationExecutor<T> extends JpaSpecificationExecutor<T> {
+
+    /**
+     * Return a {@link Slice} of entities matching the specification. One more entity than the page size is read
+     * to know whether a next slice exists, and no count query is executed.
+     *
+     * @param specification the filters the entities should match, can be {@code null}.
+     * @param pageable the pagination information.
+     * @return the matching entities.
+     */
+    Slice<T> findSlice(@Nullable Specification<T> specification, Pageable pageable);
+}
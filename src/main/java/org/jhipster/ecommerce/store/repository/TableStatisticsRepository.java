@@ -0,0 +1,73 @@
+package org.jhipster.ecommerce.store.repository;
+
+import org.hibernate.Session;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.hibernate.persister.entity.EntityPersister;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.Optional;
+
+/**
+ * Read the statistics the database keeps about its tables.
+ */
+@Repository
+public class TableStatisticsRepository {
+
+    private static final String MYSQL_ROW_COUNT_QUERY =
+        "select table_rows from information_schema.tables where table_schema = database() and table_name = ?";
+
+    private static final String H2_ROW_COUNT_QUERY =
+        "select row_count_estimate from information_schema.tables where table_schema = schema() and upper(table_name) = upper(?)";
+
+    private final Logger log = LoggerFactory.getLogger(TableStatisticsRepository.class);
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Return the number of rows of the table of an entity, as estimated by the database from its statistics.
+     * <p>
+     * The estimate is cheap to read whatever the size of the table, but it can be far from the actual number of rows:
+     * with InnoDB, it is only refreshed from time to time, from a sample of the table.
+     *
+     * @param entityClass the class of the entity.
+     * @return the estimated number of rows, or empty if the database does not provide one.
+     */
+    public Optional<Long> estimateRowCount(Class<?> entityClass) {
+        Session session = entityManager.unwrap(Session.class);
+        EntityPersister persister = ((SessionFactoryImplementor) session.getSessionFactory()).getMetamodel().entityPersister(entityClass);
+        if (!(persister instanceof AbstractEntityPersister)) {
+            return Optional.empty();
+        }
+        String tableName = ((AbstractEntityPersister) persister).getTableName();
+        return session.doReturningWork(connection -> {
+            String databaseProductName = connection.getMetaData().getDatabaseProductName();
+            String sql;
+            if ("MySQL".equals(databaseProductName) || "MariaDB".equals(databaseProductName)) {
+                sql = MYSQL_ROW_COUNT_QUERY;
+            } else if ("H2".equals(databaseProductName)) {
+                sql = H2_ROW_COUNT_QUERY;
+            } else {
+                log.debug("No row count estimate available on {}", databaseProductName);
+                return Optional.empty();
+            }
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                statement.setString(1, tableName);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    if (resultSet.next()) {
+                        long rowCount = resultSet.getLong(1);
+                        return resultSet.wasNull() ? Optional.empty() : Optional.of(rowCount);
+                    }
+                    return Optional.empty();
+                }
+            }
+        });
+    }
+}
@@ -7,8 +7,12 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.time.Instant;
@@ -27,6 +31,8 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     List<User> findAllByActivatedIsFalseAndActivationKeyIsNotNullAndCreatedDateBefore(Instant dateTime);
 
+    List<User> findAllByActivatedIsFalseAndActivationKeyIsNotNullAndCreatedDateBefore(Instant dateTime, Pageable pageable);
+
     Optional<User> findOneByResetKey(String resetKey);
 
     Optional<User> findOneByEmailIgnoreCase(String email);
@@ -41,5 +47,34 @@ public interface UserRepository extends JpaRepository<User, Long> {
     @Cacheable(cacheNames = USERS_BY_EMAIL_CACHE)
     Optional<User> findOneWithAuthoritiesByEmailIgnoreCase(String email);
 
-    Page<User> findAllByLoginNot(Pageable pageable, String login);
+    @Query("select user.id from User user where user.login <> :login")
+    Page<Long> findAllIdsByLoginNot(Pageable pageable, @Param("login") String login);
+
+    /**
+     * Page the ids of the users whose login or email starts with a prefix, through the unique indexes of both columns.
+     *
+     * @param pageable the pagination information.
+     * @param login    the login of the user to exclude.
+     * @param prefix   the {@code like} pattern of the prefix, escaped with {@code !}.
+     * @return the page of user ids.
+     */
+    @Query(value = "select user.id from User user where user.login <> :login"
+        + " and (user.login like :prefix escape '!' or user.email like :prefix escape '!')",
+        countQuery = "select count(user) from User user where user.login <> :login"
+            + " and (user.login like :prefix escape '!' or user.email like :prefix escape '!')")
+    Page<Long> findAllIdsByLoginNotAndLoginOrEmailLike(Pageable pageable, @Param("login") String login,
+                                                        @Param("prefix") String prefix);
+
+    @EntityGraph(attributePaths = "authorities")
+    List<User> findAllWithAuthoritiesByIdIn(Collection<Long> ids);
+
+    /**
+     * Bulk delete users, along with their rows of the {@code jhi_user_authority} join table.
+     *
+     * @param ids the ids of the users to delete.
+     * @return the number of deleted users.
+     */
+    @Modifying
+    @Query("delete from User user where user.id in (:ids)")
+    int deleteAllByIdIn(@Param("ids") Collection<Long> ids);
 }
@@ -0,0 +1,196 @@
+package org.jhipster.ecommerce.store.security;
+
+import org.jhipster.ecommerce.store.config.ApplicationProperties;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Password encoder running a slow encoder, such as BCrypt, on a bounded pool of threads, so that a burst of logins or
+ * registrations takes at most {@code application.password-hashing.pool-size} processors, leaving the request threads
+ * to the other requests.
+ * <p>
+ * The callers on other threads wait for their hash to be computed by the pool. The login and registration rather hash
+ * on the pool with {@link #supplyAsync(Supplier)}, so that their request thread is released meanwhile, and the
+ * registration saves the user on another executor with {@link #supplyAsync(Supplier, Function, Executor)}.
+ * When {@code application.password-hashing.queue-capacity} hashes already wait, the next ones are rejected right away
+ * with a {@link PasswordHashingRejectedException}.
+ * <p>
+ * The hashes are timed in {@code password.hashing.duration} by operation, their wait for a thread in
+ * {@code password.hashing.wait}, and the rejected ones counted in {@code password.hashing.rejected}.
+ * <p>
+ * When {@code application.password-hashing.async} is disabled, everything runs on the caller's thread.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+    private static final ThreadLocal<Boolean> HASHING_THREAD = ThreadLocal.withInitial(() -> Boolean.FALSE);
+
+    private final PasswordEncoder delegate;
+
+    private final ThreadPoolExecutor executor;
+
+    private final Timer encodeTimer;
+
+    private final Timer matchesTimer;
+
+    private final Timer waitTimer;
+
+    private final Counter rejected;
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, ApplicationProperties.PasswordHashing properties,
+                                  MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.encodeTimer = Timer.builder("password.hashing.duration").tag("operation", "encode")
+            .description("The duration of the password hashes and checks").register(meterRegistry);
+        this.matchesTimer = Timer.builder("password.hashing.duration").tag("operation", "matches")
+            .description("The duration of the password hashes and checks").register(meterRegistry);
+        this.waitTimer = Timer.builder("password.hashing.wait")
+            .description("The time the password hashes and checks wait for a thread").register(meterRegistry);
+        this.rejected = Counter.builder("password.hashing.rejected")
+            .description("The number of password hashes and checks rejected as too many were waiting").register(meterRegistry);
+        if (!properties.isAsync()) {
+            this.executor = null;
+            return;
+        }
+        int poolSize = properties.getPoolSize() > 0 ? properties.getPoolSize() : Runtime.getRuntime().availableProcessors();
+        // Without a queue, the hashes are handed to an idle thread or rejected
+        BlockingQueue<Runnable> queue = properties.getQueueCapacity() > 0
+            ? new ArrayBlockingQueue<>(properties.getQueueCapacity()) : new SynchronousQueue<>();
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS, queue,
+            runnable -> {
+                Thread thread = new Thread(() -> {
+                    HASHING_THREAD.set(Boolean.TRUE);
+                    runnable.run();
+                }, "password-hashing-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        Gauge.builder("password.hashing.queue.size", executor.getQueue(), BlockingQueue::size)
+            .description("The number of password hashes and checks waiting for a thread").register(meterRegistry);
+        Gauge.builder("password.hashing.active", executor, ThreadPoolExecutor::getActiveCount)
+            .description("The number of threads hashing or checking a password").register(meterRegistry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return hash(() -> encodeTimer.record(() -> delegate.encode(rawPassword)));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return hash(() -> matchesTimer.record(() -> delegate.matches(rawPassword, encodedPassword)));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    /**
+     * Run a task hashing or checking passwords on the pool, where its hashes are run right away.
+     *
+     * @param task the task.
+     * @param <T> the type of the result of the task.
+     * @return the future result of the task.
+     * @throws PasswordHashingRejectedException if too many hashes are already waiting.
+     */
+    public <T> CompletableFuture<T> supplyAsync(Supplier<T> task) {
+        if (executor == null) {
+            CompletableFuture<T> future = new CompletableFuture<>();
+            try {
+                future.complete(task.get());
+            } catch (RuntimeException e) {
+                future.completeExceptionally(e);
+            }
+            return future;
+        }
+        try {
+            return CompletableFuture.supplyAsync(timeWait(task), executor);
+        } catch (RejectedExecutionException e) {
+            throw reject(e);
+        }
+    }
+
+    /**
+     * Run a task hashing or checking passwords on the pool, and then another task with its result on an executor of its
+     * own, leaving the pool to the other hashes. When not asynchronous, both tasks run on the caller's thread.
+     *
+     * @param task the task hashing or checking passwords.
+     * @param then the task to run with the result of the first one.
+     * @param thenExecutor the executor of the second task.
+     * @param <T> the type of the result of the first task.
+     * @param <R> the type of the result of the second task.
+     * @return the future result of the second task.
+     * @throws PasswordHashingRejectedException if too many hashes are already waiting.
+     */
+    public <T, R> CompletableFuture<R> supplyAsync(Supplier<T> task, Function<? super T, ? extends R> then, Executor thenExecutor) {
+        CompletableFuture<T> future = supplyAsync(task);
+        return executor == null ? future.thenApply(then) : future.thenApplyAsync(then, thenExecutor);
+    }
+
+    /**
+     * Stop the threads of the pool, once their tasks are done.
+     */
+    public void shutdown() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    private <T> T hash(Supplier<T> hash) {
+        if (executor == null || HASHING_THREAD.get()) {
+            return hash.get();
+        }
+        Callable<T> task = timeWait(hash)::get;
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            throw reject(e);
+        }
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw new PasswordHashingRejectedException("Interrupted while waiting for the password hashing", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private <T> Supplier<T> timeWait(Supplier<T> task) {
+        long submitted = System.nanoTime();
+        return () -> {
+            waitTimer.record(System.nanoTime() - submitted, TimeUnit.NANOSECONDS);
+            return task.get();
+        };
+    }
+
+    private PasswordHashingRejectedException reject(RejectedExecutionException e) {
+        rejected.increment();
+        return new PasswordHashingRejectedException("Too many passwords are waiting to be hashed", e);
+    }
+}
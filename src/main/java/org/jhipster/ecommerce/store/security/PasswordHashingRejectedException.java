@@ -0,0 +1,13 @@
+package org.jhipster.ecommerce.store.security;
+
+/**
+ * This exception is thrown when a password cannot be hashed or checked because too many already wait for it.
+ */
+public class PasswordHashingRejectedException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public PasswordHashingRejectedException(String message, Throwable t) {
+        super(message, t);
+    }
+}
@@ -2,10 +2,13 @@ package org.jhipster.ecommerce.store.security.jwt;
 
 import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.time.Clock;
 import java.util.*;
 import java.util.stream.Collectors;
 import javax.annotation.PostConstruct;
 
+import org.jhipster.ecommerce.store.config.ApplicationProperties;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -17,6 +20,7 @@ import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 
 import io.github.jhipster.config.JHipsterProperties;
+import io.micrometer.core.instrument.MeterRegistry;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
@@ -30,14 +34,21 @@ public class TokenProvider {
 
     private Key key;
 
+    private JwtParser jwtParser;
+
     private long tokenValidityInMilliseconds;
 
     private long tokenValidityInMillisecondsForRememberMe;
 
     private final JHipsterProperties jHipsterProperties;
 
-    public TokenProvider(JHipsterProperties jHipsterProperties) {
+    private final VerifiedTokenCache verifiedTokenCache;
+
+    public TokenProvider(JHipsterProperties jHipsterProperties, ApplicationProperties applicationProperties,
+                         MeterRegistry meterRegistry) {
         this.jHipsterProperties = jHipsterProperties;
+        this.verifiedTokenCache = new VerifiedTokenCache(applicationProperties.getJwt().getVerifiedTokenCacheSize(),
+            Clock.systemUTC(), meterRegistry);
     }
 
     @PostConstruct
@@ -53,6 +64,8 @@ public class TokenProvider {
             keyBytes = Decoders.BASE64.decode(jHipsterProperties.getSecurity().getAuthentication().getJwt().getBase64Secret());
         }
         this.key = Keys.hmacShaKeyFor(keyBytes);
+        this.jwtParser = Jwts.parserBuilder().setSigningKey(key).build();
+        this.verifiedTokenCache.clear();
         this.tokenValidityInMilliseconds =
             1000 * jHipsterProperties.getSecurity().getAuthentication().getJwt().getTokenValidityInSeconds();
         this.tokenValidityInMillisecondsForRememberMe =
@@ -81,12 +94,45 @@ public class TokenProvider {
             .compact();
     }
 
+    /**
+     * Verify a token and build the matching authentication, in a single parsing pass.
+     * <p>
+     * Tokens verified earlier are served from memory until they expire.
+     *
+     * @param token the token to check.
+     * @return the authentication of the token, or an empty {@link Optional} if the token is invalid or expired.
+     */
+    public Optional<Authentication> resolveAuthentication(String token) {
+        if (!StringUtils.hasText(token)) {
+            return Optional.empty();
+        }
+        Authentication cached = verifiedTokenCache.get(token);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        try {
+            return Optional.of(verify(token));
+        } catch (JwtException | IllegalArgumentException e) {
+            log.info("Invalid JWT token.");
+            log.trace("Invalid JWT token trace.", e);
+        }
+        return Optional.empty();
+    }
+
     public Authentication getAuthentication(String token) {
-        Claims claims = Jwts.parserBuilder()
-            .setSigningKey(key)
-            .build()
-            .parseClaimsJws(token)
-            .getBody();
+        Authentication cached = verifiedTokenCache.get(token);
+        if (cached != null) {
+            return cached;
+        }
+        return verify(token);
+    }
+
+    public boolean validateToken(String authToken) {
+        return resolveAuthentication(authToken).isPresent();
+    }
+
+    private Authentication verify(String token) {
+        Claims claims = jwtParser.parseClaimsJws(token).getBody();
 
         Collection<? extends GrantedAuthority> authorities =
             Arrays.stream(claims.get(AUTHORITIES_KEY).toString().split(","))
@@ -95,17 +141,10 @@ public class TokenProvider {
 
         User principal = new User(claims.getSubject(), "", authorities);
 
-        return new UsernamePasswordAuthenticationToken(principal, token, authorities);
-    }
-
-    public boolean validateToken(String authToken) {
-        try {
-            Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(authToken);
-            return true;
-        } catch (JwtException | IllegalArgumentException e) {
-            log.info("Invalid JWT token.");
-            log.trace("Invalid JWT token trace.", e);
+        Authentication authentication = new UsernamePasswordAuthenticationToken(principal, token, authorities);
+        if (claims.getExpiration() != null) {
+            verifiedTokenCache.put(token, authentication, claims.getExpiration().getTime());
         }
-        return false;
+        return authentication;
     }
 }
@@ -0,0 +1,152 @@
+package org.jhipster.ecommerce.store.security.jwt;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.security.core.Authentication;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded, in-memory cache of the {@link Authentication} built from already verified JWTs.
+ * <p>
+ * Entries are keyed by the SHA-256 hash of the token, so raw tokens are not used as map keys, and are dropped once
+ * the token expires: a cached token is never accepted after its {@code exp} claim.
+ * <p>
+ * Once full, the least recently used entry is evicted, so that a put stays O(1) however many tokens are live. The map
+ * is guarded by the cache itself, as each get reorders it.
+ * <p>
+ * Lookups are published with the Micrometer cache conventions ({@code cache.gets}, {@code cache.size},
+ * {@code cache.evictions}) under the {@value #CACHE_NAME} cache name, with the same tag keys as the Spring caches,
+ * which Prometheus requires for meters sharing a name.
+ */
+final class VerifiedTokenCache {
+
+    static final String CACHE_NAME = "verifiedJwt";
+
+    private static final String CACHE_MANAGER_NAME = "tokenProvider";
+
+    private final Map<String, Entry> entries;
+
+    private final int maxSize;
+
+    private final Clock clock;
+
+    private final Counter hits;
+
+    private final Counter misses;
+
+    private final Counter evictions;
+
+    VerifiedTokenCache(int maxSize, Clock clock, MeterRegistry meterRegistry) {
+        this.maxSize = maxSize;
+        this.clock = clock;
+        Tags tags = Tags.of("cache", CACHE_NAME, "cacheManager", CACHE_MANAGER_NAME, "name", CACHE_NAME);
+        this.hits = Counter.builder("cache.gets").tags(tags).tag("result", "hit")
+            .description("The number of times a verified JWT was found in the cache").register(meterRegistry);
+        this.misses = Counter.builder("cache.gets").tags(tags).tag("result", "miss")
+            .description("The number of times a JWT had to be verified").register(meterRegistry);
+        this.evictions = Counter.builder("cache.evictions").tags(tags)
+            .description("The number of verified JWTs evicted before their expiration").register(meterRegistry);
+        this.entries = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, VerifiedTokenCache.Entry> eldest) {
+                if (size() <= maxSize) {
+                    return false;
+                }
+                if (!eldest.getValue().isExpired(clock.millis())) {
+                    evictions.increment();
+                }
+                return true;
+            }
+        };
+        Gauge.builder("cache.size", this, VerifiedTokenCache::size).tags(tags)
+            .description("The number of verified JWTs in the cache").register(meterRegistry);
+    }
+
+    /**
+     * Get the authentication of a token verified earlier.
+     *
+     * @param token the raw token.
+     * @return the cached authentication, or {@code null} if the token is unknown or expired.
+     */
+    Authentication get(String token) {
+        if (maxSize <= 0) {
+            return null;
+        }
+        String key = hash(token);
+        Entry entry;
+        synchronized (this) {
+            entry = entries.get(key);
+            if (entry != null && entry.isExpired(clock.millis())) {
+                entries.remove(key);
+                entry = null;
+            }
+        }
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.authentication;
+    }
+
+    /**
+     * Cache the authentication of a token which has just been verified.
+     *
+     * @param token the raw token.
+     * @param authentication the authentication built from the token claims.
+     * @param expiresAt the token expiration, in epoch milliseconds.
+     */
+    void put(String token, Authentication authentication, long expiresAt) {
+        if (maxSize <= 0) {
+            return;
+        }
+        String key = hash(token);
+        Entry entry = new Entry(authentication, expiresAt);
+        synchronized (this) {
+            entries.put(key, entry);
+        }
+    }
+
+    synchronized void clear() {
+        entries.clear();
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder().encodeToString(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static final class Entry {
+
+        private final Authentication authentication;
+
+        private final long expiresAt;
+
+        private Entry(Authentication authentication, long expiresAt) {
+            this.authentication = authentication;
+            this.expiresAt = expiresAt;
+        }
+
+        private boolean isExpired(long now) {
+            return now >= expiresAt;
+        }
+    }
+}
@@ -1,19 +1,27 @@
 package org.jhipster.ecommerce.store.service;
 
 import io.github.jhipster.config.JHipsterProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.jhipster.ecommerce.store.config.ApplicationProperties;
 import org.jhipster.ecommerce.store.config.audit.AuditEventConverter;
 import org.jhipster.ecommerce.store.repository.PersistenceAuditEventRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.actuate.audit.AuditEvent;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -33,28 +41,53 @@ public class AuditEventService {
 
     private final AuditEventConverter auditEventConverter;
 
+    private final ApplicationProperties applicationProperties;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final Counter purgedAuditEvents;
+
     public AuditEventService(
         PersistenceAuditEventRepository persistenceAuditEventRepository,
-        AuditEventConverter auditEventConverter, JHipsterProperties jhipsterProperties) {
+        AuditEventConverter auditEventConverter, JHipsterProperties jhipsterProperties,
+        ApplicationProperties applicationProperties, PlatformTransactionManager transactionManager,
+        MeterRegistry meterRegistry) {
 
         this.persistenceAuditEventRepository = persistenceAuditEventRepository;
         this.auditEventConverter = auditEventConverter;
         this.jHipsterProperties = jhipsterProperties;
+        this.applicationProperties = applicationProperties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.purgedAuditEvents = Counter.builder("purge.deleted").tag("entity", "audit_event")
+            .description("The number of rows deleted by the scheduled purges").register(meterRegistry);
     }
 
     /**
      * Old audit events should be automatically deleted after 30 days.
-     *
+     * <p>
+     * They are deleted by chunks of {@code application.purge.batch-size} events, each chunk in its own transaction,
+     * so that a large backlog neither fills the memory nor holds locks for long.
+     * <p>
      * This is scheduled to get fired at 12:00 (am).
      */
     @Scheduled(cron = "0 0 12 * * ?")
+    @Transactional(propagation = Propagation.SUPPORTS)
     public void removeOldAuditEvents() {
-        persistenceAuditEventRepository
-            .findByAuditEventDateBefore(Instant.now().minus(jHipsterProperties.getAuditEvents().getRetentionPeriod(), ChronoUnit.DAYS))
-            .forEach(auditEvent -> {
-                log.debug("Deleting audit data {}", auditEvent);
-                persistenceAuditEventRepository.delete(auditEvent);
+        Instant before = Instant.now().minus(jHipsterProperties.getAuditEvents().getRetentionPeriod(), ChronoUnit.DAYS);
+        Pageable chunk = PageRequest.of(0, applicationProperties.getPurge().getBatchSize());
+        long deleted = 0;
+        int chunkSize;
+        do {
+            chunkSize = transactionTemplate.execute(status -> {
+                List<Long> ids = persistenceAuditEventRepository.findIdsByAuditEventDateBefore(before, chunk);
+                persistenceAuditEventRepository.deleteAllByIdIn(ids);
+                return ids.size();
             });
+            purgedAuditEvents.increment(chunkSize);
+            deleted += chunkSize;
+            log.debug("Deleted {} audit events older than {} so far", deleted, before);
+        } while (chunkSize == chunk.getPageSize());
+        log.info("Deleted {} audit events older than {}", deleted, before);
     }
 
     @Transactional(readOnly = true)
@@ -0,0 +1,224 @@
+package org.jhipster.ecommerce.store.service;
+
+import org.jhipster.ecommerce.store.config.ApplicationProperties;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IAtomicLong;
+import com.hazelcast.core.IMap;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.cache.HazelcastCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.DigestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Service caching the serialized responses of the catalog lists, which are the same for every user.
+ * <p>
+ * The responses are kept in one Hazelcast map per list, with a near cache, so that a hit on a member is served from
+ * its own memory. The map of a list is cleared once a transaction writing the entities it shows is committed.
+ * <p>
+ * The keys of a list are also prefixed with its generation, a cluster-wide counter which the eviction increments, so
+ * that a response read before an eviction and cached after it is never served: it is left to expire under the key of
+ * a previous generation.
+ */
+@Service
+public class CatalogResponseCache {
+
+    /**
+     * Prefix of the names of the Hazelcast maps holding the cached responses, followed by the list name.
+     */
+    public static final String MAP_NAME_PREFIX = "catalogResponses.";
+
+    /**
+     * Name of the list of products, which also shows their category.
+     */
+    public static final String PRODUCTS = "products";
+
+    /**
+     * Name of the list of product categories.
+     */
+    public static final String PRODUCT_CATEGORIES = "productCategories";
+
+    private static final String GENERATION_SUFFIX = ".generation";
+
+    private final Logger log = LoggerFactory.getLogger(CatalogResponseCache.class);
+
+    private final HazelcastInstance hazelcastInstance;
+
+    private final boolean enabled;
+
+    public CatalogResponseCache(HazelcastInstance hazelcastInstance, ApplicationProperties applicationProperties,
+                                MeterRegistry meterRegistry) {
+        this.hazelcastInstance = hazelcastInstance;
+        this.enabled = applicationProperties.getCatalogCache().isEnabled();
+        if (enabled) {
+            for (String list : new String[]{PRODUCTS, PRODUCT_CATEGORIES}) {
+                HazelcastCacheMetrics.monitor(meterRegistry, responseMap(list),
+                    Tags.of("cacheManager", "catalog", "name", MAP_NAME_PREFIX + list));
+            }
+        }
+    }
+
+    /**
+     * Build the key of a response in the current generation of its list. It must be taken before reading the data of
+     * the response, so that an eviction meanwhile makes the response cached under it unreachable.
+     *
+     * @param list the name of the list.
+     * @param requestKey the key of the request.
+     * @return the key of the response in the list.
+     */
+    public String currentKey(String list, String requestKey) {
+        return generation(list).get() + ":" + requestKey;
+    }
+
+    /**
+     * Get a cached response.
+     *
+     * @param list the name of the list.
+     * @param key the key of the response in the list, from {@link #currentKey(String, String)}.
+     * @return the cached response, or {@code null} if there is none.
+     */
+    public CachedResponse get(String list, String key) {
+        return responseMap(list).get(key);
+    }
+
+    /**
+     * Cache a response.
+     *
+     * @param list the name of the list.
+     * @param key the key of the response in the list, from {@link #currentKey(String, String)}.
+     * @param response the response.
+     */
+    public void put(String list, String key, CachedResponse response) {
+        responseMap(list).set(key, response);
+    }
+
+    /**
+     * Evict the cached products, once the current transaction is committed.
+     */
+    public void evictProducts() {
+        evictAfterCommit(PRODUCTS);
+    }
+
+    /**
+     * Evict the cached products and product categories, once the current transaction is committed.
+     */
+    public void evictProductCategories() {
+        evictAfterCommit(PRODUCTS, PRODUCT_CATEGORIES);
+    }
+
+    /**
+     * Evict lists once the current transaction is committed, so that no request caches them again from the data it
+     * replaces. Without transaction, they are evicted right away.
+     */
+    private void evictAfterCommit(String... lists) {
+        if (!enabled) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evict(lists);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+            @Override
+            public void afterCommit() {
+                evict(lists);
+            }
+        });
+    }
+
+    private void evict(String... lists) {
+        for (String list : lists) {
+            log.debug("Evicting the cached responses of {}", list);
+            generation(list).incrementAndGet();
+            responseMap(list).clear();
+        }
+    }
+
+    private IMap<String, CachedResponse> responseMap(String list) {
+        return hazelcastInstance.getMap(MAP_NAME_PREFIX + list);
+    }
+
+    private IAtomicLong generation(String list) {
+        return hazelcastInstance.getAtomicLong(MAP_NAME_PREFIX + list + GENERATION_SUFFIX);
+    }
+
+    /**
+     * A response as written by the REST controller: the headers to send back, the JSON body, a gzipped copy of it when
+     * large enough, and the MD5 digest of the body from which its entity tags are made.
+     */
+    public static final class CachedResponse implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Map<String, String> headers;
+
+        private final byte[] body;
+
+        private final byte[] gzippedBody;
+
+        private final String digest;
+
+        public CachedResponse(Map<String, String> headers, byte[] body, byte[] gzippedBody, String digest) {
+            this.headers = Collections.unmodifiableMap(new LinkedHashMap<>(headers));
+            this.body = body;
+            this.gzippedBody = gzippedBody;
+            this.digest = digest;
+        }
+
+        /**
+         * Create a response from its headers and body, gzipping the body if it has at least {@code gzipMinSize} bytes.
+         *
+         * @param headers the headers to send back.
+         * @param body the body.
+         * @param gzipMinSize the minimum size of the bodies to gzip.
+         * @return the response.
+         */
+        public static CachedResponse of(Map<String, String> headers, byte[] body, int gzipMinSize) {
+            byte[] gzippedBody = null;
+            if (body.length >= gzipMinSize) {
+                ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4);
+                try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+                    gzip.write(body);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                gzippedBody = out.toByteArray();
+            }
+            return new CachedResponse(headers, body, gzippedBody, DigestUtils.md5DigestAsHex(body));
+        }
+
+        public Map<String, String> getHeaders() {
+            return headers;
+        }
+
+        public byte[] getBody() {
+            return body;
+        }
+
+        /**
+         * @return the gzipped body, or {@code null} if the body is too small to be worth it.
+         */
+        public byte[] getGzippedBody() {
+            return gzippedBody;
+        }
+
+        public String getDigest() {
+            return digest;
+        }
+    }
+}
@@ -2,18 +2,16 @@ package org.jhipster.ecommerce.store.service;
 
 import java.util.List;
 
-import javax.persistence.criteria.JoinType;
-
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import io.github.jhipster.service.QueryService;
-
+import org.jhipster.ecommerce.store.config.ApplicationProperties.Pagination.CountStrategy;
 import org.jhipster.ecommerce.store.domain.Customer;
 import org.jhipster.ecommerce.store.domain.*; // for static metamodels
 import org.jhipster.ecommerce.store.repository.CustomerRepository;
@@ -27,14 +25,17 @@ import org.jhipster.ecommerce.store.service.dto.CustomerCriteria;
  */
 @Service
 @Transactional(readOnly = true)
-public class CustomerQueryService extends QueryService<Customer> {
+public class CustomerQueryService extends SemiJoinQueryService<Customer> {
 
     private final Logger log = LoggerFactory.getLogger(CustomerQueryService.class);
 
     private final CustomerRepository customerRepository;
+    private final TotalCountService totalCountService;
 
-    public CustomerQueryService(CustomerRepository customerRepository) {
+    public CustomerQueryService(CustomerRepository customerRepository, TotalCountService totalCountService) {
         this.customerRepository = customerRepository;
+        this.totalCountService = totalCountService;
+        totalCountService.register(Customer.class, ProductOrder.class);
     }
 
     /**
@@ -62,6 +63,21 @@ public class CustomerQueryService extends QueryService<Customer> {
         return customerRepository.findAll(specification, page);
     }
 
+    /**
+     * Return a {@link Slice} of {@link Customer} which matches the criteria from the database, with the total number of
+     * entities computed according to the count strategy.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param page The page, which should be returned.
+     * @param countStrategy The count strategy of the request, or {@code null} for the one of the entity.
+     * @return the matching entities, as a {@link Page} unless the count strategy is {@link CountStrategy#NONE}.
+     */
+    @Transactional(readOnly = true)
+    public Slice<Customer> findByCriteria(CustomerCriteria criteria, Pageable page, CountStrategy countStrategy) {
+        log.debug("find by criteria : {}, page: {}, count strategy: {}", criteria, page, countStrategy);
+        final Specification<Customer> specification = createSpecification(criteria);
+        return totalCountService.findAll(Customer.class, customerRepository, specification, criteria, page, countStrategy);
+    }
+
     /**
      * Return the number of matching entities in the database.
      * @param criteria The object which holds all the filters, which the entities should match.
@@ -114,11 +130,11 @@ public class CustomerQueryService extends QueryService<Customer> {
             }
             if (criteria.getUserId() != null) {
                 specification = specification.and(buildSpecification(criteria.getUserId(),
-                    root -> root.join(Customer_.user, JoinType.LEFT).get(User_.id)));
+                    root -> root.get(Customer_.user).get(User_.id)));
             }
             if (criteria.getOrderId() != null) {
-                specification = specification.and(buildSpecification(criteria.getOrderId(),
-                    root -> root.join(Customer_.orders, JoinType.LEFT).get(ProductOrder_.id)));
+                specification = specification.and(buildExistsSpecification(criteria.getOrderId(),
+                    ProductOrder.class, ProductOrder_.customer, ProductOrder_.id));
             }
         }
         return specification;
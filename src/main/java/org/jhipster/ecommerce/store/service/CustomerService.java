@@ -4,15 +4,16 @@ import org.jhipster.ecommerce.store.domain.Customer;
 import org.jhipster.ecommerce.store.repository.CustomerRepository;
 import org.jhipster.ecommerce.store.security.AuthoritiesConstants;
 import org.jhipster.ecommerce.store.security.SecurityUtils;
-import io.github.jhipster.service.filter.LongFilter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import org.springframework.cache.CacheManager;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Objects;
 import java.util.Optional;
 
 /**
@@ -26,8 +27,11 @@ public class CustomerService {
 
     private final CustomerRepository customerRepository;
 
-    public CustomerService(CustomerRepository customerRepository) {
+    private final CacheManager cacheManager;
+
+    public CustomerService(CustomerRepository customerRepository, CacheManager cacheManager) {
         this.customerRepository = customerRepository;
+        this.cacheManager = cacheManager;
     }
 
     /**
@@ -38,7 +42,13 @@ public class CustomerService {
      */
     public Customer save(Customer customer) {
         log.debug("Request to save Customer : {}", customer);
-        return customerRepository.save(customer);
+        if (customer.getId() != null) {
+            // the customer may be re-linked to another user, so forget the previous one
+            customerRepository.findById(customer.getId()).ifPresent(this::clearCustomerCaches);
+        }
+        Customer result = customerRepository.save(customer);
+        clearCustomerCaches(result);
+        return result;
     }
 
     /**
@@ -71,18 +81,16 @@ public class CustomerService {
     }
 
     /**
-     * Get current customer login.
+     * Get the id of the customer linked to the current user.
+     * <p>
+     * The lookup is cached by login, and evicted whenever a customer is saved or deleted, or its user changes.
      *
-     * @return the entity.
+     * @return the customer id.
      */
     @Transactional(readOnly = true)
-    public Optional<Customer> getCurrentCustomerLogin() {
-        log.debug("Request to get current Customer login");
-        LongFilter longFilter = new LongFilter();
-        Page<Customer> customers = customerRepository.findAllByUserLogin(
-            SecurityUtils.getCurrentUserLogin().get(),
-            Pageable.unpaged());
-        return customerRepository.findById(customers.iterator().next().getId());
+    public Optional<Long> getCurrentCustomerId() {
+        log.debug("Request to get current Customer id");
+        return SecurityUtils.getCurrentUserLogin().flatMap(customerRepository::findIdByUserLogin);
     }
 
     /**
@@ -92,6 +100,13 @@ public class CustomerService {
      */
     public void delete(Long id) {
         log.debug("Request to delete Customer : {}", id);
+        customerRepository.findById(id).ifPresent(this::clearCustomerCaches);
         customerRepository.deleteById(id);
     }
+
+    private void clearCustomerCaches(Customer customer) {
+        if (customer.getUser() != null && customer.getUser().getLogin() != null) {
+            Objects.requireNonNull(cacheManager.getCache(CustomerRepository.CUSTOMER_ID_BY_LOGIN_CACHE)).evict(customer.getUser().getLogin());
+        }
+    }
 }
@@ -11,12 +11,12 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import io.github.jhipster.service.QueryService;
-
+import org.jhipster.ecommerce.store.config.ApplicationProperties.Pagination.CountStrategy;
 import org.jhipster.ecommerce.store.domain.Invoice;
 import org.jhipster.ecommerce.store.domain.*; // for static metamodels
 import org.jhipster.ecommerce.store.repository.InvoiceRepository;
@@ -30,16 +30,19 @@ import org.jhipster.ecommerce.store.service.dto.InvoiceCriteria;
  */
 @Service
 @Transactional(readOnly = true)
-public class InvoiceQueryService extends QueryService<Invoice> {
+public class InvoiceQueryService extends SemiJoinQueryService<Invoice> {
 
     private final Logger log = LoggerFactory.getLogger(InvoiceQueryService.class);
 
     private final InvoiceRepository invoiceRepository;
     private final CustomerService customerService;
+    private final TotalCountService totalCountService;
 
-    public InvoiceQueryService(InvoiceRepository invoiceRepository, CustomerService customerService) {
+    public InvoiceQueryService(InvoiceRepository invoiceRepository, CustomerService customerService, TotalCountService totalCountService) {
         this.invoiceRepository = invoiceRepository;
         this.customerService = customerService;
+        this.totalCountService = totalCountService;
+        totalCountService.register(Invoice.class, ProductOrder.class, Shipment.class);
     }
 
     /**
@@ -63,19 +66,27 @@ public class InvoiceQueryService extends QueryService<Invoice> {
     @Transactional(readOnly = true)
     public Page<Invoice> findByCriteria(InvoiceCriteria criteria, Pageable page) {
         log.debug("find by criteria : {}, page: {}", criteria, page);
-        final Specification<Invoice> specification;
-        if (SecurityUtils.isCurrentUserInRole (AuthoritiesConstants.ADMIN)) {
-            specification = createSpecification(criteria);
-        }
-        else {
-            LongFilter longFilter = new LongFilter();
-            longFilter.setEquals(customerService.getCurrentCustomerLogin().get().getId());
-            criteria.setCustomerId(longFilter);
-            specification = createSpecification(criteria);
-        }
+        restrictToCurrentCustomer(criteria);
+        final Specification<Invoice> specification = createSpecification(criteria);
         return invoiceRepository.findAll(specification, page);
     }
 
+    /**
+     * Return a {@link Slice} of {@link Invoice} which matches the criteria from the database, with the total number of
+     * entities computed according to the count strategy.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param page The page, which should be returned.
+     * @param countStrategy The count strategy of the request, or {@code null} for the one of the entity.
+     * @return the matching entities, as a {@link Page} unless the count strategy is {@link CountStrategy#NONE}.
+     */
+    @Transactional(readOnly = true)
+    public Slice<Invoice> findByCriteria(InvoiceCriteria criteria, Pageable page, CountStrategy countStrategy) {
+        log.debug("find by criteria : {}, page: {}, count strategy: {}", criteria, page, countStrategy);
+        restrictToCurrentCustomer(criteria);
+        final Specification<Invoice> specification = createSpecification(criteria);
+        return totalCountService.findAll(Invoice.class, invoiceRepository, specification, criteria, page, countStrategy);
+    }
+
     /**
      * Return the number of matching entities in the database.
      * @param criteria The object which holds all the filters, which the entities should match.
@@ -88,6 +99,14 @@ public class InvoiceQueryService extends QueryService<Invoice> {
         return invoiceRepository.count(specification);
     }
 
+    private void restrictToCurrentCustomer(InvoiceCriteria criteria) {
+        if (!SecurityUtils.isCurrentUserInRole(AuthoritiesConstants.ADMIN)) {
+            LongFilter longFilter = new LongFilter();
+            longFilter.setEquals(customerService.getCurrentCustomerId().get());
+            criteria.setCustomerId(longFilter);
+        }
+    }
+
     /**
      * Function to convert {@link InvoiceCriteria} to a {@link Specification}
      * @param criteria The object which holds all the filters, which the entities should match.
@@ -121,12 +140,12 @@ public class InvoiceQueryService extends QueryService<Invoice> {
                 specification = specification.and(buildRangeSpecification(criteria.getPaymentAmount(), Invoice_.paymentAmount));
             }
             if (criteria.getShipmentId() != null) {
-                specification = specification.and(buildSpecification(criteria.getShipmentId(),
-                    root -> root.join(Invoice_.shipments, JoinType.LEFT).get(Shipment_.id)));
+                specification = specification.and(buildExistsSpecification(criteria.getShipmentId(),
+                    Shipment.class, Shipment_.invoice, Shipment_.id));
             }
             if (criteria.getOrderId() != null) {
                 specification = specification.and(buildSpecification(criteria.getOrderId(),
-                    root -> root.join(Invoice_.order, JoinType.LEFT).get(ProductOrder_.id)));
+                    root -> root.get(Invoice_.order).get(ProductOrder_.id)));
             }
             if (criteria.getCustomerId() != null) {
                 specification = specification.and(buildSpecification(criteria.getCustomerId(),
@@ -11,12 +11,14 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import io.github.jhipster.service.QueryService;
 
+import org.jhipster.ecommerce.store.config.ApplicationProperties.Pagination.CountStrategy;
 import org.jhipster.ecommerce.store.domain.OrderItem;
 import org.jhipster.ecommerce.store.domain.*; // for static metamodels
 import org.jhipster.ecommerce.store.repository.OrderItemRepository;
@@ -36,10 +38,13 @@ public class OrderItemQueryService extends QueryService<OrderItem> {
 
     private final OrderItemRepository orderItemRepository;
     private final CustomerService customerService;
+    private final TotalCountService totalCountService;
 
-    public OrderItemQueryService(OrderItemRepository orderItemRepository, CustomerService customerService) {
+    public OrderItemQueryService(OrderItemRepository orderItemRepository, CustomerService customerService, TotalCountService totalCountService) {
         this.orderItemRepository = orderItemRepository;
         this.customerService = customerService;
+        this.totalCountService = totalCountService;
+        totalCountService.register(OrderItem.class, ProductOrder.class);
     }
 
     /**
@@ -63,19 +68,27 @@ public class OrderItemQueryService extends QueryService<OrderItem> {
     @Transactional(readOnly = true)
     public Page<OrderItem> findByCriteria(OrderItemCriteria criteria, Pageable page) {
         log.debug("find by criteria : {}, page: {}", criteria, page);
-        final Specification<OrderItem> specification;
-        if (SecurityUtils.isCurrentUserInRole (AuthoritiesConstants.ADMIN)) {
-            specification = createSpecification(criteria);
-        }
-        else {
-            LongFilter longFilter = new LongFilter();
-            longFilter.setEquals(customerService.getCurrentCustomerLogin().get().getId());
-            criteria.setCustomerId(longFilter);
-            specification = createSpecification(criteria);
-        }
+        restrictToCurrentCustomer(criteria);
+        final Specification<OrderItem> specification = createSpecification(criteria);
         return orderItemRepository.findAll(specification, page);
     }
 
+    /**
+     * Return a {@link Slice} of {@link OrderItem} which matches the criteria from the database, with the total number of
+     * entities computed according to the count strategy.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param page The page, which should be returned.
+     * @param countStrategy The count strategy of the request, or {@code null} for the one of the entity.
+     * @return the matching entities, as a {@link Page} unless the count strategy is {@link CountStrategy#NONE}.
+     */
+    @Transactional(readOnly = true)
+    public Slice<OrderItem> findByCriteria(OrderItemCriteria criteria, Pageable page, CountStrategy countStrategy) {
+        log.debug("find by criteria : {}, page: {}, count strategy: {}", criteria, page, countStrategy);
+        restrictToCurrentCustomer(criteria);
+        final Specification<OrderItem> specification = createSpecification(criteria);
+        return totalCountService.findAll(OrderItem.class, orderItemRepository, specification, criteria, page, countStrategy);
+    }
+
     /**
      * Return the number of matching entities in the database.
      * @param criteria The object which holds all the filters, which the entities should match.
@@ -88,6 +101,14 @@ public class OrderItemQueryService extends QueryService<OrderItem> {
         return orderItemRepository.count(specification);
     }
 
+    private void restrictToCurrentCustomer(OrderItemCriteria criteria) {
+        if (!SecurityUtils.isCurrentUserInRole(AuthoritiesConstants.ADMIN)) {
+            LongFilter longFilter = new LongFilter();
+            longFilter.setEquals(customerService.getCurrentCustomerId().get());
+            criteria.setCustomerId(longFilter);
+        }
+    }
+
     /**
      * Function to convert {@link OrderItemCriteria} to a {@link Specification}
      * @param criteria The object which holds all the filters, which the entities should match.
@@ -110,11 +131,11 @@ public class OrderItemQueryService extends QueryService<OrderItem> {
             }
             if (criteria.getProductId() != null) {
                 specification = specification.and(buildSpecification(criteria.getProductId(),
-                    root -> root.join(OrderItem_.product, JoinType.LEFT).get(Product_.id)));
+                    root -> root.get(OrderItem_.product).get(Product_.id)));
             }
             if (criteria.getOrderId() != null) {
                 specification = specification.and(buildSpecification(criteria.getOrderId(),
-                    root -> root.join(OrderItem_.order, JoinType.LEFT).get(ProductOrder_.id)));
+                    root -> root.get(OrderItem_.order).get(ProductOrder_.id)));
             }
             if (criteria.getCustomerId() != null) {
                 specification = specification.and(buildSpecification(criteria.getCustomerId(),
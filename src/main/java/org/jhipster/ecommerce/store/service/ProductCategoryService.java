@@ -22,8 +22,11 @@ public class ProductCategoryService {
 
     private final ProductCategoryRepository productCategoryRepository;
 
-    public ProductCategoryService(ProductCategoryRepository productCategoryRepository) {
+    private final CatalogResponseCache catalogResponseCache;
+
+    public ProductCategoryService(ProductCategoryRepository productCategoryRepository, CatalogResponseCache catalogResponseCache) {
         this.productCategoryRepository = productCategoryRepository;
+        this.catalogResponseCache = catalogResponseCache;
     }
 
     /**
@@ -34,7 +37,9 @@ public class ProductCategoryService {
      */
     public ProductCategory save(ProductCategory productCategory) {
         log.debug("Request to save ProductCategory : {}", productCategory);
-        return productCategoryRepository.save(productCategory);
+        ProductCategory result = productCategoryRepository.save(productCategory);
+        catalogResponseCache.evictProductCategories();
+        return result;
     }
 
     /**
@@ -69,5 +74,6 @@ public class ProductCategoryService {
     public void delete(Long id) {
         log.debug("Request to delete ProductCategory : {}", id);
         productCategoryRepository.deleteById(id);
+        catalogResponseCache.evictProductCategories();
     }
 }
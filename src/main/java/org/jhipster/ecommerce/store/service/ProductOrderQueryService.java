@@ -1,8 +1,8 @@
 package org.jhipster.ecommerce.store.service;
 
 import java.util.List;
-
-import javax.persistence.criteria.JoinType;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import org.jhipster.ecommerce.store.security.AuthoritiesConstants;
 import org.jhipster.ecommerce.store.security.SecurityUtils;
@@ -10,37 +10,52 @@ import io.github.jhipster.service.filter.LongFilter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import io.github.jhipster.service.QueryService;
-
+import org.jhipster.ecommerce.store.config.ApplicationProperties.Pagination.CountStrategy;
 import org.jhipster.ecommerce.store.domain.ProductOrder;
 import org.jhipster.ecommerce.store.domain.*; // for static metamodels
 import org.jhipster.ecommerce.store.repository.ProductOrderRepository;
 import org.jhipster.ecommerce.store.service.dto.ProductOrderCriteria;
+import org.jhipster.ecommerce.store.service.dto.ProductOrderCursor;
+import org.jhipster.ecommerce.store.service.dto.ProductOrderExportDTO;
 import org.jhipster.ecommerce.store.repository.CustomerRepository;
 
 /**
  * Service for executing complex queries for {@link ProductOrder} entities in the database.
  * The main input is a {@link ProductOrderCriteria} which gets converted to {@link Specification},
  * in a way that all the filters must apply.
- * It returns a {@link List} of {@link ProductOrder} or a {@link Page} of {@link ProductOrder} which fulfills the criteria.
+ * It returns a {@link List} of {@link ProductOrder}, a {@link Page} or a keyset {@link Slice} of {@link ProductOrder} which fulfills the criteria,
+ * or streams them as {@link ProductOrderExportDTO} rows.
  */
 @Service
 @Transactional(readOnly = true)
-public class ProductOrderQueryService extends QueryService<ProductOrder> {
+public class ProductOrderQueryService extends SemiJoinQueryService<ProductOrder> {
+
+    private static final Sort KEYSET_SORT = Sort.by(Sort.Order.desc("placedDate"), Sort.Order.desc("id"));
+
+    private static final Sort EXPORT_SORT = Sort.by("id");
+
+    private static final int EXPORT_FETCH_SIZE = 500;
 
     private final Logger log = LoggerFactory.getLogger(ProductOrderQueryService.class);
 
     private final ProductOrderRepository productOrderRepository;
     private final CustomerService customerService;
+    private final TotalCountService totalCountService;
 
-    public ProductOrderQueryService(ProductOrderRepository productOrderRepository, CustomerService customerService) {
+    public ProductOrderQueryService(ProductOrderRepository productOrderRepository, CustomerService customerService, TotalCountService totalCountService) {
         this.productOrderRepository = productOrderRepository;
         this.customerService = customerService;
+        this.totalCountService = totalCountService;
+        totalCountService.register(ProductOrder.class, OrderItem.class, Invoice.class);
     }
 
     /**
@@ -64,17 +79,66 @@ public class ProductOrderQueryService extends QueryService<ProductOrder> {
     @Transactional(readOnly = true)
     public Page<ProductOrder> findByCriteria(ProductOrderCriteria criteria, Pageable page) {
         log.debug("find by criteria : {}, page: {}", criteria, page);
-        final Specification<ProductOrder> specification;
-        if (SecurityUtils.isCurrentUserInRole (AuthoritiesConstants.ADMIN)) {
-            specification = createSpecification(criteria);
+        restrictToCurrentCustomer(criteria);
+        final Specification<ProductOrder> specification = createSpecification(criteria);
+        return productOrderRepository.findAll(specification, page);
+    }
+
+    /**
+     * Return a {@link Slice} of {@link ProductOrder} which matches the criteria from the database, with the total number of
+     * entities computed according to the count strategy.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param page The page, which should be returned.
+     * @param countStrategy The count strategy of the request, or {@code null} for the one of the entity.
+     * @return the matching entities, as a {@link Page} unless the count strategy is {@link CountStrategy#NONE}.
+     */
+    @Transactional(readOnly = true)
+    public Slice<ProductOrder> findByCriteria(ProductOrderCriteria criteria, Pageable page, CountStrategy countStrategy) {
+        log.debug("find by criteria : {}, page: {}, count strategy: {}", criteria, page, countStrategy);
+        restrictToCurrentCustomer(criteria);
+        final Specification<ProductOrder> specification = createSpecification(criteria);
+        return totalCountService.findAll(ProductOrder.class, productOrderRepository, specification, criteria, page, countStrategy);
+    }
+
+    /**
+     * Return a {@link Slice} of {@link ProductOrder} which matches the criteria from the database, using keyset pagination.
+     * The entities are ordered by {@code placedDate} then {@code id}, both descending, and no count query is executed.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param cursor The position of the last entity of the previous slice, or {@code null} for the first slice.
+     * @param size The maximum number of entities to return.
+     * @return the matching entities.
+     */
+    @Transactional(readOnly = true)
+    public Slice<ProductOrder> findByCriteria(ProductOrderCriteria criteria, ProductOrderCursor cursor, int size) {
+        log.debug("find by criteria : {}, cursor: {}, size: {}", criteria, cursor, size);
+        restrictToCurrentCustomer(criteria);
+        Specification<ProductOrder> specification = createSpecification(criteria);
+        if (cursor != null) {
+            specification = specification.and(buildKeysetSpecification(cursor));
         }
-        else {
-            LongFilter longFilter = new LongFilter();
-            longFilter.setEquals(customerService.getCurrentCustomerLogin().get().getId());
-            criteria.setCustomerId(longFilter);
-            specification = createSpecification(criteria);
+        List<ProductOrder> content = productOrderRepository.findAllWithLimit(specification, KEYSET_SORT, size + 1);
+        boolean hasNext = content.size() > size;
+        if (hasNext) {
+            content = content.subList(0, size);
+        }
+        return new SliceImpl<>(content, PageRequest.of(0, size, KEYSET_SORT), hasNext);
+    }
+
+    /**
+     * Stream the export rows of the entities which match the criteria to the given consumer, ordered by {@code id}.
+     * Rows are read through a forward-only cursor and handed over one at a time, so memory usage does not depend
+     * on the number of matching entities, and a slow consumer slows down the reads instead of buffering them.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param consumer The consumer of the rows, called once per matching entity.
+     */
+    @Transactional(readOnly = true)
+    public void exportByCriteria(ProductOrderCriteria criteria, Consumer<ProductOrderExportDTO> consumer) {
+        log.debug("export by criteria : {}", criteria);
+        restrictToCurrentCustomer(criteria);
+        final Specification<ProductOrder> specification = createSpecification(criteria);
+        try (Stream<ProductOrderExportDTO> rows = productOrderRepository.streamAllForExport(specification, EXPORT_SORT, EXPORT_FETCH_SIZE)) {
+            rows.forEach(consumer);
         }
-        return productOrderRepository.findAll(specification, page);
     }
 
     /**
@@ -89,6 +153,28 @@ public class ProductOrderQueryService extends QueryService<ProductOrder> {
         return productOrderRepository.count(specification);
     }
 
+    /**
+     * Non-admin users can only see their own orders, so force the customer filter on their criteria.
+     */
+    private void restrictToCurrentCustomer(ProductOrderCriteria criteria) {
+        if (!SecurityUtils.isCurrentUserInRole(AuthoritiesConstants.ADMIN)) {
+            LongFilter longFilter = new LongFilter();
+            longFilter.setEquals(customerService.getCurrentCustomerId().get());
+            criteria.setCustomerId(longFilter);
+        }
+    }
+
+    /**
+     * Build the keyset predicate {@code (placedDate, id) < (cursor.placedDate, cursor.id)}.
+     */
+    private Specification<ProductOrder> buildKeysetSpecification(ProductOrderCursor cursor) {
+        return (root, query, builder) -> builder.or(
+            builder.lessThan(root.get(ProductOrder_.placedDate), cursor.getPlacedDate()),
+            builder.and(
+                builder.equal(root.get(ProductOrder_.placedDate), cursor.getPlacedDate()),
+                builder.lessThan(root.get(ProductOrder_.id), cursor.getId())));
+    }
+
     /**
      * Function to convert {@link ProductOrderCriteria} to a {@link Specification}
      * @param criteria The object which holds all the filters, which the entities should match.
@@ -110,16 +196,16 @@ public class ProductOrderQueryService extends QueryService<ProductOrder> {
                 specification = specification.and(buildStringSpecification(criteria.getCode(), ProductOrder_.code));
             }
             if (criteria.getOrderItemId() != null) {
-                specification = specification.and(buildSpecification(criteria.getOrderItemId(),
-                    root -> root.join(ProductOrder_.orderItems, JoinType.LEFT).get(OrderItem_.id)));
+                specification = specification.and(buildExistsSpecification(criteria.getOrderItemId(),
+                    OrderItem.class, OrderItem_.order, OrderItem_.id));
             }
             if (criteria.getInvoiceId() != null) {
-                specification = specification.and(buildSpecification(criteria.getInvoiceId(),
-                    root -> root.join(ProductOrder_.invoices, JoinType.LEFT).get(Invoice_.id)));
+                specification = specification.and(buildExistsSpecification(criteria.getInvoiceId(),
+                    Invoice.class, Invoice_.order, Invoice_.id));
             }
             if (criteria.getCustomerId() != null) {
                 specification = specification.and(buildSpecification(criteria.getCustomerId(),
-                    root -> root.join(ProductOrder_.customer, JoinType.LEFT).get(Customer_.id)));
+                    root -> root.get(ProductOrder_.customer).get(Customer_.id)));
             }
         }
         return specification;
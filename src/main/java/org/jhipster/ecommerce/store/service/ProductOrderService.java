@@ -1,9 +1,12 @@
 package org.jhipster.ecommerce.store.service;
 
+import org.jhipster.ecommerce.store.domain.OrderItem;
 import org.jhipster.ecommerce.store.domain.ProductOrder;
+import org.jhipster.ecommerce.store.repository.OrderItemRepository;
 import org.jhipster.ecommerce.store.repository.ProductOrderRepository;
 import org.jhipster.ecommerce.store.security.AuthoritiesConstants;
 import org.jhipster.ecommerce.store.security.SecurityUtils;
+import org.jhipster.ecommerce.store.service.dto.ProductOrderDetailsDTO;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -12,7 +15,9 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 /**
  * Service Implementation for managing {@link ProductOrder}.
@@ -25,8 +30,15 @@ public class ProductOrderService {
 
     private final ProductOrderRepository productOrderRepository;
 
-    public ProductOrderService(ProductOrderRepository productOrderRepository) {
+    private final OrderItemRepository orderItemRepository;
+
+    private final CustomerService customerService;
+
+    public ProductOrderService(ProductOrderRepository productOrderRepository, OrderItemRepository orderItemRepository,
+                               CustomerService customerService) {
         this.productOrderRepository = productOrderRepository;
+        this.orderItemRepository = orderItemRepository;
+        this.customerService = customerService;
     }
 
     /**
@@ -40,6 +52,24 @@ public class ProductOrderService {
         return productOrderRepository.save(productOrder);
     }
 
+    /**
+     * Save new productOrders together with their order items, in a single transaction.
+     * <p>
+     * Ids are allocated by blocks, so the inserts are grouped in JDBC batches instead of being sent one by one.
+     *
+     * @param productOrders the entities to save, each one with its order items.
+     * @return the persisted entities.
+     */
+    public List<ProductOrder> saveAll(List<ProductOrder> productOrders) {
+        log.debug("Request to save {} ProductOrders", productOrders.size());
+        List<ProductOrder> result = productOrderRepository.saveAll(productOrders);
+        List<OrderItem> orderItems = result.stream()
+            .flatMap(productOrder -> productOrder.getOrderItems().stream().map(orderItem -> orderItem.order(productOrder)))
+            .collect(Collectors.toList());
+        orderItemRepository.saveAll(orderItems);
+        return result;
+    }
+
     /**
      * Get all the productOrders.
      *
@@ -75,6 +105,22 @@ public class ProductOrderService {
         }
     }
 
+    /**
+     * Get one productOrder by id, with its order items, products, invoices and shipments.
+     *
+     * @param id the id of the entity.
+     * @return the order tree.
+     */
+    @Transactional(readOnly = true)
+    public Optional<ProductOrderDetailsDTO> findDetails(Long id) {
+        log.debug("Request to get ProductOrder details : {}", id);
+        if (SecurityUtils.isCurrentUserInRole(AuthoritiesConstants.ADMIN)) {
+            return productOrderRepository.findDetailsById(id);
+        }
+        return customerService.getCurrentCustomerId()
+            .flatMap(customerId -> productOrderRepository.findDetailsByIdAndCustomerId(id, customerId));
+    }
+
     /**
      * Delete the productOrder by id.
      *
@@ -1,6 +1,8 @@
 package org.jhipster.ecommerce.store.service;
 
 import org.jhipster.ecommerce.store.domain.Product;
+import org.jhipster.ecommerce.store.domain.ProductImage;
+import org.jhipster.ecommerce.store.repository.ProductImageRepository;
 import org.jhipster.ecommerce.store.repository.ProductRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -10,6 +12,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.util.Optional;
 
 /**
@@ -23,19 +26,41 @@ public class ProductService {
 
     private final ProductRepository productRepository;
 
-    public ProductService(ProductRepository productRepository) {
+    private final ProductImageRepository productImageRepository;
+
+    private final CatalogResponseCache catalogResponseCache;
+
+    public ProductService(ProductRepository productRepository, ProductImageRepository productImageRepository,
+                          CatalogResponseCache catalogResponseCache) {
         this.productRepository = productRepository;
+        this.productImageRepository = productImageRepository;
+        this.catalogResponseCache = catalogResponseCache;
     }
 
     /**
      * Save a product.
+     * <p>
+     * If the product comes with an image, it replaces the stored one. If it comes without image nor image content type,
+     * the stored image is removed. Otherwise the stored image is left untouched.
      *
      * @param product the entity to save.
      * @return the persisted entity.
      */
     public Product save(Product product) {
         log.debug("Request to save Product : {}", product);
-        return productRepository.save(product);
+        byte[] image = product.getImage();
+        Product result = productRepository.save(product);
+        catalogResponseCache.evictProducts();
+        if (image != null) {
+            ProductImage productImage = productImageRepository.findById(result.getId())
+                .orElseGet(() -> new ProductImage().id(result.getId()));
+            productImage.image(image).lastModifiedDate(Instant.now());
+            productImageRepository.save(productImage);
+            result.setImage(null);
+        } else if (result.getImageContentType() == null) {
+            productImageRepository.deleteImageById(result.getId());
+        }
+        return result;
     }
 
     /**
@@ -63,6 +88,30 @@ public class ProductService {
         return productRepository.findById(id);
     }
 
+    /**
+     * Get the last modification date of the image of a product, without loading the image itself.
+     *
+     * @param id the id of the product.
+     * @return the last modification date, or empty if the product has no image.
+     */
+    @Transactional(readOnly = true)
+    public Optional<Instant> findImageLastModifiedDate(Long id) {
+        log.debug("Request to get the image last modified date of Product : {}", id);
+        return productImageRepository.findLastModifiedDateById(id);
+    }
+
+    /**
+     * Get the image of a product.
+     *
+     * @param id the id of the product.
+     * @return the image, or empty if the product has no image.
+     */
+    @Transactional(readOnly = true)
+    public Optional<ProductImage> findImage(Long id) {
+        log.debug("Request to get the image of Product : {}", id);
+        return productImageRepository.findById(id);
+    }
+
     /**
      * Delete the product by id.
      *
@@ -70,6 +119,8 @@ public class ProductService {
      */
     public void delete(Long id) {
         log.debug("Request to delete Product : {}", id);
+        productImageRepository.deleteImageById(id);
         productRepository.deleteById(id);
+        catalogResponseCache.evictProducts();
     }
 }
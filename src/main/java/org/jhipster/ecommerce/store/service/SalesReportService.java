@@ -0,0 +1,107 @@
+package org.jhipster.ecommerce.store.service;
+
+import org.jhipster.ecommerce.store.config.ApplicationProperties;
+import org.jhipster.ecommerce.store.domain.enumeration.InvoiceStatus;
+import org.jhipster.ecommerce.store.domain.enumeration.OrderItemStatus;
+import org.jhipster.ecommerce.store.domain.enumeration.PaymentMethod;
+import org.jhipster.ecommerce.store.repository.SalesRollupRepository;
+import org.jhipster.ecommerce.store.service.dto.SalesByCategoryDTO;
+import org.jhipster.ecommerce.store.service.dto.SalesByPaymentMethodDTO;
+import org.jhipster.ecommerce.store.service.dto.SalesReportDTO;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
+
+/**
+ * Service reporting the sales from the sales rollups, which {@link SalesRollupListener} keeps up to date.
+ */
+@Service
+@Transactional(readOnly = true)
+public class SalesReportService {
+
+    private final Logger log = LoggerFactory.getLogger(SalesReportService.class);
+
+    private final SalesRollupRepository salesRollupRepository;
+
+    private final ApplicationProperties applicationProperties;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final Executor taskExecutor;
+
+    public SalesReportService(SalesRollupRepository salesRollupRepository, ApplicationProperties applicationProperties,
+                              PlatformTransactionManager transactionManager, @Qualifier("taskExecutor") Executor taskExecutor) {
+        this.salesRollupRepository = salesRollupRepository;
+        this.applicationProperties = applicationProperties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.taskExecutor = taskExecutor;
+    }
+
+    /**
+     * Get the sales of a range of days, by product category and by payment method.
+     *
+     * @param fromDate the first day, included.
+     * @param toDate the last day, included.
+     * @return the sales of the days.
+     */
+    public SalesReportDTO getSalesReport(LocalDate fromDate, LocalDate toDate) {
+        log.debug("Request to get the sales from {} to {}", fromDate, toDate);
+        List<SalesByCategoryDTO> byCategory = salesRollupRepository.findSalesByCategory(fromDate, toDate).stream()
+            .map(row -> new SalesByCategoryDTO((LocalDate) row[0], (Long) row[1], (OrderItemStatus) row[2], (Long) row[3],
+                (BigDecimal) row[4], (Long) row[5]))
+            .collect(Collectors.toList());
+        List<SalesByPaymentMethodDTO> byPaymentMethod = salesRollupRepository.findSalesByPaymentMethod(fromDate, toDate).stream()
+            .map(row -> new SalesByPaymentMethodDTO((LocalDate) row[0], (PaymentMethod) row[1], (InvoiceStatus) row[2],
+                (BigDecimal) row[3], (Long) row[4]))
+            .collect(Collectors.toList());
+        return new SalesReportDTO(fromDate, toDate, byCategory, byPaymentMethod);
+    }
+
+    /**
+     * Recompute the sales rollups from scratch, to correct what the incremental updates miss: bulk statements and
+     * changes of the category of a product.
+     * <p>
+     * The days from the first order, invoice or rollup to the last one are split in chunks of
+     * {@code application.sales-rollups.rebuild-chunk-days} days, recomputed in parallel on the task executor, each
+     * chunk in its own transaction. A chunk adds the difference between the sales and the rollups of a snapshot, so
+     * the sales that {@link SalesRollupListener} adds to the same rollups meanwhile are neither lost nor counted twice.
+     * <p>
+     * This is scheduled with {@code application.sales-rollups.rebuild-cron}, by default on Sundays at 03:30 (am).
+     */
+    @Scheduled(cron = "#{@'application-org.jhipster.ecommerce.store.config.ApplicationProperties'.salesRollups.rebuildCron}")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void rebuildSalesRollups() {
+        Optional<LocalDate[]> dateRange = transactionTemplate.execute(status -> salesRollupRepository.findSalesDateRange());
+        LocalDate fromDate = dateRange.map(range -> range[0]).orElseGet(LocalDate::now);
+        LocalDate toDate = dateRange.map(range -> range[1].plusDays(1)).orElse(fromDate);
+        int chunkDays = applicationProperties.getSalesRollups().getRebuildChunkDays();
+
+        List<CompletableFuture<Void>> chunks = new ArrayList<>();
+        for (LocalDate chunkStart = fromDate; chunkStart.isBefore(toDate); chunkStart = chunkStart.plusDays(chunkDays)) {
+            LocalDate start = chunkStart;
+            LocalDate end = chunkStart.plusDays(chunkDays).isBefore(toDate) ? chunkStart.plusDays(chunkDays) : toDate;
+            chunks.add(CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(status -> {
+                salesRollupRepository.recomputeSalesByCategory(start, end);
+                salesRollupRepository.recomputeSalesByPaymentMethod(start, end);
+            }), taskExecutor));
+        }
+        CompletableFuture.allOf(chunks.toArray(new CompletableFuture<?>[0])).join();
+        log.info("Rebuilt the sales rollups from {} until {} in {} chunks", fromDate, toDate, chunks.size());
+    }
+}
@@ -0,0 +1,431 @@
+package org.jhipster.ecommerce.store.service;
+
+import org.jhipster.ecommerce.store.domain.Invoice;
+import org.jhipster.ecommerce.store.domain.OrderItem;
+import org.jhipster.ecommerce.store.domain.Product;
+import org.jhipster.ecommerce.store.domain.ProductCategory;
+import org.jhipster.ecommerce.store.domain.ProductOrder;
+import org.jhipster.ecommerce.store.domain.enumeration.InvoiceStatus;
+import org.jhipster.ecommerce.store.domain.enumeration.OrderItemStatus;
+import org.jhipster.ecommerce.store.domain.enumeration.PaymentMethod;
+import org.jhipster.ecommerce.store.repository.SalesRollupRepository;
+
+import org.hibernate.Hibernate;
+import org.hibernate.Session;
+import org.hibernate.action.spi.AfterTransactionCompletionProcess;
+import org.hibernate.action.spi.BeforeTransactionCompletionProcess;
+import org.hibernate.boot.Metadata;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.jpa.boot.internal.EntityManagerFactoryBuilderImpl;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+import org.hibernate.tuple.entity.EntityMetamodel;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Hibernate listener maintaining the sales rollups of {@link SalesRollupRepository} from the writes of
+ * {@link OrderItem}s, {@link Invoice}s and {@link ProductOrder}s, in the transaction of the writes.
+ * <p>
+ * The changes of a transaction are collected as they are flushed, and added to the rollups right before the
+ * transaction commits, once the last flush has written the rows they depend on. They are summed up by rollup first,
+ * and the rollups are written in the order of their keys, so that two transactions never wait for each other's rows
+ * in opposite orders, each of them with a single statement adding to the row or inserting it. An order placed on
+ * another day has the rollups of both days recomputed.
+ * <p>
+ * Bulk statements and changes of the category of a product are not tracked: the rollups are only corrected by the
+ * next rebuild of {@link SalesReportService}.
+ */
+@Component
+public class SalesRollupListener implements HibernatePropertiesCustomizer, PostInsertEventListener,
+    PostUpdateEventListener, PostDeleteEventListener {
+
+    private static final long serialVersionUID = 1L;
+
+    private final transient ObjectProvider<SalesRollupRepository> salesRollupRepository;
+
+    private final transient Map<EventSource, Changes> changesBySession = new ConcurrentHashMap<>();
+
+    public SalesRollupListener(ObjectProvider<SalesRollupRepository> salesRollupRepository) {
+        this.salesRollupRepository = salesRollupRepository;
+    }
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        Integrator integrator = new Integrator() {
+
+            @Override
+            public void integrate(Metadata metadata, SessionFactoryImplementor sessionFactory,
+                                  SessionFactoryServiceRegistry serviceRegistry) {
+                EventListenerRegistry eventListenerRegistry = serviceRegistry.getService(EventListenerRegistry.class);
+                eventListenerRegistry.appendListeners(EventType.POST_INSERT, SalesRollupListener.this);
+                eventListenerRegistry.appendListeners(EventType.POST_UPDATE, SalesRollupListener.this);
+                eventListenerRegistry.appendListeners(EventType.POST_DELETE, SalesRollupListener.this);
+            }
+
+            @Override
+            public void disintegrate(SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+                // Nothing to release
+            }
+        };
+        // Keep the integrators registered by the other customizers
+        IntegratorProvider integratorProvider = (IntegratorProvider) hibernateProperties.get(EntityManagerFactoryBuilderImpl.INTEGRATOR_PROVIDER);
+        hibernateProperties.put(EntityManagerFactoryBuilderImpl.INTEGRATOR_PROVIDER, (IntegratorProvider) () -> {
+            List<Integrator> integrators = new ArrayList<>();
+            if (integratorProvider != null) {
+                integrators.addAll(integratorProvider.getIntegrators());
+            }
+            integrators.add(integrator);
+            return integrators;
+        });
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        Object entity = event.getEntity();
+        if (entity instanceof OrderItem) {
+            changes(event.getSession()).orderItems.add(orderItemSales(event.getSession(), event.getPersister(), event.getState(), 1));
+        } else if (entity instanceof Invoice) {
+            changes(event.getSession()).invoices.add(invoiceSales(event.getPersister(), event.getState(), 1));
+        }
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        Object entity = event.getEntity();
+        EntityPersister persister = event.getPersister();
+        Object[] oldState = event.getOldState();
+        if (entity instanceof OrderItem) {
+            Changes changes = changes(event.getSession());
+            OrderItemSales sales = orderItemSales(event.getSession(), persister, event.getState(), 1);
+            if (oldState != null) {
+                changes.orderItems.add(orderItemSales(event.getSession(), persister, oldState, -1));
+                changes.orderItems.add(sales);
+            } else {
+                // Without the previous state, the day of the item is recomputed
+                changes.recomputedOrderItems.add(sales);
+            }
+        } else if (entity instanceof Invoice) {
+            Changes changes = changes(event.getSession());
+            InvoiceSales sales = invoiceSales(persister, event.getState(), 1);
+            if (oldState != null) {
+                changes.invoices.add(invoiceSales(persister, oldState, -1));
+                changes.invoices.add(sales);
+            } else {
+                changes.paymentDatesToRecompute.add(sales.date);
+            }
+        } else if (entity instanceof ProductOrder) {
+            int placedDateIndex = persister.getEntityMetamodel().getPropertyIndex("placedDate");
+            LocalDate date = SalesRollupRepository.toDate((Instant) event.getState()[placedDateIndex]);
+            LocalDate previousDate = oldState != null ? SalesRollupRepository.toDate((Instant) oldState[placedDateIndex]) : null;
+            if (!date.equals(previousDate)) {
+                Changes changes = changes(event.getSession());
+                changes.placedDatesToRecompute.add(date);
+                if (previousDate != null) {
+                    changes.placedDatesToRecompute.add(previousDate);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        Object entity = event.getEntity();
+        if (entity instanceof OrderItem) {
+            changes(event.getSession()).orderItems.add(
+                orderItemSales(event.getSession(), event.getPersister(), event.getDeletedState(), -1));
+        } else if (entity instanceof Invoice) {
+            changes(event.getSession()).invoices.add(invoiceSales(event.getPersister(), event.getDeletedState(), -1));
+        }
+    }
+
+    @Override
+    public boolean requiresPostCommitHanding(EntityPersister persister) {
+        return false;
+    }
+
+    /**
+     * Return the changes of the current transaction of a session, registering their writing before it completes on
+     * the first change.
+     */
+    private Changes changes(EventSource session) {
+        return changesBySession.computeIfAbsent(session, key -> {
+            Changes changes = new Changes();
+            session.getActionQueue().registerProcess(
+                (BeforeTransactionCompletionProcess) completingSession ->
+                    changes.write(completingSession, salesRollupRepository.getObject()));
+            session.getActionQueue().registerProcess(
+                (AfterTransactionCompletionProcess) (success, completedSession) -> {
+                    // A rolled back transaction leaves its process queued, it must not write anything afterwards
+                    changes.clear();
+                    changesBySession.remove(session);
+                });
+            return changes;
+        });
+    }
+
+    /**
+     * Read the sales of an order item from its state. The day of its order and the category of its product are taken
+     * from the entities when the session manages them, and otherwise read from the database before writing the
+     * rollups: an order or a product deserialized from a request only holds what the client sent.
+     */
+    private static OrderItemSales orderItemSales(EventSource session, EntityPersister persister, Object[] state, int sign) {
+        EntityMetamodel metamodel = persister.getEntityMetamodel();
+        OrderItemSales sales = new OrderItemSales();
+        ProductOrder order = (ProductOrder) state[metamodel.getPropertyIndex("order")];
+        sales.orderId = order.getId();
+        if (isManaged(session, order)) {
+            sales.placedDate = order.getPlacedDate();
+        }
+        Product product = (Product) state[metamodel.getPropertyIndex("product")];
+        sales.productId = product.getId();
+        if (isManaged(session, product)) {
+            ProductCategory productCategory = product.getProductCategory();
+            sales.productCategoryResolved = true;
+            sales.productCategoryId = productCategory != null ? productCategory.getId() : null;
+        }
+        sales.status = (OrderItemStatus) state[metamodel.getPropertyIndex("status")];
+        sales.quantity = sign * ((Integer) state[metamodel.getPropertyIndex("quantity")]).longValue();
+        BigDecimal totalPrice = (BigDecimal) state[metamodel.getPropertyIndex("totalPrice")];
+        sales.revenue = sign < 0 ? totalPrice.negate() : totalPrice;
+        sales.count = sign;
+        return sales;
+    }
+
+    /**
+     * Whether an entity is loaded in the session, including when it is removed in the same transaction.
+     */
+    private static boolean isManaged(EventSource session, Object entity) {
+        return Hibernate.isInitialized(entity) && session.getPersistenceContext().getEntry(Hibernate.unproxy(entity)) != null;
+    }
+
+    private static InvoiceSales invoiceSales(EntityPersister persister, Object[] state, int sign) {
+        EntityMetamodel metamodel = persister.getEntityMetamodel();
+        InvoiceSales sales = new InvoiceSales();
+        sales.date = SalesRollupRepository.toDate((Instant) state[metamodel.getPropertyIndex("paymentDate")]);
+        sales.paymentMethod = (PaymentMethod) state[metamodel.getPropertyIndex("paymentMethod")];
+        sales.status = (InvoiceStatus) state[metamodel.getPropertyIndex("status")];
+        BigDecimal paymentAmount = (BigDecimal) state[metamodel.getPropertyIndex("paymentAmount")];
+        sales.amount = sign < 0 ? paymentAmount.negate() : paymentAmount;
+        sales.count = sign;
+        return sales;
+    }
+
+    private static class OrderItemSales {
+
+        private Long orderId;
+
+        private Instant placedDate;
+
+        private Long productId;
+
+        private boolean productCategoryResolved;
+
+        private Long productCategoryId;
+
+        private OrderItemStatus status;
+
+        private long quantity;
+
+        private BigDecimal revenue;
+
+        private long count;
+    }
+
+    private static class InvoiceSales {
+
+        private LocalDate date;
+
+        private PaymentMethod paymentMethod;
+
+        private InvoiceStatus status;
+
+        private BigDecimal amount;
+
+        private long count;
+    }
+
+    /**
+     * The sum of the sales of a rollup.
+     */
+    private static class Totals {
+
+        private long quantity;
+
+        private BigDecimal amount = BigDecimal.ZERO;
+
+        private long count;
+
+        private boolean isZero() {
+            return quantity == 0 && count == 0 && amount.signum() == 0;
+        }
+    }
+
+    private static final class CategoryKey {
+
+        private static final Comparator<CategoryKey> ORDER = Comparator.<CategoryKey, LocalDate>comparing(key -> key.date)
+            .thenComparing(key -> key.productCategoryId == null ? 0L : key.productCategoryId)
+            .thenComparing(key -> key.status.name());
+
+        private final LocalDate date;
+
+        private final Long productCategoryId;
+
+        private final OrderItemStatus status;
+
+        private CategoryKey(LocalDate date, Long productCategoryId, OrderItemStatus status) {
+            this.date = date;
+            this.productCategoryId = productCategoryId;
+            this.status = status;
+        }
+    }
+
+    private static final class PaymentMethodKey {
+
+        private static final Comparator<PaymentMethodKey> ORDER = Comparator.<PaymentMethodKey, LocalDate>comparing(key -> key.date)
+            .thenComparing(key -> key.paymentMethod.name())
+            .thenComparing(key -> key.status.name());
+
+        private final LocalDate date;
+
+        private final PaymentMethod paymentMethod;
+
+        private final InvoiceStatus status;
+
+        private PaymentMethodKey(LocalDate date, PaymentMethod paymentMethod, InvoiceStatus status) {
+            this.date = date;
+            this.paymentMethod = paymentMethod;
+            this.status = status;
+        }
+    }
+
+    /**
+     * The changes of the sales of a transaction.
+     */
+    private static class Changes {
+
+        private final List<OrderItemSales> orderItems = new ArrayList<>();
+
+        private final List<OrderItemSales> recomputedOrderItems = new ArrayList<>();
+
+        private final List<InvoiceSales> invoices = new ArrayList<>();
+
+        private final SortedSet<LocalDate> placedDatesToRecompute = new TreeSet<>();
+
+        private final SortedSet<LocalDate> paymentDatesToRecompute = new TreeSet<>();
+
+        private void clear() {
+            orderItems.clear();
+            recomputedOrderItems.clear();
+            invoices.clear();
+            placedDatesToRecompute.clear();
+            paymentDatesToRecompute.clear();
+        }
+
+        private void write(Session session, SalesRollupRepository repository) {
+            resolve(session, repository);
+
+            Map<CategoryKey, Totals> salesByCategory = new TreeMap<>(CategoryKey.ORDER);
+            for (OrderItemSales sales : orderItems) {
+                if (sales.placedDate == null || !sales.productCategoryResolved) {
+                    // The order or the product was deleted by a bulk statement
+                    continue;
+                }
+                CategoryKey key = new CategoryKey(SalesRollupRepository.toDate(sales.placedDate), sales.productCategoryId, sales.status);
+                Totals totals = salesByCategory.computeIfAbsent(key, k -> new Totals());
+                totals.quantity += sales.quantity;
+                totals.amount = totals.amount.add(sales.revenue);
+                totals.count += sales.count;
+            }
+            Map<PaymentMethodKey, Totals> salesByPaymentMethod = new TreeMap<>(PaymentMethodKey.ORDER);
+            for (InvoiceSales sales : invoices) {
+                Totals totals = salesByPaymentMethod.computeIfAbsent(new PaymentMethodKey(sales.date, sales.paymentMethod, sales.status),
+                    k -> new Totals());
+                totals.amount = totals.amount.add(sales.amount);
+                totals.count += sales.count;
+            }
+            for (OrderItemSales sales : recomputedOrderItems) {
+                if (sales.placedDate != null) {
+                    placedDatesToRecompute.add(SalesRollupRepository.toDate(sales.placedDate));
+                }
+            }
+
+            salesByCategory.forEach((key, totals) -> {
+                if (!totals.isZero()) {
+                    repository.addSalesByCategory(session, key.date, key.productCategoryId, key.status,
+                        totals.quantity, totals.amount, totals.count);
+                }
+            });
+            salesByPaymentMethod.forEach((key, totals) -> {
+                if (!totals.isZero()) {
+                    repository.addSalesByPaymentMethod(session, key.date, key.paymentMethod, key.status, totals.amount, totals.count);
+                }
+            });
+            // Recomputed last, from a snapshot holding what was added to the same days
+            for (LocalDate date : placedDatesToRecompute) {
+                repository.recomputeSalesByCategory(session, date, date.plusDays(1));
+            }
+            for (LocalDate date : paymentDatesToRecompute) {
+                repository.recomputeSalesByPaymentMethod(session, date, date.plusDays(1));
+            }
+            clear();
+        }
+
+        /**
+         * Read the days and categories the entities did not give from the database, now that the rows are written.
+         */
+        private void resolve(Session session, SalesRollupRepository repository) {
+            Set<Long> orderIds = new HashSet<>();
+            Set<Long> productIds = new HashSet<>();
+            List<OrderItemSales> allSales = new ArrayList<>(orderItems);
+            allSales.addAll(recomputedOrderItems);
+            for (OrderItemSales sales : allSales) {
+                if (sales.placedDate == null) {
+                    orderIds.add(sales.orderId);
+                }
+                if (!sales.productCategoryResolved) {
+                    productIds.add(sales.productId);
+                }
+            }
+            if (!orderIds.isEmpty()) {
+                Map<Long, Instant> placedDates = repository.findPlacedDates(session, orderIds);
+                allSales.stream().filter(sales -> sales.placedDate == null)
+                    .forEach(sales -> sales.placedDate = placedDates.get(sales.orderId));
+            }
+            if (!productIds.isEmpty()) {
+                Map<Long, Long> productCategoryIds = repository.findProductCategoryIds(session, productIds);
+                allSales.stream().filter(sales -> !sales.productCategoryResolved && productCategoryIds.containsKey(sales.productId))
+                    .forEach(sales -> {
+                        sales.productCategoryResolved = true;
+                        sales.productCategoryId = productCategoryIds.get(sales.productId);
+                    });
+            }
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package org.jhipster.ecommerce.store.service;
+
+import io.github.jhipster.service.QueryService;
+import io.github.jhipster.service.filter.RangeFilter;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Subquery;
+import javax.persistence.metamodel.SingularAttribute;
+
+/**
+ * Base service for executing complex queries, which filters entities on their to-many associations with correlated
+ * {@code EXISTS} subqueries.
+ * <p>
+ * Filtering through a join returns each entity once per matching element of the association, which duplicates the
+ * entities of a page and makes the count query count elements instead of entities. A semi-join returns each matching
+ * entity once, and lets the database stop at the first matching element.
+ *
+ * @param <ENTITY> the type of the entity which is queried.
+ */
+public abstract class SemiJoinQueryService<ENTITY> extends QueryService<ENTITY> {
+
+    /**
+     * Build a specification matching the entities which have at least one associated element matching the filter.
+     * <p>
+     * The filter is applied with the same semantics as {@link #buildSpecification(RangeFilter, java.util.function.Function)},
+     * except for {@code specified}: {@code specified=true} matches the entities with at least one element, and
+     * {@code specified=false} the entities without any.
+     *
+     * @param filter the filter on the associated elements.
+     * @param elementClass the class of the associated elements.
+     * @param owner the attribute of the associated elements which references the queried entity.
+     * @param field the attribute of the associated elements the filter applies to.
+     * @param <ELEMENT> the type of the associated elements.
+     * @param <X> the type of the filtered attribute.
+     * @return the matching {@link Specification}.
+     */
+    protected <ELEMENT, X extends Comparable<? super X>> Specification<ENTITY> buildExistsSpecification(
+        RangeFilter<X> filter, Class<ELEMENT> elementClass, SingularAttribute<? super ELEMENT, ENTITY> owner,
+        SingularAttribute<? super ELEMENT, X> field) {
+
+        RangeFilter<X> valueFilter = filter.copy();
+        valueFilter.setSpecified(null);
+        return (root, query, builder) -> {
+            if (Boolean.FALSE.equals(filter.getSpecified())) {
+                return builder.not(builder.exists(elementSubquery(root, query, builder, elementClass, owner, null, null)));
+            }
+            return builder.exists(elementSubquery(root, query, builder, elementClass, owner, valueFilter, field));
+        };
+    }
+
+    private <ELEMENT, X extends Comparable<? super X>> Subquery<Integer> elementSubquery(
+        Root<ENTITY> root, CriteriaQuery<?> query, CriteriaBuilder builder, Class<ELEMENT> elementClass,
+        SingularAttribute<? super ELEMENT, ENTITY> owner, RangeFilter<X> valueFilter, SingularAttribute<? super ELEMENT, X> field) {
+
+        Subquery<Integer> subquery = query.subquery(Integer.class);
+        Root<ELEMENT> element = subquery.from(elementClass);
+        Predicate predicate = builder.equal(element.get(owner), root);
+        if (valueFilter != null) {
+            Predicate valuePredicate = buildSpecification(valueFilter, entity -> element.get(field))
+                .toPredicate(root, query, builder);
+            if (valuePredicate != null) {
+                predicate = builder.and(predicate, valuePredicate);
+            }
+        }
+        return subquery.select(builder.literal(1)).where(predicate);
+    }
+}
@@ -11,12 +11,14 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import io.github.jhipster.service.QueryService;
 
+import org.jhipster.ecommerce.store.config.ApplicationProperties.Pagination.CountStrategy;
 import org.jhipster.ecommerce.store.domain.Shipment;
 import org.jhipster.ecommerce.store.domain.*; // for static metamodels
 import org.jhipster.ecommerce.store.repository.ShipmentRepository;
@@ -36,10 +38,13 @@ public class ShipmentQueryService extends QueryService<Shipment> {
 
     private final ShipmentRepository shipmentRepository;
     private final CustomerService customerService;
+    private final TotalCountService totalCountService;
 
-    public ShipmentQueryService(ShipmentRepository shipmentRepository, CustomerService customerService) {
+    public ShipmentQueryService(ShipmentRepository shipmentRepository, CustomerService customerService, TotalCountService totalCountService) {
         this.shipmentRepository = shipmentRepository;
         this.customerService = customerService;
+        this.totalCountService = totalCountService;
+        totalCountService.register(Shipment.class, Invoice.class, ProductOrder.class);
     }
 
     /**
@@ -63,19 +68,27 @@ public class ShipmentQueryService extends QueryService<Shipment> {
     @Transactional(readOnly = true)
     public Page<Shipment> findByCriteria(ShipmentCriteria criteria, Pageable page) {
         log.debug("find by criteria : {}, page: {}", criteria, page);
-        final Specification<Shipment> specification;
-        if (SecurityUtils.isCurrentUserInRole (AuthoritiesConstants.ADMIN)) {
-            specification = createSpecification(criteria);
-        }
-        else {
-            LongFilter longFilter = new LongFilter();
-            longFilter.setEquals(customerService.getCurrentCustomerLogin().get().getId());
-            criteria.setCustomerId(longFilter);
-            specification = createSpecification(criteria);
-        }
+        restrictToCurrentCustomer(criteria);
+        final Specification<Shipment> specification = createSpecification(criteria);
         return shipmentRepository.findAll(specification, page);
     }
 
+    /**
+     * Return a {@link Slice} of {@link Shipment} which matches the criteria from the database, with the total number of
+     * entities computed according to the count strategy.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param page The page, which should be returned.
+     * @param countStrategy The count strategy of the request, or {@code null} for the one of the entity.
+     * @return the matching entities, as a {@link Page} unless the count strategy is {@link CountStrategy#NONE}.
+     */
+    @Transactional(readOnly = true)
+    public Slice<Shipment> findByCriteria(ShipmentCriteria criteria, Pageable page, CountStrategy countStrategy) {
+        log.debug("find by criteria : {}, page: {}, count strategy: {}", criteria, page, countStrategy);
+        restrictToCurrentCustomer(criteria);
+        final Specification<Shipment> specification = createSpecification(criteria);
+        return totalCountService.findAll(Shipment.class, shipmentRepository, specification, criteria, page, countStrategy);
+    }
+
     /**
      * Return the number of matching entities in the database.
      * @param criteria The object which holds all the filters, which the entities should match.
@@ -88,6 +101,14 @@ public class ShipmentQueryService extends QueryService<Shipment> {
         return shipmentRepository.count(specification);
     }
 
+    private void restrictToCurrentCustomer(ShipmentCriteria criteria) {
+        if (!SecurityUtils.isCurrentUserInRole(AuthoritiesConstants.ADMIN)) {
+            LongFilter longFilter = new LongFilter();
+            longFilter.setEquals(customerService.getCurrentCustomerId().get());
+            criteria.setCustomerId(longFilter);
+        }
+    }
+
     /**
      * Function to convert {@link ShipmentCriteria} to a {@link Specification}
      * @param criteria The object which holds all the filters, which the entities should match.
@@ -110,7 +131,7 @@ public class ShipmentQueryService extends QueryService<Shipment> {
             }
             if (criteria.getInvoiceId() != null) {
                 specification = specification.and(buildSpecification(criteria.getInvoiceId(),
-                    root -> root.join(Shipment_.invoice, JoinType.LEFT).get(Invoice_.id)));
+                    root -> root.get(Shipment_.invoice).get(Invoice_.id)));
             }
             if (criteria.getCustomerId() != null) {
                 specification = specification.and(buildSpecification(criteria.getCustomerId(),
@@ -0,0 +1,121 @@
+package org.jhipster.ecommerce.store.service;
+
+import org.hibernate.action.spi.AfterTransactionCompletionProcess;
+import org.hibernate.boot.Metadata;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.jpa.boot.internal.EntityManagerFactoryBuilderImpl;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Hibernate listener evicting the cached counts of {@link TotalCountService} once a transaction writing an entity
+ * they depend on is committed.
+ * <p>
+ * The classes of the entities written by a transaction are collected, so that each dependent count map is cleared once
+ * per transaction, however many entities it wrote.
+ * <p>
+ * Bulk statements, which bypass the persistence context, do not evict anything: the cached counts then expire after
+ * their time to live.
+ */
+@Component
+public class TotalCountInvalidator implements HibernatePropertiesCustomizer, PostInsertEventListener,
+    PostUpdateEventListener, PostDeleteEventListener {
+
+    private static final long serialVersionUID = 1L;
+
+    private final transient ObjectProvider<TotalCountService> totalCountService;
+
+    private final transient Map<EventSource, Set<Class<?>>> writtenClassesBySession = new ConcurrentHashMap<>();
+
+    public TotalCountInvalidator(ObjectProvider<TotalCountService> totalCountService) {
+        this.totalCountService = totalCountService;
+    }
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        Integrator integrator = new Integrator() {
+
+            @Override
+            public void integrate(Metadata metadata, SessionFactoryImplementor sessionFactory,
+                                  SessionFactoryServiceRegistry serviceRegistry) {
+                EventListenerRegistry eventListenerRegistry = serviceRegistry.getService(EventListenerRegistry.class);
+                eventListenerRegistry.appendListeners(EventType.POST_INSERT, TotalCountInvalidator.this);
+                eventListenerRegistry.appendListeners(EventType.POST_UPDATE, TotalCountInvalidator.this);
+                eventListenerRegistry.appendListeners(EventType.POST_DELETE, TotalCountInvalidator.this);
+            }
+
+            @Override
+            public void disintegrate(SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+                // Nothing to release
+            }
+        };
+        // Keep the integrators registered by the other customizers
+        IntegratorProvider integratorProvider = (IntegratorProvider) hibernateProperties.get(EntityManagerFactoryBuilderImpl.INTEGRATOR_PROVIDER);
+        hibernateProperties.put(EntityManagerFactoryBuilderImpl.INTEGRATOR_PROVIDER, (IntegratorProvider) () -> {
+            List<Integrator> integrators = new ArrayList<>();
+            if (integratorProvider != null) {
+                integrators.addAll(integratorProvider.getIntegrators());
+            }
+            integrators.add(integrator);
+            return integrators;
+        });
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        written(event.getSession(), event.getPersister());
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        written(event.getSession(), event.getPersister());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        written(event.getSession(), event.getPersister());
+    }
+
+    @Override
+    public boolean requiresPostCommitHanding(EntityPersister persister) {
+        return false;
+    }
+
+    /**
+     * Record the class of an entity written by the current transaction of a session, registering the eviction of the
+     * counts once it is committed on the first write.
+     */
+    private void written(EventSource session, EntityPersister persister) {
+        writtenClassesBySession.computeIfAbsent(session, key -> {
+            Set<Class<?>> writtenClasses = ConcurrentHashMap.newKeySet();
+            session.getActionQueue().registerProcess(
+                (AfterTransactionCompletionProcess) (success, completedSession) -> {
+                    writtenClassesBySession.remove(session);
+                    if (success) {
+                        totalCountService.ifAvailable(service -> service.invalidate(writtenClasses));
+                    }
+                });
+            return writtenClasses;
+        }).add(persister.getMappedClass());
+    }
+}
@@ -0,0 +1,153 @@
+package org.jhipster.ecommerce.store.service;
+
+import org.jhipster.ecommerce.store.config.ApplicationProperties;
+import org.jhipster.ecommerce.store.config.ApplicationProperties.Pagination.CountStrategy;
+import org.jhipster.ecommerce.store.repository.SliceSpecificationExecutor;
+import org.jhipster.ecommerce.store.repository.TableStatisticsRepository;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.BeanUtils;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Service for reading pages of entities, with the total number of entities computed according to a {@link CountStrategy}.
+ * <p>
+ * Cached counts are kept in one Hazelcast map per entity, keyed by the criteria. The map of an entity is cleared when
+ * an entity it depends on is written, see {@link #register(Class, Class[])} and {@link TotalCountInvalidator}.
+ */
+@Service
+public class TotalCountService {
+
+    /**
+     * Prefix of the names of the Hazelcast maps holding the cached counts, followed by the entity name.
+     */
+    public static final String MAP_NAME_PREFIX = "totalCount.";
+
+    private final Logger log = LoggerFactory.getLogger(TotalCountService.class);
+
+    private final HazelcastInstance hazelcastInstance;
+
+    private final TableStatisticsRepository tableStatisticsRepository;
+
+    private final ApplicationProperties applicationProperties;
+
+    private final Map<Class<?>, Set<String>> dependentEntityNames = new ConcurrentHashMap<>();
+
+    public TotalCountService(HazelcastInstance hazelcastInstance, TableStatisticsRepository tableStatisticsRepository,
+                             ApplicationProperties applicationProperties) {
+        this.hazelcastInstance = hazelcastInstance;
+        this.tableStatisticsRepository = tableStatisticsRepository;
+        this.applicationProperties = applicationProperties;
+    }
+
+    /**
+     * Declare the entities the counts of an entity depend on, in addition to the entity itself: the ones its criteria
+     * can filter on through an association.
+     *
+     * @param entityClass the class of the counted entity.
+     * @param dependencies the classes of the entities which, when written, can change the counts.
+     */
+    public void register(Class<?> entityClass, Class<?>... dependencies) {
+        String entityName = entityName(entityClass);
+        dependentEntityNames.computeIfAbsent(entityClass, key -> ConcurrentHashMap.newKeySet()).add(entityName);
+        for (Class<?> dependency : dependencies) {
+            dependentEntityNames.computeIfAbsent(dependency, key -> ConcurrentHashMap.newKeySet()).add(entityName);
+        }
+    }
+
+    /**
+     * Evict the cached counts which depend on written entities, clearing each map once.
+     *
+     * @param writtenClasses the classes of the entities which were written.
+     */
+    public void invalidate(Collection<Class<?>> writtenClasses) {
+        Set<String> entityNames = new HashSet<>();
+        for (Class<?> writtenClass : writtenClasses) {
+            entityNames.addAll(dependentEntityNames.getOrDefault(writtenClass, Collections.emptySet()));
+        }
+        for (String entityName : entityNames) {
+            log.debug("Evicting the cached counts of {} after a write of {}", entityName, writtenClasses);
+            countMap(entityName).clear();
+        }
+    }
+
+    /**
+     * Return the entities matching the specification.
+     * <p>
+     * A {@link Page} is returned unless the strategy is {@link CountStrategy#NONE}. Whatever the strategy, no count
+     * query is executed when the page is the last one, as its content is enough to know the total.
+     *
+     * @param entityClass the class of the entity.
+     * @param repository the repository of the entity.
+     * @param specification the specification built from the criteria.
+     * @param criteria the criteria, used as the key of the cached counts.
+     * @param pageable the pagination information.
+     * @param countStrategy the count strategy of the request, or {@code null} for the one of the entity.
+     * @param <T> the type of the entity.
+     * @return the matching entities.
+     */
+    public <T> Slice<T> findAll(Class<T> entityClass, SliceSpecificationExecutor<T> repository, Specification<T> specification,
+                                Object criteria, Pageable pageable, CountStrategy countStrategy) {
+        String entityName = entityName(entityClass);
+        CountStrategy strategy = countStrategy != null ? countStrategy : applicationProperties.getPagination().getCountStrategy(entityName);
+        if (strategy == CountStrategy.EXACT) {
+            return repository.findAll(specification, pageable);
+        }
+        Slice<T> slice = repository.findSlice(specification, pageable);
+        if (strategy == CountStrategy.NONE) {
+            return slice;
+        }
+        long total;
+        if (pageable.isUnpaged() || (!slice.hasNext() && (slice.hasContent() || pageable.getOffset() == 0))) {
+            total = pageable.isUnpaged() ? slice.getNumberOfElements() : pageable.getOffset() + slice.getNumberOfElements();
+        } else {
+            Optional<Long> estimate = strategy == CountStrategy.ESTIMATED && isUnfiltered(criteria) ?
+                tableStatisticsRepository.estimateRowCount(entityClass) : Optional.empty();
+            total = estimate.orElseGet(() -> cachedCount(entityName, repository, specification, criteria));
+            // A stale count must not hide the next page
+            total = Math.max(total, pageable.getOffset() + slice.getNumberOfElements() + (slice.hasNext() ? 1 : 0));
+        }
+        return new PageImpl<>(slice.getContent(), pageable, total);
+    }
+
+    private <T> long cachedCount(String entityName, SliceSpecificationExecutor<T> repository, Specification<T> specification,
+                                 Object criteria) {
+        IMap<String, Long> countMap = countMap(entityName);
+        String key = String.valueOf(criteria);
+        Long total = countMap.get(key);
+        if (total == null) {
+            total = repository.count(specification);
+            countMap.set(key, total);
+        }
+        return total;
+    }
+
+    private IMap<String, Long> countMap(String entityName) {
+        return hazelcastInstance.getMap(MAP_NAME_PREFIX + entityName);
+    }
+
+    private static boolean isUnfiltered(Object criteria) {
+        return criteria == null || criteria.equals(BeanUtils.instantiateClass(criteria.getClass()));
+    }
+
+    private static String entityName(Class<?> entityClass) {
+        return StringUtils.uncapitalize(entityClass.getSimpleName());
+    }
+}
@@ -1,25 +1,35 @@
 package org.jhipster.ecommerce.store.service;
 
+import org.jhipster.ecommerce.store.config.ApplicationProperties;
 import org.jhipster.ecommerce.store.config.Constants;
 import org.jhipster.ecommerce.store.domain.Authority;
 import org.jhipster.ecommerce.store.domain.User;
 import org.jhipster.ecommerce.store.repository.AuthorityRepository;
+import org.jhipster.ecommerce.store.repository.CustomerRepository;
 import org.jhipster.ecommerce.store.repository.UserRepository;
 import org.jhipster.ecommerce.store.security.AuthoritiesConstants;
 import org.jhipster.ecommerce.store.security.SecurityUtils;
 import org.jhipster.ecommerce.store.service.dto.UserDTO;
 
 import io.github.jhipster.security.RandomUtil;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.cache.CacheManager;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
@@ -43,11 +53,22 @@ public class UserService {
 
     private final CacheManager cacheManager;
 
-    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder, AuthorityRepository authorityRepository, CacheManager cacheManager) {
+    private final ApplicationProperties applicationProperties;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final Counter purgedUsers;
+
+    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder, AuthorityRepository authorityRepository, CacheManager cacheManager,
+                       ApplicationProperties applicationProperties, PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.authorityRepository = authorityRepository;
         this.cacheManager = cacheManager;
+        this.applicationProperties = applicationProperties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.purgedUsers = Counter.builder("purge.deleted").tag("entity", "user")
+            .description("The number of rows deleted by the scheduled purges").register(meterRegistry);
     }
 
     public Optional<User> activateRegistration(String key) {
@@ -87,7 +108,14 @@ public class UserService {
             });
     }
 
-    public User registerUser(UserDTO userDTO, String password) {
+    /**
+     * Register a new user, not activated yet.
+     *
+     * @param userDTO the user.
+     * @param encryptedPassword the password of the user, already encoded.
+     * @return the user.
+     */
+    public User registerUser(UserDTO userDTO, String encryptedPassword) {
         userRepository.findOneByLogin(userDTO.getLogin().toLowerCase()).ifPresent(existingUser -> {
             boolean removed = removeNonActivatedUser(existingUser);
             if (!removed) {
@@ -101,7 +129,6 @@ public class UserService {
             }
         });
         User newUser = new User();
-        String encryptedPassword = passwordEncoder.encode(password);
         newUser.setLogin(userDTO.getLogin().toLowerCase());
         // new user gets initially a generated password
         newUser.setPassword(encryptedPassword);
@@ -256,7 +283,40 @@ public class UserService {
 
     @Transactional(readOnly = true)
     public Page<UserDTO> getAllManagedUsers(Pageable pageable) {
-        return userRepository.findAllByLoginNot(pageable, Constants.ANONYMOUS_USER).map(UserDTO::new);
+        return getAllManagedUsers(null, pageable);
+    }
+
+    /**
+     * Get a page of users with their authorities, in two queries whatever the page size: one paging their ids, and one
+     * fetching them with their authorities.
+     *
+     * @param search   the prefix of the login or email of the users, or {@code null} for all users.
+     * @param pageable the pagination information.
+     * @return the page of users.
+     */
+    @Transactional(readOnly = true)
+    public Page<UserDTO> getAllManagedUsers(String search, Pageable pageable) {
+        Page<Long> ids;
+        if (search == null || search.trim().isEmpty()) {
+            ids = userRepository.findAllIdsByLoginNot(pageable, Constants.ANONYMOUS_USER);
+        } else {
+            // Logins and emails are stored in lower case
+            String prefix = search.trim().toLowerCase()
+                .replace("!", "!!").replace("%", "!%").replace("_", "!_") + "%";
+            ids = userRepository.findAllIdsByLoginNotAndLoginOrEmailLike(pageable, Constants.ANONYMOUS_USER, prefix);
+        }
+        if (!ids.hasContent()) {
+            return new PageImpl<>(Collections.emptyList(), pageable, ids.getTotalElements());
+        }
+        Map<Long, User> users = userRepository.findAllWithAuthoritiesByIdIn(ids.getContent()).stream()
+            .collect(Collectors.toMap(User::getId, user -> user));
+        // A user deleted between the two queries is left out of the page
+        List<UserDTO> content = ids.getContent().stream()
+            .map(users::get)
+            .filter(Objects::nonNull)
+            .map(UserDTO::new)
+            .collect(Collectors.toList());
+        return new PageImpl<>(content, pageable, ids.getTotalElements());
     }
 
     @Transactional(readOnly = true)
@@ -272,17 +332,35 @@ public class UserService {
     /**
      * Not activated users should be automatically deleted after 3 days.
      * <p>
+     * They are deleted by chunks of {@code application.purge.batch-size} users, each chunk in its own transaction.
+     * <p>
      * This is scheduled to get fired everyday, at 01:00 (am).
      */
     @Scheduled(cron = "0 0 1 * * ?")
+    @Transactional(propagation = Propagation.SUPPORTS)
     public void removeNotActivatedUsers() {
-        userRepository
-            .findAllByActivatedIsFalseAndActivationKeyIsNotNullAndCreatedDateBefore(Instant.now().minus(3, ChronoUnit.DAYS))
-            .forEach(user -> {
-                log.debug("Deleting not activated user {}", user.getLogin());
-                userRepository.delete(user);
+        Instant before = Instant.now().minus(3, ChronoUnit.DAYS);
+        Pageable chunk = PageRequest.of(0, applicationProperties.getPurge().getBatchSize(), Sort.by("id"));
+        long deleted = 0;
+        int chunkSize;
+        do {
+            List<User> users = transactionTemplate.execute(status -> {
+                List<User> notActivatedUsers = userRepository
+                    .findAllByActivatedIsFalseAndActivationKeyIsNotNullAndCreatedDateBefore(before, chunk);
+                if (!notActivatedUsers.isEmpty()) {
+                    userRepository.deleteAllByIdIn(notActivatedUsers.stream().map(User::getId).collect(Collectors.toList()));
+                }
+                return notActivatedUsers;
+            });
+            users.forEach(user -> {
+                log.debug("Deleted not activated user {}", user.getLogin());
                 this.clearUserCaches(user);
             });
+            chunkSize = users.size();
+            purgedUsers.increment(chunkSize);
+            deleted += chunkSize;
+        } while (chunkSize == chunk.getPageSize());
+        log.info("Deleted {} not activated users", deleted);
     }
 
     /**
@@ -297,6 +375,7 @@ public class UserService {
 
     private void clearUserCaches(User user) {
         Objects.requireNonNull(cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE)).evict(user.getLogin());
+        Objects.requireNonNull(cacheManager.getCache(CustomerRepository.CUSTOMER_ID_BY_LOGIN_CACHE)).evict(user.getLogin());
         if (user.getEmail() != null) {
             Objects.requireNonNull(cacheManager.getCache(UserRepository.USERS_BY_EMAIL_CACHE)).evict(user.getEmail());
         }
@@ -0,0 +1,108 @@
+package org.jhipster.ecommerce.store.service.dto;
+
+import org.jhipster.ecommerce.store.domain.ProductOrder;
+
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Objects;
+
+/**
+ * Position of a {@link ProductOrder} in the keyset ordering {@code (placedDate desc, id desc)}.
+ * <p>
+ * It is exchanged with clients as an opaque continuation token, so that the next page can be fetched with a
+ * {@code WHERE (placedDate, id) < (:placedDate, :id)} predicate instead of an {@code OFFSET}.
+ */
+public final class ProductOrderCursor implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final String SEPARATOR = ",";
+
+    private final Instant placedDate;
+
+    private final Long id;
+
+    public ProductOrderCursor(Instant placedDate, Long id) {
+        this.placedDate = Objects.requireNonNull(placedDate);
+        this.id = Objects.requireNonNull(id);
+    }
+
+    /**
+     * Build the cursor positioned on the given order.
+     *
+     * @param productOrder the last order of a page.
+     * @return the cursor pointing after this order.
+     */
+    public static ProductOrderCursor of(ProductOrder productOrder) {
+        return new ProductOrderCursor(productOrder.getPlacedDate(), productOrder.getId());
+    }
+
+    /**
+     * Decode a continuation token previously returned by {@link #encode()}.
+     *
+     * @param token the continuation token.
+     * @return the decoded cursor.
+     * @throws IllegalArgumentException if the token is malformed.
+     */
+    public static ProductOrderCursor decode(String token) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = decoded.lastIndexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new IllegalArgumentException("Invalid continuation token: " + token);
+            }
+            return new ProductOrderCursor(Instant.parse(decoded.substring(0, separator)),
+                Long.valueOf(decoded.substring(separator + 1)));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid continuation token: " + token, e);
+        }
+    }
+
+    /**
+     * Encode this cursor as an opaque, URL-safe continuation token.
+     *
+     * @return the continuation token.
+     */
+    public String encode() {
+        String raw = placedDate.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public Instant getPlacedDate() {
+        return placedDate;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final ProductOrderCursor that = (ProductOrderCursor) o;
+        return Objects.equals(placedDate, that.placedDate) &&
+            Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(placedDate, id);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "ProductOrderCursor{" +
+            "placedDate='" + placedDate + "'" +
+            ", id=" + id +
+            "}";
+    }
+}
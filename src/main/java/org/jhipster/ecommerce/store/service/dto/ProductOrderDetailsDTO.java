@@ -0,0 +1,470 @@
+package org.jhipster.ecommerce.store.service.dto;
+
+import org.jhipster.ecommerce.store.domain.enumeration.InvoiceStatus;
+import org.jhipster.ecommerce.store.domain.enumeration.OrderItemStatus;
+import org.jhipster.ecommerce.store.domain.enumeration.OrderStatus;
+import org.jhipster.ecommerce.store.domain.enumeration.PaymentMethod;
+import org.jhipster.ecommerce.store.domain.enumeration.Size;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A DTO representing a {@link org.jhipster.ecommerce.store.domain.ProductOrder} with its whole tree:
+ * order items with their products, and invoices with their shipments.
+ * <p>
+ * Products are summarized without their image, which can be fetched separately.
+ */
+public class ProductOrderDetailsDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long id;
+
+    private Instant placedDate;
+
+    private OrderStatus status;
+
+    private String code;
+
+    private Long customerId;
+
+    private List<OrderItemDetails> orderItems = new ArrayList<>();
+
+    private List<InvoiceDetails> invoices = new ArrayList<>();
+
+    public ProductOrderDetailsDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public ProductOrderDetailsDTO(Long id, Instant placedDate, OrderStatus status, String code, Long customerId) {
+        this.id = id;
+        this.placedDate = placedDate;
+        this.status = status;
+        this.code = code;
+        this.customerId = customerId;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Instant getPlacedDate() {
+        return placedDate;
+    }
+
+    public void setPlacedDate(Instant placedDate) {
+        this.placedDate = placedDate;
+    }
+
+    public OrderStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(OrderStatus status) {
+        this.status = status;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public void setCode(String code) {
+        this.code = code;
+    }
+
+    public Long getCustomerId() {
+        return customerId;
+    }
+
+    public void setCustomerId(Long customerId) {
+        this.customerId = customerId;
+    }
+
+    public List<OrderItemDetails> getOrderItems() {
+        return orderItems;
+    }
+
+    public void setOrderItems(List<OrderItemDetails> orderItems) {
+        this.orderItems = orderItems;
+    }
+
+    public List<InvoiceDetails> getInvoices() {
+        return invoices;
+    }
+
+    public void setInvoices(List<InvoiceDetails> invoices) {
+        this.invoices = invoices;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "ProductOrderDetailsDTO{" +
+            "id=" + id +
+            ", placedDate='" + placedDate + "'" +
+            ", status='" + status + "'" +
+            ", code='" + code + "'" +
+            ", customerId=" + customerId +
+            ", orderItems=" + orderItems.size() +
+            ", invoices=" + invoices.size() +
+            "}";
+    }
+
+    /**
+     * An order item of the order, with its product.
+     */
+    public static class OrderItemDetails implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private Long id;
+
+        private Integer quantity;
+
+        private BigDecimal totalPrice;
+
+        private OrderItemStatus status;
+
+        private ProductDetails product;
+
+        public OrderItemDetails() {
+            // Empty constructor needed for Jackson.
+        }
+
+        public OrderItemDetails(Long id, Integer quantity, BigDecimal totalPrice, OrderItemStatus status,
+                                Long productId, String productName, String productDescription, BigDecimal productPrice,
+                                Size productSize, String productImageContentType, Long productCategoryId) {
+            this.id = id;
+            this.quantity = quantity;
+            this.totalPrice = totalPrice;
+            this.status = status;
+            this.product = new ProductDetails(productId, productName, productDescription, productPrice, productSize,
+                productImageContentType, productCategoryId);
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public void setId(Long id) {
+            this.id = id;
+        }
+
+        public Integer getQuantity() {
+            return quantity;
+        }
+
+        public void setQuantity(Integer quantity) {
+            this.quantity = quantity;
+        }
+
+        public BigDecimal getTotalPrice() {
+            return totalPrice;
+        }
+
+        public void setTotalPrice(BigDecimal totalPrice) {
+            this.totalPrice = totalPrice;
+        }
+
+        public OrderItemStatus getStatus() {
+            return status;
+        }
+
+        public void setStatus(OrderItemStatus status) {
+            this.status = status;
+        }
+
+        public ProductDetails getProduct() {
+            return product;
+        }
+
+        public void setProduct(ProductDetails product) {
+            this.product = product;
+        }
+    }
+
+    /**
+     * A product of an order item, without its image.
+     */
+    public static class ProductDetails implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private Long id;
+
+        private String name;
+
+        private String description;
+
+        private BigDecimal price;
+
+        private Size size;
+
+        private String imageContentType;
+
+        private Long productCategoryId;
+
+        public ProductDetails() {
+            // Empty constructor needed for Jackson.
+        }
+
+        public ProductDetails(Long id, String name, String description, BigDecimal price, Size size,
+                              String imageContentType, Long productCategoryId) {
+            this.id = id;
+            this.name = name;
+            this.description = description;
+            this.price = price;
+            this.size = size;
+            this.imageContentType = imageContentType;
+            this.productCategoryId = productCategoryId;
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public void setId(Long id) {
+            this.id = id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+
+        public void setDescription(String description) {
+            this.description = description;
+        }
+
+        public BigDecimal getPrice() {
+            return price;
+        }
+
+        public void setPrice(BigDecimal price) {
+            this.price = price;
+        }
+
+        public Size getSize() {
+            return size;
+        }
+
+        public void setSize(Size size) {
+            this.size = size;
+        }
+
+        public String getImageContentType() {
+            return imageContentType;
+        }
+
+        public void setImageContentType(String imageContentType) {
+            this.imageContentType = imageContentType;
+        }
+
+        public Long getProductCategoryId() {
+            return productCategoryId;
+        }
+
+        public void setProductCategoryId(Long productCategoryId) {
+            this.productCategoryId = productCategoryId;
+        }
+    }
+
+    /**
+     * An invoice of the order, with its shipments.
+     */
+    public static class InvoiceDetails implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private Long id;
+
+        private String code;
+
+        private Instant date;
+
+        private String details;
+
+        private InvoiceStatus status;
+
+        private PaymentMethod paymentMethod;
+
+        private Instant paymentDate;
+
+        private BigDecimal paymentAmount;
+
+        private List<ShipmentDetails> shipments = new ArrayList<>();
+
+        public InvoiceDetails() {
+            // Empty constructor needed for Jackson.
+        }
+
+        public InvoiceDetails(Long id, String code, Instant date, String details, InvoiceStatus status,
+                              PaymentMethod paymentMethod, Instant paymentDate, BigDecimal paymentAmount) {
+            this.id = id;
+            this.code = code;
+            this.date = date;
+            this.details = details;
+            this.status = status;
+            this.paymentMethod = paymentMethod;
+            this.paymentDate = paymentDate;
+            this.paymentAmount = paymentAmount;
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public void setId(Long id) {
+            this.id = id;
+        }
+
+        public String getCode() {
+            return code;
+        }
+
+        public void setCode(String code) {
+            this.code = code;
+        }
+
+        public Instant getDate() {
+            return date;
+        }
+
+        public void setDate(Instant date) {
+            this.date = date;
+        }
+
+        public String getDetails() {
+            return details;
+        }
+
+        public void setDetails(String details) {
+            this.details = details;
+        }
+
+        public InvoiceStatus getStatus() {
+            return status;
+        }
+
+        public void setStatus(InvoiceStatus status) {
+            this.status = status;
+        }
+
+        public PaymentMethod getPaymentMethod() {
+            return paymentMethod;
+        }
+
+        public void setPaymentMethod(PaymentMethod paymentMethod) {
+            this.paymentMethod = paymentMethod;
+        }
+
+        public Instant getPaymentDate() {
+            return paymentDate;
+        }
+
+        public void setPaymentDate(Instant paymentDate) {
+            this.paymentDate = paymentDate;
+        }
+
+        public BigDecimal getPaymentAmount() {
+            return paymentAmount;
+        }
+
+        public void setPaymentAmount(BigDecimal paymentAmount) {
+            this.paymentAmount = paymentAmount;
+        }
+
+        public List<ShipmentDetails> getShipments() {
+            return shipments;
+        }
+
+        public void setShipments(List<ShipmentDetails> shipments) {
+            this.shipments = shipments;
+        }
+    }
+
+    /**
+     * A shipment of an invoice.
+     */
+    public static class ShipmentDetails implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private Long id;
+
+        private String trackingCode;
+
+        private Instant date;
+
+        private String details;
+
+        private Long invoiceId;
+
+        public ShipmentDetails() {
+            // Empty constructor needed for Jackson.
+        }
+
+        public ShipmentDetails(Long id, String trackingCode, Instant date, String details, Long invoiceId) {
+            this.id = id;
+            this.trackingCode = trackingCode;
+            this.date = date;
+            this.details = details;
+            this.invoiceId = invoiceId;
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public void setId(Long id) {
+            this.id = id;
+        }
+
+        public String getTrackingCode() {
+            return trackingCode;
+        }
+
+        public void setTrackingCode(String trackingCode) {
+            this.trackingCode = trackingCode;
+        }
+
+        public Instant getDate() {
+            return date;
+        }
+
+        public void setDate(Instant date) {
+            this.date = date;
+        }
+
+        public String getDetails() {
+            return details;
+        }
+
+        public void setDetails(String details) {
+            this.details = details;
+        }
+
+        public Long getInvoiceId() {
+            return invoiceId;
+        }
+
+        public void setInvoiceId(Long invoiceId) {
+            this.invoiceId = invoiceId;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package org.jhipster.ecommerce.store.service.dto;
+
+import org.jhipster.ecommerce.store.domain.enumeration.OrderStatus;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * A flat row of a {@link org.jhipster.ecommerce.store.domain.ProductOrder} export.
+ * <p>
+ * It is projected straight from the query, so exporting orders never loads entities in the persistence context.
+ */
+public class ProductOrderExportDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long id;
+
+    private Instant placedDate;
+
+    private OrderStatus status;
+
+    private String code;
+
+    private Long customerId;
+
+    public ProductOrderExportDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public ProductOrderExportDTO(Long id, Instant placedDate, OrderStatus status, String code, Long customerId) {
+        this.id = id;
+        this.placedDate = placedDate;
+        this.status = status;
+        this.code = code;
+        this.customerId = customerId;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Instant getPlacedDate() {
+        return placedDate;
+    }
+
+    public void setPlacedDate(Instant placedDate) {
+        this.placedDate = placedDate;
+    }
+
+    public OrderStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(OrderStatus status) {
+        this.status = status;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public void setCode(String code) {
+        this.code = code;
+    }
+
+    public Long getCustomerId() {
+        return customerId;
+    }
+
+    public void setCustomerId(Long customerId) {
+        this.customerId = customerId;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "ProductOrderExportDTO{" +
+            "id=" + id +
+            ", placedDate='" + placedDate + "'" +
+            ", status='" + status + "'" +
+            ", code='" + code + "'" +
+            ", customerId=" + customerId +
+            "}";
+    }
+}
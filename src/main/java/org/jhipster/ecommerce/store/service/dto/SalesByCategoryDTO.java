@@ -0,0 +1,106 @@
+package org.jhipster.ecommerce.store.service.dto;
+
+import org.jhipster.ecommerce.store.domain.enumeration.OrderItemStatus;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * The {@link org.jhipster.ecommerce.store.domain.OrderItem}s of the orders placed on a day, summed up by product
+ * category and status.
+ */
+public class SalesByCategoryDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private LocalDate date;
+
+    private Long productCategoryId;
+
+    private OrderItemStatus status;
+
+    private long quantity;
+
+    private BigDecimal revenue;
+
+    private long itemCount;
+
+    public SalesByCategoryDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public SalesByCategoryDTO(LocalDate date, Long productCategoryId, OrderItemStatus status, long quantity,
+                              BigDecimal revenue, long itemCount) {
+        this.date = date;
+        this.productCategoryId = productCategoryId;
+        this.status = status;
+        this.quantity = quantity;
+        this.revenue = revenue;
+        this.itemCount = itemCount;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public void setDate(LocalDate date) {
+        this.date = date;
+    }
+
+    /**
+     * @return the id of the category of the products, or {@code null} for the products without one.
+     */
+    public Long getProductCategoryId() {
+        return productCategoryId;
+    }
+
+    public void setProductCategoryId(Long productCategoryId) {
+        this.productCategoryId = productCategoryId;
+    }
+
+    public OrderItemStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(OrderItemStatus status) {
+        this.status = status;
+    }
+
+    public long getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(long quantity) {
+        this.quantity = quantity;
+    }
+
+    public BigDecimal getRevenue() {
+        return revenue;
+    }
+
+    public void setRevenue(BigDecimal revenue) {
+        this.revenue = revenue;
+    }
+
+    public long getItemCount() {
+        return itemCount;
+    }
+
+    public void setItemCount(long itemCount) {
+        this.itemCount = itemCount;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "SalesByCategoryDTO{" +
+            "date='" + date + "'" +
+            ", productCategoryId=" + productCategoryId +
+            ", status='" + status + "'" +
+            ", quantity=" + quantity +
+            ", revenue=" + revenue +
+            ", itemCount=" + itemCount +
+            "}";
+    }
+}
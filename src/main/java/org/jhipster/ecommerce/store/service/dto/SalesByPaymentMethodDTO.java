@@ -0,0 +1,91 @@
+package org.jhipster.ecommerce.store.service.dto;
+
+import org.jhipster.ecommerce.store.domain.enumeration.InvoiceStatus;
+import org.jhipster.ecommerce.store.domain.enumeration.PaymentMethod;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * The {@link org.jhipster.ecommerce.store.domain.Invoice}s paid on a day, summed up by payment method and status.
+ */
+public class SalesByPaymentMethodDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private LocalDate date;
+
+    private PaymentMethod paymentMethod;
+
+    private InvoiceStatus status;
+
+    private BigDecimal amount;
+
+    private long invoiceCount;
+
+    public SalesByPaymentMethodDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public SalesByPaymentMethodDTO(LocalDate date, PaymentMethod paymentMethod, InvoiceStatus status, BigDecimal amount,
+                                   long invoiceCount) {
+        this.date = date;
+        this.paymentMethod = paymentMethod;
+        this.status = status;
+        this.amount = amount;
+        this.invoiceCount = invoiceCount;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public void setDate(LocalDate date) {
+        this.date = date;
+    }
+
+    public PaymentMethod getPaymentMethod() {
+        return paymentMethod;
+    }
+
+    public void setPaymentMethod(PaymentMethod paymentMethod) {
+        this.paymentMethod = paymentMethod;
+    }
+
+    public InvoiceStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(InvoiceStatus status) {
+        this.status = status;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+
+    public long getInvoiceCount() {
+        return invoiceCount;
+    }
+
+    public void setInvoiceCount(long invoiceCount) {
+        this.invoiceCount = invoiceCount;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "SalesByPaymentMethodDTO{" +
+            "date='" + date + "'" +
+            ", paymentMethod='" + paymentMethod + "'" +
+            ", status='" + status + "'" +
+            ", amount=" + amount +
+            ", invoiceCount=" + invoiceCount +
+            "}";
+    }
+}
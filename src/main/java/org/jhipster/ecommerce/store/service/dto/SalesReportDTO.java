@@ -0,0 +1,77 @@
+package org.jhipster.ecommerce.store.service.dto;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The sales of a range of days, as read from the sales rollups.
+ */
+public class SalesReportDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private LocalDate fromDate;
+
+    private LocalDate toDate;
+
+    private List<SalesByCategoryDTO> byCategory = new ArrayList<>();
+
+    private List<SalesByPaymentMethodDTO> byPaymentMethod = new ArrayList<>();
+
+    public SalesReportDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public SalesReportDTO(LocalDate fromDate, LocalDate toDate, List<SalesByCategoryDTO> byCategory,
+                          List<SalesByPaymentMethodDTO> byPaymentMethod) {
+        this.fromDate = fromDate;
+        this.toDate = toDate;
+        this.byCategory = byCategory;
+        this.byPaymentMethod = byPaymentMethod;
+    }
+
+    public LocalDate getFromDate() {
+        return fromDate;
+    }
+
+    public void setFromDate(LocalDate fromDate) {
+        this.fromDate = fromDate;
+    }
+
+    public LocalDate getToDate() {
+        return toDate;
+    }
+
+    public void setToDate(LocalDate toDate) {
+        this.toDate = toDate;
+    }
+
+    public List<SalesByCategoryDTO> getByCategory() {
+        return byCategory;
+    }
+
+    public void setByCategory(List<SalesByCategoryDTO> byCategory) {
+        this.byCategory = byCategory;
+    }
+
+    public List<SalesByPaymentMethodDTO> getByPaymentMethod() {
+        return byPaymentMethod;
+    }
+
+    public void setByPaymentMethod(List<SalesByPaymentMethodDTO> byPaymentMethod) {
+        this.byPaymentMethod = byPaymentMethod;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "SalesReportDTO{" +
+            "fromDate='" + fromDate + "'" +
+            ", toDate='" + toDate + "'" +
+            ", byCategory=" + byCategory.size() +
+            ", byPaymentMethod=" + byPaymentMethod.size() +
+            "}";
+    }
+}
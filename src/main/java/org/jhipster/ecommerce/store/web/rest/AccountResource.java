@@ -2,6 +2,7 @@ package org.jhipster.ecommerce.store.web.rest;
 
 import org.jhipster.ecommerce.store.domain.User;
 import org.jhipster.ecommerce.store.repository.UserRepository;
+import org.jhipster.ecommerce.store.security.BoundedPasswordEncoder;
 import org.jhipster.ecommerce.store.security.SecurityUtils;
 import org.jhipster.ecommerce.store.service.MailService;
 import org.jhipster.ecommerce.store.service.UserService;
@@ -14,12 +15,16 @@ import org.jhipster.ecommerce.store.web.rest.vm.ManagedUserVM;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.validation.Valid;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 /**
  * REST controller for managing the current user's account.
@@ -42,29 +47,43 @@ public class AccountResource {
 
     private final MailService mailService;
 
-    public AccountResource(UserRepository userRepository, UserService userService, MailService mailService) {
+    private final BoundedPasswordEncoder passwordEncoder;
+
+    private final Executor taskExecutor;
+
+    public AccountResource(UserRepository userRepository, UserService userService, MailService mailService,
+                           BoundedPasswordEncoder passwordEncoder, @Qualifier("taskExecutor") Executor taskExecutor) {
 
         this.userRepository = userRepository;
         this.userService = userService;
         this.mailService = mailService;
+        this.passwordEncoder = passwordEncoder;
+        this.taskExecutor = taskExecutor;
     }
 
     /**
      * {@code POST  /register} : register the user.
      *
+     * The password is hashed on the password hashing pool, so that the request thread is released meanwhile, and the
+     * user is then saved and mailed on the task executor, leaving the pool to the other hashes.
+     *
      * @param managedUserVM the managed user View Model.
+     * @return the future {@link ResponseEntity} with status {@code 201 (Created)}.
      * @throws InvalidPasswordException {@code 400 (Bad Request)} if the password is incorrect.
      * @throws EmailAlreadyUsedException {@code 400 (Bad Request)} if the email is already used.
      * @throws LoginAlreadyUsedException {@code 400 (Bad Request)} if the login is already used.
+     * @throws org.jhipster.ecommerce.store.security.PasswordHashingRejectedException {@code 503 (Service Unavailable)} if too many passwords are being hashed.
      */
     @PostMapping("/register")
-    @ResponseStatus(HttpStatus.CREATED)
-    public void registerAccount(@Valid @RequestBody ManagedUserVM managedUserVM) {
+    public CompletableFuture<ResponseEntity<Void>> registerAccount(@Valid @RequestBody ManagedUserVM managedUserVM) {
         if (!checkPasswordLength(managedUserVM.getPassword())) {
             throw new InvalidPasswordException();
         }
-        User user = userService.registerUser(managedUserVM, managedUserVM.getPassword());
-        mailService.sendActivationEmail(user);
+        return passwordEncoder.supplyAsync(() -> passwordEncoder.encode(managedUserVM.getPassword()), encryptedPassword -> {
+            User user = userService.registerUser(managedUserVM, encryptedPassword);
+            mailService.sendActivationEmail(user);
+            return ResponseEntity.status(HttpStatus.CREATED).<Void>build();
+        }, taskExecutor);
     }
 
     /**
@@ -1,19 +1,20 @@
 package org.jhipster.ecommerce.store.web.rest;
 
+import org.jhipster.ecommerce.store.config.ApplicationProperties.Pagination.CountStrategy;
 import org.jhipster.ecommerce.store.domain.Customer;
 import org.jhipster.ecommerce.store.service.CustomerService;
 import org.jhipster.ecommerce.store.web.rest.errors.BadRequestAlertException;
+import org.jhipster.ecommerce.store.web.rest.util.SlicePaginationUtil;
 import org.jhipster.ecommerce.store.service.dto.CustomerCriteria;
 import org.jhipster.ecommerce.store.service.CustomerQueryService;
 
 import io.github.jhipster.web.util.HeaderUtil;
-import io.github.jhipster.web.util.PaginationUtil;
 import io.github.jhipster.web.util.ResponseUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
@@ -94,13 +95,17 @@ public class CustomerResource {
      *
      * @param pageable the pagination information.
      * @param criteria the criteria which the requested entities should match.
+     * @param count how the {@code X-Total-Count} header is computed: {@code EXACT}, {@code CACHED}, {@code ESTIMATED},
+     * or {@code NONE} to only link to the next page. Defaults to the strategy configured for the entity.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of customers in body.
      */
     @GetMapping("/customers")
-    public ResponseEntity<List<Customer>> getAllCustomers(CustomerCriteria criteria, Pageable pageable) {
+    public ResponseEntity<List<Customer>> getAllCustomers(CustomerCriteria criteria,
+                                                          @RequestParam(value = "count", required = false) CountStrategy count,
+                                                          Pageable pageable) {
         log.debug("REST request to get Customers by criteria: {}", criteria);
-        Page<Customer> page = customerQueryService.findByCriteria(criteria, pageable);
-        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+        Slice<Customer> page = customerQueryService.findByCriteria(criteria, pageable, count);
+        HttpHeaders headers = SlicePaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
         return ResponseEntity.ok().headers(headers).body(page.getContent());
     }
 
@@ -1,19 +1,20 @@
 package org.jhipster.ecommerce.store.web.rest;
 
+import org.jhipster.ecommerce.store.config.ApplicationProperties.Pagination.CountStrategy;
 import org.jhipster.ecommerce.store.domain.Invoice;
 import org.jhipster.ecommerce.store.service.InvoiceService;
 import org.jhipster.ecommerce.store.web.rest.errors.BadRequestAlertException;
+import org.jhipster.ecommerce.store.web.rest.util.SlicePaginationUtil;
 import org.jhipster.ecommerce.store.service.dto.InvoiceCriteria;
 import org.jhipster.ecommerce.store.service.InvoiceQueryService;
 
 import io.github.jhipster.web.util.HeaderUtil;
-import io.github.jhipster.web.util.PaginationUtil;
 import io.github.jhipster.web.util.ResponseUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -97,13 +98,17 @@ public class InvoiceResource {
      *
      * @param pageable the pagination information.
      * @param criteria the criteria which the requested entities should match.
+     * @param count how the {@code X-Total-Count} header is computed: {@code EXACT}, {@code CACHED}, {@code ESTIMATED},
+     * or {@code NONE} to only link to the next page. Defaults to the strategy configured for the entity.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of invoices in body.
      */
     @GetMapping("/invoices")
-    public ResponseEntity<List<Invoice>> getAllInvoices(InvoiceCriteria criteria, Pageable pageable) {
+    public ResponseEntity<List<Invoice>> getAllInvoices(InvoiceCriteria criteria,
+                                                        @RequestParam(value = "count", required = false) CountStrategy count,
+                                                        Pageable pageable) {
         log.debug("REST request to get Invoices by criteria: {}", criteria);
-        Page<Invoice> page = invoiceQueryService.findByCriteria(criteria, pageable);
-        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+        Slice<Invoice> page = invoiceQueryService.findByCriteria(criteria, pageable, count);
+        HttpHeaders headers = SlicePaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
         return ResponseEntity.ok().headers(headers).body(page.getContent());
     }
 
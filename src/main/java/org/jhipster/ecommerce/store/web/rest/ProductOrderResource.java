@@ -1,29 +1,51 @@
 package org.jhipster.ecommerce.store.web.rest;
 
+import org.jhipster.ecommerce.store.domain.OrderItem;
+import org.jhipster.ecommerce.store.config.ApplicationProperties;
+import org.jhipster.ecommerce.store.config.ApplicationProperties.Pagination.CountStrategy;
 import org.jhipster.ecommerce.store.domain.ProductOrder;
 import org.jhipster.ecommerce.store.service.ProductOrderService;
 import org.jhipster.ecommerce.store.web.rest.errors.BadRequestAlertException;
+import org.jhipster.ecommerce.store.web.rest.util.SlicePaginationUtil;
 import org.jhipster.ecommerce.store.service.dto.ProductOrderCriteria;
+import org.jhipster.ecommerce.store.service.dto.ProductOrderCursor;
+import org.jhipster.ecommerce.store.service.dto.ProductOrderDetailsDTO;
+import org.jhipster.ecommerce.store.service.dto.ProductOrderExportDTO;
 import org.jhipster.ecommerce.store.service.ProductOrderQueryService;
 
 import io.github.jhipster.web.util.HeaderUtil;
-import io.github.jhipster.web.util.PaginationUtil;
 import io.github.jhipster.web.util.ResponseUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.data.domain.Page;
+import org.springframework.core.task.AsyncTaskExecutor;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.ContentDisposition;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.util.StringUtils;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncTask;
 
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Optional;
 
@@ -32,12 +54,23 @@ import java.util.Optional;
  */
 @RestController
 @RequestMapping("/api")
+@Validated
 public class ProductOrderResource {
 
     private final Logger log = LoggerFactory.getLogger(ProductOrderResource.class);
 
     private static final String ENTITY_NAME = "productOrder";
 
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private static final MediaType TEXT_CSV = new MediaType("text", "csv", StandardCharsets.UTF_8);
+
+    private static final MediaType APPLICATION_NDJSON = new MediaType("application", "x-ndjson", StandardCharsets.UTF_8);
+
+    private static final String CSV_HEADER = "id,placedDate,status,code,customerId";
+
+    private static final int MAX_BATCH_SIZE = 1000;
+
     @Value("${jhipster.clientApp.name}")
     private String applicationName;
 
@@ -45,9 +78,20 @@ public class ProductOrderResource {
 
     private final ProductOrderQueryService productOrderQueryService;
 
-    public ProductOrderResource(ProductOrderService productOrderService, ProductOrderQueryService productOrderQueryService) {
+    private final ObjectWriter exportWriter;
+
+    private final AsyncTaskExecutor exportTaskExecutor;
+
+    private final long exportTimeout;
+
+    public ProductOrderResource(ProductOrderService productOrderService, ProductOrderQueryService productOrderQueryService,
+                                ObjectMapper objectMapper, @Qualifier("exportTaskExecutor") AsyncTaskExecutor exportTaskExecutor,
+                                ApplicationProperties applicationProperties) {
         this.productOrderService = productOrderService;
         this.productOrderQueryService = productOrderQueryService;
+        this.exportWriter = objectMapper.writerFor(ProductOrderExportDTO.class);
+        this.exportTaskExecutor = exportTaskExecutor;
+        this.exportTimeout = applicationProperties.getExport().getTimeout().toMillis();
     }
 
     /**
@@ -70,6 +114,29 @@ public class ProductOrderResource {
             .body(result);
     }
 
+    /**
+     * {@code POST  /product-orders/batch} : Create new productOrders with their order items.
+     *
+     * @param productOrders the productOrders to create, each one with its order items.
+     * @return the {@link ResponseEntity} with status {@code 201 (Created)} and with body the new productOrders,
+     * or with status {@code 400 (Bad Request)} if a productOrder or an order item is not valid or has already an ID, or if there are too many productOrders.
+     */
+    @PostMapping("/product-orders/batch")
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    public ResponseEntity<List<ProductOrder>> createProductOrders(@RequestBody List<@Valid ProductOrder> productOrders) {
+        log.debug("REST request to save {} ProductOrders", productOrders.size());
+        if (productOrders.size() > MAX_BATCH_SIZE) {
+            throw new BadRequestAlertException("A batch cannot contain more than " + MAX_BATCH_SIZE + " productOrders", ENTITY_NAME, "batchtoolarge");
+        }
+        for (ProductOrder productOrder : productOrders) {
+            if (productOrder.getId() != null || productOrder.getOrderItems().stream().map(OrderItem::getId).anyMatch(id -> id != null)) {
+                throw new BadRequestAlertException("A new productOrder cannot already have an ID", ENTITY_NAME, "idexists");
+            }
+        }
+        List<ProductOrder> result = productOrderService.saveAll(productOrders);
+        return ResponseEntity.status(HttpStatus.CREATED).body(result);
+    }
+
     /**
      * {@code PUT  /product-orders} : Updates an existing productOrder.
      *
@@ -97,16 +164,130 @@ public class ProductOrderResource {
      *
      * @param pageable the pagination information.
      * @param criteria the criteria which the requested entities should match.
+     * @param count how the {@code X-Total-Count} header is computed: {@code EXACT}, {@code CACHED}, {@code ESTIMATED},
+     * or {@code NONE} to only link to the next page. Defaults to the strategy configured for the entity.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of productOrders in body.
      */
     @GetMapping("/product-orders")
-    public ResponseEntity<List<ProductOrder>> getAllProductOrders(ProductOrderCriteria criteria, Pageable pageable) {
+    public ResponseEntity<List<ProductOrder>> getAllProductOrders(ProductOrderCriteria criteria,
+                                                                  @RequestParam(value = "count", required = false) CountStrategy count,
+                                                                  Pageable pageable) {
         log.debug("REST request to get ProductOrders by criteria: {}", criteria);
-        Page<ProductOrder> page = productOrderQueryService.findByCriteria(criteria, pageable);
-        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+        Slice<ProductOrder> page = productOrderQueryService.findByCriteria(criteria, pageable, count);
+        HttpHeaders headers = SlicePaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
         return ResponseEntity.ok().headers(headers).body(page.getContent());
     }
 
+    /**
+     * {@code GET  /product-orders?cursor=} : get the productOrders using keyset pagination.
+     * <p>
+     * Orders are returned newest first, and no total count is computed. When more orders are available,
+     * the continuation token for the next slice is returned in the {@code X-Next-Cursor} header and in a {@code next} link.
+     *
+     * @param cursor the continuation token returned with the previous slice, or empty for the first slice.
+     * @param pageable the pagination information, only its size is used.
+     * @param criteria the criteria which the requested entities should match.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of productOrders in body,
+     * or with status {@code 400 (Bad Request)} if the continuation token is not valid.
+     */
+    @GetMapping(value = "/product-orders", params = "cursor")
+    public ResponseEntity<List<ProductOrder>> getAllProductOrdersByCursor(ProductOrderCriteria criteria,
+                                                                          @RequestParam(value = "cursor", required = false) String cursor,
+                                                                          Pageable pageable) {
+        log.debug("REST request to get ProductOrders by criteria: {}, cursor: {}", criteria, cursor);
+        ProductOrderCursor productOrderCursor = null;
+        if (StringUtils.hasText(cursor)) {
+            try {
+                productOrderCursor = ProductOrderCursor.decode(cursor);
+            } catch (IllegalArgumentException e) {
+                throw new BadRequestAlertException("Invalid continuation token", ENTITY_NAME, "cursorinvalid");
+            }
+        }
+        Slice<ProductOrder> slice = productOrderQueryService.findByCriteria(criteria, productOrderCursor, pageable.getPageSize());
+        HttpHeaders headers = new HttpHeaders();
+        if (slice.hasNext()) {
+            String nextCursor = ProductOrderCursor.of(slice.getContent().get(slice.getNumberOfElements() - 1)).encode();
+            String nextLink = ServletUriComponentsBuilder.fromCurrentRequest()
+                .replaceQueryParam("cursor", nextCursor)
+                .toUriString();
+            headers.add(NEXT_CURSOR_HEADER, nextCursor);
+            headers.add(HttpHeaders.LINK, "<" + nextLink + ">; rel=\"next\"");
+        }
+        return ResponseEntity.ok().headers(headers).body(slice.getContent());
+    }
+
+    /**
+     * {@code GET  /product-orders/export} : export all the productOrders matching the criteria.
+     * <p>
+     * Orders are written to the response one per line, as NDJSON or CSV, while they are read from the database,
+     * so that the export does not need to hold the whole result in memory nor to run a count query.
+     * <p>
+     * The rows are written on the export task executor, and the request times out after
+     * {@code application.export.timeout}.
+     *
+     * @param criteria the criteria which the requested entities should match.
+     * @param format the export format, {@code ndjson} (default) or {@code csv}.
+     * @param response the response to stream the orders to.
+     * @return the task streaming the orders, with status {@code 200 (OK)},
+     * or with status {@code 400 (Bad Request)} if the format is not supported.
+     */
+    @GetMapping("/product-orders/export")
+    public WebAsyncTask<Void> exportProductOrders(ProductOrderCriteria criteria,
+                                                  @RequestParam(value = "format", defaultValue = "ndjson") String format,
+                                                  HttpServletResponse response) {
+        log.debug("REST request to export ProductOrders by criteria: {}, format: {}", criteria, format);
+        boolean csv;
+        if ("csv".equalsIgnoreCase(format)) {
+            csv = true;
+        } else if ("ndjson".equalsIgnoreCase(format)) {
+            csv = false;
+        } else {
+            throw new BadRequestAlertException("Unsupported export format", ENTITY_NAME, "formatinvalid");
+        }
+        String filename = "product-orders." + (csv ? "csv" : "ndjson");
+        response.setContentType((csv ? TEXT_CSV : APPLICATION_NDJSON).toString());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.builder("attachment").filename(filename).build().toString());
+        return new WebAsyncTask<>(exportTimeout, exportTaskExecutor, () -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(response.getOutputStream(), StandardCharsets.UTF_8));
+            if (csv) {
+                writer.write(CSV_HEADER);
+                writer.write('\n');
+            }
+            try {
+                productOrderQueryService.exportByCriteria(criteria, row -> {
+                    try {
+                        writer.write(csv ? toCsvLine(row) : exportWriter.writeValueAsString(row));
+                        writer.write('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            writer.flush();
+            return null;
+        });
+    }
+
+    private static String toCsvLine(ProductOrderExportDTO row) {
+        return row.getId() + "," +
+            row.getPlacedDate() + "," +
+            row.getStatus() + "," +
+            toCsvField(row.getCode()) + "," +
+            row.getCustomerId();
+    }
+
+    private static String toCsvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.contains(",") || value.contains("\"") || value.contains("\n") || value.contains("\r")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+
     /**
      * {@code GET  /product-orders/count} : count all the productOrders.
      *
@@ -132,6 +313,19 @@ public class ProductOrderResource {
         return ResponseUtil.wrapOrNotFound(productOrder);
     }
 
+    /**
+     * {@code GET  /product-orders/:id/details} : get the "id" productOrder with its order items, products, invoices and shipments.
+     *
+     * @param id the id of the productOrder to retrieve.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the productOrder tree, or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping("/product-orders/{id}/details")
+    public ResponseEntity<ProductOrderDetailsDTO> getProductOrderDetails(@PathVariable Long id) {
+        log.debug("REST request to get ProductOrder details : {}", id);
+        Optional<ProductOrderDetailsDTO> productOrderDetails = productOrderService.findDetails(id);
+        return ResponseUtil.wrapOrNotFound(productOrderDetails);
+    }
+
     /**
      * {@code DELETE  /product-orders/:id} : delete the "id" productOrder.
      *
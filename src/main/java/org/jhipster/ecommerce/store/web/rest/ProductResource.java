@@ -12,16 +12,20 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import javax.validation.Valid;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 
@@ -114,6 +118,41 @@ public class ProductResource {
         return ResponseUtil.wrapOrNotFound(product);
     }
 
+    /**
+     * {@code GET  /products/:id/image} : get the image of the "id" product.
+     * <p>
+     * The image is served as raw bytes with its content type, and can be revalidated by the browser with
+     * {@code If-None-Match} or {@code If-Modified-Since}, in which case it is not loaded from the database.
+     *
+     * @param id the id of the product whose image to retrieve.
+     * @param request the current request, used to evaluate conditional headers.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the image,
+     * or with status {@code 304 (Not Modified)} if the client copy is still fresh,
+     * or with status {@code 404 (Not Found)} if the product has no image.
+     */
+    @GetMapping("/products/{id}/image")
+    public ResponseEntity<byte[]> getProductImage(@PathVariable Long id, WebRequest request) {
+        log.debug("REST request to get the image of Product : {}", id);
+        Optional<String> contentType = productService.findOne(id).map(Product::getImageContentType);
+        Optional<Instant> lastModifiedDate = productService.findImageLastModifiedDate(id);
+        if (!contentType.isPresent() || !lastModifiedDate.isPresent()) {
+            return ResponseEntity.notFound().build();
+        }
+        long lastModified = lastModifiedDate.get().toEpochMilli();
+        String eTag = "\"" + id + "-" + lastModified + "\"";
+        if (request.checkNotModified(eTag, lastModified)) {
+            return null;
+        }
+        return productService.findImage(id)
+            .map(productImage -> ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(contentType.get()))
+                .cacheControl(CacheControl.noCache().cachePublic())
+                .eTag(eTag)
+                .lastModified(lastModified)
+                .body(productImage.getImage()))
+            .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
     /**
      * {@code DELETE  /products/:id} : delete the "id" product.
      *
@@ -0,0 +1,55 @@
+package org.jhipster.ecommerce.store.web.rest;
+
+import org.jhipster.ecommerce.store.security.AuthoritiesConstants;
+import org.jhipster.ecommerce.store.service.SalesReportService;
+import org.jhipster.ecommerce.store.service.dto.SalesReportDTO;
+import org.jhipster.ecommerce.store.web.rest.errors.BadRequestAlertException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+
+/**
+ * REST controller for getting the sales reports, read from the sales rollups.
+ */
+@RestController
+@RequestMapping("/api/reports")
+public class SalesReportResource {
+
+    private final Logger log = LoggerFactory.getLogger(SalesReportResource.class);
+
+    private static final String ENTITY_NAME = "salesReport";
+
+    private final SalesReportService salesReportService;
+
+    public SalesReportResource(SalesReportService salesReportService) {
+        this.salesReportService = salesReportService;
+    }
+
+    /**
+     * {@code GET  /reports/sales} : get the sales between the {@code fromDate} and {@code toDate} days, by day and
+     * product category, and by day and payment method.
+     *
+     * @param fromDate the first day of the sales to get.
+     * @param toDate the last day of the sales to get.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the sales in body, or with status {@code 400 (Bad Request)} if {@code fromDate} is after {@code toDate}.
+     */
+    @GetMapping("/sales")
+    @PreAuthorize("hasAuthority(\"" + AuthoritiesConstants.ADMIN + "\")")
+    public ResponseEntity<SalesReportDTO> getSalesReport(
+        @RequestParam(value = "fromDate") LocalDate fromDate,
+        @RequestParam(value = "toDate") LocalDate toDate) {
+        log.debug("REST request to get the sales from {} to {}", fromDate, toDate);
+        if (fromDate.isAfter(toDate)) {
+            throw new BadRequestAlertException("The first day is after the last day", ENTITY_NAME, "daterangeinvalid");
+        }
+        return ResponseEntity.ok(salesReportService.getSalesReport(fromDate, toDate));
+    }
+}
@@ -1,5 +1,6 @@
 package org.jhipster.ecommerce.store.web.rest;
 
+import org.jhipster.ecommerce.store.security.BoundedPasswordEncoder;
 import org.jhipster.ecommerce.store.security.jwt.JWTFilter;
 import org.jhipster.ecommerce.store.security.jwt.TokenProvider;
 import org.jhipster.ecommerce.store.web.rest.vm.LoginVM;
@@ -12,10 +13,10 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.config.annotation.authentication.builders.AuthenticationManagerBuilder;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
 import javax.validation.Valid;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Controller to authenticate users.
@@ -28,24 +29,38 @@ public class UserJWTController {
 
     private final AuthenticationManagerBuilder authenticationManagerBuilder;
 
-    public UserJWTController(TokenProvider tokenProvider, AuthenticationManagerBuilder authenticationManagerBuilder) {
+    private final BoundedPasswordEncoder passwordEncoder;
+
+    public UserJWTController(TokenProvider tokenProvider, AuthenticationManagerBuilder authenticationManagerBuilder,
+                             BoundedPasswordEncoder passwordEncoder) {
         this.tokenProvider = tokenProvider;
         this.authenticationManagerBuilder = authenticationManagerBuilder;
+        this.passwordEncoder = passwordEncoder;
     }
 
+    /**
+     * {@code POST  /authenticate} : authenticate the user, on the password hashing pool so that the request thread is
+     * released while the password is checked.
+     *
+     * @param loginVM the login View Model.
+     * @return the future {@link ResponseEntity} with status {@code 200 (OK)} and the JWT in body and header.
+     * @throws org.jhipster.ecommerce.store.security.PasswordHashingRejectedException {@code 503 (Service Unavailable)} if too many passwords are being checked.
+     */
     @PostMapping("/authenticate")
-    public ResponseEntity<JWTToken> authorize(@Valid @RequestBody LoginVM loginVM) {
+    public CompletableFuture<ResponseEntity<JWTToken>> authorize(@Valid @RequestBody LoginVM loginVM) {
 
         UsernamePasswordAuthenticationToken authenticationToken =
             new UsernamePasswordAuthenticationToken(loginVM.getUsername(), loginVM.getPassword());
-
-        Authentication authentication = authenticationManagerBuilder.getObject().authenticate(authenticationToken);
-        SecurityContextHolder.getContext().setAuthentication(authentication);
         boolean rememberMe = (loginVM.isRememberMe() == null) ? false : loginVM.isRememberMe();
-        String jwt = tokenProvider.createToken(authentication, rememberMe);
-        HttpHeaders httpHeaders = new HttpHeaders();
-        httpHeaders.add(JWTFilter.AUTHORIZATION_HEADER, "Bearer " + jwt);
-        return new ResponseEntity<>(new JWTToken(jwt), httpHeaders, HttpStatus.OK);
+
+        return passwordEncoder.supplyAsync(() -> {
+            // The token is stateless, there is no security context to keep the authentication in
+            Authentication authentication = authenticationManagerBuilder.getObject().authenticate(authenticationToken);
+            String jwt = tokenProvider.createToken(authentication, rememberMe);
+            HttpHeaders httpHeaders = new HttpHeaders();
+            httpHeaders.add(JWTFilter.AUTHORIZATION_HEADER, "Bearer " + jwt);
+            return new ResponseEntity<>(new JWTToken(jwt), httpHeaders, HttpStatus.OK);
+        });
     }
     /**
      * Object to return as body in JWT Authentication.
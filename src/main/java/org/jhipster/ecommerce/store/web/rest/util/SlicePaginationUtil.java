@@ -0,0 +1,58 @@
+package org.jhipster.ecommerce.store.web.rest.util;
+
+import io.github.jhipster.web.util.PaginationUtil;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Utility class for handling pagination of {@link Slice}s, which may not know their total number of elements.
+ */
+public final class SlicePaginationUtil {
+
+    private SlicePaginationUtil() {
+    }
+
+    /**
+     * Generate pagination headers for a Spring Data {@link Slice} object.
+     * <p>
+     * A {@link Page} gets the same headers as with {@link PaginationUtil}. Any other slice gets a {@code Link} header
+     * with {@code next} (when there is a next slice), {@code prev} and {@code first} links, and no {@code X-Total-Count}.
+     *
+     * @param uriBuilder the current request URI builder.
+     * @param slice the slice.
+     * @param <T> the type of the elements.
+     * @return the HTTP headers.
+     */
+    public static <T> HttpHeaders generatePaginationHttpHeaders(UriComponentsBuilder uriBuilder, Slice<T> slice) {
+        if (slice instanceof Page) {
+            return PaginationUtil.generatePaginationHttpHeaders(uriBuilder, (Page<T>) slice);
+        }
+        int pageNumber = slice.getNumber();
+        int pageSize = slice.getSize();
+        List<String> links = new ArrayList<>();
+        if (slice.hasNext()) {
+            links.add(prepareLink(uriBuilder, pageNumber + 1, pageSize, "next"));
+        }
+        if (slice.hasPrevious()) {
+            links.add(prepareLink(uriBuilder, pageNumber - 1, pageSize, "prev"));
+        }
+        links.add(prepareLink(uriBuilder, 0, pageSize, "first"));
+        HttpHeaders headers = new HttpHeaders();
+        headers.add(HttpHeaders.LINK, String.join(",", links));
+        return headers;
+    }
+
+    private static String prepareLink(UriComponentsBuilder uriBuilder, int pageNumber, int pageSize, String relType) {
+        String uri = uriBuilder.replaceQueryParam("page", pageNumber)
+            .replaceQueryParam("size", pageSize)
+            .toUriString()
+            .replace(",", "%2C")
+            .replace(";", "%3B");
+        return "<" + uri + ">; rel=\"" + relType + "\"";
+    }
+}
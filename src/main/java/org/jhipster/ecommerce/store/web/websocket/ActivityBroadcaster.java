@@ -0,0 +1,209 @@
+package org.jhipster.ecommerce.store.web.websocket;
+
+import org.jhipster.ecommerce.store.config.ApplicationProperties;
+import org.jhipster.ecommerce.store.web.websocket.dto.ActivityDTO;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.core.ITopic;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.messaging.simp.SimpMessageSendingOperations;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+
+/**
+ * Sends the user activities to the trackers subscribed to {@code /topic/tracker}, in batches, on every member of the
+ * cluster.
+ * <p>
+ * The activities are collected by session during {@code application.tracker.window}, a new activity of a session
+ * replacing the one not sent yet, then published on a Hazelcast topic as lists of up to
+ * {@code application.tracker.max-batch-size} activities. Each member sends the lists it receives from the topic, its
+ * own included, to the trackers connected to it. A tracker thus gets one message per window and member whatever the
+ * number of users, with the last page of each session which changed.
+ * <p>
+ * The last activity of each session is also kept in a Hazelcast map, for the trackers to start from the sessions
+ * active on the whole cluster. A session is removed from it when it ends, or after
+ * {@code application.tracker.presence-time-to-live} without activity, should its member die.
+ */
+@Component
+public class ActivityBroadcaster {
+
+    /**
+     * Destination of the activity batches.
+     */
+    public static final String TRACKER_DESTINATION = "/topic/tracker";
+
+    /**
+     * Name of the Hazelcast topic the activity batches are published on.
+     */
+    public static final String ACTIVITY_TOPIC_NAME = "tracker.activities";
+
+    /**
+     * Name of the Hazelcast map of the last activity of the active sessions, by session id.
+     */
+    public static final String PRESENCE_MAP_NAME = "tracker.sessions";
+
+    /**
+     * Page of the activity sent when a session ends.
+     */
+    public static final String LOGOUT_PAGE = "logout";
+
+    private final Logger log = LoggerFactory.getLogger(ActivityBroadcaster.class);
+
+    private final SimpMessageSendingOperations messagingTemplate;
+
+    private final TaskScheduler taskScheduler;
+
+    private final ApplicationProperties.Tracker properties;
+
+    private final ITopic<List<ActivityDTO>> activityTopic;
+
+    private final IMap<String, ActivityDTO> presence;
+
+    private final Map<String, ActivityDTO> pending = new ConcurrentHashMap<>();
+
+    private final Counter received;
+
+    private final Counter published;
+
+    private final Counter sent;
+
+    private final Counter coalesced;
+
+    private final Counter batches;
+
+    private ScheduledFuture<?> flushTask;
+
+    private String listenerId;
+
+    public ActivityBroadcaster(SimpMessageSendingOperations messagingTemplate,
+                               @Qualifier("messageBrokerTaskScheduler") TaskScheduler taskScheduler,
+                               HazelcastInstance hazelcastInstance, ApplicationProperties applicationProperties,
+                               MeterRegistry meterRegistry) {
+        this.messagingTemplate = messagingTemplate;
+        this.taskScheduler = taskScheduler;
+        this.properties = applicationProperties.getTracker();
+        this.activityTopic = hazelcastInstance.getTopic(ACTIVITY_TOPIC_NAME);
+        this.presence = hazelcastInstance.getMap(PRESENCE_MAP_NAME);
+        this.received = Counter.builder("tracker.activities.received")
+            .description("The number of user activities received").register(meterRegistry);
+        this.published = Counter.builder("tracker.activities.published")
+            .description("The number of user activities published to the cluster").register(meterRegistry);
+        this.sent = Counter.builder("tracker.activities.sent")
+            .description("The number of user activities sent to the trackers").register(meterRegistry);
+        this.coalesced = Counter.builder("tracker.activities.dropped").tag("reason", "coalesced")
+            .description("The number of user activities replaced by a later activity of their session before being sent")
+            .register(meterRegistry);
+        this.batches = Counter.builder("tracker.batches.sent")
+            .description("The number of activity batches sent to the trackers").register(meterRegistry);
+        Gauge.builder("tracker.sessions.active", presence, Map::size)
+            .description("The number of active sessions in the cluster").register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        listenerId = activityTopic.addMessageListener(message -> send(message.getMessageObject()));
+        flushTask = taskScheduler.scheduleWithFixedDelay(this::flush, properties.getWindow());
+    }
+
+    /**
+     * Stop publishing the activities on schedule, then publish the pending ones.
+     */
+    @PreDestroy
+    public void stop() {
+        if (flushTask != null) {
+            flushTask.cancel(false);
+            flushTask = null;
+        }
+        flush();
+        if (listenerId != null) {
+            activityTopic.removeMessageListener(listenerId);
+            listenerId = null;
+        }
+    }
+
+    /**
+     * Queue an activity, replacing the pending one of its session.
+     *
+     * @param activityDTO the activity, with its session id.
+     */
+    public void submit(ActivityDTO activityDTO) {
+        received.increment();
+        if (pending.put(activityDTO.getSessionId(), activityDTO) != null) {
+            coalesced.increment();
+        }
+    }
+
+    /**
+     * Get the last activity of the sessions active on the cluster.
+     *
+     * @return the activities.
+     */
+    public List<ActivityDTO> getActiveSessions() {
+        return new ArrayList<>(presence.values());
+    }
+
+    /**
+     * Publish the pending activities, on the calling thread.
+     */
+    public void flush() {
+        List<ActivityDTO> batch = new ArrayList<>(Math.min(pending.size(), properties.getMaxBatchSize()));
+        for (String sessionId : pending.keySet()) {
+            // Removed one by one, an activity submitted meanwhile is either in this batch or in the next one
+            ActivityDTO activityDTO = pending.remove(sessionId);
+            if (activityDTO != null) {
+                batch.add(activityDTO);
+            }
+            if (batch.size() == properties.getMaxBatchSize()) {
+                publish(batch);
+                batch = new ArrayList<>(properties.getMaxBatchSize());
+            }
+        }
+        if (!batch.isEmpty()) {
+            publish(batch);
+        }
+    }
+
+    private void publish(List<ActivityDTO> batch) {
+        try {
+            Map<String, ActivityDTO> activeSessions = new HashMap<>();
+            for (ActivityDTO activityDTO : batch) {
+                if (LOGOUT_PAGE.equals(activityDTO.getPage())) {
+                    presence.removeAsync(activityDTO.getSessionId());
+                } else {
+                    activeSessions.put(activityDTO.getSessionId(), activityDTO);
+                }
+            }
+            presence.putAll(activeSessions);
+            activityTopic.publish(batch);
+            published.increment(batch.size());
+        } catch (RuntimeException e) {
+            // Keep the scheduled flush running, the activities of the next window will follow
+            log.warn("Could not publish {} user activities to the cluster: {}", batch.size(), e.getMessage());
+        }
+    }
+
+    private void send(List<ActivityDTO> batch) {
+        try {
+            messagingTemplate.convertAndSend(TRACKER_DESTINATION, batch);
+            sent.increment(batch.size());
+            batches.increment();
+        } catch (RuntimeException e) {
+            log.warn("Could not send {} user activities to the trackers: {}", batch.size(), e.getMessage());
+        }
+    }
+}
@@ -6,12 +6,13 @@ import org.jhipster.ecommerce.store.web.websocket.dto.ActivityDTO;
 
 import java.security.Principal;
 import java.time.Instant;
+import java.util.List;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.ApplicationListener;
 import org.springframework.messaging.handler.annotation.*;
-import org.springframework.messaging.simp.SimpMessageSendingOperations;
+import org.springframework.messaging.simp.annotation.SubscribeMapping;
 import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.socket.messaging.SessionDisconnectEvent;
@@ -21,28 +22,38 @@ public class ActivityService implements ApplicationListener<SessionDisconnectEve
 
     private static final Logger log = LoggerFactory.getLogger(ActivityService.class);
 
-    private final SimpMessageSendingOperations messagingTemplate;
+    private final ActivityBroadcaster activityBroadcaster;
 
-    public ActivityService(SimpMessageSendingOperations messagingTemplate) {
-        this.messagingTemplate = messagingTemplate;
+    public ActivityService(ActivityBroadcaster activityBroadcaster) {
+        this.activityBroadcaster = activityBroadcaster;
     }
 
     @MessageMapping("/topic/activity")
-    @SendTo("/topic/tracker")
-    public ActivityDTO sendActivity(@Payload ActivityDTO activityDTO, StompHeaderAccessor stompHeaderAccessor, Principal principal) {
+    public void sendActivity(@Payload ActivityDTO activityDTO, StompHeaderAccessor stompHeaderAccessor, Principal principal) {
         activityDTO.setUserLogin(principal.getName());
         activityDTO.setSessionId(stompHeaderAccessor.getSessionId());
         activityDTO.setIpAddress(stompHeaderAccessor.getSessionAttributes().get(IP_ADDRESS).toString());
         activityDTO.setTime(Instant.now());
         log.debug("Sending user tracking data {}", activityDTO);
-        return activityDTO;
+        activityBroadcaster.submit(activityDTO);
+    }
+
+    /**
+     * Reply to a new tracker with the last activity of the sessions active on the cluster, the following ones coming
+     * from the topic it subscribes to.
+     *
+     * @return the activities.
+     */
+    @SubscribeMapping("/topic/tracker")
+    public List<ActivityDTO> subscribeTracker() {
+        return activityBroadcaster.getActiveSessions();
     }
 
     @Override
     public void onApplicationEvent(SessionDisconnectEvent event) {
         ActivityDTO activityDTO = new ActivityDTO();
         activityDTO.setSessionId(event.getSessionId());
-        activityDTO.setPage("logout");
-        messagingTemplate.convertAndSend("/topic/tracker", activityDTO);
+        activityDTO.setPage(ActivityBroadcaster.LOGOUT_PAGE);
+        activityBroadcaster.submit(activityDTO);
     }
 }
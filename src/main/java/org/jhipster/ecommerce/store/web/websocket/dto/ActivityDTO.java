@@ -1,11 +1,14 @@
 package org.jhipster.ecommerce.store.web.websocket.dto;
 
+import java.io.Serializable;
 import java.time.Instant;
 
 /**
  * DTO for storing a user's activity.
  */
-public class ActivityDTO {
+public class ActivityDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     private String sessionId;
 
@@ -76,7 +76,9 @@ export class TrackerService {
     this.connectionSubscription = this.connectionSubject.subscribe(() => {
       if (this.stompClient) {
         this.stompSubscription = this.stompClient.subscribe('/topic/tracker', (data: Stomp.Message) => {
-          this.listenerSubject.next(JSON.parse(data.body));
+          // The activities come in batches, holding the last activity of each session since the previous batch
+          const activities: TrackerActivity[] = JSON.parse(data.body);
+          activities.forEach(activity => this.listenerSubject.next(activity));
         });
       }
     });
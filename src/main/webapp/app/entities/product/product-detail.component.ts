@@ -3,6 +3,7 @@ import { ActivatedRoute } from '@angular/router';
 import { JhiDataUtils } from 'ng-jhipster';
 
 import { IProduct } from 'app/shared/model/product.model';
+import { ProductService } from './product.service';
 
 @Component({
   selector: 'jhi-product-detail',
@@ -11,7 +12,7 @@ import { IProduct } from 'app/shared/model/product.model';
 export class ProductDetailComponent implements OnInit {
   product: IProduct | null = null;
 
-  constructor(protected dataUtils: JhiDataUtils, protected activatedRoute: ActivatedRoute) {}
+  constructor(protected dataUtils: JhiDataUtils, protected activatedRoute: ActivatedRoute, protected productService: ProductService) {}
 
   ngOnInit(): void {
     this.activatedRoute.data.subscribe(({ product }) => (this.product = product));
@@ -25,6 +26,10 @@ export class ProductDetailComponent implements OnInit {
     this.dataUtils.openFile(contentType, base64String);
   }
 
+  imageUrl(product: IProduct): string {
+    return this.productService.imageUrl(product.id!);
+  }
+
   previousState(): void {
     window.history.back();
   }
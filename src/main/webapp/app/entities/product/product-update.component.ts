@@ -70,6 +70,10 @@ export class ProductUpdateComponent implements OnInit {
     this.dataUtils.openFile(contentType, base64String);
   }
 
+  imageUrl(id: number): string {
+    return this.productService.imageUrl(id);
+  }
+
   setFileData(event: any, field: string, isImage: boolean): void {
     this.dataUtils.loadFileToForm(event, this.editForm, field, isImage).subscribe(null, (err: JhiFileLoadError) => {
       this.eventManager.broadcast(
@@ -89,6 +89,10 @@ export class ProductComponent implements OnInit, OnDestroy {
     return this.dataUtils.openFile(contentType, base64String);
   }
 
+  imageUrl(product: IProduct): string {
+    return this.productService.imageUrl(product.id!);
+  }
+
   registerChangeInProducts(): void {
     this.eventSubscriber = this.eventManager.subscribe('productListModification', () => this.loadPage());
   }
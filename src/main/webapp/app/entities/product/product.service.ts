@@ -32,6 +32,10 @@ export class ProductService {
     return this.http.get<IProduct[]>(this.resourceUrl, { params: options, observe: 'response' });
   }
 
+  imageUrl(id: number): string {
+    return `${this.resourceUrl}/${id}/image`;
+  }
+
   delete(id: number): Observable<HttpResponse<{}>> {
     return this.http.delete(`${this.resourceUrl}/${id}`, { observe: 'response' });
   }
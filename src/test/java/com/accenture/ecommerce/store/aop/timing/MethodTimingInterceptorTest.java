@@ -0,0 +1,114 @@
+package org.jhipster.ecommerce.store.aop.timing;
+
+import org.jhipster.ecommerce.store.config.ApplicationProperties;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for {@link MethodTimingInterceptor}.
+ */
+public class MethodTimingInterceptorTest {
+
+    private ApplicationProperties.MethodTiming properties;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    public void setup() {
+        properties = new ApplicationProperties.MethodTiming();
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    public void testCallsAreTimedByClassAndMethod() {
+        SampleService sampleService = proxy();
+
+        sampleService.find();
+        sampleService.find();
+        sampleService.save();
+
+        assertThat(timer("find").count()).isEqualTo(2);
+        assertThat(timer("find").totalTime(TimeUnit.NANOSECONDS)).isPositive();
+        assertThat(timer("save").count()).isEqualTo(1);
+    }
+
+    @Test
+    public void testFailedCallsAreTimed() {
+        SampleService sampleService = proxy();
+
+        assertThatThrownBy(sampleService::fail).isInstanceOf(IllegalStateException.class);
+
+        assertThat(timer("fail").count()).isEqualTo(1);
+    }
+
+    @Test
+    public void testNoCallIsTimedWithoutSampling() {
+        properties.setSampleRate(0);
+        SampleService sampleService = proxy();
+
+        sampleService.find();
+
+        assertThat(meterRegistry.find(MethodTimingInterceptor.TIMER_NAME).timers()).isEmpty();
+    }
+
+    @Test
+    public void testSomeCallsAreTimedWithSampling() {
+        properties.setSampleRate(0.5);
+        SampleService sampleService = proxy();
+
+        for (int i = 0; i < 1000; i++) {
+            sampleService.find();
+        }
+
+        assertThat(timer("find").count()).isBetween(300L, 700L);
+    }
+
+    @Test
+    public void testIncludeAndExcludeLists() {
+        properties.setInclude(Collections.singletonList("SampleService.*"));
+        properties.setExclude(Arrays.asList("*.save", "Other*.*"));
+        SampleService sampleService = proxy();
+
+        sampleService.find();
+        sampleService.save();
+
+        assertThat(timer("find").count()).isEqualTo(1);
+        assertThat(meterRegistry.find(MethodTimingInterceptor.TIMER_NAME).tag("method", "save").timer()).isNull();
+    }
+
+    private SampleService proxy() {
+        ProxyFactory proxyFactory = new ProxyFactory(new SampleService());
+        proxyFactory.addAdvice(new MethodTimingInterceptor(meterRegistry, properties));
+        return (SampleService) proxyFactory.getProxy();
+    }
+
+    private Timer timer(String method) {
+        return meterRegistry.get(MethodTimingInterceptor.TIMER_NAME).tag("class", "SampleService").tag("method", method).timer();
+    }
+
+    public static class SampleService {
+
+        public String find() {
+            return "found";
+        }
+
+        public void save() {
+            // Nothing to save
+        }
+
+        public void fail() {
+            throw new IllegalStateException("Failed");
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package org.jhipster.ecommerce.store.config;
+
+import io.github.jhipster.config.JHipsterProperties;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.MapConfig;
+import com.hazelcast.config.MaxSizeConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for the second-level cache regions of {@link CacheConfiguration}.
+ */
+public class CacheConfigurationTest {
+
+    private static final String PRODUCT_REGION = CacheConfiguration.DOMAIN_REGION_PREFIX + "Product";
+
+    private static final String ORDER_ITEMS_REGION = CacheConfiguration.DOMAIN_REGION_PREFIX + "ProductOrder.orderItems";
+
+    private static final String CUSTOMER_REGION = CacheConfiguration.DOMAIN_REGION_PREFIX + "Customer";
+
+    private JHipsterProperties jHipsterProperties;
+
+    private ApplicationProperties applicationProperties;
+
+    private Config config;
+
+    @BeforeEach
+    public void setup() {
+        jHipsterProperties = new JHipsterProperties();
+        jHipsterProperties.getCache().getHazelcast().setTimeToLiveSeconds(3600);
+        applicationProperties = new ApplicationProperties();
+        ApplicationProperties.Cache cache = applicationProperties.getCache();
+        cache.getDefaultRegion().setMaxSize(5000);
+
+        ApplicationProperties.Region product = new ApplicationProperties.Region();
+        product.setTimeToLive(Duration.ofMinutes(10));
+        product.setMaxSize(1000);
+        product.getNearCache().setEnabled(true);
+        cache.getRegions().put("Product", product);
+
+        ApplicationProperties.Region orderItems = new ApplicationProperties.Region();
+        orderItems.setMaxSize(2000);
+        orderItems.setMaxIdle(Duration.ofMinutes(10));
+        cache.getRegions().put("ProductOrder.orderItems", orderItems);
+
+        config = new CacheConfiguration(new MockEnvironment()).hazelcastConfig(jHipsterProperties, applicationProperties);
+    }
+
+    @Test
+    public void testNamedRegionsHaveTheirOwnMapConfig() {
+        MapConfig product = config.getMapConfigs().get(PRODUCT_REGION);
+        assertThat(product).isNotNull();
+        assertThat(product.getTimeToLiveSeconds()).isEqualTo(600);
+        assertThat(product.getMaxSizeConfig().getSize()).isEqualTo(1000);
+        assertThat(product.getMaxSizeConfig().getMaxSizePolicy()).isEqualTo(MaxSizeConfig.MaxSizePolicy.PER_NODE);
+        assertThat(product.getNearCacheConfig()).isNotNull();
+        assertThat(product.getNearCacheConfig().isInvalidateOnChange()).isTrue();
+
+        // Without a time to live of its own, a region keeps its entries for the JHipster time to live
+        MapConfig orderItems = config.getMapConfigs().get(ORDER_ITEMS_REGION);
+        assertThat(orderItems).isNotNull();
+        assertThat(orderItems.getTimeToLiveSeconds()).isEqualTo(3600);
+        assertThat(orderItems.getMaxSizeConfig().getSize()).isEqualTo(2000);
+        assertThat(orderItems.getMaxIdleSeconds()).isEqualTo(600);
+        assertThat(orderItems.getNearCacheConfig()).isNull();
+    }
+
+    @Test
+    public void testOtherRegionsFallBackToTheDefaultRegion() {
+        assertThat(config.getMapConfigs()).doesNotContainKey(CUSTOMER_REGION);
+
+        MapConfig customer = config.findMapConfig(CUSTOMER_REGION);
+
+        assertThat(customer.getTimeToLiveSeconds()).isEqualTo(3600);
+        assertThat(customer.getMaxSizeConfig().getSize()).isEqualTo(5000);
+        assertThat(customer.getNearCacheConfig()).isNull();
+        // The configuration of a named region is found under its own name, not the wildcard
+        assertThat(config.findMapConfig(PRODUCT_REGION).getMaxSizeConfig().getSize()).isEqualTo(1000);
+    }
+}
@@ -0,0 +1,105 @@
+package org.jhipster.ecommerce.store.config;
+
+import com.hazelcast.core.EntryEvent;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.map.listener.EntryEvictedListener;
+import com.hazelcast.map.listener.MapListener;
+import com.hazelcast.monitor.LocalMapStats;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.hibernate.cache.spi.CacheImplementor;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import javax.persistence.EntityManagerFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link CacheRegionMetrics}.
+ */
+public class CacheRegionMetricsTest {
+
+    private static final String PRODUCT_REGION = CacheConfiguration.DOMAIN_REGION_PREFIX + "Product";
+
+    private static final String ORDER_ITEMS_REGION = CacheConfiguration.DOMAIN_REGION_PREFIX + "ProductOrder.orderItems";
+
+    private static final String QUERY_REGION = "default-query-results-region";
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private HazelcastInstance hazelcastInstance;
+
+    private IMap<Object, Object> productMap;
+
+    private IMap<Object, Object> orderItemsMap;
+
+    private CacheRegionMetrics cacheRegionMetrics;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        CacheImplementor cache = mock(CacheImplementor.class);
+        when(cache.getSecondLevelCacheRegionNames()).thenReturn(new String[]{PRODUCT_REGION, ORDER_ITEMS_REGION, QUERY_REGION});
+        SessionFactoryImplementor sessionFactory = mock(SessionFactoryImplementor.class);
+        when(sessionFactory.getCache()).thenReturn(cache);
+        EntityManagerFactory entityManagerFactory = mock(EntityManagerFactory.class);
+        when(entityManagerFactory.unwrap(SessionFactoryImplementor.class)).thenReturn(sessionFactory);
+
+        productMap = mockMap(PRODUCT_REGION);
+        orderItemsMap = mockMap(ORDER_ITEMS_REGION);
+        hazelcastInstance = mock(HazelcastInstance.class);
+        when(hazelcastInstance.getMap(PRODUCT_REGION)).thenReturn(productMap);
+        when(hazelcastInstance.getMap(ORDER_ITEMS_REGION)).thenReturn(orderItemsMap);
+
+        cacheRegionMetrics = new CacheRegionMetrics(entityManagerFactory, hazelcastInstance, meterRegistry);
+    }
+
+    @Test
+    public void testEntityAndCollectionRegionsAreBound() {
+        cacheRegionMetrics.onApplicationEvent(null);
+
+        for (String region : new String[]{PRODUCT_REGION, ORDER_ITEMS_REGION}) {
+            assertThat(meterRegistry.find("cache.gets").tags("name", region, "cacheManager", "hibernate", "result", "hit")
+                .functionCounter()).as("hits of %s", region).isNotNull();
+            assertThat(meterRegistry.find("cache.size").tags("name", region, "cacheManager", "hibernate").gauge())
+                .as("size of %s", region).isNotNull();
+            assertThat(meterRegistry.find("cache.evictions").tags("name", region, "cacheManager", "hibernate").counter())
+                .as("evictions of %s", region).isNotNull();
+        }
+        // The regions outside of the domain are not bound
+        verify(hazelcastInstance, never()).getMap(QUERY_REGION);
+        assertThat(meterRegistry.find("cache.gets").tag("name", QUERY_REGION).meters()).isEmpty();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testEvictionsAreCounted() {
+        cacheRegionMetrics.onApplicationEvent(null);
+        ArgumentCaptor<MapListener> listener = ArgumentCaptor.forClass(MapListener.class);
+        verify(productMap).addLocalEntryListener(listener.capture());
+
+        ((EntryEvictedListener<Object, Object>) listener.getValue()).entryEvicted(mock(EntryEvent.class));
+        ((EntryEvictedListener<Object, Object>) listener.getValue()).entryEvicted(mock(EntryEvent.class));
+
+        assertThat(meterRegistry.get("cache.evictions").tag("name", PRODUCT_REGION).counter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("cache.evictions").tag("name", ORDER_ITEMS_REGION).counter().count()).isEqualTo(0);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static IMap<Object, Object> mockMap(String name) {
+        IMap<Object, Object> map = mock(IMap.class);
+        when(map.getName()).thenReturn(name);
+        when(map.getLocalMapStats()).thenReturn(mock(LocalMapStats.class));
+        when(map.addLocalEntryListener(any(MapListener.class))).thenReturn("listener");
+        return map;
+    }
+}
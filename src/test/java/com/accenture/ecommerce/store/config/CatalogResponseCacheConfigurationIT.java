@@ -0,0 +1,149 @@
+package org.jhipster.ecommerce.store.config;
+
+import org.jhipster.ecommerce.store.StoreApp;
+import org.jhipster.ecommerce.store.domain.Product;
+import org.jhipster.ecommerce.store.service.CatalogResponseCache;
+import org.jhipster.ecommerce.store.service.CatalogResponseCache.CachedResponse;
+import org.jhipster.ecommerce.store.service.ProductService;
+import org.jhipster.ecommerce.store.web.rest.ProductResourceIT;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StreamUtils;
+
+import javax.persistence.EntityManager;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for the catalog response cache of {@link CatalogResponseCacheConfiguration}.
+ */
+@SpringBootTest(classes = StoreApp.class, properties = {
+    "application.catalog-cache.enabled=true",
+    "application.catalog-cache.gzip-min-size=0"
+})
+@AutoConfigureMockMvc
+@WithMockUser(authorities = "ROLE_ADMIN")
+public class CatalogResponseCacheConfigurationIT {
+
+    private static final String PRODUCTS_URL = "/api/products?sort=id,desc";
+
+    @Autowired
+    private CatalogResponseCache catalogResponseCache;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    public void initTest() {
+        catalogResponseCache.evictProductCategories();
+    }
+
+    @Test
+    public void testListIsCachedWithETag() throws Exception {
+        MvcResult first = mockMvc.perform(get(PRODUCTS_URL))
+            .andExpect(status().isOk())
+            .andExpect(header().exists(HttpHeaders.ETAG))
+            .andExpect(header().exists("X-Total-Count"))
+            .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING))
+            .andReturn();
+        String eTag = first.getResponse().getHeader(HttpHeaders.ETAG);
+
+        MvcResult second = mockMvc.perform(get(PRODUCTS_URL))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, eTag))
+            .andExpect(header().string("X-Total-Count", first.getResponse().getHeader("X-Total-Count")))
+            .andExpect(header().string(HttpHeaders.LINK, first.getResponse().getHeader(HttpHeaders.LINK)))
+            .andReturn();
+        assertThat(second.getResponse().getContentAsByteArray()).isEqualTo(first.getResponse().getContentAsByteArray());
+
+        mockMvc.perform(get(PRODUCTS_URL).header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isNotModified());
+    }
+
+    @Test
+    public void testGzippedListHasItsOwnETag() throws Exception {
+        MvcResult identity = mockMvc.perform(get(PRODUCTS_URL))
+            .andExpect(status().isOk())
+            .andReturn();
+        MvcResult gzipped = mockMvc.perform(get(PRODUCTS_URL).header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+            .andReturn();
+
+        String eTag = gzipped.getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(eTag).isNotEqualTo(identity.getResponse().getHeader(HttpHeaders.ETAG)).endsWith("-gzip\"");
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzipped.getResponse().getContentAsByteArray()))) {
+            assertThat(StreamUtils.copyToByteArray(in)).isEqualTo(identity.getResponse().getContentAsByteArray());
+        }
+        mockMvc.perform(get(PRODUCTS_URL).header(HttpHeaders.ACCEPT_ENCODING, "gzip").header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isNotModified());
+    }
+
+    @Test
+    public void testListIsEvictedWhenAProductIsSaved() throws Exception {
+        String eTag = mockMvc.perform(get(PRODUCTS_URL))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        Product product = transactionTemplate.execute(status -> productService.save(ProductResourceIT.createEntity(em)));
+        try {
+            mockMvc.perform(get(PRODUCTS_URL).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, not(eTag)));
+        } finally {
+            transactionTemplate.executeWithoutResult(status -> productService.delete(product.getId()));
+        }
+
+        mockMvc.perform(get(PRODUCTS_URL).header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isNotModified());
+    }
+
+    @Test
+    public void testResponseReadBeforeAnEvictionIsNotServedAfterIt() {
+        String requestKey = "http://localhost" + PRODUCTS_URL + "&";
+        String key = catalogResponseCache.currentKey(CatalogResponseCache.PRODUCTS, requestKey);
+
+        catalogResponseCache.evictProducts();
+        catalogResponseCache.put(CatalogResponseCache.PRODUCTS, key,
+            CachedResponse.of(Collections.emptyMap(), "[]".getBytes(StandardCharsets.UTF_8), 0));
+
+        String currentKey = catalogResponseCache.currentKey(CatalogResponseCache.PRODUCTS, requestKey);
+        assertThat(currentKey).isNotEqualTo(key);
+        assertThat(catalogResponseCache.get(CatalogResponseCache.PRODUCTS, currentKey)).isNull();
+    }
+
+    @Test
+    public void testRequestWithOtherParameterIsNotCached() throws Exception {
+        mockMvc.perform(get("/api/products?eagerload=true"))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist(HttpHeaders.ETAG));
+    }
+}
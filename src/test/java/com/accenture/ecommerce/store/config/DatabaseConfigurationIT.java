@@ -0,0 +1,68 @@
+package org.jhipster.ecommerce.store.config;
+
+import org.jhipster.ecommerce.store.StoreApp;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for the read replica routing of {@link DatabaseConfiguration}, with a second H2 database.
+ */
+@SpringBootTest(classes = StoreApp.class, properties = {
+    "application.datasource.replicas[0].url=jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+    "spring.datasource.hikari.pool-name=Hikari",
+    "spring.datasource.hikari.maximum-pool-size=7"
+})
+public class DatabaseConfigurationIT {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private HikariDataSource primaryDataSource;
+
+    @Test
+    public void testReadOnlyTransactionsReadFromReplica() {
+        assertThat(readDatabaseName(true)).isEqualTo("REPLICA");
+        assertThat(readDatabaseName(false)).isEqualTo("STORE");
+    }
+
+    @Test
+    public void testPrimaryPoolIsConfiguredLikeTheDefaultOne() {
+        assertThat(primaryDataSource.isAutoCommit()).isFalse();
+        assertThat(primaryDataSource.getMaximumPoolSize()).isEqualTo(7);
+        assertThat(primaryDataSource.getPoolName()).isEqualTo("primary");
+    }
+
+    @Test
+    public void testEachPoolHasMetrics() {
+        readDatabaseName(true);
+        readDatabaseName(false);
+
+        assertThat(meterRegistry.find("hikaricp.connections").tag("pool", "primary").gauge()).isNotNull();
+        assertThat(meterRegistry.find("hikaricp.connections").tag("pool", "primary-replica-1").gauge()).isNotNull();
+    }
+
+    private String readDatabaseName(boolean readOnly) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(readOnly);
+        return transactionTemplate.execute(status ->
+            new JdbcTemplate(dataSource).queryForObject("SELECT DATABASE()", String.class));
+    }
+}
@@ -0,0 +1,75 @@
+package org.jhipster.ecommerce.store.config;
+
+import org.jhipster.ecommerce.store.StoreApp;
+import org.jhipster.ecommerce.store.aop.timing.MethodTimingInterceptor;
+import org.jhipster.ecommerce.store.service.ProductCategoryService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aopalliance.aop.Advice;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.framework.Advised;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.interceptor.TransactionInterceptor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for the method timing of {@link MethodTimingConfiguration}.
+ */
+@SpringBootTest(classes = StoreApp.class, properties = {
+    "application.method-timing.enabled=true",
+    "application.method-timing.exclude=ProductCategoryService.findOne"
+})
+@AutoConfigureMockMvc
+@WithMockUser(authorities = "ROLE_ADMIN")
+public class MethodTimingConfigurationIT {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ProductCategoryService productCategoryService;
+
+    @Test
+    public void testRestAndServiceMethodsAreTimed() throws Exception {
+        mockMvc.perform(get("/api/product-categories"))
+            .andExpect(status().isOk());
+        mockMvc.perform(get("/api/product-categories/{id}", Long.MAX_VALUE))
+            .andExpect(status().isNotFound());
+
+        assertThat(timerCount("ProductCategoryResource", "getAllProductCategories")).isEqualTo(1);
+        assertThat(timerCount("ProductCategoryService", "findAll")).isEqualTo(1);
+        assertThat(meterRegistry.find(MethodTimingInterceptor.TIMER_NAME)
+            .tag("class", "ProductCategoryService").tag("method", "findOne").timer()).isNull();
+    }
+
+    @Test
+    public void testTimingIsOutsideOfTheTransaction() {
+        List<Class<?>> advices = new ArrayList<>();
+        for (Advisor advisor : ((Advised) productCategoryService).getAdvisors()) {
+            Advice advice = advisor.getAdvice();
+            if (advice instanceof MethodTimingInterceptor || advice instanceof TransactionInterceptor) {
+                advices.add(advice.getClass());
+            }
+        }
+
+        assertThat(advices).containsExactly(MethodTimingInterceptor.class, TransactionInterceptor.class);
+    }
+
+    private long timerCount(String className, String method) {
+        return meterRegistry.get(MethodTimingInterceptor.TIMER_NAME).tag("class", className).tag("method", method).timer().count();
+    }
+}
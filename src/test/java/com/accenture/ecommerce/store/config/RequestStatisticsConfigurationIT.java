@@ -0,0 +1,102 @@
+package org.jhipster.ecommerce.store.config;
+
+import org.jhipster.ecommerce.store.StoreApp;
+import org.jhipster.ecommerce.store.web.rest.ProductCategoryResourceIT;
+import org.jhipster.ecommerce.store.web.rest.TestUtil;
+import org.jhipster.ecommerce.store.web.rest.vm.LoginVM;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.matchesPattern;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for the per request Hibernate statistics of {@link RequestStatisticsConfiguration}.
+ */
+@SpringBootTest(classes = StoreApp.class, properties = "application.request-statistics.enabled=true")
+@AutoConfigureMockMvc
+@WithMockUser(authorities = "ROLE_ADMIN")
+public class RequestStatisticsConfigurationIT {
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    @Transactional
+    public void testStatisticsAreSentAndRecordedByEndpoint() throws Exception {
+        em.persist(ProductCategoryResourceIT.createEntity(em));
+        em.persist(ProductCategoryResourceIT.createEntity(em));
+        em.flush();
+        em.clear();
+
+        mockMvc.perform(get("/api/product-categories"))
+            .andExpect(status().isOk())
+            .andExpect(header().string("Server-Timing", matchesPattern("db;desc=\"[1-9]\\d* statements\";dur=[\\d.]+, .*")))
+            .andExpect(header().string("Server-Timing", containsString("load;desc=\"2 entities\"")));
+
+        DistributionSummary statements = meterRegistry.find("hibernate.request.statements")
+            .tags("method", "GET", "uri", "/api/product-categories").summary();
+        assertThat(statements).isNotNull();
+        assertThat(statements.count()).isEqualTo(1);
+        assertThat(statements.totalAmount()).isPositive();
+        DistributionSummary entityLoads = meterRegistry.find("hibernate.request.entity.loads")
+            .tags("method", "GET", "uri", "/api/product-categories").summary();
+        assertThat(entityLoads.totalAmount()).isEqualTo(2);
+    }
+
+    @Test
+    public void testResponseWithoutBodyHasServerTiming() throws Exception {
+        mockMvc.perform(get("/api/product-categories/{id}", Long.MAX_VALUE))
+            .andExpect(status().isNotFound())
+            .andExpect(header().exists("Server-Timing"));
+    }
+
+    @Test
+    public void testAsyncRequestIsRecordedOnceAfterItsAsyncDispatch() throws Exception {
+        LoginVM login = new LoginVM();
+        login.setUsername("request-statistics-user");
+        login.setPassword("wrong password");
+        MvcResult result = mockMvc.perform(post("/api/authenticate")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(TestUtil.convertObjectToJsonBytes(login)))
+            .andExpect(request().asyncStarted())
+            .andExpect(header().doesNotExist("Server-Timing"))
+            .andReturn();
+        assertThat(meterRegistry.find("hibernate.request.statements").tags("method", "POST", "uri", "/api/authenticate")
+            .summary()).isNull();
+
+        mockMvc.perform(asyncDispatch(result))
+            .andExpect(status().isUnauthorized())
+            .andExpect(header().string("Server-Timing", matchesPattern("db;desc=\"\\d+ statements\";dur=[\\d.]+, .*")));
+
+        DistributionSummary statements = meterRegistry.find("hibernate.request.statements")
+            .tags("method", "POST", "uri", "/api/authenticate").summary();
+        assertThat(statements).isNotNull();
+        assertThat(statements.count()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,122 @@
+package org.jhipster.ecommerce.store.config.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test class for the {@link ReadWriteRoutingDataSource}, with two in-memory H2 databases which tell each other apart.
+ */
+public class ReadWriteRoutingDataSourceTest {
+
+    private static final String UNREACHABLE_URL = "jdbc:h2:tcp://localhost:1/unreachable";
+
+    private DataSource primary;
+
+    private DataSource replica;
+
+    @BeforeEach
+    public void setup() {
+        primary = createDatabase("primary");
+        replica = createDatabase("replica");
+    }
+
+    @AfterEach
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+        new JdbcTemplate(primary).execute("DROP TABLE database_name");
+        new JdbcTemplate(replica).execute("DROP TABLE database_name");
+    }
+
+    @Test
+    public void testReadOnlyTransactionReadsFromReplica() {
+        DataSource dataSource = createRoutingDataSource(false, replica);
+
+        assertThat(readDatabaseName(dataSource, true)).isEqualTo("replica");
+    }
+
+    @Test
+    public void testReadWriteTransactionReadsFromPrimary() {
+        DataSource dataSource = createRoutingDataSource(false, replica);
+
+        assertThat(readDatabaseName(dataSource, false)).isEqualTo("primary");
+    }
+
+    @Test
+    public void testNoTransactionReadsFromPrimary() {
+        DataSource dataSource = createRoutingDataSource(false, replica);
+
+        assertThat(new JdbcTemplate(dataSource).queryForObject("SELECT name FROM database_name", String.class))
+            .isEqualTo("primary");
+    }
+
+    @Test
+    public void testUnavailableReplicaFallsBackToNextDatabase() {
+        DataSource unreachable = new DriverManagerDataSource(UNREACHABLE_URL, "sa", "");
+
+        assertThat(readDatabaseName(createRoutingDataSource(false, unreachable), true)).isEqualTo("primary");
+        assertThat(readDatabaseName(createRoutingDataSource(false, unreachable, replica), true)).isEqualTo("replica");
+    }
+
+    @Test
+    public void testReadYourWritesPinsRequestToPrimary() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        DataSource dataSource = createRoutingDataSource(true, replica);
+
+        assertThat(readDatabaseName(dataSource, true)).isEqualTo("replica");
+        assertThat(readDatabaseName(dataSource, false)).isEqualTo("primary");
+        assertThat(readDatabaseName(dataSource, true)).isEqualTo("primary");
+
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        assertThat(readDatabaseName(dataSource, true)).isEqualTo("replica");
+    }
+
+    @Test
+    public void testReadYourWritesDisabled() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        DataSource dataSource = createRoutingDataSource(false, replica);
+
+        readDatabaseName(dataSource, false);
+
+        assertThat(readDatabaseName(dataSource, true)).isEqualTo("replica");
+    }
+
+    private static DataSource createDatabase(String name) {
+        DataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE database_name (name VARCHAR(20))");
+        jdbcTemplate.update("INSERT INTO database_name VALUES (?)", name);
+        return dataSource;
+    }
+
+    private DataSource createRoutingDataSource(boolean readYourWrites, DataSource... replicas) {
+        Map<String, DataSource> replicasByName = new LinkedHashMap<>();
+        for (int i = 0; i < replicas.length; i++) {
+            replicasByName.put("replica-" + (i + 1), replicas[i]);
+        }
+        return new LazyConnectionDataSourceProxy(
+            new ReadWriteRoutingDataSource(primary, replicasByName, readYourWrites, Duration.ofMinutes(1)));
+    }
+
+    private static String readDatabaseName(DataSource dataSource, boolean readOnly) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        transactionTemplate.setReadOnly(readOnly);
+        return transactionTemplate.execute(status ->
+            new JdbcTemplate(dataSource).queryForObject("SELECT name FROM database_name", String.class));
+    }
+}
@@ -0,0 +1,126 @@
+package org.jhipster.ecommerce.store.config.hazelcast;
+
+import org.jhipster.ecommerce.store.domain.Authority;
+import org.jhipster.ecommerce.store.domain.User;
+import org.jhipster.ecommerce.store.security.AuthoritiesConstants;
+import org.jhipster.ecommerce.store.service.CatalogResponseCache.CachedResponse;
+
+import com.hazelcast.config.SerializationConfig;
+import com.hazelcast.hibernate.serialization.CacheEntryImpl;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.nio.serialization.Data;
+import org.hibernate.cache.spi.entry.CacheEntry;
+import org.hibernate.cache.spi.entry.CollectionCacheEntry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.Serializable;
+import java.lang.reflect.Constructor;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+/**
+ * Unit tests for {@link HazelcastSerializers}.
+ */
+public class HazelcastSerializersTest {
+
+    private InternalSerializationService serializationService;
+
+    @BeforeEach
+    public void setup() {
+        serializationService = new DefaultSerializationServiceBuilder()
+            .setConfig(HazelcastSerializers.configure(new SerializationConfig()))
+            .build();
+    }
+
+    @Test
+    public void testInstantRoundTrip() {
+        Instant instant = Instant.parse("2020-09-15T11:13:02.123456789Z");
+
+        Data data = serializationService.toData(instant);
+
+        assertThat(data.getType()).isEqualTo(HazelcastSerializers.INSTANT_TYPE_ID);
+        assertThat((Instant) serializationService.toObject(data)).isEqualTo(instant);
+    }
+
+    @Test
+    public void testUserRoundTrip() {
+        User user = new User();
+        user.setId(1L);
+        user.setLogin("user");
+        user.setPassword("$2a$10$VEjxo0jq2YG9Rbk2HmX9S.k1uZBGYUHdUcid3g/vfiEl7lwWgOH/K");
+        user.setFirstName("John");
+        user.setEmail("user@localhost");
+        user.setActivated(true);
+        user.setLangKey("en");
+        user.setCreatedBy("system");
+        user.setCreatedDate(Instant.parse("2020-09-15T11:13:02Z"));
+        Authority authority = new Authority();
+        authority.setName(AuthoritiesConstants.USER);
+        Set<Authority> authorities = new HashSet<>();
+        authorities.add(authority);
+        user.setAuthorities(authorities);
+
+        Data data = serializationService.toData(user);
+        User result = serializationService.toObject(data);
+
+        assertThat(data.getType()).isEqualTo(HazelcastSerializers.USER_TYPE_ID);
+        assertThat(result).isEqualToIgnoringGivenFields(user, "authorities");
+        assertThat(result.getLastName()).isNull();
+        assertThat(result.getResetDate()).isNull();
+        assertThat(result.getAuthorities()).containsExactly(authority);
+        assertThat(data.totalSize()).isLessThan(new DefaultSerializationServiceBuilder().build().toData(user).totalSize());
+    }
+
+    @Test
+    public void testCollectionCacheEntryRoundTrip() throws Exception {
+        Constructor<CollectionCacheEntry> constructor = CollectionCacheEntry.class.getDeclaredConstructor(Serializable.class);
+        constructor.setAccessible(true);
+        CollectionCacheEntry entry = constructor.newInstance((Serializable) new Serializable[]{1L, 2L, 3L});
+
+        Data data = serializationService.toData(entry);
+        CollectionCacheEntry result = serializationService.toObject(data);
+
+        assertThat(data.getType()).isEqualTo(HazelcastSerializers.COLLECTION_CACHE_ENTRY_TYPE_ID);
+        assertThat(result.getState()).containsExactly(1L, 2L, 3L);
+    }
+
+    @Test
+    public void testCachedResponseRoundTrip() {
+        byte[] body = "[{\"id\":1,\"name\":\"Product\"}]".getBytes(StandardCharsets.UTF_8);
+        CachedResponse small = CachedResponse.of(Collections.singletonMap("X-Total-Count", "1"), body, 1024);
+        CachedResponse large = CachedResponse.of(Collections.singletonMap("X-Total-Count", "1"), body, 0);
+
+        Data data = serializationService.toData(small);
+        CachedResponse smallResult = serializationService.toObject(data);
+        CachedResponse largeResult = serializationService.toObject(serializationService.toData(large));
+
+        assertThat(data.getType()).isEqualTo(HazelcastSerializers.CACHED_RESPONSE_TYPE_ID);
+        assertThat(smallResult.getHeaders()).containsExactly(entry("X-Total-Count", "1"));
+        assertThat(smallResult.getBody()).isEqualTo(body);
+        assertThat(smallResult.getGzippedBody()).isNull();
+        assertThat(smallResult.getDigest()).isEqualTo(small.getDigest());
+        assertThat(largeResult.getGzippedBody()).isEqualTo(large.getGzippedBody());
+    }
+
+    @Test
+    public void testEntityCacheEntryWithInstantIsSmallerThanJavaSerialization() {
+        Instant placedDate = Instant.parse("2020-09-15T11:13:02Z");
+        CacheEntry entry = new CacheEntryImpl(new Serializable[]{"ORDER-1", placedDate, BigDecimal.TEN, 1L}, "ProductOrder", null);
+        InternalSerializationService defaultSerializationService = new DefaultSerializationServiceBuilder().build();
+
+        Data data = serializationService.toData(entry);
+        CacheEntry result = serializationService.toObject(data);
+
+        assertThat(result.getDisassembledState()).containsExactly("ORDER-1", placedDate, BigDecimal.TEN, 1L);
+        assertThat(data.totalSize()).isLessThan(defaultSerializationService.toData(entry).totalSize());
+    }
+}
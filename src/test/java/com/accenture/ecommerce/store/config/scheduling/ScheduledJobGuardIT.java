@@ -0,0 +1,109 @@
+package org.jhipster.ecommerce.store.config.scheduling;
+
+import org.jhipster.ecommerce.store.StoreApp;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Integration tests for {@link ScheduledJobGuard}.
+ */
+@SpringBootTest(classes = StoreApp.class)
+public class ScheduledJobGuardIT {
+
+    @Autowired
+    private ScheduledJobGuard scheduledJobGuard;
+
+    @Autowired
+    private HazelcastInstance hazelcastInstance;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ThreadPoolTaskScheduler taskScheduler;
+
+    private String job;
+
+    private AtomicInteger runCount;
+
+    @BeforeEach
+    public void init() {
+        // The runs are kept in the cluster, each test has its own job
+        job = "TestJob." + UUID.randomUUID();
+        runCount = new AtomicInteger();
+    }
+
+    @Test
+    public void testJobsRunOnTheSpringTaskSchedulingPool() {
+        assertThat(taskScheduler.getThreadNamePrefix()).isEqualTo("store-scheduling-");
+        assertThat(taskScheduler.getPoolSize()).isEqualTo(1);
+    }
+
+    @Test
+    public void testRunIsRecorded() {
+        assertThat(scheduledJobGuard.run(job, runCount::incrementAndGet)).isTrue();
+
+        assertThat(runCount).hasValue(1);
+        ScheduledJobRun run = scheduledJobGuard.getLastRun(job).orElseThrow(AssertionError::new);
+        assertThat(run.isSucceeded()).isTrue();
+        assertThat(run.getFinishedAt()).isAfterOrEqualTo(run.getStartedAt());
+        assertThat(run.getMember()).isEqualTo(hazelcastInstance.getCluster().getLocalMember().getAddress().toString());
+        assertThat(meterRegistry.get("scheduled.jobs.duration").tag("job", job).tag("outcome", "success").timer().count())
+            .isEqualTo(1);
+    }
+
+    @Test
+    public void testRecentlyRunJobIsSkipped() {
+        scheduledJobGuard.run(job, runCount::incrementAndGet);
+
+        assertThat(scheduledJobGuard.run(job, runCount::incrementAndGet)).isFalse();
+
+        assertThat(runCount).hasValue(1);
+        assertThat(meterRegistry.get("scheduled.jobs.skipped").tag("job", job).tag("reason", "recently_run").counter().count())
+            .isEqualTo(1);
+    }
+
+    @Test
+    public void testLockedJobIsSkipped() throws Exception {
+        IMap<String, Boolean> locks = hazelcastInstance.getMap(ScheduledJobGuard.LOCK_MAP_NAME);
+        locks.lock(job);
+        try {
+            // The locks are reentrant, the job has to be run from another thread
+            assertThat(CompletableFuture.supplyAsync(() -> scheduledJobGuard.run(job, runCount::incrementAndGet)).get())
+                .isFalse();
+        } finally {
+            locks.unlock(job);
+        }
+
+        assertThat(runCount).hasValue(0);
+        assertThat(scheduledJobGuard.getLastRun(job)).isEmpty();
+        assertThat(meterRegistry.get("scheduled.jobs.skipped").tag("job", job).tag("reason", "locked").counter().count())
+            .isEqualTo(1);
+    }
+
+    @Test
+    public void testFailedRunIsRecordedAndReleasesTheLock() {
+        assertThatThrownBy(() -> scheduledJobGuard.run(job, () -> {
+            throw new IllegalStateException("Job failed");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(scheduledJobGuard.getLastRun(job).map(ScheduledJobRun::isSucceeded)).contains(false);
+        assertThat(hazelcastInstance.getMap(ScheduledJobGuard.LOCK_MAP_NAME).isLocked(job)).isFalse();
+        assertThat(meterRegistry.get("scheduled.jobs.duration").tag("job", job).tag("outcome", "failure").timer().count())
+            .isEqualTo(1);
+    }
+}
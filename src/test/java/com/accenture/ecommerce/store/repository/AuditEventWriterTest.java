@@ -0,0 +1,152 @@
+package org.jhipster.ecommerce.store.repository;
+
+import org.jhipster.ecommerce.store.config.ApplicationProperties;
+import org.jhipster.ecommerce.store.domain.PersistentAuditEvent;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for {@link AuditEventWriter}.
+ */
+public class AuditEventWriterTest {
+
+    private PersistenceAuditEventRepository persistenceAuditEventRepository;
+
+    private ApplicationProperties applicationProperties;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private List<List<String>> savedBatches;
+
+    @BeforeEach
+    public void setup() {
+        persistenceAuditEventRepository = mock(PersistenceAuditEventRepository.class);
+        savedBatches = Collections.synchronizedList(new ArrayList<>());
+        doAnswer(invocation -> {
+            List<String> principals = new ArrayList<>();
+            invocation.<Iterable<PersistentAuditEvent>>getArgument(0).forEach(event -> principals.add(event.getPrincipal()));
+            savedBatches.add(principals);
+            return Collections.emptyList();
+        }).when(persistenceAuditEventRepository).saveAll(anyIterable());
+
+        applicationProperties = new ApplicationProperties();
+        applicationProperties.getAuditEvents().setQueueCapacity(10);
+        applicationProperties.getAuditEvents().setFlushSize(4);
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    public void testWriteSavesRightAwayWhenNotAsync() {
+        applicationProperties.getAuditEvents().setAsync(false);
+        AuditEventWriter auditEventWriter = createAuditEventWriter();
+        PersistentAuditEvent event = createEvent("user");
+
+        auditEventWriter.write(event);
+
+        verify(persistenceAuditEventRepository).save(event);
+        assertThat(meterRegistry.get("audit.events.queue.size").gauge().value()).isEqualTo(0);
+    }
+
+    @Test
+    public void testFlushWritesQueuedEventsInBatches() {
+        AuditEventWriter auditEventWriter = createAuditEventWriter();
+        for (int i = 0; i < 10; i++) {
+            auditEventWriter.write(createEvent("user-" + i));
+        }
+        assertThat(meterRegistry.get("audit.events.queue.size").gauge().value()).isEqualTo(10);
+
+        auditEventWriter.flush();
+
+        assertThat(savedBatches).extracting(List::size).containsExactly(4, 4, 2);
+        assertThat(savedBatches.get(0)).containsExactly("user-0", "user-1", "user-2", "user-3");
+        assertThat(meterRegistry.get("audit.events.written").counter().count()).isEqualTo(10);
+        assertThat(meterRegistry.get("audit.events.queue.size").gauge().value()).isEqualTo(0);
+    }
+
+    @Test
+    public void testWriteDropsEventsWhenQueueIsFull() {
+        applicationProperties.getAuditEvents().setQueueCapacity(2);
+        AuditEventWriter auditEventWriter = createAuditEventWriter();
+
+        for (int i = 0; i < 5; i++) {
+            auditEventWriter.write(createEvent("user-" + i));
+        }
+
+        assertThat(meterRegistry.get("audit.events.dropped").tag("reason", "queue_full").counter().count()).isEqualTo(3);
+        auditEventWriter.flush();
+        assertThat(savedBatches).containsExactly(Arrays.asList("user-0", "user-1"));
+    }
+
+    @Test
+    public void testWriteWaitsForRoomWithBlockPolicy() {
+        applicationProperties.getAuditEvents().setQueueCapacity(1);
+        applicationProperties.getAuditEvents().setOverflowPolicy(ApplicationProperties.AuditEvents.OverflowPolicy.BLOCK);
+        applicationProperties.getAuditEvents().setOfferTimeout(Duration.ofMillis(10));
+        AuditEventWriter auditEventWriter = createAuditEventWriter();
+
+        auditEventWriter.write(createEvent("user-0"));
+        long start = System.nanoTime();
+        auditEventWriter.write(createEvent("user-1"));
+
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isGreaterThanOrEqualTo(Duration.ofMillis(10));
+        assertThat(meterRegistry.get("audit.events.dropped").tag("reason", "queue_full").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    public void testFailedBatchIsCountedAsDropped() {
+        doThrow(new IllegalStateException("database is down")).when(persistenceAuditEventRepository).saveAll(anyIterable());
+        AuditEventWriter auditEventWriter = createAuditEventWriter();
+        auditEventWriter.write(createEvent("user"));
+
+        auditEventWriter.flush();
+
+        assertThat(meterRegistry.get("audit.events.dropped").tag("reason", "write_failed").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("audit.events.written").counter().count()).isEqualTo(0);
+    }
+
+    @Test
+    public void testBackgroundWriterSavesEventsAndFlushesOnStop() throws InterruptedException {
+        applicationProperties.getAuditEvents().setFlushInterval(Duration.ofMillis(50));
+        AuditEventWriter auditEventWriter = createAuditEventWriter();
+        auditEventWriter.start();
+
+        auditEventWriter.write(createEvent("user-0"));
+        long deadline = System.currentTimeMillis() + 5000;
+        while (savedBatches.isEmpty() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(savedBatches).containsExactly(Collections.singletonList("user-0"));
+
+        auditEventWriter.write(createEvent("user-1"));
+        auditEventWriter.stop();
+
+        assertThat(savedBatches).flatExtracting(batch -> batch).containsExactly("user-0", "user-1");
+    }
+
+    private AuditEventWriter createAuditEventWriter() {
+        return new AuditEventWriter(persistenceAuditEventRepository, mock(PlatformTransactionManager.class),
+            applicationProperties, meterRegistry);
+    }
+
+    private PersistentAuditEvent createEvent(String principal) {
+        PersistentAuditEvent persistentAuditEvent = new PersistentAuditEvent();
+        persistentAuditEvent.setPrincipal(principal);
+        persistentAuditEvent.setAuditEventType("AUTHENTICATION_SUCCESS");
+        persistentAuditEvent.setAuditEventDate(Instant.now());
+        return persistentAuditEvent;
+    }
+}
@@ -0,0 +1,112 @@
+package org.jhipster.ecommerce.store.repository;
+
+import org.jhipster.ecommerce.store.StoreApp;
+import org.jhipster.ecommerce.store.domain.enumeration.InvoiceStatus;
+import org.jhipster.ecommerce.store.domain.enumeration.OrderItemStatus;
+import org.jhipster.ecommerce.store.domain.enumeration.PaymentMethod;
+
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for {@link SalesRollupRepository}.
+ * <p>
+ * The rollups are written by concurrent transactions, so the data of these tests is committed, on a day no other test
+ * writes orders nor invoices on, and deleted afterwards.
+ */
+@SpringBootTest(classes = StoreApp.class)
+public class SalesRollupRepositoryIT {
+
+    private static final LocalDate DAY = LocalDate.of(1999, 3, 4);
+
+    private static final long PRODUCT_CATEGORY_ID = 42L;
+
+    @Autowired
+    private SalesRollupRepository salesRollupRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManager em;
+
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    public void initTest() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        transactionTemplate.executeWithoutResult(status -> {
+            for (String table : new String[]{"sales_by_category", "sales_by_payment_method"}) {
+                em.createNativeQuery("delete from " + table + " where sales_date = ?").setParameter(1, DAY).executeUpdate();
+            }
+        });
+    }
+
+    @Test
+    public void concurrentWritesOfTheSameNewRollupAreAdded() throws Exception {
+        CyclicBarrier barrier = new CyclicBarrier(2);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            CompletableFuture<Void> first = CompletableFuture.runAsync(() -> addSales(barrier, 1, new BigDecimal("10.00")), executor);
+            CompletableFuture<Void> second = CompletableFuture.runAsync(() -> addSales(barrier, 2, new BigDecimal("15.50")), executor);
+            CompletableFuture.allOf(first, second).get(30, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdown();
+        }
+
+        List<Object[]> salesByCategory = transactionTemplate.execute(status ->
+            salesRollupRepository.findSalesByCategory(DAY, DAY));
+        assertThat(salesByCategory).hasSize(1);
+        assertThat(salesByCategory.get(0)[1]).isEqualTo(PRODUCT_CATEGORY_ID);
+        assertThat(salesByCategory.get(0)[3]).isEqualTo(3L);
+        assertThat((BigDecimal) salesByCategory.get(0)[4]).isEqualByComparingTo("25.50");
+        assertThat(salesByCategory.get(0)[5]).isEqualTo(2L);
+        List<Object[]> salesByPaymentMethod = transactionTemplate.execute(status ->
+            salesRollupRepository.findSalesByPaymentMethod(DAY, DAY));
+        assertThat(salesByPaymentMethod).hasSize(1);
+        assertThat((BigDecimal) salesByPaymentMethod.get(0)[3]).isEqualByComparingTo("25.50");
+        assertThat(salesByPaymentMethod.get(0)[4]).isEqualTo(2L);
+    }
+
+    /**
+     * Add sales to the rollups of {@link #DAY} once the other transaction is about to, keeping the rows written a
+     * moment before committing, so that the other transaction writes the same new rows meanwhile.
+     */
+    private void addSales(CyclicBarrier barrier, long quantity, BigDecimal amount) {
+        transactionTemplate.executeWithoutResult(status -> {
+            Session session = em.unwrap(Session.class);
+            try {
+                barrier.await(10, TimeUnit.SECONDS);
+                salesRollupRepository.addSalesByCategory(session, DAY, PRODUCT_CATEGORY_ID, OrderItemStatus.AVAILABLE,
+                    quantity, amount, 1);
+                salesRollupRepository.addSalesByPaymentMethod(session, DAY, PaymentMethod.CREDIT_CARD, InvoiceStatus.PAID,
+                    amount, 1);
+                Thread.sleep(200);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+}
@@ -0,0 +1,175 @@
+package org.jhipster.ecommerce.store.security;
+
+import org.jhipster.ecommerce.store.config.ApplicationProperties;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for {@link BoundedPasswordEncoder}.
+ */
+public class BoundedPasswordEncoderTest {
+
+    private ApplicationProperties.PasswordHashing properties;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private CountDownLatch hashing;
+
+    private CountDownLatch release;
+
+    private BoundedPasswordEncoder passwordEncoder;
+
+    @BeforeEach
+    public void setup() {
+        properties = new ApplicationProperties.PasswordHashing();
+        properties.setPoolSize(1);
+        properties.setQueueCapacity(1);
+        meterRegistry = new SimpleMeterRegistry();
+        hashing = new CountDownLatch(1);
+        release = new CountDownLatch(0);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        if (passwordEncoder != null) {
+            release.countDown();
+            passwordEncoder.shutdown();
+        }
+    }
+
+    @Test
+    public void testPasswordsAreHashedOnThePool() {
+        passwordEncoder = new BoundedPasswordEncoder(new ThreadNameEncoder(), properties, meterRegistry);
+
+        assertThat(passwordEncoder.encode("password")).isEqualTo("password-hashing-1:password");
+        assertThat(passwordEncoder.matches("password", "password-hashing-1:password")).isTrue();
+        assertThat(meterRegistry.get("password.hashing.duration").tag("operation", "encode").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("password.hashing.duration").tag("operation", "matches").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("password.hashing.wait").timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    public void testTasksHashRightAwayOnThePool() throws Exception {
+        passwordEncoder = new BoundedPasswordEncoder(new ThreadNameEncoder(), properties, meterRegistry);
+
+        // With a single thread, a hash submitted from the pool would wait for itself
+        CompletableFuture<String> future = passwordEncoder.supplyAsync(() -> passwordEncoder.encode("password"));
+
+        assertThat(future.get(10, TimeUnit.SECONDS)).isEqualTo("password-hashing-1:password");
+        assertThat(meterRegistry.get("password.hashing.wait").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    public void testTasksWithTheHashRunOnTheirOwnExecutor() throws Exception {
+        passwordEncoder = new BoundedPasswordEncoder(new ThreadNameEncoder(), properties, meterRegistry);
+        ExecutorService thenExecutor = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "then"));
+        try {
+            CompletableFuture<String> future = passwordEncoder.supplyAsync(() -> passwordEncoder.encode("password"),
+                hash -> Thread.currentThread().getName() + ":" + hash, thenExecutor);
+
+            assertThat(future.get(10, TimeUnit.SECONDS)).isEqualTo("then:password-hashing-1:password");
+        } finally {
+            thenExecutor.shutdown();
+        }
+    }
+
+    @Test
+    public void testHashesAreRejectedWhenTheQueueIsFull() throws Exception {
+        release = new CountDownLatch(1);
+        passwordEncoder = new BoundedPasswordEncoder(new ThreadNameEncoder(), properties, meterRegistry);
+
+        CompletableFuture<String> running = passwordEncoder.supplyAsync(() -> passwordEncoder.encode("running"));
+        assertThat(hashing.await(10, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<String> queued = passwordEncoder.supplyAsync(() -> passwordEncoder.encode("queued"));
+        assertThat(meterRegistry.get("password.hashing.queue.size").gauge().value()).isEqualTo(1);
+        assertThat(meterRegistry.get("password.hashing.active").gauge().value()).isEqualTo(1);
+
+        assertThatThrownBy(() -> passwordEncoder.encode("rejected"))
+            .isInstanceOf(PasswordHashingRejectedException.class);
+        assertThatThrownBy(() -> passwordEncoder.supplyAsync(() -> "rejected"))
+            .isInstanceOf(PasswordHashingRejectedException.class);
+        assertThat(meterRegistry.get("password.hashing.rejected").counter().count()).isEqualTo(2);
+
+        release.countDown();
+        assertThat(running.get(10, TimeUnit.SECONDS)).isEqualTo("password-hashing-1:running");
+        assertThat(queued.get(10, TimeUnit.SECONDS)).isEqualTo("password-hashing-1:queued");
+    }
+
+    @Test
+    public void testHashesAreRejectedWhenAllThreadsAreBusyWithoutQueue() throws Exception {
+        properties.setQueueCapacity(0);
+        release = new CountDownLatch(1);
+        passwordEncoder = new BoundedPasswordEncoder(new ThreadNameEncoder(), properties, meterRegistry);
+
+        CompletableFuture<String> running = passwordEncoder.supplyAsync(() -> passwordEncoder.encode("running"));
+        assertThat(hashing.await(10, TimeUnit.SECONDS)).isTrue();
+
+        assertThatThrownBy(() -> passwordEncoder.encode("rejected"))
+            .isInstanceOf(PasswordHashingRejectedException.class);
+        assertThat(meterRegistry.get("password.hashing.rejected").counter().count()).isEqualTo(1);
+
+        release.countDown();
+        assertThat(running.get(10, TimeUnit.SECONDS)).isEqualTo("password-hashing-1:running");
+    }
+
+    @Test
+    public void testFailuresArePropagated() {
+        passwordEncoder = new BoundedPasswordEncoder(new ThreadNameEncoder(), properties, meterRegistry);
+
+        assertThatThrownBy(() -> passwordEncoder.matches("password", null))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void testPasswordsAreHashedOnTheCallerThreadWhenNotAsync() {
+        properties.setAsync(false);
+        passwordEncoder = new BoundedPasswordEncoder(new ThreadNameEncoder(), properties, meterRegistry);
+        String caller = Thread.currentThread().getName();
+
+        assertThat(passwordEncoder.encode("password")).isEqualTo(caller + ":password");
+        CompletableFuture<String> future = passwordEncoder.supplyAsync(() -> passwordEncoder.encode("password"));
+        assertThat(future).isCompletedWithValue(caller + ":password");
+        CompletableFuture<String> then = passwordEncoder.supplyAsync(() -> passwordEncoder.encode("password"),
+            hash -> Thread.currentThread().getName() + ":" + hash, runnable -> new Thread(runnable, "then").start());
+        assertThat(then).isCompletedWithValue(caller + ":" + caller + ":password");
+        assertThat(meterRegistry.find("password.hashing.queue.size").gauge()).isNull();
+    }
+
+    /**
+     * Encoder prefixing the passwords with the name of the thread hashing them, waiting for {@link #release} first.
+     */
+    private class ThreadNameEncoder implements PasswordEncoder {
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            hashing.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return Thread.currentThread().getName() + ":" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            if (encodedPassword == null) {
+                throw new IllegalArgumentException("No encoded password");
+            }
+            return encode(rawPassword).equals(encodedPassword);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package org.jhipster.ecommerce.store.security.jwt;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class VerifiedTokenCacheTest {
+
+    private static final long ONE_MINUTE = 60000;
+
+    private MutableClock clock;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    public void setup() {
+        clock = new MutableClock(Instant.parse("2020-01-01T00:00:00Z"));
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    public void testGetReturnsCachedAuthenticationUntilExpiration() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(10, clock, meterRegistry);
+        Authentication authentication = createAuthentication("token");
+        cache.put("token", authentication, clock.millis() + ONE_MINUTE);
+
+        assertThat(cache.get("token")).isSameAs(authentication);
+
+        clock.instant = clock.instant.plusMillis(ONE_MINUTE);
+
+        assertThat(cache.get("token")).isNull();
+        assertThat(cache.size()).isEqualTo(0);
+    }
+
+    @Test
+    public void testPutEvictsExpiredEntriesFirstWhenFull() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(2, clock, meterRegistry);
+        cache.put("expiring", createAuthentication("expiring"), clock.millis() + 1);
+        cache.put("valid", createAuthentication("valid"), clock.millis() + ONE_MINUTE);
+        clock.instant = clock.instant.plusMillis(1);
+
+        cache.put("new", createAuthentication("new"), clock.millis() + ONE_MINUTE);
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.get("valid")).isNotNull();
+        assertThat(cache.get("new")).isNotNull();
+        assertThat(meterRegistry.get("cache.evictions").counter().count()).isEqualTo(0);
+    }
+
+    @Test
+    public void testPutNeverExceedsMaxSize() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(3, clock, meterRegistry);
+        for (int i = 0; i < 10; i++) {
+            cache.put("token-" + i, createAuthentication("token-" + i), clock.millis() + ONE_MINUTE);
+        }
+
+        assertThat(cache.size()).isEqualTo(3);
+        assertThat(meterRegistry.get("cache.evictions").counter().count()).isEqualTo(7);
+    }
+
+    @Test
+    public void testPutEvictsLeastRecentlyUsedEntry() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(2, clock, meterRegistry);
+        cache.put("first", createAuthentication("first"), clock.millis() + ONE_MINUTE);
+        cache.put("second", createAuthentication("second"), clock.millis() + ONE_MINUTE);
+        cache.get("first");
+
+        cache.put("third", createAuthentication("third"), clock.millis() + ONE_MINUTE);
+
+        assertThat(cache.get("first")).isNotNull();
+        assertThat(cache.get("second")).isNull();
+        assertThat(cache.get("third")).isNotNull();
+        assertThat(meterRegistry.get("cache.evictions").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    public void testDisabledCacheKeepsNothing() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(0, clock, meterRegistry);
+        cache.put("token", createAuthentication("token"), clock.millis() + ONE_MINUTE);
+
+        assertThat(cache.get("token")).isNull();
+        assertThat(cache.size()).isEqualTo(0);
+    }
+
+    private Authentication createAuthentication(String token) {
+        return new UsernamePasswordAuthenticationToken("user", token, Collections.emptyList());
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
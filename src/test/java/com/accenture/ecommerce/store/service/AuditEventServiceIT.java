@@ -1,14 +1,18 @@
 package org.jhipster.ecommerce.store.service;
 
+import org.jhipster.ecommerce.store.config.ApplicationProperties;
 import org.jhipster.ecommerce.store.domain.PersistentAuditEvent;
 import org.jhipster.ecommerce.store.repository.PersistenceAuditEventRepository;
 import org.jhipster.ecommerce.store.StoreApp;
 import io.github.jhipster.config.JHipsterProperties;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 
@@ -29,6 +33,14 @@ public class AuditEventServiceIT {
     @Autowired
     private JHipsterProperties jHipsterProperties;
 
+    @Autowired
+    private ApplicationProperties applicationProperties;
+
+    @Autowired
+    private EntityManager em;
+
+    private int purgeBatchSize;
+
     private PersistentAuditEvent auditEventOld;
 
     private PersistentAuditEvent auditEventWithinRetention;
@@ -51,6 +63,13 @@ public class AuditEventServiceIT {
         auditEventNew.setAuditEventDate(Instant.now());
         auditEventNew.setPrincipal("test-user-new");
         auditEventNew.setAuditEventType("test-type");
+
+        purgeBatchSize = applicationProperties.getPurge().getBatchSize();
+    }
+
+    @AfterEach
+    public void restorePurgeBatchSize() {
+        applicationProperties.getPurge().setBatchSize(purgeBatchSize);
     }
 
     @Test
@@ -70,4 +89,30 @@ public class AuditEventServiceIT {
         assertThat(persistenceAuditEventRepository.findByPrincipal("test-user-retention")).isNotEmpty();
         assertThat(persistenceAuditEventRepository.findByPrincipal("test-user-new")).isNotEmpty();
     }
+
+    @Test
+    @Transactional
+    public void verifyOldAuditEventsAreDeletedByChunksWithTheirData() {
+        persistenceAuditEventRepository.deleteAll();
+        for (int i = 0; i < 5; i++) {
+            PersistentAuditEvent auditEvent = new PersistentAuditEvent();
+            auditEvent.setAuditEventDate(auditEventOld.getAuditEventDate().minusSeconds(i));
+            auditEvent.setPrincipal("test-user-old");
+            auditEvent.setAuditEventType("test-type");
+            auditEvent.getData().put("remoteAddress", "127.0.0.1");
+            persistenceAuditEventRepository.save(auditEvent);
+        }
+        auditEventNew.getData().put("remoteAddress", "127.0.0.1");
+        persistenceAuditEventRepository.save(auditEventNew);
+        applicationProperties.getPurge().setBatchSize(2);
+
+        persistenceAuditEventRepository.flush();
+        auditEventService.removeOldAuditEvents();
+        em.clear();
+
+        assertThat(persistenceAuditEventRepository.findAll()).extracting(PersistentAuditEvent::getPrincipal)
+            .containsExactly("test-user-new");
+        Number dataRows = (Number) em.createNativeQuery("select count(*) from jhi_persistent_audit_evt_data").getSingleResult();
+        assertThat(dataRows.intValue()).isEqualTo(1);
+    }
 }
@@ -0,0 +1,217 @@
+package org.jhipster.ecommerce.store.service;
+
+import org.jhipster.ecommerce.store.StoreApp;
+import org.jhipster.ecommerce.store.domain.Invoice;
+import org.jhipster.ecommerce.store.domain.OrderItem;
+import org.jhipster.ecommerce.store.domain.ProductOrder;
+import org.jhipster.ecommerce.store.domain.Shipment;
+import org.jhipster.ecommerce.store.domain.enumeration.InvoiceStatus;
+import org.jhipster.ecommerce.store.domain.enumeration.OrderStatus;
+import org.jhipster.ecommerce.store.service.dto.InvoiceCriteria;
+import org.jhipster.ecommerce.store.service.dto.OrderItemCriteria;
+import org.jhipster.ecommerce.store.service.dto.ProductOrderCriteria;
+import org.jhipster.ecommerce.store.service.dto.ShipmentCriteria;
+
+import io.github.jhipster.service.filter.InstantFilter;
+import io.github.jhipster.service.filter.LongFilter;
+import io.github.jhipster.service.filter.StringFilter;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Query plan regression tests for the filters of the criteria queries.
+ * <p>
+ * Each test builds the SQL generated by a {@code *QueryService.createSpecification} for a filter combination, and
+ * checks with H2's {@code EXPLAIN} that every table is read through an index condition instead of a full scan.
+ */
+@SpringBootTest(classes = StoreApp.class)
+public class QueryServiceIndexIT {
+
+    private static final Pattern TABLE_ACCESS = Pattern.compile("/\\*\\s*(PUBLIC\\..*?)\\*/", Pattern.DOTALL);
+
+    private static final Sort PRODUCT_ORDER_SORT = Sort.by(Sort.Order.desc("placedDate"), Sort.Order.desc("id"));
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ProductOrderQueryService productOrderQueryService;
+
+    @Autowired
+    private InvoiceQueryService invoiceQueryService;
+
+    @Autowired
+    private ShipmentQueryService shipmentQueryService;
+
+    @Autowired
+    private OrderItemQueryService orderItemQueryService;
+
+    @Test
+    public void productOrderFiltersUseIndexes() {
+        ProductOrderCriteria byCustomer = new ProductOrderCriteria();
+        byCustomer.setCustomerId(longEquals(1L));
+        assertUsesIndexes(ProductOrder.class, productOrderQueryService.createSpecification(byCustomer), PRODUCT_ORDER_SORT);
+
+        ProductOrderCriteria byCustomerAndPlacedDate = new ProductOrderCriteria();
+        byCustomerAndPlacedDate.setCustomerId(longEquals(1L));
+        byCustomerAndPlacedDate.setPlacedDate(placedBetween());
+        assertUsesIndexes(ProductOrder.class, productOrderQueryService.createSpecification(byCustomerAndPlacedDate), PRODUCT_ORDER_SORT);
+
+        ProductOrderCriteria byPlacedDate = new ProductOrderCriteria();
+        byPlacedDate.setPlacedDate(placedBetween());
+        assertUsesIndexes(ProductOrder.class, productOrderQueryService.createSpecification(byPlacedDate), PRODUCT_ORDER_SORT);
+
+        ProductOrderCriteria byStatus = new ProductOrderCriteria();
+        byStatus.setStatus(orderStatusIn(OrderStatus.PENDING, OrderStatus.CANCELLED));
+        assertUsesIndexes(ProductOrder.class, productOrderQueryService.createSpecification(byStatus), PRODUCT_ORDER_SORT);
+
+        ProductOrderCriteria byStatusAndPlacedDate = new ProductOrderCriteria();
+        byStatusAndPlacedDate.setStatus(orderStatusIn(OrderStatus.COMPLETED));
+        byStatusAndPlacedDate.setPlacedDate(placedBetween());
+        assertUsesIndexes(ProductOrder.class, productOrderQueryService.createSpecification(byStatusAndPlacedDate), PRODUCT_ORDER_SORT);
+
+        ProductOrderCriteria byCode = new ProductOrderCriteria();
+        byCode.setCode(stringEquals("ORDER-1"));
+        assertUsesIndexes(ProductOrder.class, productOrderQueryService.createSpecification(byCode), Sort.unsorted());
+    }
+
+    @Test
+    public void invoiceFiltersUseIndexes() {
+        InvoiceCriteria byCode = new InvoiceCriteria();
+        byCode.setCode(stringEquals("INVOICE-1"));
+        assertUsesIndexes(Invoice.class, invoiceQueryService.createSpecification(byCode), Sort.unsorted());
+
+        InvoiceCriteria byStatus = new InvoiceCriteria();
+        byStatus.setStatus(invoiceStatusIn(InvoiceStatus.ISSUED));
+        assertUsesIndexes(Invoice.class, invoiceQueryService.createSpecification(byStatus), Sort.unsorted());
+
+        InvoiceCriteria byStatusAndPaymentDate = new InvoiceCriteria();
+        byStatusAndPaymentDate.setStatus(invoiceStatusIn(InvoiceStatus.PAID));
+        byStatusAndPaymentDate.setPaymentDate(placedBetween());
+        assertUsesIndexes(Invoice.class, invoiceQueryService.createSpecification(byStatusAndPaymentDate), Sort.unsorted());
+
+        InvoiceCriteria byPaymentDate = new InvoiceCriteria();
+        byPaymentDate.setPaymentDate(placedBetween());
+        assertUsesIndexes(Invoice.class, invoiceQueryService.createSpecification(byPaymentDate), Sort.unsorted());
+
+        InvoiceCriteria byOrder = new InvoiceCriteria();
+        byOrder.setOrderId(longEquals(1L));
+        assertUsesIndexes(Invoice.class, invoiceQueryService.createSpecification(byOrder), Sort.unsorted());
+    }
+
+    @Test
+    public void shipmentFiltersUseIndexes() {
+        ShipmentCriteria byTrackingCode = new ShipmentCriteria();
+        byTrackingCode.setTrackingCode(stringEquals("TRACKING-1"));
+        assertUsesIndexes(Shipment.class, shipmentQueryService.createSpecification(byTrackingCode), Sort.unsorted());
+
+        ShipmentCriteria byInvoice = new ShipmentCriteria();
+        byInvoice.setInvoiceId(longEquals(1L));
+        assertUsesIndexes(Shipment.class, shipmentQueryService.createSpecification(byInvoice), Sort.unsorted());
+    }
+
+    @Test
+    public void orderItemFiltersUseIndexes() {
+        OrderItemCriteria byOrder = new OrderItemCriteria();
+        byOrder.setOrderId(longEquals(1L));
+        assertUsesIndexes(OrderItem.class, orderItemQueryService.createSpecification(byOrder), Sort.unsorted());
+
+        OrderItemCriteria byProduct = new OrderItemCriteria();
+        byProduct.setProductId(longEquals(1L));
+        assertUsesIndexes(OrderItem.class, orderItemQueryService.createSpecification(byProduct), Sort.unsorted());
+    }
+
+    private <T> void assertUsesIndexes(Class<T> entityClass, Specification<T> specification, Sort sort) {
+        String plan = explain(entityClass, specification, sort);
+        Matcher matcher = TABLE_ACCESS.matcher(plan);
+        int tables = 0;
+        while (matcher.find()) {
+            tables++;
+            assertThat(matcher.group(1)).as(plan).doesNotContain("tableScan").contains(":");
+        }
+        assertThat(tables).as(plan).isPositive();
+    }
+
+    /**
+     * Run the query of the specification once to capture the SQL generated by Hibernate, then return its H2 plan.
+     */
+    private <T> String explain(Class<T> entityClass, Specification<T> specification, Sort sort) {
+        List<String> statements = new ArrayList<>();
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        try (Session session = sessionFactory.withOptions().statementInspector(sql -> {
+            statements.add(sql);
+            return sql;
+        }).openSession()) {
+            CriteriaBuilder builder = session.getCriteriaBuilder();
+            CriteriaQuery<T> query = builder.createQuery(entityClass);
+            Root<T> root = query.from(entityClass);
+            Predicate predicate = specification.toPredicate(root, query, builder);
+            if (predicate != null) {
+                query.where(predicate);
+            }
+            query.select(root).orderBy(QueryUtils.toOrders(sort, root, builder));
+            session.createQuery(query).setMaxResults(20).getResultList();
+            String sql = statements.get(0);
+            return session.doReturningWork(connection -> {
+                try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql);
+                     ResultSet resultSet = statement.executeQuery()) {
+                    resultSet.next();
+                    return resultSet.getString(1);
+                }
+            });
+        }
+    }
+
+    private static LongFilter longEquals(Long value) {
+        LongFilter filter = new LongFilter();
+        filter.setEquals(value);
+        return filter;
+    }
+
+    private static StringFilter stringEquals(String value) {
+        StringFilter filter = new StringFilter();
+        filter.setEquals(value);
+        return filter;
+    }
+
+    private static InstantFilter placedBetween() {
+        InstantFilter filter = new InstantFilter();
+        filter.setGreaterThanOrEqual(Instant.parse("2020-01-01T00:00:00Z"));
+        filter.setLessThan(Instant.parse("2020-02-01T00:00:00Z"));
+        return filter;
+    }
+
+    private static ProductOrderCriteria.OrderStatusFilter orderStatusIn(OrderStatus... statuses) {
+        ProductOrderCriteria.OrderStatusFilter filter = new ProductOrderCriteria.OrderStatusFilter();
+        filter.setIn(Arrays.asList(statuses));
+        return filter;
+    }
+
+    private static InvoiceCriteria.InvoiceStatusFilter invoiceStatusIn(InvoiceStatus... statuses) {
+        InvoiceCriteria.InvoiceStatusFilter filter = new InvoiceCriteria.InvoiceStatusFilter();
+        filter.setIn(Arrays.asList(statuses));
+        return filter;
+    }
+}
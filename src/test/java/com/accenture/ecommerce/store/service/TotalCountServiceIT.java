@@ -0,0 +1,197 @@
+package org.jhipster.ecommerce.store.service;
+
+import org.jhipster.ecommerce.store.StoreApp;
+import org.jhipster.ecommerce.store.config.ApplicationProperties.Pagination.CountStrategy;
+import org.jhipster.ecommerce.store.domain.Customer;
+import org.jhipster.ecommerce.store.domain.OrderItem;
+import org.jhipster.ecommerce.store.domain.ProductOrder;
+import org.jhipster.ecommerce.store.domain.User;
+import org.jhipster.ecommerce.store.repository.CustomerRepository;
+import org.jhipster.ecommerce.store.repository.ProductOrderRepository;
+import org.jhipster.ecommerce.store.repository.TableStatisticsRepository;
+import org.jhipster.ecommerce.store.service.dto.ProductOrderCriteria;
+import org.jhipster.ecommerce.store.web.rest.CustomerResourceIT;
+import org.jhipster.ecommerce.store.web.rest.ProductOrderResourceIT;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import io.github.jhipster.service.filter.StringFilter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for {@link TotalCountService}.
+ */
+@SpringBootTest(classes = StoreApp.class)
+@WithMockUser(authorities = "ROLE_ADMIN")
+public class TotalCountServiceIT {
+
+    private static final String CODE = "TOTAL-COUNT";
+
+    @Autowired
+    private TotalCountService totalCountService;
+
+    @Autowired
+    private ProductOrderQueryService productOrderQueryService;
+
+    @Autowired
+    private ProductOrderRepository productOrderRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private TableStatisticsRepository tableStatisticsRepository;
+
+    @Autowired
+    private HazelcastInstance hazelcastInstance;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManager em;
+
+    private ProductOrderCriteria criteria;
+
+    @BeforeEach
+    public void init() {
+        hazelcastInstance.getMap(TotalCountService.MAP_NAME_PREFIX + "productOrder").clear();
+        hazelcastInstance.getMap(TotalCountService.MAP_NAME_PREFIX + "customer").clear();
+        StringFilter code = new StringFilter();
+        code.setEquals(CODE);
+        criteria = new ProductOrderCriteria();
+        criteria.setCode(code);
+    }
+
+    @Test
+    @Transactional
+    public void cachedCountIsReusedUntilInvalidated() {
+        saveProductOrders(3);
+
+        assertThat(findProductOrders(criteria, CountStrategy.CACHED)).isInstanceOfSatisfying(Page.class,
+            page -> assertThat(page.getTotalElements()).isEqualTo(3));
+
+        saveProductOrders(1);
+        assertThat(findProductOrders(criteria, CountStrategy.CACHED)).isInstanceOfSatisfying(Page.class,
+            page -> assertThat(page.getTotalElements()).isEqualTo(3));
+        assertThat(findProductOrders(criteria, CountStrategy.EXACT)).isInstanceOfSatisfying(Page.class,
+            page -> assertThat(page.getTotalElements()).isEqualTo(4));
+
+        // Order items can be filtered on, so their writes evict the counts of orders
+        totalCountService.invalidate(Collections.singleton(OrderItem.class));
+        assertThat(findProductOrders(criteria, CountStrategy.CACHED)).isInstanceOfSatisfying(Page.class,
+            page -> assertThat(page.getTotalElements()).isEqualTo(4));
+    }
+
+    @Test
+    @Transactional
+    public void lastPageIsCountedFromItsContent() {
+        saveProductOrders(3);
+
+        Slice<ProductOrder> slice = productOrderQueryService.findByCriteria(criteria, PageRequest.of(0, 10), CountStrategy.CACHED);
+
+        assertThat(slice).isInstanceOfSatisfying(Page.class, page -> assertThat(page.getTotalElements()).isEqualTo(3));
+        assertThat(hazelcastInstance.getMap(TotalCountService.MAP_NAME_PREFIX + "productOrder")).isEmpty();
+    }
+
+    @Test
+    @Transactional
+    public void noCountStrategyOnlyTellsWhetherThereIsANextPage() {
+        saveProductOrders(3);
+
+        Slice<ProductOrder> first = findProductOrders(criteria, CountStrategy.NONE);
+        Slice<ProductOrder> last = productOrderQueryService.findByCriteria(criteria, PageRequest.of(1, 2), CountStrategy.NONE);
+
+        assertThat(first).isNotInstanceOf(Page.class);
+        assertThat(first.getContent()).hasSize(2);
+        assertThat(first.hasNext()).isTrue();
+        assertThat(last.getContent()).hasSize(1);
+        assertThat(last.hasNext()).isFalse();
+    }
+
+    @Test
+    @Transactional
+    public void estimatedCountIsReadFromTableStatistics() {
+        saveProductOrders(3);
+
+        assertThat(tableStatisticsRepository.estimateRowCount(ProductOrder.class)).isPresent();
+        assertThat(findProductOrders(new ProductOrderCriteria(), CountStrategy.ESTIMATED)).isInstanceOfSatisfying(Page.class,
+            page -> assertThat(page.getTotalElements()).isGreaterThan(2));
+    }
+
+    @Test
+    public void committedWritesEvictDependentCounts() {
+        hazelcastInstance.getMap(TotalCountService.MAP_NAME_PREFIX + "customer").set("CustomerCriteria{}", 42L);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        Customer customer = transactionTemplate.execute(status -> customerRepository.save(CustomerResourceIT.createEntity(em)));
+
+        assertThat(hazelcastInstance.getMap(TotalCountService.MAP_NAME_PREFIX + "customer")).isEmpty();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            Customer saved = customerRepository.getOne(customer.getId());
+            User user = saved.getUser();
+            customerRepository.delete(saved);
+            em.remove(em.merge(user));
+        });
+    }
+
+    @Test
+    public void committedWritesClearEachDependentCountMapOnce() {
+        IMap<String, Long> countMap = hazelcastInstance.getMap(TotalCountService.MAP_NAME_PREFIX + "productOrder");
+        countMap.set("ProductOrderCriteria{}", 42L);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        Customer customer = transactionTemplate.execute(status -> customerRepository.save(CustomerResourceIT.createEntity(em)));
+        List<Long> orderIds = new ArrayList<>();
+        try {
+            // The clears are the only other operations on the map
+            long otherOperations = countMap.getLocalMapStats().getOtherOperationCount();
+
+            transactionTemplate.executeWithoutResult(status -> {
+                for (int i = 0; i < 3; i++) {
+                    orderIds.add(productOrderRepository.save(ProductOrderResourceIT.createEntity(em).code(CODE).customer(customer)).getId());
+                }
+            });
+
+            assertThat(countMap.getLocalMapStats().getOtherOperationCount() - otherOperations).isEqualTo(1);
+            assertThat(countMap).isEmpty();
+        } finally {
+            transactionTemplate.executeWithoutResult(status -> {
+                orderIds.forEach(orderId -> em.remove(em.find(ProductOrder.class, orderId)));
+                Customer saved = em.find(Customer.class, customer.getId());
+                em.remove(saved);
+                em.remove(saved.getUser());
+            });
+        }
+    }
+
+    private Slice<ProductOrder> findProductOrders(ProductOrderCriteria criteria, CountStrategy countStrategy) {
+        Specification<ProductOrder> specification = productOrderQueryService.createSpecification(criteria);
+        return totalCountService.findAll(ProductOrder.class, productOrderRepository, specification, criteria,
+            PageRequest.of(0, 2), countStrategy);
+    }
+
+    private void saveProductOrders(int count) {
+        for (int i = 0; i < count; i++) {
+            productOrderRepository.saveAndFlush(ProductOrderResourceIT.createEntity(em).code(CODE));
+        }
+    }
+}
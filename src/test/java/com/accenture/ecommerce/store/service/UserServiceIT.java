@@ -1,14 +1,18 @@
 package org.jhipster.ecommerce.store.service;
 
 import org.jhipster.ecommerce.store.StoreApp;
+import org.jhipster.ecommerce.store.config.ApplicationProperties;
 import org.jhipster.ecommerce.store.config.Constants;
 import org.jhipster.ecommerce.store.domain.User;
+import org.jhipster.ecommerce.store.repository.AuthorityRepository;
 import org.jhipster.ecommerce.store.repository.UserRepository;
+import org.jhipster.ecommerce.store.security.AuthoritiesConstants;
 import org.jhipster.ecommerce.store.service.dto.UserDTO;
 
 import io.github.jhipster.security.RandomUtil;
 
 import org.apache.commons.lang3.RandomStringUtils;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
@@ -20,6 +24,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.EntityManager;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.time.LocalDateTime;
@@ -57,6 +62,17 @@ public class UserServiceIT {
     @Autowired
     private AuditingHandler auditingHandler;
 
+    @Autowired
+    private AuthorityRepository authorityRepository;
+
+    @Autowired
+    private ApplicationProperties applicationProperties;
+
+    @Autowired
+    private EntityManager em;
+
+    private int purgeBatchSize;
+
     @Mock
     private DateTimeProvider dateTimeProvider;
 
@@ -76,6 +92,13 @@ public class UserServiceIT {
 
         when(dateTimeProvider.getNow()).thenReturn(Optional.of(LocalDateTime.now()));
         auditingHandler.setDateTimeProvider(dateTimeProvider);
+
+        purgeBatchSize = applicationProperties.getPurge().getBatchSize();
+    }
+
+    @AfterEach
+    public void restorePurgeBatchSize() {
+        applicationProperties.getPurge().setBatchSize(purgeBatchSize);
     }
 
     @Test
@@ -170,6 +193,35 @@ public class UserServiceIT {
         assertThat(users).isEmpty();
     }
 
+    @Test
+    @Transactional
+    public void assertThatNotActivatedUsersAreDeletedByChunksWithTheirAuthorities() {
+        Instant now = Instant.now();
+        when(dateTimeProvider.getNow()).thenReturn(Optional.of(now.minus(4, ChronoUnit.DAYS)));
+        for (int i = 0; i < 5; i++) {
+            User notActivatedUser = new User();
+            notActivatedUser.setLogin("not-activated-" + i);
+            notActivatedUser.setPassword(RandomStringUtils.random(60));
+            notActivatedUser.setActivated(false);
+            notActivatedUser.setActivationKey(RandomStringUtils.random(20));
+            notActivatedUser.setEmail("not-activated-" + i + "@localhost");
+            notActivatedUser.getAuthorities().add(authorityRepository.getOne(AuthoritiesConstants.USER));
+            userRepository.save(notActivatedUser);
+        }
+        userRepository.flush();
+        applicationProperties.getPurge().setBatchSize(2);
+
+        userService.removeNotActivatedUsers();
+        em.clear();
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(userRepository.findOneByLogin("not-activated-" + i)).isEmpty();
+        }
+        Number authorityRows = (Number) em.createNativeQuery("select count(*) from jhi_user_authority ua " +
+            "where not exists (select 1 from jhi_user u where u.id = ua.user_id)").getSingleResult();
+        assertThat(authorityRows.intValue()).isEqualTo(0);
+    }
+
     @Test
     @Transactional
     public void assertThatNotActivatedUsersWithNullActivationKeyCreatedBefore3DaysAreNotDeleted() {
@@ -14,6 +14,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
@@ -74,6 +75,9 @@ public class CustomerResourceIT {
     @Autowired
     private EntityManager em;
 
+    @Autowired
+    private CacheManager cacheManager;
+
     @Autowired
     private MockMvc restCustomerMockMvc;
 
@@ -130,6 +134,7 @@ public class CustomerResourceIT {
 
     @BeforeEach
     public void initTest() {
+        cacheManager.getCache(CustomerRepository.CUSTOMER_ID_BY_LOGIN_CACHE).clear();
         customer = createEntity(em);
     }
 
@@ -1198,6 +1203,34 @@ public class CustomerResourceIT {
         assertThat(testCustomer.getCountry()).isEqualTo(UPDATED_COUNTRY);
     }
 
+    @Test
+    @Transactional
+    public void updateCustomerUserShouldEvictCustomerIdCache() throws Exception {
+        // Initialize the database and the cache
+        customerService.save(customer);
+        String previousLogin = customer.getUser().getLogin();
+        assertThat(customerRepository.findIdByUserLogin(previousLogin)).contains(customer.getId());
+        assertThat(cacheManager.getCache(CustomerRepository.CUSTOMER_ID_BY_LOGIN_CACHE).get(previousLogin)).isNotNull();
+
+        // Link the customer to another user
+        Customer updatedCustomer = customerRepository.findById(customer.getId()).get();
+        em.detach(updatedCustomer);
+        User user = UserResourceIT.createEntity(em);
+        em.persist(user);
+        em.flush();
+        updatedCustomer.setUser(user);
+
+        restCustomerMockMvc.perform(put("/api/customers")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(TestUtil.convertObjectToJsonBytes(updatedCustomer)))
+            .andExpect(status().isOk());
+
+        // The previous user must not resolve to the customer anymore
+        assertThat(cacheManager.getCache(CustomerRepository.CUSTOMER_ID_BY_LOGIN_CACHE).get(previousLogin)).isNull();
+        assertThat(customerRepository.findIdByUserLogin(previousLogin)).isEmpty();
+        assertThat(customerRepository.findIdByUserLogin(user.getLogin())).contains(customer.getId());
+    }
+
     @Test
     @Transactional
     public void updateNonExistingCustomer() throws Exception {
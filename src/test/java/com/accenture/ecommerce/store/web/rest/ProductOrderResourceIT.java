@@ -1,31 +1,47 @@
 package org.jhipster.ecommerce.store.web.rest;
 
 import org.jhipster.ecommerce.store.StoreApp;
+import org.jhipster.ecommerce.store.config.ApplicationProperties;
 import org.jhipster.ecommerce.store.domain.ProductOrder;
 import org.jhipster.ecommerce.store.domain.OrderItem;
 import org.jhipster.ecommerce.store.domain.Invoice;
+import org.jhipster.ecommerce.store.domain.Product;
 import org.jhipster.ecommerce.store.domain.Customer;
+import org.jhipster.ecommerce.store.domain.Shipment;
+import org.jhipster.ecommerce.store.domain.User;
 import org.jhipster.ecommerce.store.repository.ProductOrderRepository;
 import org.jhipster.ecommerce.store.service.ProductOrderService;
 import org.jhipster.ecommerce.store.service.dto.ProductOrderCriteria;
 import org.jhipster.ecommerce.store.service.ProductOrderQueryService;
 
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -59,9 +75,18 @@ public class ProductOrderResourceIT {
     @Autowired
     private EntityManager em;
 
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
     @Autowired
     private MockMvc restProductOrderMockMvc;
 
+    @Autowired
+    private ApplicationProperties applicationProperties;
+
     private ProductOrder productOrder;
 
     /**
@@ -154,6 +179,100 @@ public class ProductOrderResourceIT {
         assertThat(productOrderList).hasSize(databaseSizeBeforeCreate);
     }
 
+    @Test
+    @Transactional
+    public void createProductOrdersInBatch() throws Exception {
+        // Build 30 orders of 2 items each
+        Product product = ProductResourceIT.createEntity(em);
+        em.persist(product);
+        List<ProductOrder> productOrders = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            ProductOrder newProductOrder = createEntity(em).code(DEFAULT_CODE + i);
+            for (int j = 0; j < 2; j++) {
+                newProductOrder.getOrderItems().add(OrderItemResourceIT.createEntity(em).product(product).order(null));
+            }
+            productOrders.add(newProductOrder);
+        }
+        em.flush();
+        int productOrdersBeforeCreate = productOrderRepository.findAll().size();
+        int orderItemsBeforeCreate = TestUtil.findAll(em, OrderItem.class).size();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        boolean statisticsEnabled = statistics.isStatisticsEnabled();
+        statistics.setStatisticsEnabled(true);
+        try {
+            statistics.clear();
+
+            restProductOrderMockMvc.perform(post("/api/product-orders/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(TestUtil.convertObjectToJsonBytes(productOrders)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.length()").value(30))
+                .andExpect(jsonPath("$.[0].id").isNumber());
+            em.flush();
+
+            // The 90 rows are sent by batches of 25, not one statement per row
+            assertThat(statistics.getPrepareStatementCount()).isLessThan(20L);
+        } finally {
+            statistics.setStatisticsEnabled(statisticsEnabled);
+        }
+
+        // Validate the ProductOrders and their OrderItems in the database
+        assertThat(productOrderRepository.findAll()).hasSize(productOrdersBeforeCreate + 30);
+        assertThat(TestUtil.findAll(em, OrderItem.class)).hasSize(orderItemsBeforeCreate + 60);
+    }
+
+    @Test
+    @Transactional
+    public void createProductOrdersInBatchWithExistingId() throws Exception {
+        int databaseSizeBeforeCreate = productOrderRepository.findAll().size();
+
+        // A batch containing an entity with an existing ID cannot be created, so this API call must fail
+        productOrder.setId(1L);
+        restProductOrderMockMvc.perform(post("/api/product-orders/batch")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(TestUtil.convertObjectToJsonBytes(Arrays.asList(createEntity(em), productOrder))))
+            .andExpect(status().isBadRequest());
+
+        // Validate the ProductOrder in the database
+        List<ProductOrder> productOrderList = productOrderRepository.findAll();
+        assertThat(productOrderList).hasSize(databaseSizeBeforeCreate);
+    }
+
+    @Test
+    @Transactional
+    public void createProductOrdersInBatchWithInvalidProductOrder() throws Exception {
+        int databaseSizeBeforeCreate = productOrderRepository.findAll().size();
+
+        // A batch containing an invalid entity cannot be created, so this API call must fail before saving any
+        ProductOrder invalidProductOrder = createEntity(em).code(null);
+        restProductOrderMockMvc.perform(post("/api/product-orders/batch")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(TestUtil.convertObjectToJsonBytes(Arrays.asList(createEntity(em), invalidProductOrder))))
+            .andExpect(status().isBadRequest());
+
+        assertThat(productOrderRepository.findAll()).hasSize(databaseSizeBeforeCreate);
+    }
+
+    @Test
+    @Transactional
+    public void createProductOrdersInBatchWithInvalidOrderItem() throws Exception {
+        Product product = ProductResourceIT.createEntity(em);
+        em.persist(product);
+        ProductOrder newProductOrder = createEntity(em);
+        newProductOrder.getOrderItems().add(OrderItemResourceIT.createEntity(em).product(product).order(null).quantity(-1));
+        em.flush();
+        int databaseSizeBeforeCreate = productOrderRepository.findAll().size();
+
+        // The order items are validated with their order, before any of them is saved
+        restProductOrderMockMvc.perform(post("/api/product-orders/batch")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(TestUtil.convertObjectToJsonBytes(Arrays.asList(newProductOrder))))
+            .andExpect(status().isBadRequest());
+
+        assertThat(productOrderRepository.findAll()).hasSize(databaseSizeBeforeCreate);
+    }
+
 
     @Test
     @Transactional
@@ -465,6 +584,34 @@ public class ProductOrderResourceIT {
         defaultProductOrderShouldNotBeFound("orderItemId.equals=" + (orderItemId + 1));
     }
 
+    @Test
+    @Transactional
+    public void getAllProductOrdersByOrderItemIsSpecifiedReturnsEachOrderOnce() throws Exception {
+        // Initialize the database with an order having two items, and an order without any
+        productOrderRepository.saveAndFlush(productOrder);
+        for (int i = 0; i < 2; i++) {
+            OrderItem orderItem = OrderItemResourceIT.createEntity(em);
+            em.persist(orderItem);
+            productOrder.addOrderItem(orderItem);
+        }
+        productOrderRepository.saveAndFlush(productOrder);
+        ProductOrder productOrderWithoutItem = createEntity(em);
+        productOrderRepository.saveAndFlush(productOrderWithoutItem);
+
+        // Both items match, but the order is returned and counted once
+        restProductOrderMockMvc.perform(get("/api/product-orders?sort=id,desc&orderItemId.specified=true"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(hasItem(productOrder.getId().intValue())))
+            .andExpect(jsonPath("$.length()").value(1));
+        defaultProductOrderShouldBeFound("orderItemId.greaterThan=0");
+
+        // Orders without any item
+        restProductOrderMockMvc.perform(get("/api/product-orders?sort=id,desc&orderItemId.specified=false"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(hasItem(productOrderWithoutItem.getId().intValue())))
+            .andExpect(jsonPath("$.length()").value(1));
+    }
+
 
     @Test
     @Transactional
@@ -537,6 +684,227 @@ public class ProductOrderResourceIT {
             .andExpect(content().string("0"));
     }
 
+    @Test
+    @Transactional
+    public void getAllProductOrdersWithoutCount() throws Exception {
+        // Initialize the database
+        productOrderRepository.saveAndFlush(productOrder);
+        productOrderRepository.saveAndFlush(createEntity(em));
+
+        restProductOrderMockMvc.perform(get("/api/product-orders?sort=id,desc&page=0&size=1&count=NONE"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(header().doesNotExist("X-Total-Count"))
+            .andExpect(header().string(HttpHeaders.LINK, containsString("page=1&size=1>; rel=\"next\"")));
+
+        restProductOrderMockMvc.perform(get("/api/product-orders?sort=id,desc&page=1&size=1&count=NONE"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(header().doesNotExist("X-Total-Count"))
+            .andExpect(header().string(HttpHeaders.LINK, not(containsString("rel=\"next\""))));
+    }
+
+    @Test
+    @Transactional
+    public void getAllProductOrdersWithInvalidCountStrategy() throws Exception {
+        restProductOrderMockMvc.perform(get("/api/product-orders?count=SOMETIMES"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    public void getAllProductOrdersByCursor() throws Exception {
+        // Initialize the database with three orders, the default one being the oldest
+        productOrderRepository.saveAndFlush(productOrder);
+        ProductOrder secondProductOrder = createEntity(em).placedDate(DEFAULT_PLACED_DATE.plusSeconds(60));
+        productOrderRepository.saveAndFlush(secondProductOrder);
+        ProductOrder thirdProductOrder = createEntity(em).placedDate(DEFAULT_PLACED_DATE.plusSeconds(60));
+        productOrderRepository.saveAndFlush(thirdProductOrder);
+
+        // Get the first slice, newest first, ties broken by id
+        String nextCursor = restProductOrderMockMvc.perform(get("/api/product-orders?cursor=&size=2&code.equals=" + DEFAULT_CODE))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(header().doesNotExist("X-Total-Count"))
+            .andExpect(header().exists("X-Next-Cursor"))
+            .andExpect(header().string(HttpHeaders.LINK, containsString("rel=\"next\"")))
+            .andExpect(jsonPath("$.length()").value(2))
+            .andExpect(jsonPath("$.[0].id").value(thirdProductOrder.getId().intValue()))
+            .andExpect(jsonPath("$.[1].id").value(secondProductOrder.getId().intValue()))
+            .andReturn().getResponse().getHeader("X-Next-Cursor");
+
+        // Get the last slice
+        restProductOrderMockMvc.perform(get("/api/product-orders?size=2&code.equals=" + DEFAULT_CODE + "&cursor=" + nextCursor))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist("X-Next-Cursor"))
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$.[0].id").value(productOrder.getId().intValue()));
+    }
+
+    @Test
+    @Transactional
+    public void getAllProductOrdersByCursorWithFilter() throws Exception {
+        // Initialize the database
+        productOrderRepository.saveAndFlush(productOrder);
+
+        restProductOrderMockMvc.perform(get("/api/product-orders?cursor=&code.equals=" + DEFAULT_CODE))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(hasItem(productOrder.getId().intValue())));
+
+        restProductOrderMockMvc.perform(get("/api/product-orders?cursor=&code.equals=" + UPDATED_CODE))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$").isEmpty());
+    }
+
+    @Test
+    @Transactional
+    public void getAllProductOrdersByInvalidCursor() throws Exception {
+        restProductOrderMockMvc.perform(get("/api/product-orders?cursor=not-a-cursor"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    public void getProductOrderDetails() throws Exception {
+        // Initialize the database with an order of 3 items and 2 invoices of 2 shipments each
+        productOrderRepository.saveAndFlush(productOrder);
+        for (int i = 0; i < 3; i++) {
+            OrderItem orderItem = OrderItemResourceIT.createEntity(em);
+            productOrder.addOrderItem(orderItem);
+            em.persist(orderItem);
+        }
+        for (int i = 0; i < 2; i++) {
+            Invoice invoice = InvoiceResourceIT.createEntity(em);
+            productOrder.addInvoice(invoice);
+            em.persist(invoice);
+            for (int j = 0; j < 2; j++) {
+                Shipment shipment = ShipmentResourceIT.createEntity(em);
+                invoice.addShipment(shipment);
+                em.persist(shipment);
+            }
+        }
+        em.flush();
+        em.clear();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        boolean statisticsEnabled = statistics.isStatisticsEnabled();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        try {
+            // Get the productOrder tree
+            restProductOrderMockMvc.perform(get("/api/product-orders/{id}/details", productOrder.getId()))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(jsonPath("$.id").value(productOrder.getId().intValue()))
+                .andExpect(jsonPath("$.code").value(DEFAULT_CODE))
+                .andExpect(jsonPath("$.customerId").value(productOrder.getCustomer().getId().intValue()))
+                .andExpect(jsonPath("$.orderItems.length()").value(3))
+                .andExpect(jsonPath("$.orderItems[0].product.id").isNumber())
+                .andExpect(jsonPath("$.orderItems[0].product.image").doesNotExist())
+                .andExpect(jsonPath("$.invoices.length()").value(2))
+                .andExpect(jsonPath("$.invoices[0].shipments.length()").value(2))
+                .andExpect(jsonPath("$.invoices[1].shipments.length()").value(2));
+
+            // One statement per level of the tree, whatever its size
+            assertThat(statistics.getPrepareStatementCount()).isBetween(1L, 4L);
+            assertThat(statistics.getEntityLoadCount()).isZero();
+        } finally {
+            statistics.setStatisticsEnabled(statisticsEnabled);
+        }
+    }
+
+    @Test
+    @Transactional
+    public void getNonExistingProductOrderDetails() throws Exception {
+        restProductOrderMockMvc.perform(get("/api/product-orders/{id}/details", Long.MAX_VALUE))
+            .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @Transactional
+    public void exportProductOrdersAsCsv() throws Exception {
+        ProductOrder exportedOrder = saveCommittedProductOrder("EXPORT,\"1\"");
+        try {
+            MvcResult result = restProductOrderMockMvc.perform(get("/api/product-orders/export?format=csv&id.equals=" + exportedOrder.getId()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+            assertThat(result.getRequest().getAsyncContext().getTimeout())
+                .isEqualTo(applicationProperties.getExport().getTimeout().toMillis());
+            restProductOrderMockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, containsString("product-orders.csv")))
+                .andExpect(content().string("id,placedDate,status,code,customerId\n" +
+                    exportedOrder.getId() + "," + DEFAULT_PLACED_DATE + "," + DEFAULT_STATUS + ",\"EXPORT,\"\"1\"\"\"," +
+                    exportedOrder.getCustomer().getId() + "\n"));
+        } finally {
+            deleteCommittedProductOrder(exportedOrder);
+        }
+    }
+
+    @Test
+    @Transactional
+    public void exportProductOrdersAsNdjson() throws Exception {
+        ProductOrder exportedOrder = saveCommittedProductOrder(DEFAULT_CODE);
+        try {
+            MvcResult result = restProductOrderMockMvc.perform(get("/api/product-orders/export?id.equals=" + exportedOrder.getId()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+            restProductOrderMockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/x-ndjson"))
+                .andExpect(content().string("{\"id\":" + exportedOrder.getId() +
+                    ",\"placedDate\":\"" + DEFAULT_PLACED_DATE + "\"" +
+                    ",\"status\":\"" + DEFAULT_STATUS + "\"" +
+                    ",\"code\":\"" + DEFAULT_CODE + "\"" +
+                    ",\"customerId\":" + exportedOrder.getCustomer().getId() + "}\n"));
+        } finally {
+            deleteCommittedProductOrder(exportedOrder);
+        }
+    }
+
+    @Test
+    @Transactional
+    public void exportProductOrdersWithUnsupportedFormat() throws Exception {
+        restProductOrderMockMvc.perform(get("/api/product-orders/export?format=xml"))
+            .andExpect(status().isBadRequest());
+    }
+
+    /**
+     * The export is streamed from another thread, which only sees committed data: save the order with its customer
+     * in their own transaction, outside of the one of the test.
+     */
+    private ProductOrder saveCommittedProductOrder(String code) {
+        return newTransaction().execute(status -> {
+            Customer customer = CustomerResourceIT.createEntity(em);
+            em.persist(customer);
+            ProductOrder order = new ProductOrder()
+                .placedDate(DEFAULT_PLACED_DATE)
+                .status(DEFAULT_STATUS)
+                .code(code)
+                .customer(customer);
+            em.persist(order);
+            return order;
+        });
+    }
+
+    private void deleteCommittedProductOrder(ProductOrder order) {
+        newTransaction().execute(status -> {
+            em.remove(em.find(ProductOrder.class, order.getId()));
+            Customer customer = em.find(Customer.class, order.getCustomer().getId());
+            User user = customer.getUser();
+            em.remove(customer);
+            em.remove(user);
+            return null;
+        });
+    }
+
+    private TransactionTemplate newTransaction() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        return transactionTemplate;
+    }
+
     @Test
     @Transactional
     public void getNonExistingProductOrder() throws Exception {
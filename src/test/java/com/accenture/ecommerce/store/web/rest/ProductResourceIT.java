@@ -2,6 +2,8 @@ package org.jhipster.ecommerce.store.web.rest;
 
 import org.jhipster.ecommerce.store.StoreApp;
 import org.jhipster.ecommerce.store.domain.Product;
+import org.jhipster.ecommerce.store.domain.ProductImage;
+import org.jhipster.ecommerce.store.repository.ProductImageRepository;
 import org.jhipster.ecommerce.store.repository.ProductRepository;
 import org.jhipster.ecommerce.store.service.ProductService;
 
@@ -10,14 +12,16 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithAnonymousUser;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.util.Base64Utils;
 import javax.persistence.EntityManager;
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.hasItem;
@@ -53,6 +57,9 @@ public class ProductResourceIT {
     @Autowired
     private ProductRepository productRepository;
 
+    @Autowired
+    private ProductImageRepository productImageRepository;
+
     @Autowired
     private ProductService productService;
 
@@ -120,8 +127,11 @@ public class ProductResourceIT {
         assertThat(testProduct.getDescription()).isEqualTo(DEFAULT_DESCRIPTION);
         assertThat(testProduct.getPrice()).isEqualTo(DEFAULT_PRICE);
         assertThat(testProduct.getSize()).isEqualTo(DEFAULT_SIZE);
-        assertThat(testProduct.getImage()).isEqualTo(DEFAULT_IMAGE);
         assertThat(testProduct.getImageContentType()).isEqualTo(DEFAULT_IMAGE_CONTENT_TYPE);
+        Optional<ProductImage> testProductImage = productImageRepository.findById(testProduct.getId());
+        assertThat(testProductImage).isPresent();
+        assertThat(testProductImage.get().getImage()).isEqualTo(DEFAULT_IMAGE);
+        assertThat(testProductImage.get().getLastModifiedDate()).isNotNull();
     }
 
     @Test
@@ -205,7 +215,8 @@ public class ProductResourceIT {
     @Transactional
     public void getAllProducts() throws Exception {
         // Initialize the database
-        productRepository.saveAndFlush(product);
+        productService.save(product);
+        em.flush();
 
         // Get all the productList
         restProductMockMvc.perform(get("/api/products?sort=id,desc"))
@@ -217,14 +228,15 @@ public class ProductResourceIT {
             .andExpect(jsonPath("$.[*].price").value(hasItem(DEFAULT_PRICE.intValue())))
             .andExpect(jsonPath("$.[*].size").value(hasItem(DEFAULT_SIZE.toString())))
             .andExpect(jsonPath("$.[*].imageContentType").value(hasItem(DEFAULT_IMAGE_CONTENT_TYPE)))
-            .andExpect(jsonPath("$.[*].image").value(hasItem(Base64Utils.encodeToString(DEFAULT_IMAGE))));
+            .andExpect(jsonPath("$.[*].image").doesNotExist());
     }
 
     @Test
     @Transactional
     public void getProduct() throws Exception {
         // Initialize the database
-        productRepository.saveAndFlush(product);
+        productService.save(product);
+        em.flush();
 
         // Get the product
         restProductMockMvc.perform(get("/api/products/{id}", product.getId()))
@@ -236,8 +248,56 @@ public class ProductResourceIT {
             .andExpect(jsonPath("$.price").value(DEFAULT_PRICE.intValue()))
             .andExpect(jsonPath("$.size").value(DEFAULT_SIZE.toString()))
             .andExpect(jsonPath("$.imageContentType").value(DEFAULT_IMAGE_CONTENT_TYPE))
-            .andExpect(jsonPath("$.image").value(Base64Utils.encodeToString(DEFAULT_IMAGE)));
+            .andExpect(jsonPath("$.image").doesNotExist());
+    }
+
+    @Test
+    @Transactional
+    @WithAnonymousUser
+    public void getProductImage() throws Exception {
+        // Initialize the database
+        productService.save(product);
+        em.flush();
+
+        // Get the image of the product
+        restProductMockMvc.perform(get("/api/products/{id}/image", product.getId()))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(DEFAULT_IMAGE_CONTENT_TYPE))
+            .andExpect(content().bytes(DEFAULT_IMAGE))
+            .andExpect(header().exists(HttpHeaders.ETAG))
+            .andExpect(header().exists(HttpHeaders.LAST_MODIFIED));
+    }
+
+    @Test
+    @Transactional
+    public void getProductImageNotModified() throws Exception {
+        // Initialize the database
+        productService.save(product);
+        em.flush();
+
+        String eTag = restProductMockMvc.perform(get("/api/products/{id}/image", product.getId()))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // Revalidate the image of the product
+        restProductMockMvc.perform(get("/api/products/{id}/image", product.getId())
+            .header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isNotModified())
+            .andExpect(content().bytes(new byte[0]));
+    }
+
+    @Test
+    @Transactional
+    public void getNonExistingProductImage() throws Exception {
+        // Initialize the database
+        productService.save(product.image(null).imageContentType(null));
+        em.flush();
+
+        // Get the image of the product
+        restProductMockMvc.perform(get("/api/products/{id}/image", product.getId()))
+            .andExpect(status().isNotFound());
     }
+
     @Test
     @Transactional
     public void getNonExistingProduct() throws Exception {
@@ -279,8 +339,31 @@ public class ProductResourceIT {
         assertThat(testProduct.getDescription()).isEqualTo(UPDATED_DESCRIPTION);
         assertThat(testProduct.getPrice()).isEqualTo(UPDATED_PRICE);
         assertThat(testProduct.getSize()).isEqualTo(UPDATED_SIZE);
-        assertThat(testProduct.getImage()).isEqualTo(UPDATED_IMAGE);
         assertThat(testProduct.getImageContentType()).isEqualTo(UPDATED_IMAGE_CONTENT_TYPE);
+        assertThat(productImageRepository.findById(testProduct.getId()).map(ProductImage::getImage)).contains(UPDATED_IMAGE);
+    }
+
+    @Test
+    @Transactional
+    public void updateProductWithoutImageKeepsStoredImage() throws Exception {
+        // Initialize the database
+        productService.save(product);
+        em.flush();
+
+        // Update the product without sending its image back
+        Product updatedProduct = productRepository.findById(product.getId()).get();
+        em.detach(updatedProduct);
+        updatedProduct
+            .name(UPDATED_NAME)
+            .image(null);
+
+        restProductMockMvc.perform(put("/api/products")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(TestUtil.convertObjectToJsonBytes(updatedProduct)))
+            .andExpect(status().isOk());
+
+        // Validate the stored image is still there
+        assertThat(productImageRepository.findById(product.getId()).map(ProductImage::getImage)).contains(DEFAULT_IMAGE);
     }
 
     @Test
@@ -315,5 +398,6 @@ public class ProductResourceIT {
         // Validate the database contains one less item
         List<Product> productList = productRepository.findAll();
         assertThat(productList).hasSize(databaseSizeBeforeDelete - 1);
+        assertThat(productImageRepository.existsById(product.getId())).isFalse();
     }
 }
@@ -0,0 +1,323 @@
+package org.jhipster.ecommerce.store.web.rest;
+
+import org.jhipster.ecommerce.store.StoreApp;
+import org.jhipster.ecommerce.store.domain.Customer;
+import org.jhipster.ecommerce.store.domain.Invoice;
+import org.jhipster.ecommerce.store.domain.OrderItem;
+import org.jhipster.ecommerce.store.domain.Product;
+import org.jhipster.ecommerce.store.domain.ProductCategory;
+import org.jhipster.ecommerce.store.domain.ProductOrder;
+import org.jhipster.ecommerce.store.domain.User;
+import org.jhipster.ecommerce.store.domain.enumeration.InvoiceStatus;
+import org.jhipster.ecommerce.store.domain.enumeration.OrderItemStatus;
+import org.jhipster.ecommerce.store.domain.enumeration.PaymentMethod;
+import org.jhipster.ecommerce.store.service.SalesReportService;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for the {@link SalesReportResource} REST controller, and the maintenance of the sales rollups it
+ * reads.
+ * <p>
+ * The rollups are only written when a transaction commits, so the data of these tests is committed, on days no other
+ * test writes orders nor invoices on, and deleted afterwards.
+ */
+@SpringBootTest(classes = StoreApp.class)
+@AutoConfigureMockMvc
+@WithMockUser(authorities = "ROLE_ADMIN")
+public class SalesReportResourceIT {
+
+    private static final String DAY = "2001-02-03";
+
+    private static final String NEXT_DAY = "2001-02-04";
+
+    private static final Instant PLACED_DATE = Instant.parse(DAY + "T22:30:00Z");
+
+    private static final Instant PAYMENT_DATE = Instant.parse(DAY + "T23:15:00Z");
+
+    @Autowired
+    private SalesReportService salesReportService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private MockMvc restSalesReportMockMvc;
+
+    private TransactionTemplate transactionTemplate;
+
+    private Long productCategoryId;
+
+    private Long productId;
+
+    private Long orderId;
+
+    private Long firstItemId;
+
+    private Long secondItemId;
+
+    private Long thirdItemId;
+
+    private Long invoiceId;
+
+    @BeforeEach
+    public void initTest() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.executeWithoutResult(status -> {
+            ProductCategory productCategory = ProductCategoryResourceIT.createEntity(em);
+            em.persist(productCategory);
+            Product product = ProductResourceIT.createEntity(em).productCategory(productCategory);
+            em.persist(product);
+            Customer customer = CustomerResourceIT.createEntity(em);
+            em.persist(customer);
+            ProductOrder order = ProductOrderResourceIT.createEntity(em).placedDate(PLACED_DATE);
+            order.setCustomer(customer);
+            em.persist(order);
+            OrderItem item = new OrderItem().quantity(2).totalPrice(new BigDecimal("20.00"))
+                .status(OrderItemStatus.AVAILABLE).product(product).order(order);
+            em.persist(item);
+            Invoice invoice = new Invoice().code("SALES").date(PAYMENT_DATE).status(InvoiceStatus.PAID)
+                .paymentMethod(PaymentMethod.CREDIT_CARD).paymentDate(PAYMENT_DATE).paymentAmount(new BigDecimal("25.00"))
+                .order(order);
+            em.persist(invoice);
+            productCategoryId = productCategory.getId();
+            productId = product.getId();
+            orderId = order.getId();
+            firstItemId = item.getId();
+            invoiceId = invoice.getId();
+        });
+        transactionTemplate.executeWithoutResult(status -> {
+            // Written with references, the day and category are read from the database
+            OrderItem item = new OrderItem().quantity(1).totalPrice(new BigDecimal("5.00"))
+                .status(OrderItemStatus.AVAILABLE)
+                .product(em.getReference(Product.class, productId))
+                .order(em.getReference(ProductOrder.class, orderId));
+            em.persist(item);
+            secondItemId = item.getId();
+        });
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        transactionTemplate.executeWithoutResult(status -> {
+            if (invoiceId != null) {
+                em.remove(em.find(Invoice.class, invoiceId));
+            }
+            if (firstItemId != null) {
+                em.remove(em.find(OrderItem.class, firstItemId));
+            }
+            em.remove(em.find(OrderItem.class, secondItemId));
+            if (thirdItemId != null) {
+                em.remove(em.find(OrderItem.class, thirdItemId));
+            }
+            ProductOrder order = em.find(ProductOrder.class, orderId);
+            Customer customer = order.getCustomer();
+            User user = customer.getUser();
+            em.remove(order);
+            em.remove(customer);
+            em.remove(user);
+            em.remove(em.find(Product.class, productId));
+            em.remove(em.find(ProductCategory.class, productCategoryId));
+        });
+    }
+
+    @Test
+    public void getSalesReport() throws Exception {
+        getSalesReport(DAY, DAY)
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.fromDate").value(DAY))
+            .andExpect(jsonPath("$.byCategory", hasSize(1)))
+            .andExpect(jsonPath("$.byCategory[0].date").value(DAY))
+            .andExpect(jsonPath("$.byCategory[0].productCategoryId").value(productCategoryId.intValue()))
+            .andExpect(jsonPath("$.byCategory[0].status").value(OrderItemStatus.AVAILABLE.toString()))
+            .andExpect(jsonPath("$.byCategory[0].quantity").value(3))
+            .andExpect(jsonPath("$.byCategory[0].revenue").value(25.0))
+            .andExpect(jsonPath("$.byCategory[0].itemCount").value(2))
+            .andExpect(jsonPath("$.byPaymentMethod", hasSize(1)))
+            .andExpect(jsonPath("$.byPaymentMethod[0].paymentMethod").value(PaymentMethod.CREDIT_CARD.toString()))
+            .andExpect(jsonPath("$.byPaymentMethod[0].status").value(InvoiceStatus.PAID.toString()))
+            .andExpect(jsonPath("$.byPaymentMethod[0].amount").value(25.0))
+            .andExpect(jsonPath("$.byPaymentMethod[0].invoiceCount").value(1));
+    }
+
+    @Test
+    public void salesRollupsFollowUpdates() throws Exception {
+        transactionTemplate.executeWithoutResult(status -> {
+            em.find(OrderItem.class, secondItemId).setStatus(OrderItemStatus.BACK_ORDER);
+            em.find(Invoice.class, invoiceId).setPaymentMethod(PaymentMethod.PAYPAL);
+        });
+
+        getSalesReport(DAY, DAY)
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.byCategory", hasSize(2)))
+            .andExpect(jsonPath("$.byCategory[0].status").value(OrderItemStatus.AVAILABLE.toString()))
+            .andExpect(jsonPath("$.byCategory[0].quantity").value(2))
+            .andExpect(jsonPath("$.byCategory[1].status").value(OrderItemStatus.BACK_ORDER.toString()))
+            .andExpect(jsonPath("$.byCategory[1].quantity").value(1))
+            .andExpect(jsonPath("$.byPaymentMethod", hasSize(1)))
+            .andExpect(jsonPath("$.byPaymentMethod[0].paymentMethod").value(PaymentMethod.PAYPAL.toString()));
+
+        // The items move with their order
+        transactionTemplate.executeWithoutResult(status ->
+            em.find(ProductOrder.class, orderId).setPlacedDate(Instant.parse(NEXT_DAY + "T08:00:00Z")));
+
+        getSalesReport(DAY, DAY)
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.byCategory", hasSize(0)));
+        getSalesReport(NEXT_DAY, NEXT_DAY)
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.byCategory", hasSize(2)))
+            .andExpect(jsonPath("$.byCategory[0].date").value(NEXT_DAY));
+    }
+
+    @Test
+    public void salesRollupsFollowDeletes() throws Exception {
+        transactionTemplate.executeWithoutResult(status -> {
+            em.remove(em.find(OrderItem.class, firstItemId));
+            em.remove(em.find(Invoice.class, invoiceId));
+        });
+        firstItemId = null;
+        invoiceId = null;
+
+        getSalesReport(DAY, DAY)
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.byCategory", hasSize(1)))
+            .andExpect(jsonPath("$.byCategory[0].quantity").value(1))
+            .andExpect(jsonPath("$.byCategory[0].itemCount").value(1))
+            .andExpect(jsonPath("$.byPaymentMethod", hasSize(0)));
+    }
+
+    @Test
+    public void salesRollupsFollowPostedItems() throws Exception {
+        // The product and the order of the request only hold their id, and the placed date sent is not the order's
+        String orderItem = "{\"quantity\":4,\"totalPrice\":40.00,\"status\":\"AVAILABLE\"," +
+            "\"product\":{\"id\":" + productId + "}," +
+            "\"order\":{\"id\":" + orderId + ",\"placedDate\":\"" + NEXT_DAY + "T08:00:00Z\"}}";
+        String location = restSalesReportMockMvc.perform(post("/api/order-items")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(orderItem))
+            .andExpect(status().isCreated())
+            .andReturn().getResponse().getHeader("Location");
+        thirdItemId = Long.valueOf(location.substring(location.lastIndexOf('/') + 1));
+
+        getSalesReport(DAY, NEXT_DAY)
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.byCategory", hasSize(1)))
+            .andExpect(jsonPath("$.byCategory[0].date").value(DAY))
+            .andExpect(jsonPath("$.byCategory[0].productCategoryId").value(productCategoryId.intValue()))
+            .andExpect(jsonPath("$.byCategory[0].quantity").value(7))
+            .andExpect(jsonPath("$.byCategory[0].revenue").value(65.0))
+            .andExpect(jsonPath("$.byCategory[0].itemCount").value(3));
+    }
+
+    @Test
+    public void rebuildSalesRollups() throws Exception {
+        // Bulk statements bypass the listener
+        transactionTemplate.executeWithoutResult(status ->
+            em.createQuery("update OrderItem item set item.quantity = 5 where item.id = :id")
+                .setParameter("id", firstItemId)
+                .executeUpdate());
+        getSalesReport(DAY, DAY)
+            .andExpect(jsonPath("$.byCategory[0].quantity").value(3));
+
+        salesReportService.rebuildSalesRollups();
+
+        getSalesReport(DAY, DAY)
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.byCategory", hasSize(1)))
+            .andExpect(jsonPath("$.byCategory[0].quantity").value(6))
+            .andExpect(jsonPath("$.byCategory[0].revenue").value(25.0))
+            .andExpect(jsonPath("$.byPaymentMethod[0].amount").value(25.0));
+    }
+
+    @Test
+    public void rebuildSalesRollupsKeepsConcurrentWrites() throws Exception {
+        CountDownLatch written = new CountDownLatch(1);
+        CountDownLatch rebuilt = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            // The item is written before the rebuild reads the sales, and its rollup once the rebuild is done
+            Future<?> write = executor.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+                OrderItem item = new OrderItem().quantity(4).totalPrice(new BigDecimal("40.00"))
+                    .status(OrderItemStatus.AVAILABLE)
+                    .product(em.find(Product.class, productId))
+                    .order(em.find(ProductOrder.class, orderId));
+                em.persist(item);
+                em.flush();
+                thirdItemId = item.getId();
+                written.countDown();
+                try {
+                    rebuilt.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+            assertThat(written.await(10, TimeUnit.SECONDS)).isTrue();
+            salesReportService.rebuildSalesRollups();
+            rebuilt.countDown();
+            write.get(10, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdown();
+        }
+
+        getSalesReport(DAY, DAY)
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.byCategory", hasSize(1)))
+            .andExpect(jsonPath("$.byCategory[0].quantity").value(7))
+            .andExpect(jsonPath("$.byCategory[0].itemCount").value(3));
+
+        // Once the write is committed, the next rebuild finds nothing to correct
+        salesReportService.rebuildSalesRollups();
+
+        getSalesReport(DAY, DAY)
+            .andExpect(jsonPath("$.byCategory[0].quantity").value(7))
+            .andExpect(jsonPath("$.byCategory[0].itemCount").value(3));
+    }
+
+    @Test
+    public void getSalesReportWithInvalidDateRange() throws Exception {
+        getSalesReport(NEXT_DAY, DAY)
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser
+    public void getSalesReportAsUserIsForbidden() throws Exception {
+        getSalesReport(DAY, DAY)
+            .andExpect(status().isForbidden());
+    }
+
+    private ResultActions getSalesReport(String fromDate, String toDate) throws Exception {
+        return restSalesReportMockMvc.perform(get("/api/reports/sales?fromDate={from}&toDate={to}", fromDate, toDate));
+    }
+}
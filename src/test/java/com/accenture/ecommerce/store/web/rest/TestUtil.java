@@ -9,6 +9,10 @@ import org.hamcrest.TypeSafeDiagnosingMatcher;
 import org.springframework.format.datetime.standard.DateTimeFormatterRegistrar;
 import org.springframework.format.support.DefaultFormattingConversionService;
 import org.springframework.format.support.FormattingConversionService;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
 
 import java.io.IOException;
 import java.time.ZonedDateTime;
@@ -22,6 +26,7 @@ import javax.persistence.criteria.CriteriaQuery;
 import javax.persistence.criteria.Root;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 
 /**
  * Utility class for testing REST controllers.
@@ -153,5 +158,19 @@ public final class TestUtil {
         return allQuery.getResultList();
     }
 
+    /**
+     * Perform a request on a controller which may answer asynchronously, dispatching the async result when it does.
+     *
+     * @param mockMvc the MockMvc to perform the request on.
+     * @param requestBuilder the request.
+     * @return the actions on the final result.
+     * @throws Exception if the request fails.
+     */
+    public static ResultActions performAsync(MockMvc mockMvc, RequestBuilder requestBuilder) throws Exception {
+        ResultActions actions = mockMvc.perform(requestBuilder);
+        MvcResult result = actions.andReturn();
+        return result.getRequest().isAsyncStarted() ? mockMvc.perform(asyncDispatch(result)) : actions;
+    }
+
     private TestUtil() {}
 }
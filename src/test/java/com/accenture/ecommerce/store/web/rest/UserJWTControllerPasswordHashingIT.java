@@ -0,0 +1,95 @@
+package org.jhipster.ecommerce.store.web.rest;
+
+import org.jhipster.ecommerce.store.StoreApp;
+import org.jhipster.ecommerce.store.security.BoundedPasswordEncoder;
+import org.jhipster.ecommerce.store.web.rest.vm.LoginVM;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for the {@link UserJWTController} REST controller, with the passwords checked on a password
+ * hashing pool of a single thread and no queue.
+ */
+@AutoConfigureMockMvc
+@SpringBootTest(classes = StoreApp.class, properties = {
+    "application.password-hashing.async=true",
+    "application.password-hashing.pool-size=1",
+    "application.password-hashing.queue-capacity=0"
+})
+public class UserJWTControllerPasswordHashingIT {
+
+    @Autowired
+    private BoundedPasswordEncoder passwordEncoder;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    public void testAuthorizeOnThePasswordHashingPool() throws Exception {
+        MvcResult result = mockMvc.perform(post("/api/authenticate")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(TestUtil.convertObjectToJsonBytes(login())))
+            .andReturn();
+
+        // The request thread is released while the password is checked
+        assertThat(result.getRequest().isAsyncStarted()).isTrue();
+        mockMvc.perform(asyncDispatch(result))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.id_token").isNotEmpty());
+    }
+
+    @Test
+    public void testAuthorizeIsRejectedWhenThePoolIsSaturated() throws Exception {
+        CountDownLatch hashing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Boolean> running = passwordEncoder.supplyAsync(() -> {
+            hashing.countDown();
+            try {
+                return release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        });
+        try {
+            assertThat(hashing.await(10, TimeUnit.SECONDS)).isTrue();
+
+            mockMvc.perform(post("/api/authenticate")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(TestUtil.convertObjectToJsonBytes(login())))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"))
+                .andExpect(jsonPath("$.message").value("error.http.503"))
+                .andExpect(jsonPath("$.id_token").doesNotExist())
+                .andExpect(header().doesNotExist("Authorization"));
+        } finally {
+            release.countDown();
+        }
+        assertThat(running.get(10, TimeUnit.SECONDS)).isTrue();
+    }
+
+    private static LoginVM login() {
+        LoginVM login = new LoginVM();
+        login.setUsername("admin");
+        login.setPassword("admin");
+        return login;
+    }
+}
@@ -26,6 +26,7 @@ import java.util.*;
 import java.util.function.Consumer;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.hasItems;
 import static org.hamcrest.Matchers.hasItem;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -248,6 +249,55 @@ public class UserResourceIT {
             .andExpect(jsonPath("$.[*].langKey").value(hasItem(DEFAULT_LANGKEY)));
     }
 
+    @Test
+    @Transactional
+    public void getAllUsersWithAuthorities() throws Exception {
+        Authority authority = new Authority();
+        authority.setName(AuthoritiesConstants.USER);
+        user.setAuthorities(Collections.singleton(authority));
+        user.setLogin(RandomStringUtils.randomAlphabetic(10).toLowerCase());
+        userRepository.saveAndFlush(user);
+        em.clear();
+
+        restUserMockMvc.perform(get("/api/users?search={search}", user.getLogin())
+            .accept(MediaType.APPLICATION_JSON))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].login").value(contains(user.getLogin())))
+            .andExpect(jsonPath("$.[0].authorities").value(contains(AuthoritiesConstants.USER)));
+    }
+
+    @Test
+    @Transactional
+    public void getAllUsersByLoginOrEmailPrefix() throws Exception {
+        // Other tests may leave users behind, so all the logins and emails start with a prefix of their own
+        String prefix = RandomStringUtils.randomAlphabetic(10).toLowerCase();
+        user.setLogin(prefix + "john");
+        user.setEmail(prefix + "john@localhost");
+        userRepository.saveAndFlush(user);
+        User other = createEntity(em);
+        other.setLogin(prefix + "_jane");
+        other.setEmail(prefix + "contact@localhost");
+        userRepository.saveAndFlush(other);
+        User wildcardMatch = createEntity(em);
+        wildcardMatch.setLogin(prefix + "xjane");
+        userRepository.saveAndFlush(wildcardMatch);
+
+        restUserMockMvc.perform(get("/api/users?search={search}&sort=id,asc", prefix.toUpperCase() + "JOHN"))
+            .andExpect(status().isOk())
+            .andExpect(header().string("X-Total-Count", "1"))
+            .andExpect(jsonPath("$.[*].login").value(contains(prefix + "john")));
+        restUserMockMvc.perform(get("/api/users?search={search}&sort=id,asc", prefix + "contact@"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].login").value(contains(prefix + "_jane")));
+        restUserMockMvc.perform(get("/api/users?search={search}&sort=id,asc", prefix + "_"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].login").value(contains(prefix + "_jane")));
+        restUserMockMvc.perform(get("/api/users?search={search}&sort=id,asc", "%" + prefix))
+            .andExpect(status().isOk())
+            .andExpect(header().string("X-Total-Count", "0"))
+            .andExpect(jsonPath("$").isEmpty());
+    }
+
     @Test
     @Transactional
     void getAllUsersSortedByParameters() throws Exception {
@@ -0,0 +1,153 @@
+package org.jhipster.ecommerce.store.web.websocket;
+
+import org.jhipster.ecommerce.store.config.ApplicationProperties;
+import org.jhipster.ecommerce.store.web.websocket.dto.ActivityDTO;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.core.ITopic;
+import com.hazelcast.core.Message;
+import com.hazelcast.core.MessageListener;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.MessagingException;
+import org.springframework.messaging.simp.SimpMessageSendingOperations;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for {@link ActivityBroadcaster}.
+ */
+public class ActivityBroadcasterTest {
+
+    private SimpMessageSendingOperations messagingTemplate;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private IMap<String, ActivityDTO> presence;
+
+    private List<List<String>> sentBatches;
+
+    private MessageListener<List<ActivityDTO>> listener;
+
+    private ActivityBroadcaster activityBroadcaster;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        messagingTemplate = mock(SimpMessageSendingOperations.class);
+        sentBatches = new ArrayList<>();
+        doAnswer(invocation -> {
+            List<ActivityDTO> batch = invocation.getArgument(1);
+            sentBatches.add(batch.stream().map(activity -> activity.getSessionId() + ":" + activity.getPage())
+                .sorted().collect(Collectors.toList()));
+            return null;
+        }).when(messagingTemplate).convertAndSend(eq(ActivityBroadcaster.TRACKER_DESTINATION), any(Object.class));
+
+        // The topic delivers the published batches to this member only
+        ITopic<List<ActivityDTO>> topic = mock(ITopic.class);
+        when(topic.addMessageListener(any())).thenAnswer(invocation -> {
+            listener = invocation.getArgument(0);
+            return "listener";
+        });
+        doAnswer(invocation -> {
+            listener.onMessage(new Message<>(ActivityBroadcaster.ACTIVITY_TOPIC_NAME, invocation.getArgument(0), 0, null));
+            return null;
+        }).when(topic).publish(any());
+        presence = mock(IMap.class);
+        HazelcastInstance hazelcastInstance = mock(HazelcastInstance.class);
+        when(hazelcastInstance.<List<ActivityDTO>>getTopic(ActivityBroadcaster.ACTIVITY_TOPIC_NAME)).thenReturn(topic);
+        when(hazelcastInstance.<String, ActivityDTO>getMap(ActivityBroadcaster.PRESENCE_MAP_NAME)).thenReturn(presence);
+
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getTracker().setMaxBatchSize(2);
+        meterRegistry = new SimpleMeterRegistry();
+        activityBroadcaster = new ActivityBroadcaster(messagingTemplate, mock(TaskScheduler.class), hazelcastInstance,
+            applicationProperties, meterRegistry);
+        activityBroadcaster.start();
+    }
+
+    @Test
+    public void testFlushSendsTheLastActivityOfEachSession() {
+        activityBroadcaster.submit(createActivity("a", "home"));
+        activityBroadcaster.submit(createActivity("a", "product"));
+        activityBroadcaster.submit(createActivity("b", "home"));
+
+        activityBroadcaster.flush();
+
+        assertThat(sentBatches).containsExactly(Arrays.asList("a:product", "b:home"));
+        assertThat(meterRegistry.get("tracker.activities.received").counter().count()).isEqualTo(3);
+        assertThat(meterRegistry.get("tracker.activities.sent").counter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("tracker.activities.dropped").tag("reason", "coalesced").counter().count())
+            .isEqualTo(1);
+    }
+
+    @Test
+    public void testFlushKeepsThePresenceOfTheActiveSessions() {
+        activityBroadcaster.submit(createActivity("a", "home"));
+        activityBroadcaster.submit(createActivity("b", ActivityBroadcaster.LOGOUT_PAGE));
+
+        activityBroadcaster.flush();
+
+        verify(presence).removeAsync("b");
+        verify(presence).putAll(argThat((Map<String, ActivityDTO> activeSessions) ->
+            activeSessions.keySet().equals(Collections.singleton("a"))));
+    }
+
+    @Test
+    public void testFlushSplitsBatches() {
+        activityBroadcaster.submit(createActivity("a", "home"));
+        activityBroadcaster.submit(createActivity("b", "home"));
+        activityBroadcaster.submit(createActivity("c", "home"));
+
+        activityBroadcaster.flush();
+
+        assertThat(sentBatches).hasSize(2);
+        assertThat(sentBatches.stream().mapToInt(List::size).sum()).isEqualTo(3);
+        assertThat(meterRegistry.get("tracker.batches.sent").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    public void testFlushSendsNothingWithoutActivity() {
+        activityBroadcaster.submit(createActivity("a", "home"));
+        activityBroadcaster.flush();
+
+        activityBroadcaster.flush();
+
+        assertThat(sentBatches).hasSize(1);
+    }
+
+    @Test
+    public void testFailedSendIsNotRetried() {
+        doThrow(new MessagingException("Broker unavailable"))
+            .when(messagingTemplate).convertAndSend(eq(ActivityBroadcaster.TRACKER_DESTINATION), any(Object.class));
+        activityBroadcaster.submit(createActivity("a", "home"));
+
+        activityBroadcaster.flush();
+        activityBroadcaster.flush();
+
+        verify(messagingTemplate, times(1)).convertAndSend(eq(ActivityBroadcaster.TRACKER_DESTINATION), any(Object.class));
+        assertThat(meterRegistry.get("tracker.activities.published").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("tracker.activities.sent").counter().count()).isEqualTo(0);
+    }
+
+    private static ActivityDTO createActivity(String sessionId, String page) {
+        ActivityDTO activityDTO = new ActivityDTO();
+        activityDTO.setSessionId(sessionId);
+        activityDTO.setPage(page);
+        return activityDTO;
+    }
+}